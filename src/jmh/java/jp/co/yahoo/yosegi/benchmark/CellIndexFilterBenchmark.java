@@ -0,0 +1,174 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.filter.ForwardMatchStringFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NotNullFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NullFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.PartialMatchStringFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.PerfectMatchStringFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.RangeStringCompareFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.StringDictionaryFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the filter of the cell index of a decoded column for each filter type.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class CellIndexFilterBenchmark {
+
+  private static final String MAKER_PACKAGE = "jp.co.yahoo.yosegi.binary.maker.";
+
+  @Param( {
+      "LONG_EQUAL" ,
+      "LONG_RANGE" ,
+      "STRING_PERFECT" ,
+      "STRING_FORWARD" ,
+      "STRING_PARTIAL" ,
+      "STRING_RANGE" ,
+      "STRING_DICTIONARY" ,
+      "NULL" ,
+      "NOT_NULL" } )
+  public String filterType;
+
+  @Param( { "optimize" , "dump" } )
+  public String encoding;
+
+  @Param( { "50000" } )
+  public int rowCount;
+
+  @Param( { "10" , "10000" } )
+  public int cardinality;
+
+  @Param( { "0" , "0.5" } )
+  public double nullRatio;
+
+  @Param( { "false" , "true" } )
+  public boolean sorted;
+
+  private IColumn column;
+  private IFilter filter;
+
+  /**
+   * Encode the target column with the maker and decode it.
+   */
+  @Setup
+  public void setup() throws IOException {
+    Spread spread = new SyntheticDataGenerator( cardinality , nullRatio , sorted )
+        .createSpread( rowCount );
+    boolean isLong = filterType.startsWith( "LONG_" );
+    IColumn original = spread.getColumn( isLong
+        ? SyntheticDataGenerator.LONG_COLUMN : SyntheticDataGenerator.STRING_COLUMN );
+    String makerName;
+    if ( "optimize".equals( encoding ) ) {
+      makerName = isLong
+          ? "UnsafeOptimizeLongColumnBinaryMaker" : "UnsafeOptimizeStringColumnBinaryMaker";
+    } else {
+      makerName = isLong
+          ? "UnsafeOptimizeDumpLongColumnBinaryMaker"
+          : "UnsafeOptimizeDumpStringColumnBinaryMaker";
+    }
+    IColumnBinaryMaker maker = FindColumnBinaryMaker.get( MAKER_PACKAGE + makerName );
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , original );
+    column = maker.toColumn( columnBinary );
+    column.size();
+    filter = createFilter( original.getColumnType() );
+  }
+
+  private IFilter createFilter( final ColumnType columnType ) {
+    int middle = cardinality / 2;
+    String middleString = SyntheticDataGenerator.toString( middle );
+    switch ( filterType ) {
+      case "LONG_EQUAL":
+        return new NumberFilter( NumberFilterType.EQUAL ,
+            new LongObj( SyntheticDataGenerator.toLong( middle ) ) );
+      case "LONG_RANGE":
+        return new NumberRangeFilter(
+            new LongObj( SyntheticDataGenerator.toLong( middle / 2 ) ) , true ,
+            new LongObj( SyntheticDataGenerator.toLong( middle ) ) , true );
+      case "STRING_PERFECT":
+        return new PerfectMatchStringFilter( middleString );
+      case "STRING_FORWARD":
+        return new ForwardMatchStringFilter(
+            middleString.substring( 0 , middleString.length() - 1 ) );
+      case "STRING_PARTIAL":
+        return new PartialMatchStringFilter( middleString.substring( 6 ) );
+      case "STRING_RANGE":
+        return new RangeStringCompareFilter(
+            SyntheticDataGenerator.toString( middle / 2 ) , true , middleString , true );
+      case "STRING_DICTIONARY":
+        Set<String> dic = new HashSet<String>();
+        for ( int i = 0 ; i < cardinality ; i += 3 ) {
+          dic.add( SyntheticDataGenerator.toString( i ) );
+        }
+        return new StringDictionaryFilter( dic );
+      case "NULL":
+        return new NullFilter( columnType );
+      case "NOT_NULL":
+        return new NotNullFilter( columnType );
+      default:
+        throw new IllegalArgumentException( "Unknown filter type : " + filterType );
+    }
+  }
+
+  @Benchmark
+  public boolean[] filterBooleanArray() throws IOException {
+    return column.filter( filter , new boolean[rowCount] );
+  }
+
+  @Benchmark
+  public FilterBitSet filterBitSet() throws IOException {
+    return column.filter( filter , new FilterBitSet( rowCount ) );
+  }
+
+}
@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.compressor.FindCompressor;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the compression and decompression of each ICompressor.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class CompressorBenchmark {
+
+  private static final String COMPRESSOR_PACKAGE = "jp.co.yahoo.yosegi.compressor.";
+
+  @Param( {
+      "DefaultCompressor" ,
+      "GzipCompressor" ,
+      "GzipCommonsCompressor" ,
+      "DeflateCommonsCompressor" ,
+      "BZip2CommonsCompressor" ,
+      "FramedSnappyCommonsCompressor" ,
+      "FramedLZ4CommonsCompressor" ,
+      "LzmaCommonsCompressor" ,
+      "ZstdCommonsCompressor" ,
+      "ZstdCompressor" } )
+  public String compressor;
+
+  @Param( { "100000" } )
+  public int rowCount;
+
+  @Param( { "10" , "10000" } )
+  public int cardinality;
+
+  @Param( { "0" , "0.5" } )
+  public double nullRatio;
+
+  @Param( { "false" , "true" } )
+  public boolean sorted;
+
+  private ICompressor compressorInstance;
+  private byte[] data;
+  private byte[] compressedData;
+  private byte[] decompressBuffer;
+
+  /**
+   * Create the input and the compressed data.
+   */
+  @Setup
+  public void setup() throws IOException {
+    compressorInstance = FindCompressor.get( COMPRESSOR_PACKAGE + compressor );
+    data = new SyntheticDataGenerator( cardinality , nullRatio , sorted ).createBytes( rowCount );
+    compressedData = compressorInstance.compress( data , 0 , data.length );
+    decompressBuffer = new byte[ compressorInstance.getDecompressSize(
+        compressedData , 0 , compressedData.length ) ];
+  }
+
+  @Benchmark
+  public byte[] compress() throws IOException {
+    return compressorInstance.compress( data , 0 , data.length );
+  }
+
+  @Benchmark
+  public byte[] decompress() throws IOException {
+    return compressorInstance.decompress( compressedData , 0 , compressedData.length );
+  }
+
+  @Benchmark
+  public int decompressAndSet() throws IOException {
+    return compressorInstance.decompressAndSet(
+        compressedData , 0 , compressedData.length , decompressBuffer );
+  }
+
+}
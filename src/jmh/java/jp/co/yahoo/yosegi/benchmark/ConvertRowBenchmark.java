@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.block.PushdownSupportedBlockWriter;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.spread.Spread;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures PushdownSupportedBlockWriter#convertRow for each IColumnBinaryMaker.
+ * The maker parameter is "setting key/class simple name".
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class ConvertRowBenchmark {
+
+  private static final String MAKER_PACKAGE = "jp.co.yahoo.yosegi.binary.maker.";
+
+  private static final Map<String,String> TARGET_COLUMN = new HashMap<String,String>();
+
+  static {
+    TARGET_COLUMN.put( "long_maker_class" , SyntheticDataGenerator.LONG_COLUMN );
+    TARGET_COLUMN.put( "double_maker_class" , SyntheticDataGenerator.DOUBLE_COLUMN );
+    TARGET_COLUMN.put( "string_maker_class" , SyntheticDataGenerator.STRING_COLUMN );
+    TARGET_COLUMN.put( "boolean_maker_class" , SyntheticDataGenerator.BOOLEAN_COLUMN );
+    TARGET_COLUMN.put( "float_maker_class" , SyntheticDataGenerator.FLOAT_COLUMN );
+    TARGET_COLUMN.put( "bytes_maker_class" , SyntheticDataGenerator.BYTES_COLUMN );
+  }
+
+  @Param( {
+      "long_maker_class/UnsafeOptimizeLongColumnBinaryMaker" ,
+      "long_maker_class/UnsafeOptimizeDumpLongColumnBinaryMaker" ,
+      "double_maker_class/UnsafeOptimizeDoubleColumnBinaryMaker" ,
+      "double_maker_class/UnsafeRangeDumpDoubleColumnBinaryMaker" ,
+      "float_maker_class/UnsafeOptimizeFloatColumnBinaryMaker" ,
+      "float_maker_class/UnsafeRangeDumpFloatColumnBinaryMaker" ,
+      "string_maker_class/UnsafeOptimizeStringColumnBinaryMaker" ,
+      "string_maker_class/UnsafeOptimizeDumpStringColumnBinaryMaker" ,
+      "boolean_maker_class/DumpBooleanColumnBinaryMaker" ,
+      "bytes_maker_class/DumpBytesColumnBinaryMaker" } )
+  public String maker;
+
+  @Param( { "50000" } )
+  public int rowCount;
+
+  @Param( { "10" , "10000" } )
+  public int cardinality;
+
+  @Param( { "0" , "0.5" } )
+  public double nullRatio;
+
+  @Param( { "false" , "true" } )
+  public boolean sorted;
+
+  private PushdownSupportedBlockWriter blockWriter;
+  private Spread spread;
+
+  /**
+   * Create a Spread that has only the target column and fix the maker of the column type.
+   */
+  @Setup
+  public void setup() throws IOException {
+    String[] settingKeyAndMaker = maker.split( "/" );
+    String columnName = TARGET_COLUMN.get( settingKeyAndMaker[0] );
+
+    spread = new Spread();
+    SyntheticDataGenerator generator =
+        new SyntheticDataGenerator( cardinality , nullRatio , sorted );
+    for ( Map<String,Object> row : generator.createRows( columnName , rowCount ) ) {
+      spread.addRow( row );
+    }
+
+    Configuration config = new Configuration();
+    config.set( "spread.column.maker.setting" , String.format(
+        "{\"column_name\":\"root\",\"%s\":\"%s\",\"child_column\":[]}" ,
+        settingKeyAndMaker[0] , MAKER_PACKAGE + settingKeyAndMaker[1] ) );
+    blockWriter = new PushdownSupportedBlockWriter();
+    blockWriter.setup( 1024 * 1024 * 16 , config );
+  }
+
+  @Benchmark
+  public List<ColumnBinary> convertRow() throws IOException {
+    return blockWriter.convertRow( spread );
+  }
+
+}
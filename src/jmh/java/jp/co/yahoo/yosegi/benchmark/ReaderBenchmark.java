@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.reader.YosegiArrowReader;
+import jp.co.yahoo.yosegi.reader.YosegiReader;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.writer.YosegiRecordWriter;
+
+import org.apache.arrow.vector.ValueVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to read the whole file with YosegiReader#next and YosegiArrowReader#next.
+ * The file is written to memory in advance so that disk I/O is not included.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class ReaderBenchmark {
+
+  @Param( { "200000" } )
+  public int rowCount;
+
+  @Param( { "10" , "10000" } )
+  public int cardinality;
+
+  @Param( { "0" , "0.5" } )
+  public double nullRatio;
+
+  @Param( { "false" , "true" } )
+  public boolean sorted;
+
+  private byte[] yosegiFile;
+
+  /**
+   * Write the file to memory.
+   */
+  @Setup
+  public void setup() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try ( YosegiRecordWriter writer = new YosegiRecordWriter( out ) ) {
+      SyntheticDataGenerator generator =
+          new SyntheticDataGenerator( cardinality , nullRatio , sorted );
+      for ( Map<String,Object> row : generator.createRows( rowCount ) ) {
+        writer.addRow( row );
+      }
+    }
+    yosegiFile = out.toByteArray();
+  }
+
+  /**
+   * Read all spreads and decode all columns.
+   */
+  @Benchmark
+  public void yosegiReaderNext( final Blackhole blackhole ) throws IOException {
+    try ( YosegiReader reader = new YosegiReader() ) {
+      reader.setNewStream(
+          new ByteArrayInputStream( yosegiFile ) , yosegiFile.length , new Configuration() );
+      while ( reader.hasNext() ) {
+        Spread spread = reader.next();
+        for ( IColumn column : spread.getListColumn() ) {
+          blackhole.consume( column.size() );
+        }
+      }
+    }
+  }
+
+  /**
+   * Read all spreads as Arrow vectors.
+   */
+  @Benchmark
+  public void arrowReaderNext( final Blackhole blackhole ) throws IOException {
+    Configuration config = new Configuration();
+    YosegiReader reader = new YosegiReader();
+    reader.setNewStream( new ByteArrayInputStream( yosegiFile ) , yosegiFile.length , config );
+    YosegiArrowReader arrowReader = new YosegiArrowReader( reader , config );
+    try {
+      while ( arrowReader.hasNext() ) {
+        ValueVector vector = arrowReader.next();
+        blackhole.consume( vector.getValueCount() );
+      }
+    } finally {
+      arrowReader.close();
+    }
+  }
+
+}
@@ -0,0 +1,211 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.message.objects.BooleanObj;
+import jp.co.yahoo.yosegi.message.objects.BytesObj;
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.FloatObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.Spread;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates reproducible rows for benchmarks.
+ * The cardinality, the ratio of null and the sort order of each column can be specified.
+ */
+public class SyntheticDataGenerator {
+
+  public static final String LONG_COLUMN = "long_column";
+  public static final String DOUBLE_COLUMN = "double_column";
+  public static final String STRING_COLUMN = "string_column";
+  public static final String BOOLEAN_COLUMN = "boolean_column";
+  public static final String FLOAT_COLUMN = "float_column";
+  public static final String BYTES_COLUMN = "bytes_column";
+
+  private static final long DEFAULT_SEED = 20190101L;
+
+  private final int cardinality;
+  private final double nullRatio;
+  private final boolean sorted;
+  private final long seed;
+
+  public SyntheticDataGenerator(
+      final int cardinality , final double nullRatio , final boolean sorted ) {
+    this( cardinality , nullRatio , sorted , DEFAULT_SEED );
+  }
+
+  /**
+   * Initialize with the data characteristics.
+   */
+  public SyntheticDataGenerator(
+      final int cardinality ,
+      final double nullRatio ,
+      final boolean sorted ,
+      final long seed ) {
+    if ( cardinality <= 0 ) {
+      throw new IllegalArgumentException( "cardinality must be greater than 0." );
+    }
+    if ( nullRatio < 0 || 1 < nullRatio ) {
+      throw new IllegalArgumentException( "nullRatio must be between 0 and 1." );
+    }
+    this.cardinality = cardinality;
+    this.nullRatio = nullRatio;
+    this.sorted = sorted;
+    this.seed = seed;
+  }
+
+  /**
+   * Create the value ids of each row.
+   * The id is between 0 and cardinality - 1 and -1 means null.
+   */
+  public int[] createIds( final int rowCount ) {
+    Random random = new Random( seed );
+    int[] ids = new int[rowCount];
+    for ( int i = 0 ; i < rowCount ; i++ ) {
+      ids[i] = random.nextInt( cardinality );
+    }
+    if ( sorted ) {
+      Arrays.sort( ids );
+    }
+    for ( int i = 0 ; i < rowCount ; i++ ) {
+      if ( random.nextDouble() < nullRatio ) {
+        ids[i] = -1;
+      }
+    }
+    return ids;
+  }
+
+  public static long toLong( final int id ) {
+    return id * 31L;
+  }
+
+  public static double toDouble( final int id ) {
+    return id * 0.25d;
+  }
+
+  public static String toString( final int id ) {
+    return String.format( "value_%08d" , id );
+  }
+
+  public static boolean toBoolean( final int id ) {
+    return ( id & 1 ) == 0;
+  }
+
+  public static float toFloat( final int id ) {
+    return id * 0.25f;
+  }
+
+  public static byte[] toBytes( final int id ) {
+    return toString( id ).getBytes( StandardCharsets.UTF_8 );
+  }
+
+  private static PrimitiveObject toPrimitiveObject( final String columnName , final int id ) {
+    switch ( columnName ) {
+      case LONG_COLUMN:
+        return new LongObj( toLong( id ) );
+      case DOUBLE_COLUMN:
+        return new DoubleObj( toDouble( id ) );
+      case STRING_COLUMN:
+        return new StringObj( toString( id ) );
+      case BOOLEAN_COLUMN:
+        return new BooleanObj( toBoolean( id ) );
+      case FLOAT_COLUMN:
+        return new FloatObj( toFloat( id ) );
+      case BYTES_COLUMN:
+        return new BytesObj( toBytes( id ) );
+      default:
+        throw new IllegalArgumentException( "Unknown column : " + columnName );
+    }
+  }
+
+  /**
+   * Create rows that have the long, double, string and boolean columns.
+   * The null cell is represented by the absence of the key.
+   */
+  public List<Map<String,Object>> createRows( final int rowCount ) {
+    int[] ids = createIds( rowCount );
+    List<Map<String,Object>> result = new ArrayList<Map<String,Object>>( rowCount );
+    for ( int id : ids ) {
+      Map<String,Object> row = new HashMap<String,Object>();
+      if ( 0 <= id ) {
+        row.put( LONG_COLUMN , new LongObj( toLong( id ) ) );
+        row.put( DOUBLE_COLUMN , new DoubleObj( toDouble( id ) ) );
+        row.put( STRING_COLUMN , new StringObj( toString( id ) ) );
+        row.put( BOOLEAN_COLUMN , new BooleanObj( toBoolean( id ) ) );
+      }
+      result.add( row );
+    }
+    return result;
+  }
+
+  /**
+   * Create rows that have only the column.
+   * The float and bytes columns, which the rows of all columns do not have, can be created.
+   */
+  public List<Map<String,Object>> createRows( final String columnName , final int rowCount ) {
+    int[] ids = createIds( rowCount );
+    List<Map<String,Object>> result = new ArrayList<Map<String,Object>>( rowCount );
+    for ( int id : ids ) {
+      Map<String,Object> row = new HashMap<String,Object>();
+      if ( 0 <= id ) {
+        row.put( columnName , toPrimitiveObject( columnName , id ) );
+      }
+      result.add( row );
+    }
+    return result;
+  }
+
+  /**
+   * Create a Spread from the generated rows.
+   */
+  public Spread createSpread( final int rowCount ) throws IOException {
+    Spread spread = new Spread();
+    for ( Map<String,Object> row : createRows( rowCount ) ) {
+      spread.addRow( row );
+    }
+    return spread;
+  }
+
+  /**
+   * Create a byte array in which the same value ids appear with the same bytes.
+   */
+  public byte[] createBytes( final int rowCount ) {
+    int[] ids = createIds( rowCount );
+    StringBuilder builder = new StringBuilder();
+    for ( int id : ids ) {
+      if ( 0 <= id ) {
+        builder.append( toString( id ) );
+      }
+      builder.append( '\n' );
+    }
+    return builder.toString().getBytes( StandardCharsets.UTF_8 );
+  }
+
+}
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.writer.YosegiRecordWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to write rows with YosegiRecordWriter#addRow and close the file.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class YosegiRecordWriterBenchmark {
+
+  @Param( { "100000" } )
+  public int rowCount;
+
+  @Param( { "10" , "10000" } )
+  public int cardinality;
+
+  @Param( { "0" , "0.5" } )
+  public double nullRatio;
+
+  @Param( { "false" , "true" } )
+  public boolean sorted;
+
+  private List<Map<String,Object>> rows;
+
+  @Setup
+  public void setup() {
+    rows = new SyntheticDataGenerator( cardinality , nullRatio , sorted ).createRows( rowCount );
+  }
+
+  /**
+   * Write all rows to memory.
+   */
+  @Benchmark
+  public int addRow() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    YosegiRecordWriter writer = new YosegiRecordWriter( out );
+    for ( Map<String,Object> row : rows ) {
+      writer.addRow( row );
+    }
+    writer.close();
+    return out.size();
+  }
+
+}
@@ -19,6 +19,8 @@
 package jp.co.yahoo.yosegi.binary;
 
 import jp.co.yahoo.yosegi.compressor.CompressorNameShortCut;
+import jp.co.yahoo.yosegi.compressor.FindCompressor;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.ColumnTypeFactory;
 import jp.co.yahoo.yosegi.stats.ColumnStats;
@@ -27,10 +29,15 @@ import jp.co.yahoo.yosegi.stats.SummaryStats;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.util.Arrays;
 import java.util.List;
 
 public class ColumnBinary {
 
+  private static final int MAX_WORK_BUFFER_SIZE = 1024 * 1024 * 8;
+
+  private static final ThreadLocal<byte[]> WORK_BUFFER = new ThreadLocal<byte[]>();
+
   public final String makerClassName;
 
   public final String compressorClassName;
@@ -48,6 +55,10 @@ public class ColumnBinary {
 
   public List<ColumnBinary> columnBinaryList;
 
+  private ColumnBinaryCache cache;
+  private ColumnBinaryCache.Key cacheKey;
+  private ICompressor compressor;
+
   /**
    * Create an object initialized with argument values.
    */
@@ -78,6 +89,113 @@ public class ColumnBinary {
     this.columnBinaryList = columnBinaryList;
   }
 
+  /**
+   * Set the cache of the decompressed binary and the key of this column in the file.
+   */
+  public void setCache( final ColumnBinaryCache cache , final ColumnBinaryCache.Key cacheKey ) {
+    this.cache = cache;
+    this.cacheKey = cacheKey;
+  }
+
+  /**
+   * Copy the binary of this column as read from the file from the cache.
+   * Returns false if the cache is not set or does not hold the binary.
+   */
+  public boolean loadBinaryFromCache() {
+    if ( cache == null || binaryLength == 0 ) {
+      return false;
+    }
+    byte[] cachedBinary = cache.get( cacheKey );
+    if ( cachedBinary == null || cachedBinary.length != binaryLength ) {
+      return false;
+    }
+    System.arraycopy( cachedBinary , 0 , binary , binaryStart , binaryLength );
+    return true;
+  }
+
+  /**
+   * Put the binary of this column as read from the file into the cache.
+   */
+  public void putBinaryToCache() {
+    if ( cache == null || binaryLength == 0 ) {
+      return;
+    }
+    cache.put( cacheKey , Arrays.copyOfRange( binary , binaryStart , binaryStart + binaryLength ) );
+  }
+
+  /**
+   * Set the compressor instance of this column.
+   * It is used when the instance created by FindCompressor can not decompress the binary,
+   * such as the zstd compressor that has the dictionaries of the block.
+   */
+  public void setCompressor( final ICompressor compressor ) {
+    this.compressor = compressor;
+  }
+
+  /**
+   * Get the compressor of this column.
+   * If the compressor instance is not set, it is found from the compressor class name.
+   */
+  public ICompressor getCompressor() throws IOException {
+    if ( compressor != null ) {
+      return compressor;
+    }
+    return FindCompressor.get( compressorClassName );
+  }
+
+  /**
+   * Decompress the range of the binary with the compressor of this column.
+   * If the cache is set, the decompressed binary is shared through the cache,
+   * so the caller must not modify it.
+   */
+  public byte[] decompress( final int start , final int length ) throws IOException {
+    if ( cache == null ) {
+      return getCompressor().decompress( binary , start , length );
+    }
+    ColumnBinaryCache.Key rangeKey = cacheKey.getRangeKey( start - binaryStart , length );
+    byte[] result = cache.get( rangeKey );
+    if ( result == null ) {
+      result = getCompressor().decompress( binary , start , length );
+      cache.put( rangeKey , result );
+    }
+    return result;
+  }
+
+  /**
+   * Decompress the range of the binary into the buffer with the compressor of this column.
+   * If the buffer is null or too small, a new array is allocated and returned instead.
+   * The returned array may be longer than the decompressed binary,
+   * so the caller must take the lengths from the header, not from the array.
+   * If the cache is set, the cached binary is returned and the buffer is not used.
+   */
+  public byte[] decompress(
+      final byte[] buffer , final int start , final int length ) throws IOException {
+    if ( cache != null ) {
+      return decompress( start , length );
+    }
+    ICompressor currentCompressor = getCompressor();
+    int decompressSize = currentCompressor.getDecompressSize( binary , start , length );
+    byte[] result = buffer;
+    if ( result == null || result.length < decompressSize ) {
+      result = new byte[decompressSize];
+    }
+    currentCompressor.decompressAndSet( binary , start , length , result );
+    return result;
+  }
+
+  /**
+   * Decompress the range of the binary into the work buffer of the current thread.
+   * The returned array is overwritten by the next call on the same thread,
+   * so the caller must not keep it after reading the values.
+   */
+  public byte[] decompressToWorkBuffer( final int start , final int length ) throws IOException {
+    byte[] result = decompress( WORK_BUFFER.get() , start , length );
+    if ( cache == null && result.length <= MAX_WORK_BUFFER_SIZE ) {
+      WORK_BUFFER.set( result );
+    }
+    return result;
+  }
+
   /**
    * Calculate the converted binary size of this object.
    */
@@ -0,0 +1,199 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Size-bounded LRU cache of decompressed column binaries shared by readers.
+ * It also holds the binary of each column as read from the file,
+ * so a block reader does not read the columns that are cached.
+ * The size is the total number of bytes of the cached arrays.
+ * The cached arrays are shared, so they must not be modified.
+ */
+public class ColumnBinaryCache {
+
+  private static ColumnBinaryCache sharedCache;
+
+  private final LinkedHashMap<Key,byte[]> cacheMap =
+      new LinkedHashMap<Key,byte[]>( 16 , 0.75f , true );
+
+  private long maxSize;
+  private long size;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  /**
+   * Identify a range of a column binary in a file.
+   * The column is identified by its offset in the block, and the range by its offset
+   * from the start of the column binary.
+   * The key of the column itself, without a range, holds the binary as read from the file.
+   */
+  public static final class Key {
+    private final String fileId;
+    private final long blockOffset;
+    private final int columnOffset;
+    private final int start;
+    private final int length;
+
+    public Key( final String fileId , final long blockOffset , final int columnOffset ) {
+      this( fileId , blockOffset , columnOffset , 0 , 0 );
+    }
+
+    /**
+     * Create a key of the range of the column binary.
+     */
+    public Key(
+        final String fileId ,
+        final long blockOffset ,
+        final int columnOffset ,
+        final int start ,
+        final int length ) {
+      this.fileId = fileId;
+      this.blockOffset = blockOffset;
+      this.columnOffset = columnOffset;
+      this.start = start;
+      this.length = length;
+    }
+
+    public Key getRangeKey( final int start , final int length ) {
+      return new Key( fileId , blockOffset , columnOffset , start , length );
+    }
+
+    @Override
+    public boolean equals( final Object other ) {
+      if ( this == other ) {
+        return true;
+      }
+      if ( ! ( other instanceof Key ) ) {
+        return false;
+      }
+      Key target = (Key)other;
+      return blockOffset == target.blockOffset
+          && columnOffset == target.columnOffset
+          && start == target.start
+          && length == target.length
+          && fileId.equals( target.fileId );
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash( fileId , blockOffset , columnOffset , start , length );
+    }
+  }
+
+  public ColumnBinaryCache( final long maxSize ) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Get the cache shared in the process.
+   * It is created with the specified size on the first call,
+   * and later calls return the same cache.
+   */
+  public static synchronized ColumnBinaryCache getSharedCache( final long maxSize ) {
+    if ( sharedCache == null ) {
+      sharedCache = new ColumnBinaryCache( maxSize );
+    }
+    return sharedCache;
+  }
+
+  /**
+   * Get the cached binary, or null if it is not cached.
+   */
+  public synchronized byte[] get( final Key key ) {
+    byte[] result = cacheMap.get( key );
+    if ( result == null ) {
+      missCount++;
+    } else {
+      hitCount++;
+    }
+    return result;
+  }
+
+  /**
+   * Add the binary and evict the least recently used binaries that exceed the size.
+   * A binary larger than the size of the cache is not added.
+   */
+  public synchronized void put( final Key key , final byte[] binary ) {
+    if ( maxSize < binary.length ) {
+      return;
+    }
+    byte[] old = cacheMap.put( key , binary );
+    if ( old != null ) {
+      size -= old.length;
+    }
+    size += binary.length;
+    evict();
+  }
+
+  /**
+   * Change the size and evict the binaries that exceed it.
+   */
+  public synchronized void setMaxSize( final long maxSize ) {
+    this.maxSize = maxSize;
+    evict();
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<Key,byte[]>> iterator = cacheMap.entrySet().iterator();
+    while ( maxSize < size && iterator.hasNext() ) {
+      size -= iterator.next().getValue().length;
+      iterator.remove();
+      evictionCount++;
+    }
+  }
+
+  /**
+   * Remove all binaries. The counts are not reset.
+   */
+  public synchronized void clear() {
+    cacheMap.clear();
+    size = 0;
+  }
+
+  public synchronized long getMaxSize() {
+    return maxSize;
+  }
+
+  public synchronized long getSize() {
+    return size;
+  }
+
+  public synchronized int getEntryCount() {
+    return cacheMap.size();
+  }
+
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+}
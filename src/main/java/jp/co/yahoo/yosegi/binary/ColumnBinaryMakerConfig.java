@@ -64,6 +64,18 @@ public class ColumnBinaryMakerConfig {
 
   public CompressionPolicy compressionPolicy;
 
+  /**
+   * Write the index of the dictionary makers with the smallest bit width.
+   * Readers older than this format can not detect it, so it is disabled by default.
+   */
+  public boolean bitPackDictionaryIndex;
+
+  /**
+   * Write the boolean values and null flags of the dump makers as bitmaps.
+   * Readers older than this format can not detect it, so it is disabled by default.
+   */
+  public boolean bitPackNullFlags;
+
   /**
    * Initialize with the default value.
    */
@@ -113,6 +125,9 @@ public class ColumnBinaryMakerConfig {
     this.longMakerClass = otherConfig.longMakerClass;
     this.shortMakerClass = otherConfig.shortMakerClass;
     this.stringMakerClass = otherConfig.stringMakerClass;
+    this.compressionPolicy = otherConfig.compressionPolicy;
+    this.bitPackDictionaryIndex = otherConfig.bitPackDictionaryIndex;
+    this.bitPackNullFlags = otherConfig.bitPackNullFlags;
   }
 
   /**
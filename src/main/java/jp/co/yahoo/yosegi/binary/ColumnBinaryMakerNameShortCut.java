@@ -18,12 +18,14 @@
 
 package jp.co.yahoo.yosegi.binary;
 
+import jp.co.yahoo.yosegi.binary.maker.ByteStreamSplitDoubleColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.ConstantColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.DumpArrayColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.DumpBooleanColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.DumpBytesColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.DumpSpreadColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.DumpUnionColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDoubleColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpStringColumnBinaryMaker;
@@ -32,6 +34,7 @@ import jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeStringColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.UnsafeRangeDumpDoubleColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.UnsafeRangeDumpFloatColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.XorDoubleColumnBinaryMaker;
 import jp.co.yahoo.yosegi.util.Pair;
 
 public final class ColumnBinaryMakerNameShortCut {
@@ -58,6 +61,11 @@ public final class ColumnBinaryMakerNameShortCut {
 
     CLASS_NAME_PAIR.set( ConstantColumnBinaryMaker.class.getName()   , "C0" );
 
+    CLASS_NAME_PAIR.set( RunLengthEncodingColumnBinaryMaker.class.getName()   , "RL0" );
+
+    CLASS_NAME_PAIR.set( XorDoubleColumnBinaryMaker.class.getName()   , "XR2" );
+    CLASS_NAME_PAIR.set( ByteStreamSplitDoubleColumnBinaryMaker.class.getName()   , "BS2" );
+
     // The following are legacy classes.
     // These classes require a legacy jar.
     CLASS_NAME_PAIR.set(
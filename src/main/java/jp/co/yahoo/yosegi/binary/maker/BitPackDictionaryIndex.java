@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.util.io.BitPackUtils;
+
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Write and read the dictionary index of the dictionary makers with the
+ * smallest bit width that holds the largest index.
+ * The byte order byte of the binary has BIT_PACKED_FLAG when the index is bit-packed,
+ * so the binaries written with the byte, short and int index makers are still readable.
+ * Readers older than this flag decode a bit-packed index as wrong values,
+ * so the makers write it only if ColumnBinaryMakerConfig.bitPackDictionaryIndex is set.
+ */
+public final class BitPackDictionaryIndex {
+
+  public static final byte LITTLE_ENDIAN_FLAG = (byte)0x01;
+  public static final byte BIT_PACKED_FLAG = (byte)0x02;
+
+  private BitPackDictionaryIndex() {}
+
+  /**
+   * Create the byte order byte.
+   */
+  public static byte toOrderByte( final ByteOrder order , final boolean bitPacked ) {
+    byte result = order == ByteOrder.BIG_ENDIAN ? (byte)0 : LITTLE_ENDIAN_FLAG;
+    if ( bitPacked ) {
+      result |= BIT_PACKED_FLAG;
+    }
+    return result;
+  }
+
+  public static ByteOrder getByteOrder( final byte orderByte ) {
+    return ( orderByte & LITTLE_ENDIAN_FLAG ) == 0
+        ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+  }
+
+  public static boolean isBitPacked( final byte orderByte ) {
+    return ( orderByte & BIT_PACKED_FLAG ) != 0;
+  }
+
+  /**
+   * Returns the bit width of the index of a dictionary that includes the null entry.
+   */
+  public static int getBitWidth( final int dicSize ) {
+    return BitPackUtils.getBitWidth( Math.max( 0 , dicSize - 1 ) );
+  }
+
+  public static int calcBinarySize( final int indexLength , final int dicSize ) {
+    return BitPackUtils.getPackedLength( indexLength , getBitWidth( dicSize ) );
+  }
+
+  /**
+   * Write the index to the buffer.
+   */
+  public static void create(
+      final int[] dicIndexArray ,
+      final int dicSize ,
+      final byte[] buffer ,
+      final int start ) {
+    BitPackUtils.packInt(
+        dicIndexArray , 0 , dicIndexArray.length , getBitWidth( dicSize ) , buffer , start );
+  }
+
+  /**
+   * Read indexLength indexes from the buffer.
+   */
+  public static IntBuffer getIndexIntBuffer(
+      final int indexLength ,
+      final int dicSize ,
+      final byte[] buffer ,
+      final int start ) {
+    int[] result = new int[indexLength];
+    BitPackUtils.unpackInt( buffer , start , indexLength , getBitWidth( dicSize ) , result , 0 );
+    return IntBuffer.wrap( result );
+  }
+
+}
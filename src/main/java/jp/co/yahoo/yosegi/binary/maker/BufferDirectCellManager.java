@@ -26,6 +26,7 @@ import jp.co.yahoo.yosegi.spread.column.ICellManager;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 import jp.co.yahoo.yosegi.spread.column.index.DefaultCellIndex;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionIndex;
 
@@ -99,6 +100,18 @@ public class BufferDirectCellManager implements ICellManager {
     }
   }
 
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    switch ( filter.getFilterType() ) {
+      case NOT_NULL:
+      case NULL:
+        return ICellManager.super.filter( filter , filterBitSet );
+      default:
+        return index.filter( filter , filterBitSet );
+    }
+  }
+
   @Override
   public PrimitiveObject[] getPrimitiveObjectArray(
       final IExpressionIndex indexList ,
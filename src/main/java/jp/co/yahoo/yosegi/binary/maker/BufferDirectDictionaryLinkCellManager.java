@@ -27,6 +27,7 @@ import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.INullFilter;
 import jp.co.yahoo.yosegi.spread.column.index.DefaultCellIndex;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionIndex;
 
@@ -38,6 +39,7 @@ public class BufferDirectDictionaryLinkCellManager implements IDictionaryCellMan
 
   private final ColumnType columnType;
   private final IDicManager dicManager;
+  private final ILongDicManager longDicManager;
   private final IntBuffer dicIndexIntBuffer;
   private final int indexSize;
 
@@ -52,6 +54,11 @@ public class BufferDirectDictionaryLinkCellManager implements IDictionaryCellMan
       final IntBuffer dicIndexIntBuffer ) {
     this.columnType = columnType;
     this.dicManager = dicManager;
+    if ( dicManager instanceof ILongDicManager ) {
+      longDicManager = (ILongDicManager)dicManager;
+    } else {
+      longDicManager = null;
+    }
     this.dicIndexIntBuffer = dicIndexIntBuffer;
     indexSize = dicIndexIntBuffer.capacity();
   }
@@ -128,6 +135,18 @@ public class BufferDirectDictionaryLinkCellManager implements IDictionaryCellMan
     }
   }
 
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    switch ( filter.getFilterType() ) {
+      case NOT_NULL:
+      case NULL:
+        return IDictionaryCellManager.super.filter( filter , filterBitSet );
+      default:
+        return index.filter( filter , filterBitSet );
+    }
+  }
+
   @Override
   public PrimitiveObject[] getPrimitiveObjectArray(
       final IExpressionIndex indexList ,
@@ -175,6 +194,8 @@ public class BufferDirectDictionaryLinkCellManager implements IDictionaryCellMan
       try {
         if ( dicIndex == 0 ) {
           allocator.setNull( index );
+        } else if ( longDicManager != null ) {
+          setLong( allocator , index , dicIndex );
         } else {
           allocator.setPrimitiveObject( index , dicManager.get( dicIndex ) );
         }
@@ -187,6 +208,31 @@ public class BufferDirectDictionaryLinkCellManager implements IDictionaryCellMan
     }
   }
 
+  private void setLong(
+      final IMemoryAllocator allocator ,
+      final int index ,
+      final int dicIndex ) throws IOException {
+    long value = longDicManager.getLong( dicIndex );
+    try {
+      switch ( columnType ) {
+        case BYTE:
+          allocator.setByte( index , (byte)value );
+          break;
+        case SHORT:
+          allocator.setShort( index , (short)value );
+          break;
+        case INTEGER:
+          allocator.setInteger( index , (int)value );
+          break;
+        default:
+          allocator.setLong( index , value );
+          break;
+      }
+    } catch ( UnsupportedOperationException ex ) {
+      allocator.setPrimitiveObject( index , dicManager.get( dicIndex ) );
+    }
+  }
+
   @Override
   public int[] getIndexArray( final IExpressionIndex indexList ) throws IOException {
     int[] result = new int[indexList.size()];
@@ -59,6 +59,7 @@ import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.INullFilter;
 import jp.co.yahoo.yosegi.spread.column.index.DefaultCellIndex;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionIndex;
 
@@ -248,34 +249,38 @@ public class ConstantColumnBinaryMaker implements IColumnBinaryMaker {
     switch ( columnBinary.columnType ) {
       case BYTE:
         byte byteValue = wrapBuffer.get();
-        currentNode.setBlockIndex( new ByteRangeBlockIndex( byteValue , byteValue ) );
+        currentNode.setBlockIndex( new ByteRangeBlockIndex( byteValue , byteValue ) , spreadIndex );
         break;
       case SHORT:
         short shortValue = wrapBuffer.getShort();
-        currentNode.setBlockIndex( new ShortRangeBlockIndex( shortValue , shortValue ) );
+        currentNode.setBlockIndex(
+            new ShortRangeBlockIndex( shortValue , shortValue ) , spreadIndex );
         break;
       case INTEGER:
         int intValue = wrapBuffer.getInt();
-        currentNode.setBlockIndex( new IntegerRangeBlockIndex( intValue , intValue ) );
+        currentNode.setBlockIndex(
+            new IntegerRangeBlockIndex( intValue , intValue ) , spreadIndex );
         break;
       case LONG:
         long longValue = wrapBuffer.getLong();
-        currentNode.setBlockIndex( new LongRangeBlockIndex( longValue , longValue ) );
+        currentNode.setBlockIndex( new LongRangeBlockIndex( longValue , longValue ) , spreadIndex );
         break;
       case FLOAT:
         float floatValue = wrapBuffer.getFloat();
-        currentNode.setBlockIndex( new FloatRangeBlockIndex( floatValue , floatValue ) );
+        currentNode.setBlockIndex(
+            new FloatRangeBlockIndex( floatValue , floatValue ) , spreadIndex );
         break;
       case DOUBLE:
         double doubleValue = wrapBuffer.getDouble();
-        currentNode.setBlockIndex( new DoubleRangeBlockIndex( doubleValue , doubleValue ) );
+        currentNode.setBlockIndex(
+            new DoubleRangeBlockIndex( doubleValue , doubleValue ) , spreadIndex );
         break;
       case STRING:
         int stringLength = wrapBuffer.getInt();
         byte[] stringBytes = new byte[stringLength];
         wrapBuffer.get( stringBytes );
         String string = new String( stringBytes , 0 , stringBytes.length , "UTF-8" );
-        currentNode.setBlockIndex( new StringRangeBlockIndex( string , string ) );
+        currentNode.setBlockIndex( new StringRangeBlockIndex( string , string ) , spreadIndex );
         break;
       default:
         currentNode.disable();
@@ -346,6 +351,18 @@ public class ConstantColumnBinaryMaker implements IColumnBinaryMaker {
       }
     }
 
+    @Override
+    public FilterBitSet filter(
+        final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+      switch ( filter.getFilterType() ) {
+        case NOT_NULL:
+        case NULL:
+          return ICellManager.super.filter( filter , filterBitSet );
+        default:
+          return index.filter( filter , filterBitSet );
+      }
+    }
+
     @Override
     public PrimitiveObject[] getPrimitiveObjectArray(
         final IExpressionIndex indexList ,
@@ -0,0 +1,474 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.binary.maker.index.RangeLongIndex;
+import jp.co.yahoo.yosegi.binary.maker.index.SequentialNumberCellIndex;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilter;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterMemoryAllocator;
+import jp.co.yahoo.yosegi.blockindex.IBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.LongRangeBlockIndex;
+import jp.co.yahoo.yosegi.compressor.DataType;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.IntegerColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.LongColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.io.BitPackUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Save integral values as differences from the previous value.
+ * The differences, or the differences of the differences, are bit-packed
+ * in mini blocks of MINI_BLOCK_SIZE values with the minimum of each block.
+ * Sorted values such as timestamps and sequence ids need only a few bits per value.
+ */
+public class DeltaBitPackLongColumnBinaryMaker implements IColumnBinaryMaker {
+
+  public static final int MINI_BLOCK_SIZE = 128;
+
+  public static final byte ENCODING_DELTA = (byte)0;
+  public static final byte ENCODING_DELTA_OF_DELTA = (byte)1;
+
+  private static final int HEADER_SIZE = Long.BYTES * 2 + Byte.BYTES * 2 + Integer.BYTES;
+  private static final int MINI_BLOCK_HEADER_SIZE = Long.BYTES + Byte.BYTES;
+
+  /**
+   * Returns the differences from the previous value.
+   */
+  public static long[] toDelta( final long[] valueArray , final int length ) {
+    long[] result = new long[ Math.max( 0 , length - 1 ) ];
+    for ( int i = 1 ; i < length ; i++ ) {
+      result[i - 1] = valueArray[i] - valueArray[i - 1];
+    }
+    return result;
+  }
+
+  /**
+   * Returns the length of the mini blocks of the values.
+   */
+  public static int calcMiniBlocksLength( final long[] valueArray ) {
+    int length = 0;
+    for ( int start = 0 ; start < valueArray.length ; start += MINI_BLOCK_SIZE ) {
+      int count = Math.min( MINI_BLOCK_SIZE , valueArray.length - start );
+      long min = Long.MAX_VALUE;
+      long max = Long.MIN_VALUE;
+      for ( int i = start ; i < start + count ; i++ ) {
+        min = Math.min( min , valueArray[i] );
+        max = Math.max( max , valueArray[i] );
+      }
+      length += MINI_BLOCK_HEADER_SIZE
+          + BitPackUtils.getPackedLength( count , BitPackUtils.getBitWidth( max - min ) );
+    }
+    return length;
+  }
+
+  /**
+   * Write the mini blocks of the values and returns the written length.
+   */
+  public static int writeMiniBlocks(
+      final long[] valueArray , final byte[] buffer , final int offset ) {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer );
+    int position = offset;
+    for ( int start = 0 ; start < valueArray.length ; start += MINI_BLOCK_SIZE ) {
+      int count = Math.min( MINI_BLOCK_SIZE , valueArray.length - start );
+      long min = Long.MAX_VALUE;
+      long max = Long.MIN_VALUE;
+      for ( int i = start ; i < start + count ; i++ ) {
+        min = Math.min( min , valueArray[i] );
+        max = Math.max( max , valueArray[i] );
+      }
+      int bitWidth = BitPackUtils.getBitWidth( max - min );
+      wrapBuffer.putLong( position , min );
+      buffer[position + Long.BYTES] = (byte)bitWidth;
+      position += MINI_BLOCK_HEADER_SIZE;
+      position += BitPackUtils.pack(
+          valueArray , start , count , min , bitWidth , buffer , position );
+    }
+    return position - offset;
+  }
+
+  /**
+   * Read the mini blocks into the values and returns the read length.
+   */
+  public static int readMiniBlocks(
+      final byte[] buffer , final int offset , final long[] valueArray , final int length ) {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer );
+    int position = offset;
+    for ( int start = 0 ; start < length ; start += MINI_BLOCK_SIZE ) {
+      int count = Math.min( MINI_BLOCK_SIZE , length - start );
+      long min = wrapBuffer.getLong( position );
+      int bitWidth = buffer[position + Long.BYTES];
+      position += MINI_BLOCK_HEADER_SIZE;
+      position += BitPackUtils.unpack(
+          buffer , position , count , min , bitWidth , valueArray , start );
+    }
+    return position - offset;
+  }
+
+  /**
+   * Encode the values and returns the encoded binary.
+   * The first byte is the encoding.
+   */
+  public static byte[] encode( final long[] valueArray , final int rowCount ) {
+    if ( rowCount == 0 ) {
+      return new byte[]{ ENCODING_DELTA };
+    }
+    long[] deltaArray = toDelta( valueArray , rowCount );
+    long[] deltaOfDeltaArray = toDelta( deltaArray , deltaArray.length );
+    int deltaLength = Long.BYTES + calcMiniBlocksLength( deltaArray );
+    int deltaOfDeltaLength = Long.BYTES * 2 + calcMiniBlocksLength( deltaOfDeltaArray );
+    boolean useDeltaOfDelta = 1 < deltaArray.length && deltaOfDeltaLength < deltaLength;
+
+    int length = useDeltaOfDelta ? deltaOfDeltaLength : deltaLength;
+    byte[] result = new byte[ Byte.BYTES + length ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( result );
+    wrapBuffer.put( useDeltaOfDelta ? ENCODING_DELTA_OF_DELTA : ENCODING_DELTA );
+    wrapBuffer.putLong( valueArray[0] );
+    if ( useDeltaOfDelta ) {
+      wrapBuffer.putLong( deltaArray[0] );
+      writeMiniBlocks( deltaOfDeltaArray , result , wrapBuffer.position() );
+    } else {
+      writeMiniBlocks( deltaArray , result , wrapBuffer.position() );
+    }
+    return result;
+  }
+
+  /**
+   * Decode rowCount values from the encoded binary.
+   */
+  public static long[] decode( final byte[] buffer , final int offset , final int rowCount ) {
+    long[] result = new long[rowCount];
+    if ( rowCount == 0 ) {
+      return result;
+    }
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer );
+    byte encoding = buffer[offset];
+    result[0] = wrapBuffer.getLong( offset + Byte.BYTES );
+    if ( rowCount == 1 ) {
+      return result;
+    }
+    if ( encoding == ENCODING_DELTA_OF_DELTA ) {
+      long delta = wrapBuffer.getLong( offset + Byte.BYTES + Long.BYTES );
+      long[] deltaOfDeltaArray = new long[ rowCount - 2 ];
+      readMiniBlocks(
+          buffer , offset + Byte.BYTES + Long.BYTES * 2 , deltaOfDeltaArray , rowCount - 2 );
+      result[1] = result[0] + delta;
+      for ( int i = 2 ; i < rowCount ; i++ ) {
+        delta += deltaOfDeltaArray[i - 2];
+        result[i] = result[i - 1] + delta;
+      }
+    } else {
+      readMiniBlocks( buffer , offset + Byte.BYTES + Long.BYTES , result , rowCount - 1 );
+      System.arraycopy( result , 0 , result , 1 , rowCount - 1 );
+      result[0] = wrapBuffer.getLong( offset + Byte.BYTES );
+      for ( int i = 1 ; i < rowCount ; i++ ) {
+        result[i] += result[i - 1];
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public ColumnBinary toBinary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final IColumn column ) throws IOException {
+    ColumnBinaryMakerConfig currentConfig = commonConfig;
+    if ( currentConfigNode != null ) {
+      currentConfig = currentConfigNode.getCurrentConfig();
+    }
+    long[] valueArray = new long[column.size()];
+    byte[] isNullArray = new byte[column.size()];
+
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    int rowCount = 0;
+    boolean hasNull = false;
+    for ( int i = 0 ; i < column.size() ; i++ ) {
+      ICell cell = column.get(i);
+      if ( cell.getType() == ColumnType.NULL ) {
+        hasNull = true;
+        isNullArray[i] = 1;
+      } else {
+        long value = ( (PrimitiveCell) cell ).getRow().getLong();
+        valueArray[rowCount] = value;
+        if ( value < min ) {
+          min = value;
+        }
+        if ( max < value ) {
+          max = value;
+        }
+        rowCount++;
+      }
+    }
+
+    if ( ! hasNull && min == max ) {
+      return ConstantColumnBinaryMaker.createColumnBinary(
+          UnsafeOptimizeDumpLongColumnBinaryMaker.createConstObjectFromNum(
+              column.getColumnType() , min ) ,
+          column.getColumnName() ,
+          column.size() );
+    }
+
+    byte[] encodeBinary = encode( valueArray , rowCount );
+    int nullBinaryLength = hasNull ? BitPackUtils.getBitmapLength( isNullArray.length ) : 0;
+    byte[] binaryRaw = new byte[ nullBinaryLength + encodeBinary.length ];
+    if ( hasNull ) {
+      BitPackUtils.packBitmap( isNullArray , 0 , isNullArray.length , binaryRaw , 0 );
+    }
+    System.arraycopy( encodeBinary , 0 , binaryRaw , nullBinaryLength , encodeBinary.length );
+
+    byte[] header = new byte[ HEADER_SIZE ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( header , 0 , header.length );
+    wrapBuffer.putLong( min );
+    wrapBuffer.putLong( max );
+    wrapBuffer.put( hasNull ? (byte)1 : (byte)0 );
+    wrapBuffer.put( encodeBinary[0] );
+    wrapBuffer.putInt( rowCount );
+
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        header , binaryRaw , 0 , binaryRaw.length , DataType.NUMBER ,
+        currentConfig.compressionPolicy );
+
+    return new ColumnBinary(
+        this.getClass().getName() ,
+        currentConfig.compressorClass.getClass().getName() ,
+        column.getColumnName() ,
+        column.getColumnType() ,
+        column.size() ,
+        binary.length ,
+        UnsafeOptimizeDumpLongColumnBinaryMaker.getLogicalSize(
+            rowCount , column.getColumnType() ) ,
+        -1 ,
+        binary ,
+        0 ,
+        binary.length ,
+        null );
+  }
+
+  @Override
+  public int calcBinarySize( final IColumnAnalizeResult analizeResult ) {
+    int deltaBitWidth;
+    switch ( analizeResult.getColumnType() ) {
+      case INTEGER:
+        deltaBitWidth = ( (IntegerColumnAnalizeResult) analizeResult ).getDeltaBitWidth();
+        break;
+      case LONG:
+        deltaBitWidth = ( (LongColumnAnalizeResult) analizeResult ).getDeltaBitWidth();
+        break;
+      default:
+        deltaBitWidth = Long.SIZE;
+        break;
+    }
+    int deltaCount = Math.max( 0 , analizeResult.getRowCount() - 1 );
+    int miniBlockCount = ( deltaCount + MINI_BLOCK_SIZE - 1 ) / MINI_BLOCK_SIZE;
+    int nullBinaryLength = BitPackUtils.getBitmapLength( analizeResult.getColumnSize() );
+    return nullBinaryLength
+        + Byte.BYTES
+        + Long.BYTES
+        + miniBlockCount * MINI_BLOCK_HEADER_SIZE
+        + BitPackUtils.getPackedLength( deltaCount , deltaBitWidth );
+  }
+
+  private long[] decompressAndDecode(
+      final ColumnBinary columnBinary ,
+      final boolean hasNull ,
+      final int rowCount ,
+      final byte[][] isNullArray ) throws IOException {
+    int start = columnBinary.binaryStart + HEADER_SIZE;
+    int length = columnBinary.binaryLength - HEADER_SIZE;
+    byte[] binary = columnBinary.decompress( start , length );
+    int isNullLength = 0;
+    if ( hasNull ) {
+      isNullLength = BitPackUtils.getBitmapLength( columnBinary.rowCount );
+      isNullArray[0] = new byte[columnBinary.rowCount];
+      BitPackUtils.unpackBitmap( binary , 0 , columnBinary.rowCount , isNullArray[0] , 0 );
+    }
+    return decode( binary , isNullLength , rowCount );
+  }
+
+  @Override
+  public IColumn toColumn( final ColumnBinary columnBinary ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary ,
+        columnBinary.binaryStart ,
+        columnBinary.binaryLength );
+    long min = wrapBuffer.getLong();
+    long max = wrapBuffer.getLong();
+    boolean hasNull = wrapBuffer.get() != (byte)0;
+    wrapBuffer.get();
+    int rowCount = wrapBuffer.getInt();
+    return new HeaderIndexLazyColumn(
+        columnBinary.columnName ,
+        columnBinary.columnType ,
+        new ColumnManager( columnBinary , hasNull , rowCount ) ,
+        new RangeLongIndex( min , max ) );
+  }
+
+  @Override
+  public void loadInMemoryStorage(
+      final ColumnBinary columnBinary ,
+      final IMemoryAllocator allocator ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary ,
+        columnBinary.binaryStart ,
+        columnBinary.binaryLength );
+    wrapBuffer.position( wrapBuffer.position() + Long.BYTES * 2 );
+    boolean hasNull = wrapBuffer.get() != (byte)0;
+    wrapBuffer.get();
+    int rowCount = wrapBuffer.getInt();
+
+    byte[][] isNullArray = new byte[1][];
+    long[] valueArray = decompressAndDecode( columnBinary , hasNull , rowCount , isNullArray );
+    int index = 0;
+    for ( int i = 0 ; i < columnBinary.rowCount ; i++ ) {
+      if ( ! hasNull || isNullArray[0][i] == (byte)0 ) {
+        allocator.setLong( i , valueArray[index++] );
+      } else {
+        allocator.setNull( i );
+      }
+    }
+    allocator.setValueCount( columnBinary.rowCount );
+  }
+
+  @Override
+  public void setBlockIndexNode(
+      final BlockIndexNode parentNode ,
+      final ColumnBinary columnBinary ,
+      final int spreadIndex ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary ,
+        columnBinary.binaryStart ,
+        columnBinary.binaryLength );
+    long min = wrapBuffer.getLong();
+    long max = wrapBuffer.getLong();
+    BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
+    IBlockIndex blockIndex = new LongRangeBlockIndex( min , max );
+    if ( 0 < currentNode.getBloomFilterFpp() ) {
+      BloomFilter bloomFilter = new BloomFilter(
+          columnBinary.rowCount , currentNode.getBloomFilterFpp() );
+      loadInMemoryStorage( columnBinary , new BloomFilterMemoryAllocator( bloomFilter ) );
+      blockIndex = new BloomFilterBlockIndex( blockIndex , spreadIndex , bloomFilter );
+    }
+    currentNode.setBlockIndex( blockIndex , spreadIndex );
+  }
+
+  private static class DicManager implements IDicManager {
+
+    private final PrimitiveObject[] dicArray;
+
+    DicManager( final PrimitiveObject[] dicArray ) {
+      this.dicArray = dicArray;
+    }
+
+    @Override
+    public PrimitiveObject get( final int index ) throws IOException {
+      return dicArray[index];
+    }
+
+    @Override
+    public int getDicSize() throws IOException {
+      return dicArray.length;
+    }
+
+  }
+
+  private class ColumnManager implements IColumnManager {
+
+    private final ColumnBinary columnBinary;
+    private final boolean hasNull;
+    private final int rowCount;
+
+    private PrimitiveColumn column;
+    private boolean isCreate;
+
+    ColumnManager(
+        final ColumnBinary columnBinary ,
+        final boolean hasNull ,
+        final int rowCount ) {
+      this.columnBinary = columnBinary;
+      this.hasNull = hasNull;
+      this.rowCount = rowCount;
+    }
+
+    private void create() throws IOException {
+      if ( isCreate ) {
+        return;
+      }
+      byte[][] isNullArray = new byte[1][];
+      long[] valueArray = decompressAndDecode( columnBinary , hasNull , rowCount , isNullArray );
+      PrimitiveObject[] dicArray = new PrimitiveObject[columnBinary.rowCount];
+      int index = 0;
+      for ( int i = 0 ; i < dicArray.length ; i++ ) {
+        if ( ! hasNull || isNullArray[0][i] == (byte)0 ) {
+          dicArray[i] = UnsafeOptimizeDumpLongColumnBinaryMaker.createConstObjectFromNum(
+              columnBinary.columnType , valueArray[index++] );
+        }
+      }
+
+      IDicManager dicManager = new DicManager( dicArray );
+      column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
+      column.setCellManager( new BufferDirectCellManager(
+          columnBinary.columnType , dicManager , columnBinary.rowCount ) );
+      column.setIndex( new SequentialNumberCellIndex( columnBinary.columnType , dicManager ) );
+
+      isCreate = true;
+    }
+
+    @Override
+    public IColumn get() {
+      if ( ! isCreate ) {
+        try {
+          create();
+        } catch ( IOException ex ) {
+          throw new UncheckedIOException( ex );
+        }
+      }
+      return column;
+    }
+
+    @Override
+    public List<String> getColumnKeys() {
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public int getColumnSize() {
+      return 0;
+    }
+
+  }
+
+}
@@ -23,8 +23,7 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.compressor.DataType;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.spread.Spread;
@@ -74,7 +73,8 @@ public class DumpArrayColumnBinaryMaker implements IColumnBinaryMaker {
     }
 
     byte[] compressData = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length );
+        binaryRaw , 0 , binaryRaw.length , DataType.TEXT ,
+        currentConfig.compressionPolicy );
 
     IColumn childColumn = column.getColumn( 0 );
     List<ColumnBinary> columnBinaryList = new ArrayList<ColumnBinary>();
@@ -129,9 +129,8 @@ public class DumpArrayColumnBinaryMaker implements IColumnBinaryMaker {
       maker.loadInMemoryStorage( childColumnBinary , childMemoryAllocator );
     }
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] decompressBuffer = compressor.decompress(
-        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    byte[] decompressBuffer = columnBinary.decompress(
+        columnBinary.binaryStart , columnBinary.binaryLength );
 
     IntBuffer buffer = ByteBuffer.wrap( decompressBuffer ).asIntBuffer();
     int length = buffer.capacity();
@@ -260,9 +259,8 @@ public class DumpArrayColumnBinaryMaker implements IColumnBinaryMaker {
       }
       spread.setRowCount( columnBinary.rowCount );
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-      byte[] decompressBuffer = compressor.decompress(
-          columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+      byte[] decompressBuffer = columnBinary.decompress(
+          columnBinary.binaryStart , columnBinary.binaryLength );
 
       IntBuffer wrapBuffer = ByteBuffer.wrap( decompressBuffer ).asIntBuffer();
       arrayColumn.setSpread( spread );
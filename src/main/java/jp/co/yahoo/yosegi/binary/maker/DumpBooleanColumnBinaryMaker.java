@@ -23,8 +23,7 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.maker.index.SequentialBooleanCellIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.compressor.DataType;
 import jp.co.yahoo.yosegi.constants.PrimitiveByteLength;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.BooleanObj;
@@ -36,13 +35,17 @@ import jp.co.yahoo.yosegi.spread.column.ICellManager;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.spread.column.filter.BooleanFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 import jp.co.yahoo.yosegi.spread.column.index.DefaultCellIndex;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionIndex;
+import jp.co.yahoo.yosegi.util.io.BitPackUtils;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -51,6 +54,13 @@ public class DumpBooleanColumnBinaryMaker implements IColumnBinaryMaker {
   private static final BooleanObj TRUE = new BooleanObj( true );
   private static final BooleanObj FALSE = new BooleanObj( false );
 
+  /**
+   * The first byte of the bit packed format.
+   * The old format stores 0, 1 or 2 per row, so this value never starts it.
+   */
+  private static final byte BIT_PACKED_FORMAT = (byte)3;
+  private static final int BIT_PACKED_HEADER_SIZE = Byte.BYTES + Integer.BYTES + Byte.BYTES;
+
   @Override
   public ColumnBinary toBinary(
       final ColumnBinaryMakerConfig commonConfig ,
@@ -62,10 +72,12 @@ public class DumpBooleanColumnBinaryMaker implements IColumnBinaryMaker {
     }
 
     byte[] binary = new byte[ column.size() ];
+    boolean hasNull = false;
     int rowCount = 0;
     for ( int i = 0 ; i < column.size() ; i++ ) {
       ICell cell = column.get(i);
       if ( cell.getType() == ColumnType.NULL ) {
+        hasNull = true;
         binary[i] = (byte)2;
       } else if ( ( (PrimitiveCell)cell ).getRow().getBoolean() ) {
         rowCount++;
@@ -75,8 +87,12 @@ public class DumpBooleanColumnBinaryMaker implements IColumnBinaryMaker {
         binary[i] = (byte)0;
       }
     }
+    if ( currentConfig.bitPackNullFlags ) {
+      binary = toBitPackedBinary( binary , hasNull );
+    }
 
-    byte[] compressData = currentConfig.compressorClass.compress( binary , 0 , binary.length );
+    byte[] compressData = currentConfig.compressorClass.compress(
+        binary , 0 , binary.length , DataType.TEXT , currentConfig.compressionPolicy );
 
     return new ColumnBinary(
         this.getClass().getName() ,
@@ -93,11 +109,46 @@ public class DumpBooleanColumnBinaryMaker implements IColumnBinaryMaker {
         null );
   }
 
+  /**
+   * Convert the one byte per row body to the bit packed format.
+   */
+  private static byte[] toBitPackedBinary( final byte[] rowFlags , final boolean hasNull ) {
+    byte[] valueFlags = new byte[ rowFlags.length ];
+    byte[] nullFlags = new byte[ rowFlags.length ];
+    for ( int i = 0 ; i < rowFlags.length ; i++ ) {
+      if ( rowFlags[i] == (byte)2 ) {
+        nullFlags[i] = (byte)1;
+      } else {
+        valueFlags[i] = rowFlags[i];
+      }
+    }
+
+    int bitmapLength = BitPackUtils.getBitmapLength( rowFlags.length );
+    int nullBitmapLength = hasNull ? bitmapLength : 0;
+    byte[] binary = new byte[ BIT_PACKED_HEADER_SIZE + nullBitmapLength + bitmapLength ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
+    wrapBuffer.put( BIT_PACKED_FORMAT );
+    wrapBuffer.putInt( rowFlags.length );
+    wrapBuffer.put( hasNull ? (byte)1 : (byte)0 );
+    if ( hasNull ) {
+      BitPackUtils.packBitmap(
+          nullFlags , 0 , rowFlags.length , binary , BIT_PACKED_HEADER_SIZE );
+    }
+    BitPackUtils.packBitmap(
+        valueFlags , 0 , rowFlags.length , binary , BIT_PACKED_HEADER_SIZE + nullBitmapLength );
+    return binary;
+  }
+
   @Override
   public int calcBinarySize( final IColumnAnalizeResult analizeResult ) {
+    // The estimate is the default format without the bitmaps.
     return analizeResult.getColumnSize();
   }
 
+  private static boolean isBitPacked( final byte[] binary ) {
+    return binary.length != 0 && binary[0] == BIT_PACKED_FORMAT;
+  }
+
   @Override
   public IColumn toColumn( final ColumnBinary columnBinary ) throws IOException {
     return new LazyColumn(
@@ -110,19 +161,46 @@ public class DumpBooleanColumnBinaryMaker implements IColumnBinaryMaker {
   public void loadInMemoryStorage(
       final ColumnBinary columnBinary ,
       final IMemoryAllocator allocator ) throws IOException {
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] binary = compressor.decompress(
-        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
-    for ( int i = 0 ; i < binary.length ; i++ ) {
-      if ( binary[i] == (byte)0 ) {
-        allocator.setBoolean( i , false );
-      } else if ( binary[i] == (byte)1 ) {
-        allocator.setBoolean( i , true );
-      } else {
-        allocator.setNull( i );
+    byte[] binary = columnBinary.decompress(
+        columnBinary.binaryStart , columnBinary.binaryLength );
+    if ( ! isBitPacked( binary ) ) {
+      for ( int i = 0 ; i < binary.length ; i++ ) {
+        if ( binary[i] == (byte)0 ) {
+          allocator.setBoolean( i , false );
+        } else if ( binary[i] == (byte)1 ) {
+          allocator.setBoolean( i , true );
+        } else {
+          allocator.setNull( i );
+        }
+      }
+      allocator.setValueCount( binary.length );
+      return;
+    }
+
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
+    wrapBuffer.get();
+    int columnSize = wrapBuffer.getInt();
+    boolean hasNull = wrapBuffer.get() == (byte)1;
+    int nullBitmapStart = BIT_PACKED_HEADER_SIZE;
+    int valueBitmapStart = BIT_PACKED_HEADER_SIZE
+        + ( hasNull ? BitPackUtils.getBitmapLength( columnSize ) : 0 );
+    int wordCount = ( columnSize + Long.SIZE - 1 ) / Long.SIZE;
+    for ( int wordIndex = 0 ; wordIndex < wordCount ; wordIndex++ ) {
+      long nullWord = hasNull
+          ? BitPackUtils.getBitmapWord( binary , nullBitmapStart , columnSize , wordIndex ) : 0L;
+      long valueWord =
+          BitPackUtils.getBitmapWord( binary , valueBitmapStart , columnSize , wordIndex );
+      int base = wordIndex * Long.SIZE;
+      int end = Math.min( base + Long.SIZE , columnSize );
+      for ( int i = base ; i < end ; i++ , nullWord >>>= 1 , valueWord >>>= 1 ) {
+        if ( ( nullWord & 1L ) != 0 ) {
+          allocator.setNull( i );
+        } else {
+          allocator.setBoolean( i , ( valueWord & 1L ) != 0 );
+        }
       }
     }
-    allocator.setValueCount( binary.length );
+    allocator.setValueCount( columnSize );
   }
 
   @Override
@@ -201,6 +279,18 @@ public class DumpBooleanColumnBinaryMaker implements IColumnBinaryMaker {
       }
     }
 
+    @Override
+    public FilterBitSet filter(
+        final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+      switch ( filter.getFilterType() ) {
+        case NOT_NULL:
+        case NULL:
+          return ICellManager.super.filter( filter , filterBitSet );
+        default:
+          return index.filter( filter , filterBitSet );
+      }
+    }
+
     @Override
     public PrimitiveObject[] getPrimitiveObjectArray(
         final IExpressionIndex indexList ,
@@ -256,6 +346,167 @@ public class DumpBooleanColumnBinaryMaker implements IColumnBinaryMaker {
 
   }
 
+  public class BitPackBooleanCellManager implements ICellManager {
+
+    private final PrimitiveCell trueCell;
+    private final PrimitiveCell falseCell;
+    private byte[] buffer;
+    private int columnSize;
+    private boolean hasNull;
+    private int valueBitmapStart;
+
+    private ICellIndex index = new DefaultCellIndex();
+
+    /**
+     * Manage the bit packed values and null flags as Boolean cell.
+     */
+    public BitPackBooleanCellManager(
+        final byte[] buffer , final PrimitiveObject trueObj , final PrimitiveObject falseObj ) {
+      this.buffer = buffer;
+      trueCell = new PrimitiveCell( ColumnType.BOOLEAN , trueObj );
+      falseCell = new PrimitiveCell( ColumnType.BOOLEAN , falseObj );
+      ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer );
+      wrapBuffer.get();
+      columnSize = wrapBuffer.getInt();
+      hasNull = wrapBuffer.get() == (byte)1;
+      valueBitmapStart = BIT_PACKED_HEADER_SIZE
+          + ( hasNull ? BitPackUtils.getBitmapLength( columnSize ) : 0 );
+    }
+
+    private boolean isNull( final int index ) {
+      return hasNull && BitPackUtils.getBit( buffer , BIT_PACKED_HEADER_SIZE , index );
+    }
+
+    private boolean getValue( final int index ) {
+      return BitPackUtils.getBit( buffer , valueBitmapStart , index );
+    }
+
+    @Override
+    public void add( final ICell cell , final int index ) {
+      throw new UnsupportedOperationException( "read only." );
+    }
+
+    @Override
+    public ICell get( final int index , final ICell defaultCell ) {
+      if ( columnSize <= index || isNull( index ) ) {
+        return defaultCell;
+      }
+      return getValue( index ) ? trueCell : falseCell;
+    }
+
+    @Override
+    public int size() {
+      return columnSize;
+    }
+
+    @Override
+    public void clear() {
+      buffer = new byte[0];
+      columnSize = 0;
+      hasNull = false;
+    }
+
+    @Override
+    public void setIndex( final ICellIndex index ) {
+      this.index = index;
+    }
+
+    @Override
+    public boolean[] filter(
+        final IFilter filter , final boolean[] filterArray ) throws IOException {
+      FilterBitSet result = filter( filter , new FilterBitSet( filterArray.length ) );
+      if ( result == null ) {
+        return null;
+      }
+      for ( int i = result.nextSetBit( 0 ) ; 0 <= i ; i = result.nextSetBit( i + 1 ) ) {
+        filterArray[i] = true;
+      }
+      return filterArray;
+    }
+
+    @Override
+    public FilterBitSet filter(
+        final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+      FilterBitSet result = new FilterBitSet( filterBitSet.size() );
+      switch ( filter.getFilterType() ) {
+        case BOOLEAN:
+          if ( ( (BooleanFilter)filter ).getFlag() ) {
+            result.or( buffer , valueBitmapStart , columnSize );
+          } else {
+            result.set( 0 , Math.min( columnSize , result.size() ) );
+            result.andNot( buffer , valueBitmapStart , columnSize );
+          }
+          return removeNull( result );
+        case NOT_NULL:
+          result.set( 0 , Math.min( columnSize , result.size() ) );
+          return removeNull( result );
+        case NULL:
+          result.set( Math.min( columnSize , result.size() ) , result.size() );
+          if ( hasNull ) {
+            result.or( buffer , BIT_PACKED_HEADER_SIZE , columnSize );
+          }
+          return result;
+        default:
+          return index.filter( filter , filterBitSet );
+      }
+    }
+
+    private FilterBitSet removeNull( final FilterBitSet result ) {
+      if ( hasNull ) {
+        result.andNot( buffer , BIT_PACKED_HEADER_SIZE , columnSize );
+      }
+      return result;
+    }
+
+    @Override
+    public PrimitiveObject[] getPrimitiveObjectArray(
+        final IExpressionIndex indexList ,
+        final int start ,
+        final int length ) {
+      PrimitiveObject[] result = new PrimitiveObject[length];
+      for ( int i = start , index = 0 ; i < ( start + length ); i++,index++ ) {
+        int targetIndex = indexList.get(i);
+        if ( columnSize <= targetIndex ) {
+          break;
+        }
+        if ( ! isNull( targetIndex ) ) {
+          result[index] = getValue( targetIndex ) ? trueCell.getRow() : falseCell.getRow();
+        }
+      }
+      return result;
+    }
+
+    @Override
+    public void setPrimitiveObjectArray(
+        final IExpressionIndex indexList ,
+        final int start ,
+        final int length ,
+        final IMemoryAllocator allocator ) {
+      int index = 0;
+      for ( int i = start ; i < ( start + length ); i++,index++ ) {
+        int targetIndex = indexList.get(i);
+        if ( columnSize <= targetIndex ) {
+          break;
+        }
+        try {
+          if ( isNull( targetIndex ) ) {
+            allocator.setNull( index );
+          } else if ( getValue( targetIndex ) ) {
+            allocator.setPrimitiveObject( index , TRUE );
+          } else {
+            allocator.setPrimitiveObject( index , FALSE );
+          }
+        } catch ( IOException ex ) {
+          throw new RuntimeException( ex );
+        }
+      }
+      for ( int i = index ; i < length ; i++ ) {
+        allocator.setNull( i );
+      }
+    }
+
+  }
+
   public class BooleanColumnManager implements IColumnManager {
 
     private final ColumnBinary columnBinary;
@@ -271,17 +522,21 @@ public class DumpBooleanColumnBinaryMaker implements IColumnBinaryMaker {
         return;
       }
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-      byte[] binary = compressor.decompress(
-          columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+      byte[] binary = columnBinary.decompress(
+          columnBinary.binaryStart , columnBinary.binaryLength );
 
       PrimitiveObject trueObject = TRUE;
       PrimitiveObject falseObject = FALSE;
 
       column = new PrimitiveColumn( ColumnType.BOOLEAN , columnBinary.columnName );
-      column.setCellManager(
-          new DirectBufferBooleanCellManager( binary , trueObject , falseObject ) );
-      column.setIndex( new SequentialBooleanCellIndex( binary ) );
+      if ( isBitPacked( binary ) ) {
+        column.setCellManager(
+            new BitPackBooleanCellManager( binary , trueObject , falseObject ) );
+      } else {
+        column.setCellManager(
+            new DirectBufferBooleanCellManager( binary , trueObject , falseObject ) );
+        column.setIndex( new SequentialBooleanCellIndex( binary ) );
+      }
 
       isCreate = true;
     }
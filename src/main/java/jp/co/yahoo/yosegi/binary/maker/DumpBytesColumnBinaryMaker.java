@@ -22,8 +22,7 @@ import jp.co.yahoo.yosegi.binary.ColumnBinary;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.compressor.DataType;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.message.objects.Utf8BytesLinkObj;
@@ -75,7 +74,8 @@ public class DumpBytesColumnBinaryMaker implements IColumnBinaryMaker {
       columnList.add( objList.size() - 1 );
     }
     byte[] binaryRaw = convertBinary( columnList , objList , currentConfig , totalLength );
-    byte[] binary = currentConfig.compressorClass.compress( binaryRaw , 0 , binaryRaw.length );
+    byte[] binary = currentConfig.compressorClass.compress(
+        binaryRaw , 0 , binaryRaw.length , DataType.TEXT , currentConfig.compressionPolicy );
 
     return new ColumnBinary(
         this.getClass().getName() ,
@@ -149,8 +149,7 @@ public class DumpBytesColumnBinaryMaker implements IColumnBinaryMaker {
       final int start ,
       final int length ,
       final IMemoryAllocator allocator ) throws IOException {
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] binary = compressor.decompress( columnBinary.binary , start , length );
+    byte[] binary = columnBinary.decompress( start , length );
     ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
     int indexListSize = wrapBuffer.getInt();
     int objBinaryLength = wrapBuffer.getInt();
@@ -235,8 +234,7 @@ public class DumpBytesColumnBinaryMaker implements IColumnBinaryMaker {
       if ( isCreate ) {
         return;
       }
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-      byte[] binary = compressor.decompress( columnBinary.binary , binaryStart , binaryLength );
+      byte[] binary = columnBinary.decompress( binaryStart , binaryLength );
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
       int indexListSize = wrapBuffer.getInt();
       int objBinaryLength = wrapBuffer.getInt();
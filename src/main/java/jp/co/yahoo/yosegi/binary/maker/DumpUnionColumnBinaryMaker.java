@@ -23,8 +23,7 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.compressor.DataType;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
@@ -151,8 +150,8 @@ public class DumpUnionColumnBinaryMaker implements IColumnBinaryMaker {
       wrapBuffer.put( ColumnTypeFactory.getColumnTypeByte( column.get(i).getType() ) );
     }
 
-    byte[] compressData =
-        currentConfig.compressorClass.compress( rawBinary , 0 , rawBinary.length );
+    byte[] compressData = currentConfig.compressorClass.compress(
+        rawBinary , 0 , rawBinary.length , DataType.TEXT , currentConfig.compressionPolicy );
 
     return new ColumnBinary(
         this.getClass().getName() ,
@@ -233,9 +232,8 @@ public class DumpUnionColumnBinaryMaker implements IColumnBinaryMaker {
       }
 
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-      byte[] cellBinary = compressor.decompress(
-          columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+      byte[] cellBinary = columnBinary.decompress(
+          columnBinary.binaryStart , columnBinary.binaryLength );
       ByteBuffer wrapBuffer = ByteBuffer.wrap( cellBinary );
       for ( int i = 0 ; i < cellBinary.length ; i++ ) {
         ColumnType columnType = ColumnTypeFactory.getColumnTypeFromByte( wrapBuffer.get() );
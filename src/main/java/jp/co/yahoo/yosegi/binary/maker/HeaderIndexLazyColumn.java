@@ -20,6 +20,7 @@ package jp.co.yahoo.yosegi.binary.maker;
 
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 
 import java.io.IOException;
@@ -47,4 +48,14 @@ public class HeaderIndexLazyColumn extends LazyColumn {
     return super.filter( filter , filterArray );
   }
 
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    FilterBitSet result = rangeIndex.filter( filter , filterBitSet );
+    if ( result != null ) {
+      return result;
+    }
+    return super.filter( filter , filterBitSet );
+  }
+
 }
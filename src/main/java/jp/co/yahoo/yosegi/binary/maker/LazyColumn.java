@@ -27,6 +27,7 @@ import jp.co.yahoo.yosegi.spread.column.ICellManager;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.NullColumn;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionIndex;
 
@@ -166,6 +167,12 @@ public class LazyColumn implements IColumn {
     return columnManager.get().filter( filter , filterArray );
   }
 
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    return columnManager.get().filter( filter , filterBitSet );
+  }
+
   @Override
   public PrimitiveObject[] getPrimitiveObjectArray(
       final IExpressionIndex indexList ,
@@ -0,0 +1,611 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.binary.maker.index.BufferDirectSequentialNumberCellIndex;
+import jp.co.yahoo.yosegi.binary.maker.index.BufferDirectSequentialStringCellIndex;
+import jp.co.yahoo.yosegi.binary.maker.index.RangeLongIndex;
+import jp.co.yahoo.yosegi.binary.maker.index.RangeStringIndex;
+import jp.co.yahoo.yosegi.binary.maker.index.RunLengthCellIndex;
+import jp.co.yahoo.yosegi.binary.maker.index.SequentialBooleanCellIndex;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilter;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterMemoryAllocator;
+import jp.co.yahoo.yosegi.blockindex.IBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.LongRangeBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
+import jp.co.yahoo.yosegi.compressor.DataType;
+import jp.co.yahoo.yosegi.constants.PrimitiveByteLength;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.BooleanObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.message.objects.Utf8BytesLinkObj;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.StringColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+import jp.co.yahoo.yosegi.util.io.BitPackUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Save boolean, integral and string columns as runs of equal values.
+ * Each run has a dictionary index and a length, both bit-packed.
+ * Filters are evaluated once per run, so a clustered column is filtered
+ * in the number of runs instead of the number of rows.
+ */
+public class RunLengthEncodingColumnBinaryMaker implements IColumnBinaryMaker {
+
+  private static final int BODY_HEADER_SIZE = Integer.BYTES * 2 + Byte.BYTES;
+
+  private static void checkColumnType( final ColumnType columnType ) throws IOException {
+    switch ( columnType ) {
+      case BOOLEAN:
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+      case STRING:
+        return;
+      default:
+        throw new IOException( "Unsupported column type : " + columnType );
+    }
+  }
+
+  private static boolean isNumber( final ColumnType columnType ) {
+    return columnType != ColumnType.BOOLEAN && columnType != ColumnType.STRING;
+  }
+
+  private static Object toKey(
+      final ColumnType columnType , final PrimitiveObject obj ) throws IOException {
+    switch ( columnType ) {
+      case BOOLEAN:
+        return Boolean.valueOf( obj.getBoolean() );
+      case STRING:
+        return obj.getString();
+      default:
+        return Long.valueOf( obj.getLong() );
+    }
+  }
+
+  @Override
+  public ColumnBinary toBinary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final IColumn column ) throws IOException {
+    ColumnBinaryMakerConfig currentConfig = commonConfig;
+    if ( currentConfigNode != null ) {
+      currentConfig = currentConfigNode.getCurrentConfig();
+    }
+    ColumnType columnType = column.getColumnType();
+    checkColumnType( columnType );
+
+    Map<Object,Integer> dicMap = new HashMap<Object,Integer>();
+    List<Object> dicList = new ArrayList<Object>();
+    dicMap.put( null , Integer.valueOf( 0 ) );
+    dicList.add( null );
+
+    int[] runDicIndexArray = new int[column.size()];
+    int[] runLengthArray = new int[column.size()];
+    int runCount = 0;
+    int rowCount = 0;
+    for ( int i = 0 ; i < column.size() ; i++ ) {
+      ICell cell = column.get(i);
+      Object key = null;
+      if ( cell.getType() != ColumnType.NULL ) {
+        key = toKey( columnType , ( (PrimitiveCell) cell ).getRow() );
+      }
+      if ( key != null ) {
+        rowCount++;
+      }
+      Integer dicIndex = dicMap.get( key );
+      if ( dicIndex == null ) {
+        dicIndex = Integer.valueOf( dicList.size() );
+        dicMap.put( key , dicIndex );
+        dicList.add( key );
+      }
+      if ( 0 < runCount && runDicIndexArray[runCount - 1] == dicIndex.intValue() ) {
+        runLengthArray[runCount - 1]++;
+      } else {
+        runDicIndexArray[runCount] = dicIndex.intValue();
+        runLengthArray[runCount] = 1;
+        runCount++;
+      }
+    }
+
+    final byte[] header = createHeader( columnType , dicList );
+    byte[][] dicBinaryArray = new byte[dicList.size()][];
+    int dicLength = 0;
+    int logicalDataLength = 0;
+    for ( int i = 1 ; i < dicList.size() ; i++ ) {
+      switch ( columnType ) {
+        case BOOLEAN:
+          dicLength += Byte.BYTES;
+          break;
+        case STRING:
+          dicBinaryArray[i] = ( (String)dicList.get( i ) ).getBytes( StandardCharsets.UTF_8 );
+          dicLength += Integer.BYTES + dicBinaryArray[i].length;
+          break;
+        default:
+          dicLength += Long.BYTES;
+          break;
+      }
+    }
+
+    int maxRunLength = 0;
+    int[] runLengthMinusOneArray = new int[runCount];
+    for ( int i = 0 ; i < runCount ; i++ ) {
+      runLengthMinusOneArray[i] = runLengthArray[i] - 1;
+      maxRunLength = Math.max( maxRunLength , runLengthArray[i] );
+      if ( columnType == ColumnType.STRING && runDicIndexArray[i] != 0 ) {
+        logicalDataLength += runLengthArray[i]
+            * ( Integer.BYTES + dicBinaryArray[runDicIndexArray[i]].length );
+      }
+    }
+    int runLengthBitWidth = BitPackUtils.getBitWidth( Math.max( 0 , maxRunLength - 1 ) );
+    int runDicIndexLength = BitPackDictionaryIndex.calcBinarySize( runCount , dicList.size() );
+    int runLengthLength = BitPackUtils.getPackedLength( runCount , runLengthBitWidth );
+
+    byte[] binaryRaw =
+        new byte[ BODY_HEADER_SIZE + runDicIndexLength + runLengthLength + dicLength ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binaryRaw );
+    wrapBuffer.putInt( runCount );
+    wrapBuffer.putInt( dicList.size() );
+    wrapBuffer.put( (byte)runLengthBitWidth );
+    BitPackDictionaryIndex.create(
+        Arrays.copyOf( runDicIndexArray , runCount ) ,
+        dicList.size() ,
+        binaryRaw ,
+        BODY_HEADER_SIZE );
+    BitPackUtils.packInt(
+        runLengthMinusOneArray ,
+        0 ,
+        runCount ,
+        runLengthBitWidth ,
+        binaryRaw ,
+        BODY_HEADER_SIZE + runDicIndexLength );
+    wrapBuffer.position( BODY_HEADER_SIZE + runDicIndexLength + runLengthLength );
+    for ( int i = 1 ; i < dicList.size() ; i++ ) {
+      switch ( columnType ) {
+        case BOOLEAN:
+          wrapBuffer.put( ( (Boolean)dicList.get( i ) ).booleanValue() ? (byte)1 : (byte)0 );
+          break;
+        case STRING:
+          wrapBuffer.putInt( dicBinaryArray[i].length );
+          wrapBuffer.put( dicBinaryArray[i] );
+          break;
+        default:
+          wrapBuffer.putLong( ( (Long)dicList.get( i ) ).longValue() );
+          break;
+      }
+    }
+
+    DataType dataType = columnType == ColumnType.STRING ? DataType.TEXT : DataType.NUMBER;
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        header , binaryRaw , 0 , binaryRaw.length , dataType , currentConfig.compressionPolicy );
+
+    if ( columnType == ColumnType.BOOLEAN ) {
+      logicalDataLength = rowCount * PrimitiveByteLength.BOOLEAN_LENGTH;
+    } else if ( isNumber( columnType ) ) {
+      logicalDataLength =
+          UnsafeOptimizeDumpLongColumnBinaryMaker.getLogicalSize( rowCount , columnType );
+    }
+
+    return new ColumnBinary(
+        this.getClass().getName() ,
+        currentConfig.compressorClass.getClass().getName() ,
+        column.getColumnName() ,
+        columnType ,
+        column.size() ,
+        binaryRaw.length ,
+        logicalDataLength ,
+        dicList.size() ,
+        binary ,
+        0 ,
+        binary.length ,
+        null );
+  }
+
+  private byte[] createHeader(
+      final ColumnType columnType , final List<Object> dicList ) throws IOException {
+    if ( columnType == ColumnType.BOOLEAN ) {
+      return new byte[0];
+    }
+    if ( columnType == ColumnType.STRING ) {
+      String min = null;
+      String max = null;
+      for ( int i = 1 ; i < dicList.size() ; i++ ) {
+        String value = (String)dicList.get( i );
+        if ( min == null || 0 < min.compareTo( value ) ) {
+          min = value;
+        }
+        if ( max == null || max.compareTo( value ) < 0 ) {
+          max = value;
+        }
+      }
+      byte[] minBinary = min == null ? new byte[0] : min.getBytes( StandardCharsets.UTF_8 );
+      byte[] maxBinary = max == null ? new byte[0] : max.getBytes( StandardCharsets.UTF_8 );
+      byte[] header = new byte[ Integer.BYTES * 2 + minBinary.length + maxBinary.length ];
+      ByteBuffer wrapBuffer = ByteBuffer.wrap( header );
+      wrapBuffer.putInt( minBinary.length );
+      wrapBuffer.put( minBinary );
+      wrapBuffer.putInt( maxBinary.length );
+      wrapBuffer.put( maxBinary );
+      return header;
+    }
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for ( int i = 1 ; i < dicList.size() ; i++ ) {
+      long value = ( (Long)dicList.get( i ) ).longValue();
+      min = Math.min( min , value );
+      max = Math.max( max , value );
+    }
+    byte[] header = new byte[ Long.BYTES * 2 ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( header );
+    wrapBuffer.putLong( min );
+    wrapBuffer.putLong( max );
+    return header;
+  }
+
+  /**
+   * The longest run is unknown, so the run lengths are sized for the case
+   * where all rows that do not start a run belong to one run.
+   */
+  @Override
+  public int calcBinarySize( final IColumnAnalizeResult analizeResult ) {
+    int runCount = analizeResult.getRunCount();
+    int uniqCount = analizeResult.getUniqCount();
+    int dicLength;
+    switch ( analizeResult.getColumnType() ) {
+      case BOOLEAN:
+        dicLength = Byte.BYTES * uniqCount;
+        break;
+      case STRING:
+        dicLength = Integer.BYTES * uniqCount
+            + ( (StringColumnAnalizeResult) analizeResult ).getUniqUtf8ByteSize();
+        break;
+      default:
+        dicLength = Long.BYTES * uniqCount;
+        break;
+    }
+    int runLengthBitWidth =
+        BitPackUtils.getBitWidth( analizeResult.getColumnSize() - runCount );
+    return BODY_HEADER_SIZE
+        + BitPackDictionaryIndex.calcBinarySize( runCount , uniqCount + 1 )
+        + BitPackUtils.getPackedLength( runCount , runLengthBitWidth )
+        + dicLength;
+  }
+
+  private static int getHeaderSize( final ColumnBinary columnBinary ) {
+    switch ( columnBinary.columnType ) {
+      case BOOLEAN:
+        return 0;
+      case STRING:
+        ByteBuffer wrapBuffer = ByteBuffer.wrap(
+            columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+        int minLength = wrapBuffer.getInt();
+        wrapBuffer.position( wrapBuffer.position() + minLength );
+        int maxLength = wrapBuffer.getInt();
+        return Integer.BYTES * 2 + minLength + maxLength;
+      default:
+        return Long.BYTES * 2;
+    }
+  }
+
+  private static String[] getStringRange( final ColumnBinary columnBinary ) {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    int minLength = wrapBuffer.getInt();
+    String min = new String(
+        columnBinary.binary , wrapBuffer.position() , minLength , StandardCharsets.UTF_8 );
+    wrapBuffer.position( wrapBuffer.position() + minLength );
+    int maxLength = wrapBuffer.getInt();
+    String max = new String(
+        columnBinary.binary , wrapBuffer.position() , maxLength , StandardCharsets.UTF_8 );
+    return new String[]{ min , max };
+  }
+
+  private static RunLength readRunLength( final ColumnBinary columnBinary ) throws IOException {
+    int headerSize = getHeaderSize( columnBinary );
+    byte[] binary = columnBinary.decompress(
+        columnBinary.binaryStart + headerSize ,
+        columnBinary.binaryLength - headerSize );
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
+    int runCount = wrapBuffer.getInt();
+    int dicSize = wrapBuffer.getInt();
+    int runLengthBitWidth = wrapBuffer.get();
+
+    RunLength result = new RunLength( runCount , dicSize );
+    BitPackDictionaryIndex.getIndexIntBuffer( runCount , dicSize , binary , BODY_HEADER_SIZE )
+        .get( result.runDicIndexArray );
+    int runDicIndexLength = BitPackDictionaryIndex.calcBinarySize( runCount , dicSize );
+    int runLengthLength = BitPackUtils.unpackInt(
+        binary ,
+        BODY_HEADER_SIZE + runDicIndexLength ,
+        runCount ,
+        runLengthBitWidth ,
+        result.runLengthArray ,
+        0 );
+    int runStart = 0;
+    for ( int i = 0 ; i < runCount ; i++ ) {
+      result.runLengthArray[i]++;
+      result.runStartArray[i] = runStart;
+      runStart += result.runLengthArray[i];
+    }
+
+    wrapBuffer.position( BODY_HEADER_SIZE + runDicIndexLength + runLengthLength );
+    for ( int i = 1 ; i < dicSize ; i++ ) {
+      switch ( columnBinary.columnType ) {
+        case BOOLEAN:
+          result.dicArray[i] = new BooleanObj( wrapBuffer.get() == (byte)1 );
+          break;
+        case STRING:
+          int length = wrapBuffer.getInt();
+          result.dicArray[i] = new Utf8BytesLinkObj( binary , wrapBuffer.position() , length );
+          wrapBuffer.position( wrapBuffer.position() + length );
+          break;
+        default:
+          result.dicArray[i] = UnsafeOptimizeDumpLongColumnBinaryMaker.createConstObjectFromNum(
+              columnBinary.columnType , wrapBuffer.getLong() );
+          break;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public IColumn toColumn( final ColumnBinary columnBinary ) throws IOException {
+    ColumnManager columnManager = new ColumnManager( columnBinary );
+    switch ( columnBinary.columnType ) {
+      case BOOLEAN:
+        return new LazyColumn(
+            columnBinary.columnName , columnBinary.columnType , columnManager );
+      case STRING:
+        String[] range = getStringRange( columnBinary );
+        return new HeaderIndexLazyColumn(
+            columnBinary.columnName ,
+            columnBinary.columnType ,
+            columnManager ,
+            new RangeStringIndex( range[0] , range[1] ) );
+      default:
+        ByteBuffer wrapBuffer = ByteBuffer.wrap(
+            columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+        long min = wrapBuffer.getLong();
+        long max = wrapBuffer.getLong();
+        return new HeaderIndexLazyColumn(
+            columnBinary.columnName ,
+            columnBinary.columnType ,
+            columnManager ,
+            new RangeLongIndex( min , max ) );
+    }
+  }
+
+  @Override
+  public void loadInMemoryStorage(
+      final ColumnBinary columnBinary ,
+      final IMemoryAllocator allocator ) throws IOException {
+    RunLength runLength = readRunLength( columnBinary );
+    for ( int i = 0 ; i < runLength.runDicIndexArray.length ; i++ ) {
+      int start = runLength.runStartArray[i];
+      int end = start + runLength.runLengthArray[i];
+      PrimitiveObject obj = runLength.dicArray[runLength.runDicIndexArray[i]];
+      if ( obj == null ) {
+        for ( int index = start ; index < end ; index++ ) {
+          allocator.setNull( index );
+        }
+        continue;
+      }
+      switch ( columnBinary.columnType ) {
+        case BOOLEAN:
+          boolean booleanValue = obj.getBoolean();
+          for ( int index = start ; index < end ; index++ ) {
+            allocator.setBoolean( index , booleanValue );
+          }
+          break;
+        case STRING:
+          Utf8BytesLinkObj linkObj = (Utf8BytesLinkObj)obj;
+          for ( int index = start ; index < end ; index++ ) {
+            allocator.setBytes(
+                index , linkObj.getLinkBytes() , linkObj.getStart() , linkObj.getLength() );
+          }
+          break;
+        default:
+          long longValue = obj.getLong();
+          for ( int index = start ; index < end ; index++ ) {
+            allocator.setLong( index , longValue );
+          }
+          break;
+      }
+    }
+    allocator.setValueCount( columnBinary.rowCount );
+  }
+
+  @Override
+  public void setBlockIndexNode(
+      final BlockIndexNode parentNode ,
+      final ColumnBinary columnBinary ,
+      final int spreadIndex ) throws IOException {
+    BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
+    IBlockIndex blockIndex;
+    switch ( columnBinary.columnType ) {
+      case BOOLEAN:
+        currentNode.disable();
+        return;
+      case STRING:
+        String[] range = getStringRange( columnBinary );
+        blockIndex = new StringRangeBlockIndex( range[0] , range[1] );
+        break;
+      default:
+        ByteBuffer wrapBuffer = ByteBuffer.wrap(
+            columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+        long min = wrapBuffer.getLong();
+        long max = wrapBuffer.getLong();
+        blockIndex = new LongRangeBlockIndex( min , max );
+        break;
+    }
+    if ( 0 < currentNode.getBloomFilterFpp() ) {
+      BloomFilter bloomFilter = new BloomFilter(
+          columnBinary.cardinality , currentNode.getBloomFilterFpp() );
+      loadInMemoryStorage( columnBinary , new BloomFilterMemoryAllocator( bloomFilter ) );
+      blockIndex = new BloomFilterBlockIndex( blockIndex , spreadIndex , bloomFilter );
+    }
+    currentNode.setBlockIndex( blockIndex , spreadIndex );
+  }
+
+  private static class RunLength {
+
+    private final int[] runDicIndexArray;
+    private final int[] runStartArray;
+    private final int[] runLengthArray;
+    private final PrimitiveObject[] dicArray;
+
+    RunLength( final int runCount , final int dicSize ) {
+      runDicIndexArray = new int[runCount];
+      runStartArray = new int[runCount];
+      runLengthArray = new int[runCount];
+      dicArray = new PrimitiveObject[dicSize];
+    }
+
+  }
+
+  private static class DicManager implements IDicManager {
+
+    private final PrimitiveObject[] dicArray;
+
+    DicManager( final PrimitiveObject[] dicArray ) {
+      this.dicArray = dicArray;
+    }
+
+    @Override
+    public PrimitiveObject get( final int index ) throws IOException {
+      return dicArray[index];
+    }
+
+    @Override
+    public int getDicSize() throws IOException {
+      return dicArray.length;
+    }
+
+  }
+
+  private class ColumnManager implements IColumnManager {
+
+    private final ColumnBinary columnBinary;
+
+    private PrimitiveColumn column;
+    private boolean isCreate;
+
+    ColumnManager( final ColumnBinary columnBinary ) {
+      this.columnBinary = columnBinary;
+    }
+
+    private ICellIndex createRunIndex(
+        final RunLength runLength , final IDicManager dicManager ) throws IOException {
+      switch ( columnBinary.columnType ) {
+        case BOOLEAN:
+          byte[] runValueArray = new byte[runLength.runDicIndexArray.length];
+          for ( int i = 0 ; i < runValueArray.length ; i++ ) {
+            PrimitiveObject obj = runLength.dicArray[runLength.runDicIndexArray[i]];
+            if ( obj == null ) {
+              runValueArray[i] = (byte)2;
+            } else {
+              runValueArray[i] = obj.getBoolean() ? (byte)1 : (byte)0;
+            }
+          }
+          return new SequentialBooleanCellIndex( runValueArray );
+        case STRING:
+          return new BufferDirectSequentialStringCellIndex(
+              dicManager , IntBuffer.wrap( runLength.runDicIndexArray ) );
+        default:
+          return new BufferDirectSequentialNumberCellIndex(
+              columnBinary.columnType ,
+              dicManager ,
+              IntBuffer.wrap( runLength.runDicIndexArray ) );
+      }
+    }
+
+    private void create() throws IOException {
+      if ( isCreate ) {
+        return;
+      }
+      RunLength runLength = readRunLength( columnBinary );
+      int[] dicIndexArray = new int[columnBinary.rowCount];
+      for ( int i = 0 ; i < runLength.runDicIndexArray.length ; i++ ) {
+        int start = runLength.runStartArray[i];
+        Arrays.fill(
+            dicIndexArray ,
+            start ,
+            start + runLength.runLengthArray[i] ,
+            runLength.runDicIndexArray[i] );
+      }
+
+      IDicManager dicManager = new DicManager( runLength.dicArray );
+      column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
+      column.setCellManager( new BufferDirectDictionaryLinkCellManager(
+          columnBinary.columnType , dicManager , IntBuffer.wrap( dicIndexArray ) ) );
+      column.setIndex( new RunLengthCellIndex(
+          createRunIndex( runLength , dicManager ) ,
+          runLength.runStartArray ,
+          runLength.runLengthArray ) );
+
+      isCreate = true;
+    }
+
+    @Override
+    public IColumn get() {
+      if ( ! isCreate ) {
+        try {
+          create();
+        } catch ( IOException ex ) {
+          throw new UncheckedIOException( ex );
+        }
+      }
+      return column;
+    }
+
+    @Override
+    public List<String> getColumnKeys() {
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public int getColumnSize() {
+      return 0;
+    }
+
+  }
+
+}
@@ -26,8 +26,6 @@ import jp.co.yahoo.yosegi.binary.maker.index.RangeDoubleIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.DoubleRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.DataType;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.DoubleObj;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
@@ -72,6 +70,17 @@ public class UnsafeOptimizeDoubleColumnBinaryMaker implements IColumnBinaryMaker
     }
   }
 
+  /**
+   * Select the index maker from the byte order byte of the binary.
+   */
+  public static IDictionaryIndexMaker chooseDictionaryIndexMaker(
+      final int dicIndexLength , final int dicSize , final byte orderByte ) {
+    if ( BitPackDictionaryIndex.isBitPacked( orderByte ) ) {
+      return new BitPackDictionaryIndexMaker( dicIndexLength , dicSize );
+    }
+    return chooseDictionaryIndexMaker( dicIndexLength );
+  }
+
   public interface IDictionaryMaker {
 
     int getLogicalSize( final int indexLength );
@@ -284,6 +293,42 @@ public class UnsafeOptimizeDoubleColumnBinaryMaker implements IColumnBinaryMaker
 
   }
 
+  public static class BitPackDictionaryIndexMaker implements IDictionaryIndexMaker {
+
+    private final int rowCount;
+    private final int dicSize;
+
+    public BitPackDictionaryIndexMaker( final int rowCount , final int dicSize ) {
+      this.rowCount = rowCount;
+      this.dicSize = dicSize;
+    }
+
+    @Override
+    public int calcBinarySize( final int indexLength ) {
+      return BitPackDictionaryIndex.calcBinarySize( indexLength , dicSize );
+    }
+
+    @Override
+    public void create(
+        final int[] dicIndexArray ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      BitPackDictionaryIndex.create( dicIndexArray , dicSize , buffer , start );
+    }
+
+    @Override
+    public IntBuffer getIndexIntBuffer(
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      return BitPackDictionaryIndex.getIndexIntBuffer( rowCount , dicSize , buffer , start );
+    }
+
+  }
+
   @Override
   public ColumnBinary toBinary(
       final ColumnBinaryMakerConfig commonConfig ,
@@ -336,7 +381,9 @@ public class UnsafeOptimizeDoubleColumnBinaryMaker implements IColumnBinaryMaker
 
     ByteOrder order = ByteOrder.nativeOrder();
 
-    IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker( indexArray.length );
+    IDictionaryIndexMaker indexMaker = currentConfig.bitPackDictionaryIndex
+        ? new BitPackDictionaryIndexMaker( indexArray.length , dicList.size() )
+        : chooseDictionaryIndexMaker( indexArray.length );
     IDictionaryMaker dicMaker = chooseDictionaryMaker( min.doubleValue() , max.doubleValue() );
 
     int indexLength = indexMaker.calcBinarySize( indexArray.length );
@@ -346,17 +393,17 @@ public class UnsafeOptimizeDoubleColumnBinaryMaker implements IColumnBinaryMaker
     indexMaker.create( indexArray , binaryRaw , 0 , indexLength , order );
     dicMaker.create( dicList , binaryRaw , indexLength , dicLength , order );
 
-    byte[] compressBinary = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , DataType.NUMBER );
-
-    byte[] binary = new byte[ Double.BYTES * 2 + Byte.BYTES + compressBinary.length ];
-
-    byte byteOrderByte = order == ByteOrder.BIG_ENDIAN ? (byte)0 : (byte)1;
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
+    byte byteOrderByte = BitPackDictionaryIndex.toOrderByte(
+        order , currentConfig.bitPackDictionaryIndex );
+    byte[] header = new byte[ Double.BYTES * 2 + Byte.BYTES ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( header , 0 , header.length );
     wrapBuffer.putDouble( min );
     wrapBuffer.putDouble( max );
     wrapBuffer.put( byteOrderByte );
-    wrapBuffer.put( compressBinary );
+
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        header , binaryRaw , 0 , binaryRaw.length , DataType.NUMBER ,
+        currentConfig.compressionPolicy );
 
     return new ColumnBinary(
         this.getClass().getName() ,
@@ -377,6 +424,7 @@ public class UnsafeOptimizeDoubleColumnBinaryMaker implements IColumnBinaryMaker
   public int calcBinarySize( final IColumnAnalizeResult analizeResult ) {
     double min = ( (DoubleColumnAnalizeResult) analizeResult ).getMin();
     double max = ( (DoubleColumnAnalizeResult) analizeResult ).getMax();
+    // The estimate is the default format without the bit-packed index.
     IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker( analizeResult.getColumnSize() );
     IDictionaryMaker dicMaker = chooseDictionaryMaker( min , max );
 
@@ -392,10 +440,11 @@ public class UnsafeOptimizeDoubleColumnBinaryMaker implements IColumnBinaryMaker
         columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
     Double min = Double.valueOf( wrapBuffer.getDouble() );
     Double max = Double.valueOf( wrapBuffer.getDouble() );
-    ByteOrder order = wrapBuffer.get() == (byte)0
-        ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    byte orderByte = wrapBuffer.get();
+    ByteOrder order = BitPackDictionaryIndex.getByteOrder( orderByte );
 
-    IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker( columnBinary.rowCount );
+    IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker(
+        columnBinary.rowCount , columnBinary.cardinality , orderByte );
     IDictionaryMaker dicMaker = chooseDictionaryMaker( min.doubleValue() , max.doubleValue() );
     return new HeaderIndexLazyColumn(
       columnBinary.columnName ,
@@ -418,17 +467,17 @@ public class UnsafeOptimizeDoubleColumnBinaryMaker implements IColumnBinaryMaker
         columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
     Double min = Double.valueOf( wrapBuffer.getDouble() );
     Double max = Double.valueOf( wrapBuffer.getDouble() );
-    ByteOrder order = wrapBuffer.get() == (byte)0
-        ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    byte orderByte = wrapBuffer.get();
+    ByteOrder order = BitPackDictionaryIndex.getByteOrder( orderByte );
 
-    IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker( columnBinary.rowCount );
+    IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker(
+        columnBinary.rowCount , columnBinary.cardinality , orderByte );
     IDictionaryMaker dicMaker = chooseDictionaryMaker( min.doubleValue() , max.doubleValue() );
 
     int start = columnBinary.binaryStart + ( Double.BYTES * 2 + Byte.BYTES );
     int length = columnBinary.binaryLength - ( Double.BYTES * 2 + Byte.BYTES );
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] binary = compressor.decompress( columnBinary.binary , start , length );
+    byte[] binary = columnBinary.decompressToWorkBuffer( start , length );
 
     int indexLength = indexMaker.calcBinarySize( columnBinary.rowCount );
     int dicLength = dicMaker.calcBinarySize( columnBinary.cardinality );
@@ -457,7 +506,7 @@ public class UnsafeOptimizeDoubleColumnBinaryMaker implements IColumnBinaryMaker
     Double min = Double.valueOf( wrapBuffer.getDouble() );
     Double max = Double.valueOf( wrapBuffer.getDouble() );
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new DoubleRangeBlockIndex( min , max ) );
+    currentNode.setBlockIndex( new DoubleRangeBlockIndex( min , max ) , spreadIndex );
   }
 
   public class DicManager implements IDicManager {
@@ -511,8 +560,7 @@ public class UnsafeOptimizeDoubleColumnBinaryMaker implements IColumnBinaryMaker
       int start = columnBinary.binaryStart + ( Double.BYTES * 2 + Byte.BYTES );
       int length = columnBinary.binaryLength - ( Double.BYTES * 2 + Byte.BYTES );
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-      byte[] binary = compressor.decompress( columnBinary.binary , start , length );
+      byte[] binary = columnBinary.decompress( start , length );
 
       int indexLength = indexMaker.calcBinarySize( columnBinary.rowCount );
       int dicLength = dicMaker.calcBinarySize( columnBinary.cardinality );
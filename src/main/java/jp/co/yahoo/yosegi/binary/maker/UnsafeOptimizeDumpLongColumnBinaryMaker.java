@@ -24,10 +24,12 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.maker.index.RangeLongIndex;
 import jp.co.yahoo.yosegi.binary.maker.index.SequentialNumberCellIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilter;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterMemoryAllocator;
+import jp.co.yahoo.yosegi.blockindex.IBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.LongRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.DataType;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.ByteObj;
 import jp.co.yahoo.yosegi.message.objects.IntegerObj;
@@ -44,6 +46,7 @@ import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.io.BitPackUtils;
 import jp.co.yahoo.yosegi.util.io.IReadSupporter;
 import jp.co.yahoo.yosegi.util.io.IWriteSupporter;
 import jp.co.yahoo.yosegi.util.io.NumberToBinaryUtils;
@@ -58,6 +61,10 @@ import java.util.List;
 
 public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMaker {
 
+  private static final byte NO_NULL = (byte)0;
+  private static final byte NULL_BYTES = (byte)1;
+  private static final byte NULL_BITMAP = (byte)2;
+
   /**
    * Calculate logical data size from column size and type.
    */
@@ -143,6 +150,34 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
     }
   }
 
+  /**
+   * Get the length of the null flags that precede the values.
+   */
+  private static int getIsNullLength( final byte nullType , final int columnSize ) {
+    switch ( nullType ) {
+      case NO_NULL:
+        return 0;
+      case NULL_BITMAP:
+        return BitPackUtils.getBitmapLength( columnSize );
+      default:
+        return columnSize;
+    }
+  }
+
+  /**
+   * Get one null flag per row.
+   * Older binaries already store a byte per row at the head of the buffer.
+   */
+  private static byte[] getIsNullArray(
+      final byte[] binary , final byte nullType , final int columnSize ) {
+    if ( nullType != NULL_BITMAP ) {
+      return binary;
+    }
+    byte[] isNullArray = new byte[columnSize];
+    BitPackUtils.unpackBitmap( binary , 0 , columnSize , isNullArray , 0 );
+    return isNullArray;
+  }
+
   public interface IBinaryMaker {
 
     int calcBinarySize( final int columnSize );
@@ -155,10 +190,24 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
         final ByteOrder order ,
         final int rowCount ) throws IOException;
 
+    /**
+     * Read the values of the legacy layout, where the null flags start the buffer.
+     */
+    default PrimitiveObject[] getPrimitiveArray(
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final int columnSize ,
+        final boolean hasNull ,
+        final ByteOrder order ) throws IOException {
+      return getPrimitiveArray( buffer , start , length , buffer , columnSize , hasNull , order );
+    }
+
     PrimitiveObject[] getPrimitiveArray(
         final byte[] buffer ,
         final int start ,
         final int length ,
+        final byte[] isNullArray ,
         final int columnSize ,
         final boolean hasNull ,
         final ByteOrder order ) throws IOException;
@@ -202,6 +251,7 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
         final byte[] buffer ,
         final int start ,
         final int length ,
+        final byte[] isNullArray ,
         final int columnSize ,
         final boolean hasNull ,
         final ByteOrder order ) throws IOException {
@@ -209,7 +259,7 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
       IReadSupporter wrapBuffer =
           ByteBufferSupporterFactory.createReadSupporter( buffer , start , length , order );
       for ( int i = 0 ; i < columnSize; i++ ) {
-        if ( ! hasNull || buffer[i] == (byte)0 ) {
+        if ( ! hasNull || isNullArray[i] == (byte)0 ) {
           result[i] = new ByteObj( wrapBuffer.getByte() );
         }
       }
@@ -273,6 +323,7 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
         final byte[] buffer ,
         final int start ,
         final int length ,
+        final byte[] isNullArray ,
         final int columnSize ,
         final boolean hasNull ,
         final ByteOrder order ) throws IOException {
@@ -280,7 +331,7 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
       IReadSupporter wrapBuffer =
           ByteBufferSupporterFactory.createReadSupporter( buffer , start , length , order );
       for ( int i = 0 ; i < columnSize ; i++ ) {
-        if ( ! hasNull || buffer[i] == (byte)0 ) {
+        if ( ! hasNull || isNullArray[i] == (byte)0 ) {
           result[i] = new LongObj(
               NumberToBinaryUtils.getUnsignedByteToLong( wrapBuffer.getByte() ) + min );
         }
@@ -339,6 +390,7 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
         final byte[] buffer ,
         final int start ,
         final int length ,
+        final byte[] isNullArray ,
         final int columnSize ,
         final boolean hasNull ,
         final ByteOrder order ) throws IOException {
@@ -346,7 +398,7 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
       IReadSupporter wrapBuffer =
           ByteBufferSupporterFactory.createReadSupporter( buffer , start , length , order );
       for ( int i = 0 ; i < columnSize ; i++ ) {
-        if ( ! hasNull || buffer[i] == (byte)0 ) {
+        if ( ! hasNull || isNullArray[i] == (byte)0 ) {
           result[i] = new ShortObj( wrapBuffer.getShort() );
         }
       }
@@ -410,6 +462,7 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
         final byte[] buffer ,
         final int start ,
         final int length ,
+        final byte[] isNullArray ,
         final int columnSize ,
         final boolean hasNull ,
         final ByteOrder order ) throws IOException {
@@ -417,7 +470,7 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
       IReadSupporter wrapBuffer =
           ByteBufferSupporterFactory.createReadSupporter( buffer , start , length , order );
       for ( int i = 0 ; i < columnSize ; i++ ) {
-        if ( ! hasNull || buffer[i] == (byte)0 ) {
+        if ( ! hasNull || isNullArray[i] == (byte)0 ) {
           result[i] = new LongObj(
               NumberToBinaryUtils.getUnsignedShortToLong( wrapBuffer.getShort() ) + min );
         }
@@ -482,13 +535,14 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
         final byte[] buffer ,
         final int start ,
         final int length ,
+        final byte[] isNullArray ,
         final int columnSize ,
         final boolean hasNull ,
         final ByteOrder order ) throws IOException {
       PrimitiveObject[] result = new PrimitiveObject[columnSize];
       IReadSupporter wrapBuffer = converter.toReadSupporter( buffer , start , length );
       for ( int i = 0 ; i < columnSize ; i++ ) {
-        if ( ! hasNull || buffer[i] == (byte)0 ) {
+        if ( ! hasNull || isNullArray[i] == (byte)0 ) {
           result[i] = new IntegerObj( wrapBuffer.getInt() );
         }
       }
@@ -553,13 +607,14 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
         final byte[] buffer ,
         final int start ,
         final int length ,
+        final byte[] isNullArray ,
         final int columnSize ,
         final boolean hasNull ,
         final ByteOrder order ) throws IOException {
       PrimitiveObject[] result = new PrimitiveObject[columnSize];
       IReadSupporter wrapBuffer = converter.toReadSupporter( buffer , start , length );
       for ( int i = 0 ; i < columnSize ; i++ ) {
-        if ( ! hasNull || buffer[i] == (byte)0 ) {
+        if ( ! hasNull || isNullArray[i] == (byte)0 ) {
           result[i] = new LongObj(
               NumberToBinaryUtils.getUnsignedIntToLong( wrapBuffer.getInt() ) + min );
         }
@@ -623,13 +678,14 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
         final byte[] buffer ,
         final int start ,
         final int length ,
+        final byte[] isNullArray ,
         final int columnSize ,
         final boolean hasNull ,
         final ByteOrder order ) throws IOException {
       PrimitiveObject[] result = new PrimitiveObject[columnSize];
       IReadSupporter wrapBuffer = converter.toReadSupporter( buffer , start , length );
       for ( int i = 0 ; i < columnSize ; i++ ) {
-        if ( ! hasNull || buffer[i] == (byte)0 ) {
+        if ( ! hasNull || isNullArray[i] == (byte)0 ) {
           result[i] = new LongObj( wrapBuffer.getLong() );
         }
       }
@@ -704,35 +760,35 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
     IBinaryMaker binaryMaker = chooseBinaryMaker( min.longValue() , max.longValue() );
     ByteOrder order = ByteOrder.nativeOrder();
 
-    int nullBinaryLength = 0;
+    byte nullType = NO_NULL;
     if ( hasNull ) {
-      nullBinaryLength = isNullArray.length;
+      nullType = currentConfig.bitPackNullFlags ? NULL_BITMAP : NULL_BYTES;
     }
+    int nullBinaryLength = getIsNullLength( nullType , isNullArray.length );
     int valueLength = binaryMaker.calcBinarySize( rowCount );
 
     byte[] binaryRaw = new byte[ nullBinaryLength + valueLength ];
-    if ( hasNull ) {
-      ByteBuffer compressBinaryBuffer = ByteBuffer.wrap( binaryRaw , 0 , nullBinaryLength );
-      compressBinaryBuffer.put( isNullArray );
+    if ( nullType == NULL_BITMAP ) {
+      BitPackUtils.packBitmap( isNullArray , 0 , isNullArray.length , binaryRaw , 0 );
+    } else if ( nullType == NULL_BYTES ) {
+      System.arraycopy( isNullArray , 0 , binaryRaw , 0 , nullBinaryLength );
     }
     binaryMaker.create(
         valueArray , binaryRaw , nullBinaryLength , valueLength , order , rowCount );
 
-    byte[] compressBinary = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , DataType.NUMBER );
-
-    byte[] binary =
-        new byte[ Long.BYTES * 2 + Byte.BYTES * 2 + Integer.BYTES + compressBinary.length ];
-
     byte byteOrderByte = order == ByteOrder.BIG_ENDIAN ? (byte)0 : (byte)1;
 
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
+    byte[] header = new byte[ Long.BYTES * 2 + Byte.BYTES * 2 + Integer.BYTES ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( header , 0 , header.length );
     wrapBuffer.putLong( min );
     wrapBuffer.putLong( max );
-    wrapBuffer.put( hasNull ? (byte)1 : (byte)0 );
+    wrapBuffer.put( nullType );
     wrapBuffer.put( byteOrderByte );
     wrapBuffer.putInt( rowCount );
-    wrapBuffer.put( compressBinary );
+
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        header , binaryRaw , 0 , binaryRaw.length , DataType.NUMBER ,
+        currentConfig.compressionPolicy );
 
     return new ColumnBinary(
         this.getClass().getName() ,
@@ -776,6 +832,7 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
         break;
     }
     IBinaryMaker binaryMaker = chooseBinaryMaker( min , max );
+    // The estimate is the default format with one null flag per row.
     int nullBinaryLength = analizeResult.getColumnSize();
     int valueLength = binaryMaker.calcBinarySize( analizeResult.getColumnSize() );
     return nullBinaryLength + valueLength;
@@ -789,7 +846,7 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
         columnBinary.binaryLength );
     Long min = Long.valueOf( wrapBuffer.getLong() );
     Long max = Long.valueOf( wrapBuffer.getLong() );
-    boolean hasNull = wrapBuffer.get() == (byte)0 ? false : true;
+    byte nullType = wrapBuffer.get();
     ByteOrder order = wrapBuffer.get() == (byte)0
         ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
     int rowCount = wrapBuffer.getInt();
@@ -801,7 +858,7 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
         new ColumnManager(
           columnBinary ,
           binaryMaker ,
-          hasNull ,
+          nullType ,
           order ,
           rowCount
         ) ,
@@ -818,7 +875,7 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
         columnBinary.binaryLength );
     Long min = Long.valueOf( wrapBuffer.getLong() );
     Long max = Long.valueOf( wrapBuffer.getLong() );
-    boolean hasNull = wrapBuffer.get() == (byte)0 ? false : true;
+    final byte nullType = wrapBuffer.get();
     ByteOrder order = wrapBuffer.get() == (byte)0
         ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
     int rowCount = wrapBuffer.getInt();
@@ -828,13 +885,9 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
     int start = columnBinary.binaryStart + ( Long.BYTES * 2 + Byte.BYTES * 2 + Integer.BYTES );
     int length = columnBinary.binaryLength - ( Long.BYTES * 2 + Byte.BYTES * 2 + Integer.BYTES );
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] binary = compressor.decompress( columnBinary.binary , start , length );
+    byte[] binary = columnBinary.decompressToWorkBuffer( start , length );
 
-    int isNullLength = 0;
-    if ( hasNull ) {
-      isNullLength = columnBinary.rowCount;
-    }
+    int isNullLength = getIsNullLength( nullType , columnBinary.rowCount );
     int binaryLength = binaryMaker.calcBinarySize( rowCount );
 
     binaryMaker.loadInMemoryStorage(
@@ -842,9 +895,9 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
         isNullLength ,
         binaryLength ,
         allocator ,
-        binary ,
+        getIsNullArray( binary , nullType , columnBinary.rowCount ) ,
         columnBinary.rowCount ,
-        hasNull ,
+        nullType != NO_NULL ,
         order );
 
     allocator.setValueCount( columnBinary.rowCount );
@@ -862,7 +915,14 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
     Long min = Long.valueOf( wrapBuffer.getLong() );
     Long max = Long.valueOf( wrapBuffer.getLong() );
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new LongRangeBlockIndex( min , max ) );
+    IBlockIndex blockIndex = new LongRangeBlockIndex( min , max );
+    if ( 0 < currentNode.getBloomFilterFpp() ) {
+      BloomFilter bloomFilter = new BloomFilter(
+          columnBinary.rowCount , currentNode.getBloomFilterFpp() );
+      loadInMemoryStorage( columnBinary , new BloomFilterMemoryAllocator( bloomFilter ) );
+      blockIndex = new BloomFilterBlockIndex( blockIndex , spreadIndex , bloomFilter );
+    }
+    currentNode.setBlockIndex( blockIndex , spreadIndex );
   }
 
   public class DicManager implements IDicManager {
@@ -903,7 +963,7 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
 
     private final ColumnBinary columnBinary;
     private final IBinaryMaker binaryMaker;
-    private final boolean hasNull;
+    private final byte nullType;
     private final ByteOrder order;
     private final int rowCount;
 
@@ -916,12 +976,12 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
     public ColumnManager(
         final ColumnBinary columnBinary ,
         final IBinaryMaker binaryMaker ,
-        final boolean hasNull ,
+        final byte nullType ,
         final ByteOrder order ,
         final int rowCount ) {
       this.columnBinary = columnBinary;
       this.binaryMaker = binaryMaker;
-      this.hasNull = hasNull;
+      this.nullType = nullType;
       this.order = order;
       this.rowCount = rowCount;
     }
@@ -933,24 +993,23 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
       int start = columnBinary.binaryStart + ( Long.BYTES * 2 + Byte.BYTES * 2 + Integer.BYTES );
       int length = columnBinary.binaryLength - ( Long.BYTES * 2 + Byte.BYTES * 2 + Integer.BYTES );
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-      byte[] binary = compressor.decompress( columnBinary.binary , start , length );
+      byte[] binary = columnBinary.decompress( start , length );
 
-      int isNullLength = 0;
-      if ( hasNull ) {
-        isNullLength = columnBinary.rowCount;
-      }
+      int isNullLength = getIsNullLength( nullType , columnBinary.rowCount );
       int binaryLength = binaryMaker.calcBinarySize( rowCount );
+      byte[] isNullArray = getIsNullArray( binary , nullType , columnBinary.rowCount );
+      boolean hasNull = nullType != NO_NULL;
 
       PrimitiveObject[] dicArray = binaryMaker.getPrimitiveArray(
           binary ,
           isNullLength ,
           binaryLength ,
+          isNullArray ,
           columnBinary.rowCount ,
           hasNull ,
           order );
 
-      IDicManager dicManager = new DicManager( dicArray , binary , hasNull );
+      IDicManager dicManager = new DicManager( dicArray , isNullArray , hasNull );
       column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
       column.setCellManager( new BufferDirectCellManager(
           columnBinary.columnType , dicManager , columnBinary.rowCount ) );
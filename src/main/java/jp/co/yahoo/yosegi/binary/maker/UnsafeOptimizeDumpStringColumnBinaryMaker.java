@@ -24,10 +24,12 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.maker.index.RangeStringIndex;
 import jp.co.yahoo.yosegi.binary.maker.index.SequentialStringCellIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilter;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterMemoryAllocator;
+import jp.co.yahoo.yosegi.blockindex.IBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.DataType;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.message.objects.StringObj;
@@ -39,6 +41,7 @@ import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.io.BitPackUtils;
 import jp.co.yahoo.yosegi.util.io.IReadSupporter;
 import jp.co.yahoo.yosegi.util.io.IWriteSupporter;
 import jp.co.yahoo.yosegi.util.io.NumberToBinaryUtils;
@@ -53,6 +56,10 @@ import java.util.List;
 
 public class UnsafeOptimizeDumpStringColumnBinaryMaker implements IColumnBinaryMaker {
 
+  private static final int NO_NULL = 0;
+  private static final int NULL_BYTES = 1;
+  private static final int NULL_BITMAP = 2;
+
   /**
    * Determine the type of range of difference between min and max.
    */
@@ -425,9 +432,14 @@ public class UnsafeOptimizeDumpStringColumnBinaryMaker implements IColumnBinaryM
           new StringObj( min ) , column.getColumnName() , column.size() );
     }
 
-    int nullBinaryLength = nullFlagBytes.length;
-    if ( ! hasNull ) {
-      nullBinaryLength = 0;
+    int nullType = NO_NULL;
+    int nullBinaryLength = 0;
+    if ( hasNull && currentConfig.bitPackNullFlags ) {
+      nullType = NULL_BITMAP;
+      nullBinaryLength = BitPackUtils.getBitmapLength( nullFlagBytes.length );
+    } else if ( hasNull ) {
+      nullType = NULL_BYTES;
+      nullBinaryLength = nullFlagBytes.length;
     }
     ILengthMaker lengthMaker = chooseLengthMaker( hasNull , minLength , maxLength );
     int lengthByteLength = lengthMaker.calcBinarySize( column.size() );
@@ -447,33 +459,34 @@ public class UnsafeOptimizeDumpStringColumnBinaryMaker implements IColumnBinaryM
     wrapBuffer.put( byteOrderByte );
     wrapBuffer.putInt( minLength );
     wrapBuffer.putInt( maxLength );
-    if ( hasNull ) {
-      wrapBuffer.putInt( 1 );
+    wrapBuffer.putInt( nullType );
+    if ( nullType == NULL_BITMAP ) {
+      wrapBuffer.position( wrapBuffer.position() + BitPackUtils.packBitmap(
+          nullFlagBytes , 0 , nullFlagBytes.length , binaryRaw , wrapBuffer.position() ) );
+    } else if ( nullType == NULL_BYTES ) {
       wrapBuffer.put( nullFlagBytes );
-    } else {
-      wrapBuffer.putInt( 0 );
     }
     lengthMaker.create( objList , binaryRaw , wrapBuffer.position() , lengthByteLength , order );
     wrapBuffer.position( wrapBuffer.position() + lengthByteLength );
     for ( int i = 0 ; i < objList.length ; i++ ) {
       wrapBuffer.put( objList[i] );
     }
-    byte[] compressBinaryRaw = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , DataType.NUMBER );
-
     int minCharLength = Character.BYTES * min.length();
     int maxCharLength = Character.BYTES * max.length();
     int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
 
-    byte[] binary = new byte[headerSize + compressBinaryRaw.length];
-    ByteBuffer binaryWrapBuffer = ByteBuffer.wrap( binary );
+    byte[] header = new byte[headerSize];
+    ByteBuffer binaryWrapBuffer = ByteBuffer.wrap( header );
     binaryWrapBuffer.putInt( minCharLength );
     binaryWrapBuffer.asCharBuffer().put( min );
     binaryWrapBuffer.position( binaryWrapBuffer.position() + minCharLength );
     binaryWrapBuffer.putInt( maxCharLength );
     binaryWrapBuffer.asCharBuffer().put( max );
     binaryWrapBuffer.position( binaryWrapBuffer.position() + maxCharLength );
-    binaryWrapBuffer.put( compressBinaryRaw );
+
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        header , binaryRaw , 0 , binaryRaw.length , DataType.NUMBER ,
+        currentConfig.compressionPolicy );
 
     return new ColumnBinary(
         this.getClass().getName() ,
@@ -490,6 +503,23 @@ public class UnsafeOptimizeDumpStringColumnBinaryMaker implements IColumnBinaryM
         null );
   }
 
+  /**
+   * Read one null flag per row.
+   * Older binaries store a byte per row instead of the bitmap.
+   */
+  private static byte[] readNullFlagBytes(
+      final ByteBuffer wrapBuffer , final int nullType , final int rowCount ) {
+    byte[] nullFlagBytes = new byte[rowCount];
+    if ( nullType == NULL_BITMAP ) {
+      BitPackUtils.unpackBitmap(
+          wrapBuffer.array() , wrapBuffer.position() , rowCount , nullFlagBytes , 0 );
+      wrapBuffer.position( wrapBuffer.position() + BitPackUtils.getBitmapLength( rowCount ) );
+    } else if ( nullType != NO_NULL ) {
+      wrapBuffer.get( nullFlagBytes );
+    }
+    return nullFlagBytes;
+  }
+
   @Override
   public int calcBinarySize( final IColumnAnalizeResult analizeResult ) {
     StringColumnAnalizeResult stringAnalizeResult = (StringColumnAnalizeResult)analizeResult;
@@ -497,6 +527,7 @@ public class UnsafeOptimizeDumpStringColumnBinaryMaker implements IColumnBinaryM
     if ( ! hasNull && analizeResult.getUniqCount() == 1 ) {
       return stringAnalizeResult.getUniqUtf8ByteSize();
     }
+    // The estimate is the default format with one null flag per row.
     int nullBinaryLength = stringAnalizeResult.getColumnSize();
     if ( ! hasNull ) {
       nullBinaryLength = 0;
@@ -559,21 +590,17 @@ public class UnsafeOptimizeDumpStringColumnBinaryMaker implements IColumnBinaryM
     headerWrapBuffer.position( headerWrapBuffer.position() + maxCharLength );
     int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] binary = compressor.decompress(
-        columnBinary.binary ,
+    byte[] binary = columnBinary.decompress(
         columnBinary.binaryStart + headerSize ,
         columnBinary.binaryLength - headerSize );
     ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
     ByteOrder order = wrapBuffer.get() == (byte)0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
     int minLength = wrapBuffer.getInt();
     int maxLength = wrapBuffer.getInt();
-    boolean hasNull = wrapBuffer.getInt() == 1;
+    int nullType = wrapBuffer.getInt();
+    boolean hasNull = nullType != 0;
 
-    byte[] nullFlagBytes = new byte[columnBinary.rowCount];
-    if ( hasNull ) {
-      wrapBuffer.get( nullFlagBytes );
-    }
+    byte[] nullFlagBytes = readNullFlagBytes( wrapBuffer , nullType , columnBinary.rowCount );
 
     ILengthMaker lengthMaker = chooseLengthMaker( hasNull , minLength , maxLength );
     int lengthByteArrayLength = lengthMaker.calcBinarySize( columnBinary.rowCount );
@@ -619,7 +646,14 @@ public class UnsafeOptimizeDumpStringColumnBinaryMaker implements IColumnBinaryM
     String max = new String( maxCharArray );
 
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new StringRangeBlockIndex( min , max ) );
+    IBlockIndex blockIndex = new StringRangeBlockIndex( min , max );
+    if ( 0 < currentNode.getBloomFilterFpp() ) {
+      BloomFilter bloomFilter = new BloomFilter(
+          columnBinary.rowCount , currentNode.getBloomFilterFpp() );
+      loadInMemoryStorage( columnBinary , new BloomFilterMemoryAllocator( bloomFilter ) );
+      blockIndex = new BloomFilterBlockIndex( blockIndex , spreadIndex , bloomFilter );
+    }
+    currentNode.setBlockIndex( blockIndex , spreadIndex );
   }
 
   public class RangeStringDicManager implements IDicManager {
@@ -666,19 +700,16 @@ public class UnsafeOptimizeDumpStringColumnBinaryMaker implements IColumnBinaryM
       if ( isCreate ) {
         return;
       }
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-      byte[] binary = compressor.decompress( columnBinary.binary , binaryStart , binaryLength );
+      byte[] binary = columnBinary.decompress( binaryStart , binaryLength );
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
       ByteOrder order =
           wrapBuffer.get() == (byte)0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
       int minLength = wrapBuffer.getInt();
       int maxLength = wrapBuffer.getInt();
-      boolean hasNull = wrapBuffer.getInt() == 1;
+      int nullType = wrapBuffer.getInt();
+      boolean hasNull = nullType != 0;
 
-      byte[] nullFlagBytes = new byte[columnBinary.rowCount];
-      if ( hasNull ) {
-        wrapBuffer.get( nullFlagBytes );
-      }
+      byte[] nullFlagBytes = readNullFlagBytes( wrapBuffer , nullType , columnBinary.rowCount );
 
       ILengthMaker lengthMaker = chooseLengthMaker( hasNull , minLength , maxLength );
       int lengthByteArrayLength = lengthMaker.calcBinarySize( columnBinary.rowCount );
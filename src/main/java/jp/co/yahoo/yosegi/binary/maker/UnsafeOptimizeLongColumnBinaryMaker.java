@@ -24,10 +24,12 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.maker.index.BufferDirectSequentialNumberCellIndex;
 import jp.co.yahoo.yosegi.binary.maker.index.RangeLongIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilter;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterMemoryAllocator;
+import jp.co.yahoo.yosegi.blockindex.IBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.LongRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.DataType;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.ByteObj;
 import jp.co.yahoo.yosegi.message.objects.IntegerObj;
@@ -138,6 +140,17 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
     }
   }
 
+  /**
+   * Select the index maker from the byte order byte of the binary.
+   */
+  public static IDictionaryIndexMaker chooseDictionaryIndexMaker(
+      final int dicIndexLength , final int dicSize , final byte orderByte ) {
+    if ( BitPackDictionaryIndex.isBitPacked( orderByte ) ) {
+      return new BitPackDictionaryIndexMaker( dicIndexLength , dicSize );
+    }
+    return chooseDictionaryIndexMaker( dicIndexLength );
+  }
+
   public interface IDictionaryMaker {
 
     int getLogicalSize( final int indexLength );
@@ -158,6 +171,13 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
         final int length ,
         final ByteOrder order ) throws IOException;
 
+    long[] getDicLongArray(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException;
+
   }
 
   public static class ByteDictionaryMaker implements IDictionaryMaker {
@@ -204,6 +224,24 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       return result;
     }
 
+    @Override
+    public long[] getDicLongArray(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      long[] result = new long[size];
+      IReadSupporter wrapBuffer =
+          ByteBufferSupporterFactory.createReadSupporter( buffer , start , length , order );
+      wrapBuffer.getByte();
+      for ( int i = 1 ; i < size ; i++ ) {
+        result[i] = wrapBuffer.getByte();
+      }
+
+      return result;
+    }
+
   }
 
   public static class DiffByteDictionaryMaker implements IDictionaryMaker {
@@ -257,6 +295,25 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       return result;
     }
 
+    @Override
+    public long[] getDicLongArray(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      long[] result = new long[size];
+      IReadSupporter wrapBuffer =
+          ByteBufferSupporterFactory.createReadSupporter( buffer , start , length , order );
+      wrapBuffer.getByte();
+      for ( int i = 1 ; i < size ; i++ ) {
+        result[i] =
+          NumberToBinaryUtils.getUnsignedByteToLong( wrapBuffer.getByte() ) + min;
+      }
+
+      return result;
+    }
+
   }
 
   public static class ShortDictionaryMaker implements IDictionaryMaker {
@@ -303,6 +360,24 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       return result;
     }
 
+    @Override
+    public long[] getDicLongArray(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      long[] result = new long[size];
+      IReadSupporter wrapBuffer =
+          ByteBufferSupporterFactory.createReadSupporter( buffer , start , length , order );
+      wrapBuffer.getShort();
+      for ( int i = 1 ; i < size ; i++ ) {
+        result[i] = wrapBuffer.getShort();
+      }
+
+      return result;
+    }
+
   }
 
   public static class DiffShortDictionaryMaker implements IDictionaryMaker {
@@ -356,6 +431,24 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       return result;
     }
 
+    @Override
+    public long[] getDicLongArray(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      long[] result = new long[size];
+      IReadSupporter wrapBuffer =
+          ByteBufferSupporterFactory.createReadSupporter( buffer , start , length , order );
+      wrapBuffer.getShort();
+      for ( int i = 1 ; i < size ; i++ ) {
+        result[i] = NumberToBinaryUtils.getUnsignedShortToLong( wrapBuffer.getShort() ) + min;
+      }
+
+      return result;
+    }
+
   }
 
   public static class IntDictionaryMaker implements IDictionaryMaker {
@@ -407,6 +500,23 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       return result;
     }
 
+    @Override
+    public long[] getDicLongArray(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      long[] result = new long[size];
+      IReadSupporter wrapBuffer = converter.toReadSupporter( buffer , start , length );
+      wrapBuffer.getInt();
+      for ( int i = 1 ; i < size ; i++ ) {
+        result[i] = wrapBuffer.getInt();
+      }
+
+      return result;
+    }
+
   }
 
   public static class DiffIntDictionaryMaker implements IDictionaryMaker {
@@ -465,6 +575,24 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       return result;
     }
 
+    @Override
+    public long[] getDicLongArray(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      long[] result = new long[size];
+      IReadSupporter wrapBuffer = converter.toReadSupporter( buffer , start , length );
+      wrapBuffer.getInt();
+      for ( int i = 1 ; i < size ; i++ ) {
+        result[i] =
+            NumberToBinaryUtils.getUnsignedIntToLong( wrapBuffer.getInt() ) + min;
+      }
+
+      return result;
+    }
+
   }
 
   public static class LongDictionaryMaker implements IDictionaryMaker {
@@ -516,6 +644,23 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       return result;
     }
 
+    @Override
+    public long[] getDicLongArray(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      long[] result = new long[size];
+      IReadSupporter wrapBuffer = converter.toReadSupporter( buffer , start , length );
+      wrapBuffer.getLong();
+      for ( int i = 1 ; i < size ; i++ ) {
+        result[i] = wrapBuffer.getLong();
+      }
+
+      return result;
+    }
+
   }
 
   public interface IDictionaryIndexMaker {
@@ -662,6 +807,42 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
 
   }
 
+  public static class BitPackDictionaryIndexMaker implements IDictionaryIndexMaker {
+
+    private final int rowCount;
+    private final int dicSize;
+
+    public BitPackDictionaryIndexMaker( final int rowCount , final int dicSize ) {
+      this.rowCount = rowCount;
+      this.dicSize = dicSize;
+    }
+
+    @Override
+    public int calcBinarySize( final int indexLength ) {
+      return BitPackDictionaryIndex.calcBinarySize( indexLength , dicSize );
+    }
+
+    @Override
+    public void create(
+        final int[] dicIndexArray ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      BitPackDictionaryIndex.create( dicIndexArray , dicSize , buffer , start );
+    }
+
+    @Override
+    public IntBuffer getIndexIntBuffer(
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      return BitPackDictionaryIndex.getIndexIntBuffer( rowCount , dicSize , buffer , start );
+    }
+
+  }
+
   @Override
   public ColumnBinary toBinary(
       final ColumnBinaryMakerConfig commonConfig ,
@@ -714,7 +895,9 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
           column.size() );
     }
 
-    IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker( indexArray.length );
+    IDictionaryIndexMaker indexMaker = currentConfig.bitPackDictionaryIndex
+        ? new BitPackDictionaryIndexMaker( indexArray.length , dicList.size() )
+        : chooseDictionaryIndexMaker( indexArray.length );
     IDictionaryMaker dicMaker = chooseDictionaryMaker( min.longValue() , max.longValue() );
     ByteOrder order = ByteOrder.nativeOrder();
 
@@ -725,18 +908,18 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
     indexMaker.create( indexArray , binaryRaw , 0 , indexLength , order );
     dicMaker.create( dicList , binaryRaw , indexLength , dicLength , order );
 
-    byte[] compressBinary = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , DataType.NUMBER );
-
-    byte[] binary = new byte[ Long.BYTES * 2 + Byte.BYTES + compressBinary.length ];
-
-    byte byteOrderByte = order == ByteOrder.BIG_ENDIAN ? (byte)0 : (byte)1;
+    byte byteOrderByte = BitPackDictionaryIndex.toOrderByte(
+        order , currentConfig.bitPackDictionaryIndex );
 
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
+    byte[] header = new byte[ Long.BYTES * 2 + Byte.BYTES ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( header , 0 , header.length );
     wrapBuffer.putLong( min );
     wrapBuffer.putLong( max );
     wrapBuffer.put( byteOrderByte );
-    wrapBuffer.put( compressBinary );
+
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        header , binaryRaw , 0 , binaryRaw.length , DataType.NUMBER ,
+        currentConfig.compressionPolicy );
 
     return new ColumnBinary(
         this.getClass().getName() ,
@@ -778,6 +961,7 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
         max = Long.MAX_VALUE;
         break;
     }
+    // The estimate is the default format without the bit-packed index.
     IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker( analizeResult.getColumnSize() );
     IDictionaryMaker dicMaker = chooseDictionaryMaker( min , max );
 
@@ -793,9 +977,11 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
         columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
     Long min = Long.valueOf( wrapBuffer.getLong() );
     Long max = Long.valueOf( wrapBuffer.getLong() );
-    ByteOrder order = wrapBuffer.get() == (byte)0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    byte orderByte = wrapBuffer.get();
+    ByteOrder order = BitPackDictionaryIndex.getByteOrder( orderByte );
 
-    IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker( columnBinary.rowCount );
+    IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker(
+        columnBinary.rowCount , columnBinary.cardinality , orderByte );
     IDictionaryMaker dicMaker = chooseDictionaryMaker( min.longValue() , max.longValue() );
     return new HeaderIndexLazyColumn(
         columnBinary.columnName ,
@@ -817,22 +1003,23 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
         columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
     Long min = Long.valueOf( wrapBuffer.getLong() );
     Long max = Long.valueOf( wrapBuffer.getLong() );
-    ByteOrder order = wrapBuffer.get() == (byte)0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    byte orderByte = wrapBuffer.get();
+    ByteOrder order = BitPackDictionaryIndex.getByteOrder( orderByte );
 
-    IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker( columnBinary.rowCount );
+    IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker(
+        columnBinary.rowCount , columnBinary.cardinality , orderByte );
     IDictionaryMaker dicMaker = chooseDictionaryMaker( min.longValue() , max.longValue() );
 
     int start = columnBinary.binaryStart + ( Long.BYTES * 2 + Byte.BYTES );
     int length = columnBinary.binaryLength - ( Long.BYTES * 2 + Byte.BYTES );
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] binary = compressor.decompress( columnBinary.binary , start , length );
+    byte[] binary = columnBinary.decompressToWorkBuffer( start , length );
 
     int indexLength = indexMaker.calcBinarySize( columnBinary.rowCount );
     int dicLength = dicMaker.calcBinarySize( columnBinary.cardinality );
 
     IntBuffer indexIntBuffer = indexMaker.getIndexIntBuffer( binary , 0 , indexLength , order );
-    PrimitiveObject[] dicArray = dicMaker.getDicPrimitiveArray(
+    long[] dicArray = dicMaker.getDicLongArray(
         columnBinary.cardinality , binary , indexLength , dicLength , order );
 
     int loopCount = indexIntBuffer.capacity();
@@ -841,7 +1028,7 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       if ( dicIndex == 0 ) {
         allocator.setNull( i );
       } else {
-        allocator.setLong( i , dicArray[dicIndex].getLong() );
+        allocator.setLong( i , dicArray[dicIndex] );
       }
     }
     allocator.setValueCount( loopCount );
@@ -857,19 +1044,44 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
     Long min = Long.valueOf( wrapBuffer.getLong() );
     Long max = Long.valueOf( wrapBuffer.getLong() );
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new LongRangeBlockIndex( min , max ) );
+    IBlockIndex blockIndex = new LongRangeBlockIndex( min , max );
+    if ( 0 < currentNode.getBloomFilterFpp() ) {
+      BloomFilter bloomFilter = new BloomFilter(
+          columnBinary.cardinality , currentNode.getBloomFilterFpp() );
+      loadInMemoryStorage( columnBinary , new BloomFilterMemoryAllocator( bloomFilter ) );
+      blockIndex = new BloomFilterBlockIndex( blockIndex , spreadIndex , bloomFilter );
+    }
+    currentNode.setBlockIndex( blockIndex , spreadIndex );
   }
 
-  public class DicManager implements IDicManager {
+  public class DicManager implements ILongDicManager {
+
+    private final ColumnType columnType;
+    private final long[] dicArray;
 
-    private final PrimitiveObject[] dicArray;
+    private PrimitiveObject[] objectArray;
 
-    public DicManager( final PrimitiveObject[] dicArray ) throws IOException {
+    public DicManager( final ColumnType columnType , final long[] dicArray ) throws IOException {
+      this.columnType = columnType;
       this.dicArray = dicArray;
     }
 
     @Override
     public PrimitiveObject get( final int index ) throws IOException {
+      if ( index == 0 ) {
+        return null;
+      }
+      if ( objectArray == null ) {
+        objectArray = new PrimitiveObject[dicArray.length];
+      }
+      if ( objectArray[index] == null ) {
+        objectArray[index] = createConstObject( columnType , dicArray[index] );
+      }
+      return objectArray[index];
+    }
+
+    @Override
+    public long getLong( final int index ) throws IOException {
       return dicArray[index];
     }
 
@@ -911,17 +1123,16 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       int start = columnBinary.binaryStart + ( Long.BYTES * 2 + Byte.BYTES );
       int length = columnBinary.binaryLength - ( Long.BYTES * 2 + Byte.BYTES );
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-      byte[] binary = compressor.decompress( columnBinary.binary , start , length );
+      byte[] binary = columnBinary.decompress( start , length );
 
       int indexLength = indexMaker.calcBinarySize( columnBinary.rowCount );
       int dicLength = dicMaker.calcBinarySize( columnBinary.cardinality );
 
       IntBuffer indexIntBuffer = indexMaker.getIndexIntBuffer( binary , 0 , indexLength , order );
-      PrimitiveObject[] dicArray = dicMaker.getDicPrimitiveArray(
+      long[] dicArray = dicMaker.getDicLongArray(
           columnBinary.cardinality , binary , indexLength , dicLength , order );
 
-      IDicManager dicManager = new DicManager( dicArray );
+      IDicManager dicManager = new DicManager( columnBinary.columnType , dicArray );
       column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
       column.setCellManager( new BufferDirectDictionaryLinkCellManager(
           columnBinary.columnType , dicManager , indexIntBuffer ) );
@@ -24,10 +24,12 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.maker.index.BufferDirectSequentialStringCellIndex;
 import jp.co.yahoo.yosegi.binary.maker.index.RangeStringIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilter;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterMemoryAllocator;
+import jp.co.yahoo.yosegi.blockindex.IBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.DataType;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.message.objects.StringObj;
@@ -109,6 +111,17 @@ public class UnsafeOptimizeStringColumnBinaryMaker implements IColumnBinaryMaker
     }
   }
 
+  /**
+   * Select the index maker from the byte order byte of the binary.
+   */
+  public static IDictionaryIndexMaker chooseDictionaryIndexMaker(
+      final int dicIndexLength , final int dicSize , final byte orderByte ) {
+    if ( BitPackDictionaryIndex.isBitPacked( orderByte ) ) {
+      return new BitPackDictionaryIndexMaker( dicIndexLength , dicSize );
+    }
+    return chooseDictionaryIndexMaker( dicIndexLength );
+  }
+
   public interface ILengthMaker {
 
     int calcBinarySize( final int columnSize );
@@ -520,6 +533,43 @@ public class UnsafeOptimizeStringColumnBinaryMaker implements IColumnBinaryMaker
 
   }
 
+  public static class BitPackDictionaryIndexMaker implements IDictionaryIndexMaker {
+
+    private final int rowCount;
+    private final int dicSize;
+
+    public BitPackDictionaryIndexMaker( final int rowCount , final int dicSize ) {
+      this.rowCount = rowCount;
+      this.dicSize = dicSize;
+    }
+
+    @Override
+    public int calcBinarySize( final int indexLength ) {
+      return BitPackDictionaryIndex.calcBinarySize( indexLength , dicSize );
+    }
+
+    @Override
+    public void create(
+        final int[] dicIndexArray ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      BitPackDictionaryIndex.create( dicIndexArray , dicSize , buffer , start );
+    }
+
+    @Override
+    public IntBuffer getIndexIntBuffer(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      return BitPackDictionaryIndex.getIndexIntBuffer( rowCount , dicSize , buffer , start );
+    }
+
+  }
+
 
   @Override
   public ColumnBinary toBinary(
@@ -591,14 +641,17 @@ public class UnsafeOptimizeStringColumnBinaryMaker implements IColumnBinaryMaker
           new StringObj( min ) , column.getColumnName() , column.size() );
     }
 
-    IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker( indexArray.length );
+    IDictionaryIndexMaker indexMaker = currentConfig.bitPackDictionaryIndex
+        ? new BitPackDictionaryIndexMaker( indexArray.length , stringList.size() )
+        : chooseDictionaryIndexMaker( indexArray.length );
     ILengthMaker lengthMaker = chooseLengthMaker( minLength , maxLength );
 
     int indexBinaryLength = indexMaker.calcBinarySize( indexArray.length );
     int lengthBinaryLength = lengthMaker.calcBinarySize( stringList.size() );
 
     ByteOrder order = ByteOrder.nativeOrder();
-    byte byteOrderByte = order == ByteOrder.BIG_ENDIAN ? (byte)0 : (byte)1;
+    byte byteOrderByte = BitPackDictionaryIndex.toOrderByte(
+        order , currentConfig.bitPackDictionaryIndex );
 
     int binaryLength =
         Byte.BYTES + Integer.BYTES * 2 + indexBinaryLength + lengthBinaryLength + totalLength;
@@ -621,22 +674,22 @@ public class UnsafeOptimizeStringColumnBinaryMaker implements IColumnBinaryMaker
     for ( byte[] obj : stringList ) {
       wrapBuffer.put( obj );
     }
-    byte[] compressBinaryRaw =
-        currentConfig.compressorClass.compress( binaryRaw , 0 , binaryRaw.length , DataType.TEXT );
-
     int minCharLength = Character.BYTES * min.length();
     int maxCharLength = Character.BYTES * max.length();
     int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
 
-    byte[] binary = new byte[headerSize + compressBinaryRaw.length];
-    ByteBuffer binaryWrapBuffer = ByteBuffer.wrap( binary );
+    byte[] header = new byte[headerSize];
+    ByteBuffer binaryWrapBuffer = ByteBuffer.wrap( header );
     binaryWrapBuffer.putInt( minCharLength );
     binaryWrapBuffer.asCharBuffer().put( min );
     binaryWrapBuffer.position( binaryWrapBuffer.position() + minCharLength );
     binaryWrapBuffer.putInt( maxCharLength );
     binaryWrapBuffer.asCharBuffer().put( max );
     binaryWrapBuffer.position( binaryWrapBuffer.position() + maxCharLength );
-    binaryWrapBuffer.put( compressBinaryRaw );
+
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        header , binaryRaw , 0 , binaryRaw.length , DataType.TEXT ,
+        currentConfig.compressionPolicy );
     return new ColumnBinary(
         this.getClass().getName() ,
         currentConfig.compressorClass.getClass().getName() ,
@@ -659,6 +712,7 @@ public class UnsafeOptimizeStringColumnBinaryMaker implements IColumnBinaryMaker
     if ( ! hasNull && analizeResult.getUniqCount() == 1 ) {
       return stringAnalizeResult.getUniqUtf8ByteSize();
     }
+    // The estimate is the default format without the bit-packed index.
     IDictionaryIndexMaker indexMaker =
         chooseDictionaryIndexMaker( stringAnalizeResult.getColumnSize() );
     ILengthMaker lengthMaker = chooseLengthMaker(
@@ -714,18 +768,18 @@ public class UnsafeOptimizeStringColumnBinaryMaker implements IColumnBinaryMaker
 
     int headerSize = Integer.BYTES + minBinaryLength + Integer.BYTES + maxBinaryLength;
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] binary = compressor.decompress(
-        columnBinary.binary ,
+    byte[] binary = columnBinary.decompress(
         columnBinary.binaryStart + headerSize ,
         columnBinary.binaryLength - headerSize );
 
     ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
-    ByteOrder order = wrapBuffer.get() == (byte)0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    byte orderByte = wrapBuffer.get();
+    ByteOrder order = BitPackDictionaryIndex.getByteOrder( orderByte );
     int minLength = wrapBuffer.getInt();
     int maxLength = wrapBuffer.getInt();
 
-    IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker( columnBinary.rowCount );
+    IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker(
+        columnBinary.rowCount , columnBinary.cardinality , orderByte );
     ILengthMaker lengthMaker = chooseLengthMaker( minLength , maxLength );
 
     int indexBinaryLength = indexMaker.calcBinarySize( columnBinary.rowCount );
@@ -788,7 +842,14 @@ public class UnsafeOptimizeStringColumnBinaryMaker implements IColumnBinaryMaker
     String max = new String( maxCharArray );
 
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new StringRangeBlockIndex( min , max ) );
+    IBlockIndex blockIndex = new StringRangeBlockIndex( min , max );
+    if ( 0 < currentNode.getBloomFilterFpp() ) {
+      BloomFilter bloomFilter = new BloomFilter(
+          columnBinary.cardinality , currentNode.getBloomFilterFpp() );
+      loadInMemoryStorage( columnBinary , new BloomFilterMemoryAllocator( bloomFilter ) );
+      blockIndex = new BloomFilterBlockIndex( blockIndex , spreadIndex , bloomFilter );
+    }
+    currentNode.setBlockIndex( blockIndex , spreadIndex );
   }
 
   public class RangeStringDicManager implements IDicManager {
@@ -836,15 +897,15 @@ public class UnsafeOptimizeStringColumnBinaryMaker implements IColumnBinaryMaker
       if ( isCreate ) {
         return;
       }
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-      byte[] binary = compressor.decompress( columnBinary.binary , binaryStart , binaryLength );
+      byte[] binary = columnBinary.decompress( binaryStart , binaryLength );
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
-      ByteOrder order = wrapBuffer.get() == (byte)0
-          ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+      byte orderByte = wrapBuffer.get();
+      ByteOrder order = BitPackDictionaryIndex.getByteOrder( orderByte );
       int minLength = wrapBuffer.getInt();
       int maxLength = wrapBuffer.getInt();
 
-      IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker( columnBinary.rowCount );
+      IDictionaryIndexMaker indexMaker = chooseDictionaryIndexMaker(
+          columnBinary.rowCount , columnBinary.cardinality , orderByte );
       ILengthMaker lengthMaker = chooseLengthMaker( minLength , maxLength );
 
       int indexBinaryLength = indexMaker.calcBinarySize( columnBinary.rowCount );
@@ -25,8 +25,6 @@ import jp.co.yahoo.yosegi.binary.maker.index.RangeDoubleIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.DoubleRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.DataType;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
-import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.DoubleObj;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
@@ -36,6 +34,7 @@ import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.io.BitPackUtils;
 import jp.co.yahoo.yosegi.util.io.IReadSupporter;
 import jp.co.yahoo.yosegi.util.io.IWriteSupporter;
 import jp.co.yahoo.yosegi.util.io.unsafe.ByteBufferSupporterFactory;
@@ -51,6 +50,8 @@ import java.util.List;
 public class UnsafeRangeDumpDoubleColumnBinaryMaker implements IColumnBinaryMaker {
 
   private static final int HEADER_SIZE = ( Double.BYTES * 2 ) + Byte.BYTES;
+  private static final byte NULL_BYTES = (byte)1;
+  private static final byte NULL_BITMAP = (byte)2;
 
   @Override
   public ColumnBinary toBinary(
@@ -106,25 +107,39 @@ public class UnsafeRangeDumpDoubleColumnBinaryMaker implements IColumnBinaryMake
     byte byteOrderByte = order == ByteOrder.BIG_ENDIAN ? (byte)0 : (byte)1;
     parentsBinaryRaw[column.size()] = byteOrderByte;
 
-    byte[] compressBinaryRaw;
-    if ( hasNull ) {
+    byte nullType = (byte)0;
+    byte[] compressTarget;
+    int compressStart;
+    if ( hasNull && currentConfig.bitPackNullFlags ) {
+      nullType = NULL_BITMAP;
+      int bitmapLength = BitPackUtils.getBitmapLength( column.size() );
+      int valueLength = Byte.BYTES + rowCount * Double.BYTES;
+      byte[] bitmapBinaryRaw = new byte[ bitmapLength + valueLength ];
+      BitPackUtils.packBitmap( parentsBinaryRaw , 0 , column.size() , bitmapBinaryRaw , 0 );
+      System.arraycopy(
+          parentsBinaryRaw , column.size() , bitmapBinaryRaw , bitmapLength , valueLength );
+      rawLength = bitmapBinaryRaw.length;
+      compressTarget = bitmapBinaryRaw;
+      compressStart = 0;
+    } else if ( hasNull ) {
+      nullType = NULL_BYTES;
       rawLength =  parentsBinaryRaw.length - ( Double.BYTES * ( column.size() - rowCount ) );
-      compressBinaryRaw = currentConfig.compressorClass.compress(
-          parentsBinaryRaw , 0 , rawLength , DataType.NUMBER );
+      compressTarget = parentsBinaryRaw;
+      compressStart = 0;
     } else {
       rawLength = Byte.BYTES + column.size() * Double.BYTES;
-      compressBinaryRaw = currentConfig.compressorClass.compress(
-          parentsBinaryRaw ,
-          column.size() ,
-          parentsBinaryRaw.length - column.size() ,
-          DataType.NUMBER );
+      compressTarget = parentsBinaryRaw;
+      compressStart = column.size();
     }
-    byte[] binary = new byte[ HEADER_SIZE + compressBinaryRaw.length ];
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
+    byte[] header = new byte[ HEADER_SIZE ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( header );
     wrapBuffer.putDouble( min );
     wrapBuffer.putDouble( max );
-    wrapBuffer.put( hasNull ? (byte)1 : (byte)0 );
-    wrapBuffer.put( compressBinaryRaw );
+    wrapBuffer.put( nullType );
+
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        header , compressTarget , compressStart , rawLength , DataType.NUMBER ,
+        currentConfig.compressionPolicy );
 
     return new ColumnBinary(
         this.getClass().getName() ,
@@ -148,6 +163,7 @@ public class UnsafeRangeDumpDoubleColumnBinaryMaker implements IColumnBinaryMake
     } else if ( analizeResult.getNullCount() == 0 ) {
       return analizeResult.getColumnSize() * Double.BYTES;
     } else {
+      // The estimate is the default format with one null flag per row.
       return analizeResult.getColumnSize()
           + ( analizeResult.getColumnSize() - analizeResult.getNullCount() ) * Double.BYTES;
     }
@@ -172,9 +188,7 @@ public class UnsafeRangeDumpDoubleColumnBinaryMaker implements IColumnBinaryMake
       final ColumnBinary columnBinary ,
       final IMemoryAllocator allocator ) throws IOException {
     byte type = columnBinary.binary[ columnBinary.binaryStart + Double.BYTES * 2 ];
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] binary = compressor.decompress(
-        columnBinary.binary ,
+    byte[] binary = columnBinary.decompress(
         columnBinary.binaryStart + HEADER_SIZE ,
         columnBinary.binaryLength - HEADER_SIZE );
     if ( type == (byte)1 ) {
@@ -194,6 +208,29 @@ public class UnsafeRangeDumpDoubleColumnBinaryMaker implements IColumnBinaryMake
           allocator.setNull( i );
         }
       }
+    } else if ( type == NULL_BITMAP ) {
+      int bitmapLength = BitPackUtils.getBitmapLength( columnBinary.rowCount );
+      ByteOrder order = binary[bitmapLength] == (byte)0
+          ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+      IReadSupporter doubleReader = ByteBufferSupporterFactory.createReadSupporter(
+          binary ,
+          bitmapLength + Byte.BYTES ,
+          binary.length - bitmapLength - Byte.BYTES ,
+          order );
+      int wordCount = ( columnBinary.rowCount + Long.SIZE - 1 ) / Long.SIZE;
+      for ( int wordIndex = 0 ; wordIndex < wordCount ; wordIndex++ ) {
+        long nullWord = BitPackUtils.getBitmapWord(
+            binary , 0 , columnBinary.rowCount , wordIndex );
+        int base = wordIndex * Long.SIZE;
+        int end = Math.min( base + Long.SIZE , columnBinary.rowCount );
+        for ( int i = base ; i < end ; i++ , nullWord >>>= 1 ) {
+          if ( ( nullWord & 1L ) == 0 ) {
+            allocator.setDouble( i , doubleReader.getDouble() );
+          } else {
+            allocator.setNull( i );
+          }
+        }
+      }
     } else {
       ByteOrder order = binary[0] == (byte)0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
       IReadSupporter doubleReader = ByteBufferSupporterFactory.createReadSupporter(
@@ -216,7 +253,7 @@ public class UnsafeRangeDumpDoubleColumnBinaryMaker implements IColumnBinaryMake
     Double min = Double.valueOf( wrapBuffer.getDouble() );
     Double max = Double.valueOf( wrapBuffer.getDouble() );
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new DoubleRangeBlockIndex( min , max ) );
+    currentNode.setBlockIndex( new DoubleRangeBlockIndex( min , max ) , spreadIndex );
   }
 
   public class RangeDoubleDicManager implements IDicManager {
@@ -255,9 +292,7 @@ public class UnsafeRangeDumpDoubleColumnBinaryMaker implements IColumnBinaryMake
       }
       PrimitiveObject[] array = new PrimitiveObject[columnBinary.rowCount];
       byte type = columnBinary.binary[ columnBinary.binaryStart + Double.BYTES * 2 ];
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-      byte[] binary = compressor.decompress(
-          columnBinary.binary ,
+      byte[] binary = columnBinary.decompress(
           columnBinary.binaryStart + HEADER_SIZE ,
           columnBinary.binaryLength - HEADER_SIZE );
       if ( type == (byte)1 ) {
@@ -275,6 +310,20 @@ public class UnsafeRangeDumpDoubleColumnBinaryMaker implements IColumnBinaryMake
             array[i] = new DoubleObj( doubleReader.getDouble() );
           }
         }
+      } else if ( type == NULL_BITMAP ) {
+        int bitmapLength = BitPackUtils.getBitmapLength( columnBinary.rowCount );
+        ByteOrder order = binary[bitmapLength] == (byte)0
+            ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        IReadSupporter doubleReader = ByteBufferSupporterFactory.createReadSupporter(
+            binary ,
+            bitmapLength + Byte.BYTES ,
+            binary.length - bitmapLength - Byte.BYTES ,
+            order );
+        for ( int i = 0 ; i < columnBinary.rowCount ; i++ ) {
+          if ( ! BitPackUtils.getBit( binary , 0 , i ) ) {
+            array[i] = new DoubleObj( doubleReader.getDouble() );
+          }
+        }
       } else if ( type == (byte)0) {
         ByteOrder order = binary[0] == (byte)0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
         IReadSupporter doubleReader = ByteBufferSupporterFactory.createReadSupporter(
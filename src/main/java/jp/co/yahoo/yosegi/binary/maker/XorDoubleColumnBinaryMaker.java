@@ -0,0 +1,391 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.binary.maker.index.RangeDoubleIndex;
+import jp.co.yahoo.yosegi.binary.maker.index.RangeFloatIndex;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.DoubleRangeBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.FloatRangeBlockIndex;
+import jp.co.yahoo.yosegi.compressor.DataType;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.FloatObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.analyzer.DoubleColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.FloatColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.io.BitPackUtils;
+import jp.co.yahoo.yosegi.util.io.XorDecoder;
+import jp.co.yahoo.yosegi.util.io.XorEncoder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Save double and float values as the XOR with the previous value.
+ * Slowly changing series such as gauges keep the sign, the exponent and the high
+ * mantissa bits, so only the few bits that changed are written.
+ */
+public class XorDoubleColumnBinaryMaker implements IColumnBinaryMaker {
+
+  private static final int HEADER_SIZE = Double.BYTES * 2 + Byte.BYTES + Integer.BYTES;
+  private static final byte NO_NULL = (byte)0;
+  private static final byte NULL_BITMAP = (byte)2;
+
+  /**
+   * Returns the number of bits of a value of the column type.
+   */
+  public static int getValueBitWidth( final ColumnType columnType ) throws IOException {
+    switch ( columnType ) {
+      case DOUBLE:
+        return Long.SIZE;
+      case FLOAT:
+        return Integer.SIZE;
+      default:
+        throw new IOException( "Unsupported column type : " + columnType );
+    }
+  }
+
+  /**
+   * Convert the value to its IEEE 754 bits.
+   * NaN payloads are kept so that the values are restored bit for bit.
+   */
+  public static long toValueBits(
+      final ColumnType columnType , final PrimitiveObject obj ) throws IOException {
+    if ( columnType == ColumnType.FLOAT ) {
+      return Float.floatToRawIntBits( obj.getFloat() ) & 0xFFFFFFFFL;
+    }
+    return Double.doubleToRawLongBits( obj.getDouble() );
+  }
+
+  /**
+   * Convert the IEEE 754 bits to a value of the column type.
+   */
+  public static PrimitiveObject toPrimitiveObject(
+      final ColumnType columnType , final long bits ) {
+    if ( columnType == ColumnType.FLOAT ) {
+      return new FloatObj( Float.intBitsToFloat( (int)bits ) );
+    }
+    return new DoubleObj( Double.longBitsToDouble( bits ) );
+  }
+
+  /**
+   * Set the IEEE 754 bits to the allocator as a value of the column type.
+   */
+  public static void setValueBits(
+      final IMemoryAllocator allocator ,
+      final ColumnType columnType ,
+      final int index ,
+      final long bits ) throws IOException {
+    if ( columnType == ColumnType.FLOAT ) {
+      allocator.setFloat( index , Float.intBitsToFloat( (int)bits ) );
+    } else {
+      allocator.setDouble( index , Double.longBitsToDouble( bits ) );
+    }
+  }
+
+  /**
+   * Encode the values with XorEncoder.
+   */
+  public static byte[] encode( final long[] valueArray , final int rowCount , final int width ) {
+    byte[] buffer = new byte[ XorEncoder.getMaxLength( rowCount , width ) ];
+    XorEncoder encoder = new XorEncoder( width , buffer , 0 );
+    for ( int i = 0 ; i < rowCount ; i++ ) {
+      encoder.add( valueArray[i] );
+    }
+    int length = encoder.finish();
+    byte[] result = new byte[length];
+    System.arraycopy( buffer , 0 , result , 0 , length );
+    return result;
+  }
+
+  /**
+   * Decode the values written by encode.
+   */
+  public static long[] decode(
+      final byte[] buffer , final int offset , final int rowCount , final int width ) {
+    long[] result = new long[rowCount];
+    XorDecoder decoder = new XorDecoder( width , buffer , offset );
+    for ( int i = 0 ; i < rowCount ; i++ ) {
+      result[i] = decoder.next();
+    }
+    return result;
+  }
+
+  @Override
+  public ColumnBinary toBinary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final IColumn column ) throws IOException {
+    ColumnBinaryMakerConfig currentConfig = commonConfig;
+    if ( currentConfigNode != null ) {
+      currentConfig = currentConfigNode.getCurrentConfig();
+    }
+    final int width = getValueBitWidth( column.getColumnType() );
+    long[] valueArray = new long[column.size()];
+    byte[] isNullArray = new byte[column.size()];
+
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    int rowCount = 0;
+    boolean hasNull = false;
+    for ( int i = 0 ; i < column.size() ; i++ ) {
+      ICell cell = column.get(i);
+      if ( cell.getType() == ColumnType.NULL ) {
+        hasNull = true;
+        isNullArray[i] = 1;
+        continue;
+      }
+      PrimitiveObject obj = ( (PrimitiveCell) cell ).getRow();
+      double target = obj.getDouble();
+      valueArray[rowCount] = toValueBits( column.getColumnType() , obj );
+      if ( 0 < Double.compare( min , target ) ) {
+        min = target;
+      }
+      if ( Double.compare( max , target ) < 0 ) {
+        max = target;
+      }
+      rowCount++;
+    }
+
+    if ( ! hasNull && Double.compare( min , max ) == 0 ) {
+      return ConstantColumnBinaryMaker.createColumnBinary(
+          toPrimitiveObject( column.getColumnType() , valueArray[0] ) ,
+          column.getColumnName() ,
+          column.size() );
+    }
+
+    byte[] encodeBinary = encode( valueArray , rowCount , width );
+    int nullBinaryLength = hasNull ? BitPackUtils.getBitmapLength( isNullArray.length ) : 0;
+    byte[] binaryRaw = new byte[ nullBinaryLength + encodeBinary.length ];
+    if ( hasNull ) {
+      BitPackUtils.packBitmap( isNullArray , 0 , isNullArray.length , binaryRaw , 0 );
+    }
+    System.arraycopy( encodeBinary , 0 , binaryRaw , nullBinaryLength , encodeBinary.length );
+
+    byte[] header = new byte[ HEADER_SIZE ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( header , 0 , header.length );
+    wrapBuffer.putDouble( min );
+    wrapBuffer.putDouble( max );
+    wrapBuffer.put( hasNull ? NULL_BITMAP : NO_NULL );
+    wrapBuffer.putInt( rowCount );
+
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        header , binaryRaw , 0 , binaryRaw.length , DataType.NUMBER ,
+        currentConfig.compressionPolicy );
+
+    return new ColumnBinary(
+        this.getClass().getName() ,
+        currentConfig.compressorClass.getClass().getName() ,
+        column.getColumnName() ,
+        column.getColumnType() ,
+        column.size() ,
+        binaryRaw.length ,
+        rowCount * ( width / Byte.SIZE ) ,
+        -1 ,
+        binary ,
+        0 ,
+        binary.length ,
+        null );
+  }
+
+  @Override
+  public int calcBinarySize( final IColumnAnalizeResult analizeResult ) {
+    int encodedLength;
+    switch ( analizeResult.getColumnType() ) {
+      case DOUBLE:
+        encodedLength = ( (DoubleColumnAnalizeResult) analizeResult ).getXorEncodedLength();
+        break;
+      case FLOAT:
+        encodedLength = ( (FloatColumnAnalizeResult) analizeResult ).getXorEncodedLength();
+        break;
+      default:
+        encodedLength = XorEncoder.getMaxLength( analizeResult.getRowCount() , Long.SIZE );
+        break;
+    }
+    int nullBinaryLength = 0;
+    if ( analizeResult.getNullCount() != 0 ) {
+      nullBinaryLength = BitPackUtils.getBitmapLength( analizeResult.getColumnSize() );
+    }
+    return nullBinaryLength + encodedLength;
+  }
+
+  private long[] decompressAndDecode(
+      final ColumnBinary columnBinary ,
+      final byte[][] isNullArray ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    wrapBuffer.position( wrapBuffer.position() + Double.BYTES * 2 );
+    boolean hasNull = wrapBuffer.get() == NULL_BITMAP;
+    int rowCount = wrapBuffer.getInt();
+
+    byte[] binary = columnBinary.decompress(
+        columnBinary.binaryStart + HEADER_SIZE ,
+        columnBinary.binaryLength - HEADER_SIZE );
+    int isNullLength = 0;
+    if ( hasNull ) {
+      isNullLength = BitPackUtils.getBitmapLength( columnBinary.rowCount );
+      isNullArray[0] = binary;
+    }
+    return decode(
+        binary , isNullLength , rowCount , getValueBitWidth( columnBinary.columnType ) );
+  }
+
+  @Override
+  public IColumn toColumn( final ColumnBinary columnBinary ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    double min = wrapBuffer.getDouble();
+    double max = wrapBuffer.getDouble();
+    if ( columnBinary.columnType == ColumnType.FLOAT ) {
+      return new HeaderIndexLazyColumn(
+          columnBinary.columnName ,
+          columnBinary.columnType ,
+          new ColumnManager( columnBinary ) ,
+          new RangeFloatIndex( (float)min , (float)max ) );
+    }
+    return new HeaderIndexLazyColumn(
+        columnBinary.columnName ,
+        columnBinary.columnType ,
+        new ColumnManager( columnBinary ) ,
+        new RangeDoubleIndex( min , max ) );
+  }
+
+  @Override
+  public void loadInMemoryStorage(
+      final ColumnBinary columnBinary ,
+      final IMemoryAllocator allocator ) throws IOException {
+    byte[][] isNullArray = new byte[1][];
+    long[] valueArray = decompressAndDecode( columnBinary , isNullArray );
+    int index = 0;
+    for ( int i = 0 ; i < columnBinary.rowCount ; i++ ) {
+      if ( isNullArray[0] == null || ! BitPackUtils.getBit( isNullArray[0] , 0 , i ) ) {
+        setValueBits( allocator , columnBinary.columnType , i , valueArray[index++] );
+      } else {
+        allocator.setNull( i );
+      }
+    }
+    allocator.setValueCount( columnBinary.rowCount );
+  }
+
+  @Override
+  public void setBlockIndexNode(
+      final BlockIndexNode parentNode ,
+      final ColumnBinary columnBinary ,
+      final int spreadIndex ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    double min = wrapBuffer.getDouble();
+    double max = wrapBuffer.getDouble();
+    BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
+    if ( columnBinary.columnType == ColumnType.FLOAT ) {
+      currentNode.setBlockIndex(
+          new FloatRangeBlockIndex( (float)min , (float)max ) , spreadIndex );
+    } else {
+      currentNode.setBlockIndex( new DoubleRangeBlockIndex( min , max ) , spreadIndex );
+    }
+  }
+
+  private class DicManager implements IDicManager {
+
+    private final PrimitiveObject[] dicArray;
+
+    DicManager( final PrimitiveObject[] dicArray ) {
+      this.dicArray = dicArray;
+    }
+
+    @Override
+    public PrimitiveObject get( final int index ) throws IOException {
+      return dicArray[index];
+    }
+
+    @Override
+    public int getDicSize() throws IOException {
+      return dicArray.length;
+    }
+
+  }
+
+  private class ColumnManager implements IColumnManager {
+
+    private final ColumnBinary columnBinary;
+
+    private PrimitiveColumn column;
+    private boolean isCreate;
+
+    ColumnManager( final ColumnBinary columnBinary ) {
+      this.columnBinary = columnBinary;
+    }
+
+    private void create() throws IOException {
+      if ( isCreate ) {
+        return;
+      }
+      byte[][] isNullArray = new byte[1][];
+      long[] valueArray = decompressAndDecode( columnBinary , isNullArray );
+      PrimitiveObject[] dicArray = new PrimitiveObject[columnBinary.rowCount];
+      int index = 0;
+      for ( int i = 0 ; i < dicArray.length ; i++ ) {
+        if ( isNullArray[0] == null || ! BitPackUtils.getBit( isNullArray[0] , 0 , i ) ) {
+          dicArray[i] = toPrimitiveObject( columnBinary.columnType , valueArray[index++] );
+        }
+      }
+
+      column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
+      column.setCellManager( new BufferDirectCellManager(
+          columnBinary.columnType , new DicManager( dicArray ) , columnBinary.rowCount ) );
+
+      isCreate = true;
+    }
+
+    @Override
+    public IColumn get() {
+      try {
+        create();
+      } catch ( IOException ex ) {
+        throw new UncheckedIOException( ex );
+      }
+      return column;
+    }
+
+    @Override
+    public List<String> getColumnKeys() {
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public int getColumnSize() {
+      return 0;
+    }
+
+  }
+
+}
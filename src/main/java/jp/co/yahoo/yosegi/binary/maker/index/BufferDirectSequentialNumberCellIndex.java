@@ -19,18 +19,18 @@
 package jp.co.yahoo.yosegi.binary.maker.index;
 
 import jp.co.yahoo.yosegi.binary.maker.IDicManager;
+import jp.co.yahoo.yosegi.binary.maker.ILongDicManager;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 import jp.co.yahoo.yosegi.util.NumberUtils;
 
 import java.io.IOException;
 import java.nio.IntBuffer;
-import java.util.HashSet;
-import java.util.Set;
 
 public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
 
@@ -47,6 +47,18 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
         final IntBuffer dicIndexIntBuffer ) throws IOException {
     this.dicManager = dicManager;
     this.dicIndexIntBuffer = dicIndexIntBuffer;
+    if ( dicManager instanceof ILongDicManager ) {
+      switch ( columnType ) {
+        case BYTE:
+        case SHORT:
+        case INTEGER:
+        case LONG:
+          comparator = new LongDicComparator( columnType );
+          return;
+        default:
+          break;
+      }
+    }
     switch ( columnType ) {
       case BYTE:
         comparator = new ByteComparator();
@@ -75,98 +87,111 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
   @Override
   public boolean[] filter(
       final IFilter filter , final boolean[] filterArray ) throws IOException {
+    boolean[] targetDicArray = getMatchDicArray( filter );
+    if ( targetDicArray == null ) {
+      return null;
+    }
+    if ( ! hasMatch( targetDicArray ) ) {
+      return filterArray;
+    }
+    int length = dicIndexIntBuffer.capacity();
+    for ( int i = 0 ; i < length ; i++ ) {
+      if ( targetDicArray[dicIndexIntBuffer.get(i)] ) {
+        filterArray[i] = true;
+      }
+    }
+    return filterArray;
+  }
+
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    boolean[] targetDicArray = getMatchDicArray( filter );
+    if ( targetDicArray == null ) {
+      return null;
+    }
+    if ( ! hasMatch( targetDicArray ) ) {
+      return filterBitSet;
+    }
+    int length = dicIndexIntBuffer.capacity();
+    for ( int i = 0 ; i < length ; i++ ) {
+      if ( targetDicArray[dicIndexIntBuffer.get(i)] ) {
+        filterBitSet.set( i );
+      }
+    }
+    return filterBitSet;
+  }
+
+  private static boolean hasMatch( final boolean[] targetDicArray ) {
+    for ( boolean isMatch : targetDicArray ) {
+      if ( isMatch ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean[] getMatchDicArray( final IFilter filter ) throws IOException {
     switch ( filter.getFilterType() ) {
       case NUMBER:
         NumberFilter numberFilter = (NumberFilter)filter;
         switch ( numberFilter.getNumberFilterType() ) {
           case EQUAL:
-            return toColumnList(
-                comparator.getEqual( dicManager , dicIndexIntBuffer , numberFilter ) ,
-                filterArray );
+            return comparator.getEqual( dicManager , dicIndexIntBuffer , numberFilter );
           case NOT_EQUAL:
-            return toColumnList(
-                comparator.getNotEqual( dicManager , dicIndexIntBuffer , numberFilter ) ,
-                filterArray );
+            return comparator.getNotEqual( dicManager , dicIndexIntBuffer , numberFilter );
           case LT:
-            return toColumnList(
-                comparator.getLt( dicManager , dicIndexIntBuffer , numberFilter ) ,
-                filterArray );
+            return comparator.getLt( dicManager , dicIndexIntBuffer , numberFilter );
           case LE:
-            return toColumnList(
-                comparator.getLe( dicManager , dicIndexIntBuffer , numberFilter ) ,
-                filterArray );
+            return comparator.getLe( dicManager , dicIndexIntBuffer , numberFilter );
           case GT:
-            return toColumnList(
-                comparator.getGt( dicManager , dicIndexIntBuffer , numberFilter ) ,
-                filterArray );
+            return comparator.getGt( dicManager , dicIndexIntBuffer , numberFilter );
           case GE:
-            return toColumnList(
-                comparator.getGe( dicManager , dicIndexIntBuffer , numberFilter ) ,
-                filterArray );
+            return comparator.getGe( dicManager , dicIndexIntBuffer , numberFilter );
           default:
             return null;
         }
       case NUMBER_RANGE:
         NumberRangeFilter numberRangeFilter = (NumberRangeFilter)filter;
-        return toColumnList(
-            comparator.getRange( dicManager , dicIndexIntBuffer , numberRangeFilter ) ,
-            filterArray );
+        return comparator.getRange( dicManager , dicIndexIntBuffer , numberRangeFilter );
       default:
         return null;
     }
   }
 
-  private boolean[] toColumnList(
-      final Set<Integer> targetDicSet , final boolean[] filterArray ) {
-    if ( targetDicSet == null ) {
-      return null;
-    }
-    if ( targetDicSet.isEmpty() ) {
-      return filterArray;
-    }
-    int length = dicIndexIntBuffer.capacity();
-    for ( int i = 0 ; i < length ; i++ ) {
-      Integer dicIndex = Integer.valueOf( dicIndexIntBuffer.get(i) );
-      if ( targetDicSet.contains( dicIndex ) ) {
-        filterArray[i] = true;
-      }
-    }
-    return filterArray;
-  }
-
   public interface IComparator {
 
-    Set<Integer> getEqual(
+    boolean[] getEqual(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException;
 
-    Set<Integer> getNotEqual(
+    boolean[] getNotEqual(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException;
 
-    Set<Integer> getLt(
+    boolean[] getLt(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException;
 
-    Set<Integer> getLe(
+    boolean[] getLe(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException;
 
-    Set<Integer> getGt(
+    boolean[] getGt(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException;
 
-    Set<Integer> getGe(
+    boolean[] getGe(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException;
 
-    Set<Integer> getRange(
+    boolean[] getRange(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberRangeFilter numberRangeFilter ) throws IOException;
@@ -176,7 +201,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
   public class NullComparator implements IComparator {
 
     @Override
-    public Set<Integer> getEqual(
+    public boolean[] getEqual(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -184,7 +209,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
     }
 
     @Override
-    public Set<Integer> getNotEqual(
+    public boolean[] getNotEqual(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -192,7 +217,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
     }
 
     @Override
-    public Set<Integer> getLt(
+    public boolean[] getLt(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -200,7 +225,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
     }
 
     @Override
-    public Set<Integer> getLe(
+    public boolean[] getLe(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -208,7 +233,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
     }
 
     @Override
-    public Set<Integer> getGt(
+    public boolean[] getGt(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -216,7 +241,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
     }
 
     @Override
-    public Set<Integer> getGe(
+    public boolean[] getGe(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -224,7 +249,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
     }
 
     @Override
-    public Set<Integer> getRange(
+    public boolean[] getRange(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberRangeFilter numberRangeFilter ) throws IOException {
@@ -236,16 +261,16 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
   public class LongComparator implements IComparator {
 
     @Override
-    public Set<Integer> getEqual(
+    public boolean[] getEqual(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
       long target;
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       try {
         target = numberFilter.getNumberObject().getLong();
       } catch ( NumberFormatException ex ) {
-        return matchDicList;
+        return matchDicArray;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
@@ -253,15 +278,15 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target == numObj.getLong() ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getNotEqual(
+    public boolean[] getNotEqual(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -271,19 +296,19 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null || target != numObj.getLong() ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getLt(
+    public boolean[] getLt(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -293,22 +318,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( numObj.getLong() < target ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getLe(
+    public boolean[] getLe(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -318,22 +343,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( numObj.getLong() <= target ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getGt(
+    public boolean[] getGt(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -343,22 +368,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( target < numObj.getLong() ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getGe(
+    public boolean[] getGe(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -368,22 +393,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( target <= numObj.getLong() ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getRange(
+    public boolean[] getRange(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberRangeFilter numberRangeFilter ) throws IOException {
@@ -401,7 +426,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       boolean minHasEquals = numberRangeFilter.isMinHasEquals();
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
@@ -409,10 +434,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
         }
         long target = numObj.getLong();
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
-      return matchDicList;
+      return matchDicArray;
     }
 
   }
@@ -420,16 +445,16 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
   public class IntegerComparator implements IComparator {
 
     @Override
-    public Set<Integer> getEqual(
+    public boolean[] getEqual(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
       int target;
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       try {
         target = numberFilter.getNumberObject().getInt();
       } catch ( NumberFormatException ex ) {
-        return matchDicList;
+        return matchDicArray;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
@@ -437,15 +462,15 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target == numObj.getInt() ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getNotEqual(
+    public boolean[] getNotEqual(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -455,19 +480,19 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null || target != numObj.getInt() ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getLt(
+    public boolean[] getLt(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -477,22 +502,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( numObj.getInt() < target ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getLe(
+    public boolean[] getLe(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -502,22 +527,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( numObj.getInt() <= target ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getGt(
+    public boolean[] getGt(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -527,22 +552,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( target < numObj.getInt() ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getGe(
+    public boolean[] getGe(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -552,22 +577,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( target <= numObj.getInt() ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getRange(
+    public boolean[] getRange(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberRangeFilter numberRangeFilter ) throws IOException {
@@ -583,7 +608,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       boolean minHasEquals = numberRangeFilter.isMinHasEquals();
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
@@ -593,10 +618,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
         }
         int target = numObj.getInt();
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
-      return matchDicList;
+      return matchDicArray;
     }
 
   }
@@ -604,16 +629,16 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
   public class ShortComparator implements IComparator {
 
     @Override
-    public Set<Integer> getEqual(
+    public boolean[] getEqual(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
       short target;
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       try {
         target = numberFilter.getNumberObject().getShort();
       } catch ( NumberFormatException ex ) {
-        return matchDicList;
+        return matchDicArray;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
@@ -621,15 +646,15 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target == numObj.getShort() ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getNotEqual(
+    public boolean[] getNotEqual(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -639,19 +664,19 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null || target != numObj.getShort() ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getLt(
+    public boolean[] getLt(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -661,22 +686,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( numObj.getShort() < target ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getLe(
+    public boolean[] getLe(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -686,22 +711,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( numObj.getShort() <= target ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getGt(
+    public boolean[] getGt(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -711,22 +736,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( target < numObj.getShort() ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getGe(
+    public boolean[] getGe(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -736,22 +761,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( target <= numObj.getShort() ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getRange(
+    public boolean[] getRange(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberRangeFilter numberRangeFilter ) throws IOException {
@@ -767,7 +792,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       boolean minHasEquals = numberRangeFilter.isMinHasEquals();
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
@@ -777,10 +802,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
         }
         short target = numObj.getShort();
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
-      return matchDicList;
+      return matchDicArray;
     }
 
   }
@@ -788,16 +813,16 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
   public class ByteComparator implements IComparator {
 
     @Override
-    public Set<Integer> getEqual(
+    public boolean[] getEqual(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
       byte target;
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       try {
         target = numberFilter.getNumberObject().getByte();
       } catch ( NumberFormatException ex ) {
-        return matchDicList;
+        return matchDicArray;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
@@ -805,15 +830,15 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target == numObj.getByte() ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getNotEqual(
+    public boolean[] getNotEqual(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -823,19 +848,19 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null || target != numObj.getByte() ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getLt(
+    public boolean[] getLt(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -845,22 +870,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( numObj.getByte() < target ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getLe(
+    public boolean[] getLe(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -870,22 +895,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( numObj.getByte() <= target ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getGt(
+    public boolean[] getGt(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -895,22 +920,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( target < numObj.getByte() ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getGe(
+    public boolean[] getGe(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -920,22 +945,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( target <= numObj.getByte() ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getRange(
+    public boolean[] getRange(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberRangeFilter numberRangeFilter ) throws IOException {
@@ -951,7 +976,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       boolean minHasEquals = numberRangeFilter.isMinHasEquals();
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
@@ -961,10 +986,196 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
         }
         byte target = numObj.getByte();
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
+        }
+      }
+      return matchDicArray;
+    }
+
+  }
+
+  public class LongDicComparator implements IComparator {
+
+    private final ColumnType columnType;
+
+    public LongDicComparator( final ColumnType columnType ) {
+      this.columnType = columnType;
+    }
+
+    private long toTarget( final PrimitiveObject obj ) throws IOException {
+      switch ( columnType ) {
+        case BYTE:
+          return obj.getByte();
+        case SHORT:
+          return obj.getShort();
+        case INTEGER:
+          return obj.getInt();
+        default:
+          return obj.getLong();
+      }
+    }
+
+    @Override
+    public boolean[] getEqual(
+        final IDicManager dicManager ,
+        final IntBuffer dicIndexIntBuffer ,
+        final NumberFilter numberFilter ) throws IOException {
+      long target;
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
+      try {
+        target = toTarget( numberFilter.getNumberObject() );
+      } catch ( NumberFormatException ex ) {
+        return matchDicArray;
+      }
+      ILongDicManager longDicManager = (ILongDicManager)dicManager;
+      for ( int i = 1 ; i < longDicManager.getDicSize() ; i++ ) {
+        if ( target == longDicManager.getLong( i ) ) {
+          matchDicArray[i] = true;
+        }
+      }
+
+      return matchDicArray;
+    }
+
+    @Override
+    public boolean[] getNotEqual(
+        final IDicManager dicManager ,
+        final IntBuffer dicIndexIntBuffer ,
+        final NumberFilter numberFilter ) throws IOException {
+      long target;
+      try {
+        target = toTarget( numberFilter.getNumberObject() );
+      } catch ( NumberFormatException ex ) {
+        return null;
+      }
+      ILongDicManager longDicManager = (ILongDicManager)dicManager;
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
+      matchDicArray[0] = true;
+      for ( int i = 1 ; i < longDicManager.getDicSize() ; i++ ) {
+        if ( target != longDicManager.getLong( i ) ) {
+          matchDicArray[i] = true;
+        }
+      }
+
+      return matchDicArray;
+    }
+
+    @Override
+    public boolean[] getLt(
+        final IDicManager dicManager ,
+        final IntBuffer dicIndexIntBuffer ,
+        final NumberFilter numberFilter ) throws IOException {
+      long target;
+      try {
+        target = toTarget( numberFilter.getNumberObject() );
+      } catch ( NumberFormatException ex ) {
+        return null;
+      }
+      ILongDicManager longDicManager = (ILongDicManager)dicManager;
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
+      for ( int i = 1 ; i < longDicManager.getDicSize() ; i++ ) {
+        if ( longDicManager.getLong( i ) < target ) {
+          matchDicArray[i] = true;
+        }
+      }
+
+      return matchDicArray;
+    }
+
+    @Override
+    public boolean[] getLe(
+        final IDicManager dicManager ,
+        final IntBuffer dicIndexIntBuffer ,
+        final NumberFilter numberFilter ) throws IOException {
+      long target;
+      try {
+        target = toTarget( numberFilter.getNumberObject() );
+      } catch ( NumberFormatException ex ) {
+        return null;
+      }
+      ILongDicManager longDicManager = (ILongDicManager)dicManager;
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
+      for ( int i = 1 ; i < longDicManager.getDicSize() ; i++ ) {
+        if ( longDicManager.getLong( i ) <= target ) {
+          matchDicArray[i] = true;
+        }
+      }
+
+      return matchDicArray;
+    }
+
+    @Override
+    public boolean[] getGt(
+        final IDicManager dicManager ,
+        final IntBuffer dicIndexIntBuffer ,
+        final NumberFilter numberFilter ) throws IOException {
+      long target;
+      try {
+        target = toTarget( numberFilter.getNumberObject() );
+      } catch ( NumberFormatException ex ) {
+        return null;
+      }
+      ILongDicManager longDicManager = (ILongDicManager)dicManager;
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
+      for ( int i = 1 ; i < longDicManager.getDicSize() ; i++ ) {
+        if ( target < longDicManager.getLong( i ) ) {
+          matchDicArray[i] = true;
+        }
+      }
+
+      return matchDicArray;
+    }
+
+    @Override
+    public boolean[] getGe(
+        final IDicManager dicManager ,
+        final IntBuffer dicIndexIntBuffer ,
+        final NumberFilter numberFilter ) throws IOException {
+      long target;
+      try {
+        target = toTarget( numberFilter.getNumberObject() );
+      } catch ( NumberFormatException ex ) {
+        return null;
+      }
+      ILongDicManager longDicManager = (ILongDicManager)dicManager;
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
+      for ( int i = 1 ; i < longDicManager.getDicSize() ; i++ ) {
+        if ( target <= longDicManager.getLong( i ) ) {
+          matchDicArray[i] = true;
+        }
+      }
+
+      return matchDicArray;
+    }
+
+    @Override
+    public boolean[] getRange(
+        final IDicManager dicManager ,
+        final IntBuffer dicIndexIntBuffer ,
+        final NumberRangeFilter numberRangeFilter ) throws IOException {
+      boolean invert = numberRangeFilter.isInvert();
+      if ( invert ) {
+        return null;
+      }
+      long min;
+      long max;
+      try {
+        min = toTarget( numberRangeFilter.getMinObject() );
+        max = toTarget( numberRangeFilter.getMaxObject() );
+      } catch ( NumberFormatException ex ) {
+        return null;
+      }
+      boolean minHasEquals = numberRangeFilter.isMinHasEquals();
+      boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
+      ILongDicManager longDicManager = (ILongDicManager)dicManager;
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
+      for ( int i = 1 ; i < longDicManager.getDicSize() ; i++ ) {
+        long target = longDicManager.getLong( i );
+        if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
+          matchDicArray[i] = true;
         }
       }
-      return matchDicList;
+      return matchDicArray;
     }
 
   }
@@ -972,7 +1183,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
   public class FloatComparator implements IComparator {
 
     @Override
-    public Set<Integer> getEqual(
+    public boolean[] getEqual(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -980,7 +1191,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
     }
 
     @Override
-    public Set<Integer> getNotEqual(
+    public boolean[] getNotEqual(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -988,7 +1199,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
     }
 
     @Override
-    public Set<Integer> getLt(
+    public boolean[] getLt(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -998,22 +1209,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( 0 < target.compareTo( numObj.getFloat() ) ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getLe(
+    public boolean[] getLe(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -1023,22 +1234,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( 0 <= target.compareTo( numObj.getFloat() ) ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getGt(
+    public boolean[] getGt(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -1048,22 +1259,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( target.compareTo( numObj.getFloat() ) < 0 ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getGe(
+    public boolean[] getGe(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -1073,22 +1284,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( target.compareTo( numObj.getFloat() ) <= 0 ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getRange(
+    public boolean[] getRange(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberRangeFilter numberRangeFilter ) throws IOException {
@@ -1106,7 +1317,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       boolean minHasEquals = numberRangeFilter.isMinHasEquals();
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
@@ -1114,10 +1325,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
         }
         Float target = Float.valueOf( numObj.getFloat() );
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
-      return matchDicList;
+      return matchDicArray;
     }
 
   }
@@ -1125,7 +1336,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
   public class DoubleComparator implements IComparator {
 
     @Override
-    public Set<Integer> getEqual(
+    public boolean[] getEqual(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -1133,7 +1344,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
     }
 
     @Override
-    public Set<Integer> getNotEqual(
+    public boolean[] getNotEqual(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -1141,7 +1352,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
     }
 
     @Override
-    public Set<Integer> getLt(
+    public boolean[] getLt(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -1151,22 +1362,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( 0 < target.compareTo( numObj.getDouble() ) ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getLe(
+    public boolean[] getLe(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -1176,22 +1387,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( 0 <= target.compareTo( numObj.getDouble() ) ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getGt(
+    public boolean[] getGt(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -1201,22 +1412,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( target.compareTo( numObj.getDouble() ) < 0 ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getGe(
+    public boolean[] getGe(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberFilter numberFilter ) throws IOException {
@@ -1226,22 +1437,22 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       } catch ( NumberFormatException ex ) {
         return null;
       }
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
           continue;
         }
         if ( target.compareTo( numObj.getDouble() ) <= 0 ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
 
-      return matchDicList;
+      return matchDicArray;
     }
 
     @Override
-    public Set<Integer> getRange(
+    public boolean[] getRange(
         final IDicManager dicManager ,
         final IntBuffer dicIndexIntBuffer ,
         final NumberRangeFilter numberRangeFilter ) throws IOException {
@@ -1259,7 +1470,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       boolean minHasEquals = numberRangeFilter.isMinHasEquals();
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
-      Set<Integer> matchDicList = new HashSet<Integer>();
+      boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null ) {
@@ -1267,10 +1478,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
         }
         Double target = Double.valueOf( numObj.getDouble() );
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
-          matchDicList.add( Integer.valueOf( i ) );
+          matchDicArray[i] = true;
         }
       }
-      return matchDicList;
+      return matchDicArray;
     }
 
   }
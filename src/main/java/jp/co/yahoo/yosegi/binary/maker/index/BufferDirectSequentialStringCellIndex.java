@@ -25,11 +25,11 @@ import jp.co.yahoo.yosegi.spread.column.filter.IStringComparator;
 import jp.co.yahoo.yosegi.spread.column.filter.IStringCompareFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.IStringDictionaryFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.IStringFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 
 import java.io.IOException;
 import java.nio.IntBuffer;
-import java.util.HashSet;
 import java.util.Set;
 
 public class BufferDirectSequentialStringCellIndex implements ICellIndex {
@@ -46,134 +46,164 @@ public class BufferDirectSequentialStringCellIndex implements ICellIndex {
   @Override
   public boolean[] filter(
       final IFilter filter , final boolean[] filterArray ) throws IOException {
+    boolean[] targetDicArray = getMatchDicArray( filter );
+    if ( targetDicArray == null ) {
+      return null;
+    }
+    if ( ! hasMatch( targetDicArray ) ) {
+      return filterArray;
+    }
+    int length = dicIndexIntBuffer.capacity();
+    for ( int i = 0 ; i < length ; i++ ) {
+      if ( targetDicArray[dicIndexIntBuffer.get(i)] ) {
+        filterArray[i] = true;
+      }
+    }
+    return filterArray;
+  }
+
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    boolean[] targetDicArray = getMatchDicArray( filter );
+    if ( targetDicArray == null ) {
+      return null;
+    }
+    if ( ! hasMatch( targetDicArray ) ) {
+      return filterBitSet;
+    }
+    int length = dicIndexIntBuffer.capacity();
+    for ( int i = 0 ; i < length ; i++ ) {
+      if ( targetDicArray[dicIndexIntBuffer.get(i)] ) {
+        filterBitSet.set( i );
+      }
+    }
+    return filterBitSet;
+  }
+
+  private static boolean hasMatch( final boolean[] targetDicArray ) {
+    for ( boolean isMatch : targetDicArray ) {
+      if ( isMatch ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean[] getMatchDicArray( final IFilter filter ) throws IOException {
     switch ( filter.getFilterType() ) {
       case STRING:
         IStringFilter stringFilter = (IStringFilter)filter;
         String targetStr = stringFilter.getSearchString();
         switch ( stringFilter.getStringFilterType() ) {
           case PERFECT:
-            return toColumnList( perfectMatch( targetStr ) , filterArray );
+            return perfectMatch( targetStr );
           case PARTIAL:
-            return toColumnList( partialMatch( targetStr ) , filterArray );
+            return partialMatch( targetStr );
           case FORWARD:
-            return toColumnList( forwardMatch( targetStr ) , filterArray );
+            return forwardMatch( targetStr );
           case BACKWARD:
-            return toColumnList( backwardMatch( targetStr ) , filterArray );
+            return backwardMatch( targetStr );
           case REGEXP:
-            return toColumnList( regexpMatch( targetStr ) , filterArray );
+            return regexpMatch( targetStr );
           default:
             return null;
         }
       case STRING_COMPARE:
         IStringCompareFilter stringCompareFilter = (IStringCompareFilter)filter;
         IStringComparator comparator = stringCompareFilter.getStringComparator();
-        return toColumnList( compareString( comparator ) , filterArray );
+        return compareString( comparator );
       case STRING_DICTIONARY:
         IStringDictionaryFilter stringDictionaryFilter = (IStringDictionaryFilter)filter;
         Set<String> dictionary = stringDictionaryFilter.getDictionary();
-        return toColumnList( dictionaryString( dictionary ) , filterArray );
+        return dictionaryString( dictionary );
       default:
         return null;
     }
   }
 
-  private boolean[] toColumnList(
-      final Set<Integer> targetDicSet , final boolean[] filterArray ) {
-    if ( targetDicSet.isEmpty() ) {
-      return filterArray;
-    }
-    int length = dicIndexIntBuffer.capacity();
-    for ( int i = 0 ; i < length ; i++ ) {
-      Integer dicIndex = Integer.valueOf( dicIndexIntBuffer.get(i) );
-      if ( targetDicSet.contains( dicIndex ) ) {
-        filterArray[i] = true;
-      }
-    }
-    return filterArray;
-  }
-
-  private Set<Integer> dictionaryString( final Set<String> dictionary ) throws IOException {
-    Set<Integer> matchDicList = new HashSet<Integer>();
+  private boolean[] dictionaryString( final Set<String> dictionary ) throws IOException {
+    boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
     for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
       PrimitiveObject obj = dicManager.get( i );
       if ( obj != null && dictionary.contains( obj.getString() ) ) {
-        matchDicList.add( Integer.valueOf( i ) );
+        matchDicArray[i] = true;
       }
     }
 
-    return matchDicList;
+    return matchDicArray;
   }
 
-  private Set<Integer> compareString( final IStringComparator comparator ) throws IOException {
-    Set<Integer> matchDicList = new HashSet<Integer>();
+  private boolean[] compareString( final IStringComparator comparator ) throws IOException {
+    boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
     for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
       PrimitiveObject obj = dicManager.get( i );
       if ( obj == null || ! comparator.isFilterString( obj.getString() ) ) {
-        matchDicList.add( Integer.valueOf( i ) );
+        matchDicArray[i] = true;
       }
     }
 
-    return matchDicList;
+    return matchDicArray;
   }
 
-  private Set<Integer> perfectMatch( final String targetStr ) throws IOException {
-    Set<Integer> matchDicList = new HashSet<Integer>();
+  private boolean[] perfectMatch( final String targetStr ) throws IOException {
+    boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
     for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
       PrimitiveObject obj = dicManager.get( i );
       if ( obj != null && targetStr.equals( obj.getString() ) ) {
-        matchDicList.add( Integer.valueOf( i ) );
+        matchDicArray[i] = true;
       }
     }
 
-    return matchDicList;
+    return matchDicArray;
   }
 
-  private Set<Integer> partialMatch( final String targetStr ) throws IOException {
-    Set<Integer> matchDicList = new HashSet<Integer>();
+  private boolean[] partialMatch( final String targetStr ) throws IOException {
+    boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
     for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
       PrimitiveObject obj = dicManager.get( i );
       if ( obj != null && ( -1 < obj.getString().indexOf( targetStr) ) ) {
-        matchDicList.add( Integer.valueOf( i ) );
+        matchDicArray[i] = true;
       }
     }
 
-    return matchDicList;
+    return matchDicArray;
   }
 
-  private Set<Integer> forwardMatch( final String targetStr ) throws IOException {
-    Set<Integer> matchDicList = new HashSet<Integer>();
+  private boolean[] forwardMatch( final String targetStr ) throws IOException {
+    boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
     for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
       PrimitiveObject obj = dicManager.get( i );
       if ( obj != null && obj.getString().startsWith( targetStr ) ) {
-        matchDicList.add( Integer.valueOf( i ) );
+        matchDicArray[i] = true;
       }
     }
 
-    return matchDicList;
+    return matchDicArray;
   }
 
-  private Set<Integer> backwardMatch( final String targetStr ) throws IOException {
-    Set<Integer> matchDicList = new HashSet<Integer>();
+  private boolean[] backwardMatch( final String targetStr ) throws IOException {
+    boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
     for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
       PrimitiveObject obj = dicManager.get( i );
       if ( obj != null && obj.getString().endsWith( targetStr ) ) {
-        matchDicList.add( Integer.valueOf( i ) );
+        matchDicArray[i] = true;
       }
     }
 
-    return matchDicList;
+    return matchDicArray;
   }
 
-  private Set<Integer> regexpMatch( final String targetStr ) throws IOException {
-    Set<Integer> matchDicList = new HashSet<Integer>();
+  private boolean[] regexpMatch( final String targetStr ) throws IOException {
+    boolean[] matchDicArray = new boolean[dicManager.getDicSize()];
     for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
       PrimitiveObject obj = dicManager.get( i );
       if ( obj != null && obj.getString().matches( targetStr ) ) {
-        matchDicList.add( Integer.valueOf( i ) );
+        matchDicArray[i] = true;
       }
     }
 
-    return matchDicList;
+    return matchDicArray;
   }
 
 }
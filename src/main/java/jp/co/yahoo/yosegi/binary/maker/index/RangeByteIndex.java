@@ -21,6 +21,7 @@ package jp.co.yahoo.yosegi.binary.maker.index;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 
 import java.io.IOException;
@@ -38,6 +39,22 @@ public class RangeByteIndex implements ICellIndex {
   @Override
   public boolean[] filter(
       final IFilter filter , final boolean[] filterArray ) throws IOException {
+    if ( isOutOfRange( filter ) ) {
+      return filterArray;
+    }
+    return null;
+  }
+
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    if ( isOutOfRange( filter ) ) {
+      return filterBitSet;
+    }
+    return null;
+  }
+
+  private boolean isOutOfRange( final IFilter filter ) throws IOException {
     switch ( filter.getFilterType() ) {
       case NUMBER:
         NumberFilter numberFilter = (NumberFilter)filter;
@@ -45,36 +62,36 @@ public class RangeByteIndex implements ICellIndex {
         try {
           setNumber = numberFilter.getNumberObject().getByte();
         } catch ( NumberFormatException ex ) {
-          return null;
+          return false;
         }
         switch ( numberFilter.getNumberFilterType() ) {
           case EQUAL:
             if ( setNumber < min || max < setNumber  ) {
-              return filterArray;
+              return true;
             }
-            return null;
+            return false;
           case LT:
             if ( setNumber <= min ) {
-              return filterArray;
+              return true;
             }
-            return null;
+            return false;
           case LE:
             if ( setNumber < min ) {
-              return filterArray;
+              return true;
             }
-            return null;
+            return false;
           case GT:
             if ( max <= setNumber ) {
-              return filterArray;
+              return true;
             }
-            return null;
+            return false;
           case GE:
             if ( max < setNumber ) {
-              return filterArray;
+              return true;
             }
-            return null;
+            return false;
           default:
-            return null;
+            return false;
         }
       case NUMBER_RANGE:
         NumberRangeFilter numberRangeFilter = (NumberRangeFilter)filter;
@@ -84,37 +101,37 @@ public class RangeByteIndex implements ICellIndex {
           setMin = numberRangeFilter.getMinObject().getByte();
           setMax = numberRangeFilter.getMaxObject().getByte();
         } catch ( NumberFormatException ex ) {
-          return null;
+          return false;
         }
         boolean minHasEquals = numberRangeFilter.isMinHasEquals();
         boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
         boolean invert = numberRangeFilter.isInvert();
         if ( invert ) {
-          return null;
+          return false;
         }
         if ( minHasEquals && maxHasEquals ) {
           if ( ( setMax < min || max < setMin ) ) {
-            return filterArray;
+            return true;
           }
-          return null;
+          return false;
         } else if ( minHasEquals ) {
           if ( ( setMax < min || max <= setMin ) ) {
-            return filterArray;
+            return true;
           }
-          return null;
+          return false;
         } else if ( maxHasEquals ) {
           if ( ( setMax <= min || max < setMin ) ) {
-            return filterArray;
+            return true;
           }
-          return null;
+          return false;
         } else {
           if ( ( setMax <= min || max <= setMin ) ) {
-            return filterArray;
+            return true;
           }
-          return null;
+          return false;
         }
       default:
-        return null;
+        return false;
     }
   }
 
@@ -21,6 +21,7 @@ package jp.co.yahoo.yosegi.binary.maker.index;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 
 import java.io.IOException;
@@ -38,6 +39,22 @@ public class RangeFloatIndex implements ICellIndex {
   @Override
   public boolean[] filter(
       final IFilter filter , final boolean[] filterArray ) throws IOException {
+    if ( isOutOfRange( filter ) ) {
+      return filterArray;
+    }
+    return null;
+  }
+
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    if ( isOutOfRange( filter ) ) {
+      return filterBitSet;
+    }
+    return null;
+  }
+
+  private boolean isOutOfRange( final IFilter filter ) throws IOException {
     switch ( filter.getFilterType() ) {
       case NUMBER:
         NumberFilter numberFilter = (NumberFilter)filter;
@@ -45,36 +62,36 @@ public class RangeFloatIndex implements ICellIndex {
         try {
           setNumber = Float.valueOf( numberFilter.getNumberObject().getFloat() );
         } catch ( NumberFormatException ex ) {
-          return null;
+          return false;
         }
         switch ( numberFilter.getNumberFilterType() ) {
           case EQUAL:
             if ( 0 < min.compareTo( setNumber ) || max.compareTo( setNumber ) < 0 ) {
-              return filterArray;
+              return true;
             }
-            return null;
+            return false;
           case LT:
             if ( 0 <= min.compareTo( setNumber ) ) {
-              return filterArray;
+              return true;
             }
-            return null;
+            return false;
           case LE:
             if ( 0 < min.compareTo( setNumber ) ) {
-              return filterArray;
+              return true;
             }
-            return null;
+            return false;
           case GT:
             if ( max.compareTo( setNumber ) <= 0 ) {
-              return filterArray;
+              return true;
             }
-            return null;
+            return false;
           case GE:
             if ( max.compareTo( setNumber ) < 0 ) {
-              return filterArray;
+              return true;
             }
-            return null;
+            return false;
           default:
-            return null;
+            return false;
         }
       case NUMBER_RANGE:
         NumberRangeFilter numberRangeFilter = (NumberRangeFilter)filter;
@@ -84,37 +101,37 @@ public class RangeFloatIndex implements ICellIndex {
           setMin = Float.valueOf( numberRangeFilter.getMinObject().getFloat() );
           setMax = Float.valueOf( numberRangeFilter.getMaxObject().getFloat() );
         } catch ( NumberFormatException ex ) {
-          return null;
+          return false;
         }
         boolean invert = numberRangeFilter.isInvert();
         if ( invert ) {
-          return null;
+          return false;
         }
         boolean minHasEquals = numberRangeFilter.isMinHasEquals();
         boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
         if ( minHasEquals && maxHasEquals ) {
           if ( ( 0 < min.compareTo( setMax ) || max.compareTo( setMin ) < 0 ) ) {
-            return filterArray;
+            return true;
           }
-          return null;
+          return false;
         } else if ( minHasEquals ) {
           if ( ( 0 < min.compareTo( setMax ) || max.compareTo( setMin ) <= 0 ) ) {
-            return filterArray;
+            return true;
           }
-          return null;
+          return false;
         } else if ( maxHasEquals ) {
           if ( ( 0 <= min.compareTo( setMax ) || max.compareTo( setMin ) < 0 ) ) {
-            return filterArray;
+            return true;
           }
-          return null;
+          return false;
         } else {
           if ( ( 0 <= min.compareTo( setMax ) || max.compareTo( setMin ) <= 0 ) ) {
-            return filterArray;
+            return true;
           }
-          return null;
+          return false;
         }
       default:
-        return null;
+        return false;
     }
   }
 
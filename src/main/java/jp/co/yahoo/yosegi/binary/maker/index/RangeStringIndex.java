@@ -23,6 +23,7 @@ import jp.co.yahoo.yosegi.spread.column.filter.IStringComparator;
 import jp.co.yahoo.yosegi.spread.column.filter.IStringCompareFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.IStringDictionaryFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.IStringFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 
 import java.io.IOException;
@@ -39,7 +40,24 @@ public class RangeStringIndex implements ICellIndex {
   }
 
   @Override
-  public boolean[] filter( final IFilter filter , final boolean[] filterArray ) throws IOException {
+  public boolean[] filter(
+      final IFilter filter , final boolean[] filterArray ) throws IOException {
+    if ( isOutOfRange( filter ) ) {
+      return filterArray;
+    }
+    return null;
+  }
+
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    if ( isOutOfRange( filter ) ) {
+      return filterBitSet;
+    }
+    return null;
+  }
+
+  private boolean isOutOfRange( final IFilter filter ) throws IOException {
     switch ( filter.getFilterType() ) {
       case STRING:
         IStringFilter stringFilter = (IStringFilter)filter;
@@ -47,36 +65,36 @@ public class RangeStringIndex implements ICellIndex {
         switch ( stringFilter.getStringFilterType() ) {
           case PERFECT:
             if ( min.compareTo( targetStr ) <= 0 && 0 <= max.compareTo( targetStr ) ) {
-              return null;
+              return false;
             }
-            return filterArray;
+            return true;
           case FORWARD:
             if ( min.startsWith( targetStr ) || ( 
                 0 <= targetStr.compareTo( min ) && targetStr.compareTo( max ) <= 0 ) ) {
-              return null;
+              return false;
             }
-            return filterArray;
+            return true;
           default:
-            return null;
+            return false;
         }
       case STRING_COMPARE:
         IStringCompareFilter stringCompareFilter = (IStringCompareFilter)filter;
         IStringComparator comparator = stringCompareFilter.getStringComparator();
         if ( comparator.isOutOfRange( min , max ) ) {
-          return filterArray;
+          return true;
         }
-        return null;
+        return false;
       case STRING_DICTIONARY:
         IStringDictionaryFilter stringDictionaryFilter = (IStringDictionaryFilter)filter;
         Set<String> dictionary = stringDictionaryFilter.getDictionary();
         for ( String str : dictionary ) {
           if ( min.compareTo( str ) <= 0 && 0 <= max.compareTo( str ) ) {
-            return null;
+            return false;
           }
         }
-        return filterArray;
+        return true;
       default:
-        return null;
+        return false;
     }
   }
 
@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker.index;
+
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
+import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Evaluate a filter once per run of equal values.
+ * The run index holds one entry per run, and the matched runs are expanded
+ * to their rows.
+ */
+public class RunLengthCellIndex implements ICellIndex {
+
+  private final ICellIndex runIndex;
+  private final int[] runStartArray;
+  private final int[] runLengthArray;
+
+  /**
+   * Set the index of the run values and the position of each run.
+   */
+  public RunLengthCellIndex(
+      final ICellIndex runIndex ,
+      final int[] runStartArray ,
+      final int[] runLengthArray ) {
+    this.runIndex = runIndex;
+    this.runStartArray = runStartArray;
+    this.runLengthArray = runLengthArray;
+  }
+
+  @Override
+  public boolean[] filter(
+      final IFilter filter , final boolean[] filterArray ) throws IOException {
+    boolean[] runFilterArray = runIndex.filter( filter , new boolean[runStartArray.length] );
+    if ( runFilterArray == null ) {
+      return null;
+    }
+    for ( int i = 0 ; i < runFilterArray.length ; i++ ) {
+      if ( runFilterArray[i] ) {
+        int start = Math.min( runStartArray[i] , filterArray.length );
+        int end = Math.min( runStartArray[i] + runLengthArray[i] , filterArray.length );
+        Arrays.fill( filterArray , start , end , true );
+      }
+    }
+    return filterArray;
+  }
+
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    FilterBitSet runBitSet =
+        runIndex.filter( filter , new FilterBitSet( runStartArray.length ) );
+    if ( runBitSet == null ) {
+      return null;
+    }
+    for ( int i = runBitSet.nextSetBit( 0 ) ; 0 <= i ; i = runBitSet.nextSetBit( i + 1 ) ) {
+      int start = Math.min( runStartArray[i] , filterBitSet.size() );
+      int end = Math.min( runStartArray[i] + runLengthArray[i] , filterBitSet.size() );
+      filterBitSet.set( start , end );
+    }
+    return filterBitSet;
+  }
+
+}
@@ -21,6 +21,7 @@ package jp.co.yahoo.yosegi.binary.maker.index;
 import jp.co.yahoo.yosegi.spread.column.filter.BooleanFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.FilterType;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 
 import java.io.IOException;
@@ -36,23 +37,41 @@ public class SequentialBooleanCellIndex implements ICellIndex {
   @Override
   public boolean[] filter(
       final IFilter filter , final boolean[] filterArray ) throws IOException {
-    if ( filter == null ) {
+    if ( ! isBooleanFilter( filter ) ) {
       return null;
     }
-    if ( filter.getFilterType() == FilterType.BOOLEAN ) {
-      byte target;
-      if ( ( (BooleanFilter)filter ).getFlag() ) {
-        target = 1;
-      } else {
-        target = 0;
+    byte target = getTarget( filter );
+    for ( int i = 0 ; i < buffer.length ; i++ ) {
+      if ( buffer[i] == target ) {
+        filterArray[i] = true;
       }
-      for ( int i = 0 ; i < buffer.length ; i++ ) {
-        if ( buffer[i] == target ) {
-          filterArray[i] = true;
-        }
+    }
+    return filterArray;
+  }
+
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    if ( ! isBooleanFilter( filter ) ) {
+      return null;
+    }
+    byte target = getTarget( filter );
+    for ( int i = 0 ; i < buffer.length ; i++ ) {
+      if ( buffer[i] == target ) {
+        filterBitSet.set( i );
       }
-      return filterArray;
     }
-    return null;
+    return filterBitSet;
+  }
+
+  private static boolean isBooleanFilter( final IFilter filter ) {
+    return filter != null && filter.getFilterType() == FilterType.BOOLEAN;
+  }
+
+  private static byte getTarget( final IFilter filter ) {
+    if ( ( (BooleanFilter)filter ).getFlag() ) {
+      return 1;
+    }
+    return 0;
   }
 }
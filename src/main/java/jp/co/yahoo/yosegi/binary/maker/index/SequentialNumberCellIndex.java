@@ -24,6 +24,7 @@ import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 import jp.co.yahoo.yosegi.util.NumberUtils;
 
@@ -66,29 +67,40 @@ public class SequentialNumberCellIndex implements ICellIndex {
   }
 
   @Override
-  public boolean[] filter( final IFilter filter , final boolean[] filterArray ) throws IOException {
+  public boolean[] filter(
+      final IFilter filter , final boolean[] filterArray ) throws IOException {
+    FilterBitSet result = filter( filter , new FilterBitSet( filterArray.length ) );
+    if ( result == null ) {
+      return null;
+    }
+    return result.toBooleanArray( filterArray );
+  }
+
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
     switch ( filter.getFilterType() ) {
       case NUMBER:
         NumberFilter numberFilter = (NumberFilter)filter;
         switch ( numberFilter.getNumberFilterType() ) {
           case EQUAL:
-            return comparator.getEqual( filterArray , dicManager , numberFilter );
+            return comparator.getEqual( filterBitSet , dicManager , numberFilter );
           case NOT_EQUAL:
-            return comparator.getNotEqual( filterArray , dicManager , numberFilter );
+            return comparator.getNotEqual( filterBitSet , dicManager , numberFilter );
           case LT:
-            return comparator.getLt( filterArray , dicManager , numberFilter );
+            return comparator.getLt( filterBitSet , dicManager , numberFilter );
           case LE:
-            return comparator.getLe( filterArray , dicManager , numberFilter );
+            return comparator.getLe( filterBitSet , dicManager , numberFilter );
           case GT:
-            return comparator.getGt( filterArray , dicManager , numberFilter );
+            return comparator.getGt( filterBitSet , dicManager , numberFilter );
           case GE:
-            return comparator.getGe( filterArray , dicManager , numberFilter );
+            return comparator.getGe( filterBitSet , dicManager , numberFilter );
           default:
             return null;
         }
       case NUMBER_RANGE:
         NumberRangeFilter numberRangeFilter = (NumberRangeFilter)filter;
-        return comparator.getRange( filterArray , dicManager , numberRangeFilter );
+        return comparator.getRange( filterBitSet , dicManager , numberRangeFilter );
       default:
         return null;
     }
@@ -96,38 +108,38 @@ public class SequentialNumberCellIndex implements ICellIndex {
 
   public interface IComparator {
 
-    boolean[] getEqual(
-        final boolean[] filterArray ,
+    FilterBitSet getEqual(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException;
 
-    boolean[] getNotEqual(
-        final boolean[] filterArray ,
+    FilterBitSet getNotEqual(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException;
 
-    boolean[] getLt(
-        final boolean[] filterArray ,
+    FilterBitSet getLt(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException;
 
-    boolean[] getLe(
-        final boolean[] filterArray ,
+    FilterBitSet getLe(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException;
 
-    boolean[] getGt(
-        final boolean[] filterArray ,
+    FilterBitSet getGt(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException;
 
-    boolean[] getGe(
-        final boolean[] filterArray ,
+    FilterBitSet getGe(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException;
 
-    boolean[] getRange(
-        final boolean[] filterArray ,
+    FilterBitSet getRange(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberRangeFilter numberRangeFilter ) throws IOException;
 
@@ -136,56 +148,56 @@ public class SequentialNumberCellIndex implements ICellIndex {
   public class NullComparator implements IComparator {
 
     @Override
-    public boolean[] getEqual(
-        final boolean[] filterArray ,
+    public FilterBitSet getEqual(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       return null;
     }
 
     @Override
-    public boolean[] getNotEqual(
-        final boolean[] filterArray ,
+    public FilterBitSet getNotEqual(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       return null;
     }
 
     @Override
-    public boolean[] getLt(
-        final boolean[] filterArray ,
+    public FilterBitSet getLt(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       return null;
     }
 
     @Override
-    public boolean[] getLe(
-        final boolean[] filterArray ,
+    public FilterBitSet getLe(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       return null;
     }
 
     @Override
-    public boolean[] getGt(
-        final boolean[] filterArray ,
+    public FilterBitSet getGt(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       return null;
     }
 
     @Override
-    public boolean[] getGe(
-        final boolean[] filterArray ,
+    public FilterBitSet getGe(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       return null;
     }
 
     @Override
-    public boolean[] getRange(
-        final boolean[] filterArray ,
+    public FilterBitSet getRange(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberRangeFilter numberRangeFilter ) throws IOException {
       return null;
@@ -196,15 +208,15 @@ public class SequentialNumberCellIndex implements ICellIndex {
   public class LongComparator implements IComparator {
 
     @Override
-    public boolean[] getEqual(
-        final boolean[] filterArray ,
+    public FilterBitSet getEqual(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       long target;
       try {
         target = numberFilter.getNumberObject().getLong();
       } catch ( NumberFormatException ex ) {
-        return filterArray;
+        return filterBitSet;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
@@ -212,16 +224,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target == numObj.getLong() ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getNotEqual(
-        final boolean[] filterArray ,
+    public FilterBitSet getNotEqual(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       long target;
@@ -233,16 +245,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null || target != numObj.getLong() ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getLt(
-        final boolean[] filterArray ,
+    public FilterBitSet getLt(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       long target;
@@ -257,16 +269,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( numObj.getLong() < target ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getLe(
-        final boolean[] filterArray ,
+    public FilterBitSet getLe(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       long target;
@@ -281,16 +293,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( numObj.getLong() <= target ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getGt(
-        final boolean[] filterArray ,
+    public FilterBitSet getGt(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       long target;
@@ -305,16 +317,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target < numObj.getLong() ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getGe(
-        final boolean[] filterArray ,
+    public FilterBitSet getGe(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       long target;
@@ -329,16 +341,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target <= numObj.getLong() ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getRange(
-        final boolean[] filterArray ,
+    public FilterBitSet getRange(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberRangeFilter numberRangeFilter ) throws IOException {
       boolean invert = numberRangeFilter.isInvert();
@@ -362,10 +374,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         }
         long target = numObj.getLong();
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
-      return filterArray;
+      return filterBitSet;
     }
 
   }
@@ -373,15 +385,15 @@ public class SequentialNumberCellIndex implements ICellIndex {
   public class IntegerComparator implements IComparator {
 
     @Override
-    public boolean[] getEqual(
-        final boolean[] filterArray ,
+    public FilterBitSet getEqual(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       int target;
       try {
         target = numberFilter.getNumberObject().getInt();
       } catch ( NumberFormatException ex ) {
-        return filterArray;
+        return filterBitSet;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
@@ -389,16 +401,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target == numObj.getInt() ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getNotEqual(
-        final boolean[] filterArray ,
+    public FilterBitSet getNotEqual(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       int target;
@@ -410,16 +422,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null || target != numObj.getInt() ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getLt(
-        final boolean[] filterArray ,
+    public FilterBitSet getLt(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       int target;
@@ -434,16 +446,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( numObj.getInt() < target ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getLe(
-        final boolean[] filterArray ,
+    public FilterBitSet getLe(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       int target;
@@ -458,16 +470,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( numObj.getInt() <= target ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getGt(
-        final boolean[] filterArray ,
+    public FilterBitSet getGt(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       int target;
@@ -482,16 +494,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target < numObj.getInt() ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getGe(
-        final boolean[] filterArray ,
+    public FilterBitSet getGe(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       int target;
@@ -506,16 +518,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target <= numObj.getInt() ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getRange(
-        final boolean[] filterArray ,
+    public FilterBitSet getRange(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberRangeFilter numberRangeFilter ) throws IOException {
       boolean invert = numberRangeFilter.isInvert();
@@ -539,10 +551,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         }
         int target = numObj.getInt();
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
-      return filterArray;
+      return filterBitSet;
     }
 
   }
@@ -550,15 +562,15 @@ public class SequentialNumberCellIndex implements ICellIndex {
   public class ShortComparator implements IComparator {
 
     @Override
-    public boolean[] getEqual(
-        final boolean[] filterArray ,
+    public FilterBitSet getEqual(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       short target;
       try {
         target = numberFilter.getNumberObject().getShort();
       } catch ( NumberFormatException ex ) {
-        return filterArray;
+        return filterBitSet;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
@@ -566,16 +578,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target == numObj.getShort() ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getNotEqual(
-        final boolean[] filterArray ,
+    public FilterBitSet getNotEqual(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       short target;
@@ -587,16 +599,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null || target != numObj.getShort() ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getLt(
-        final boolean[] filterArray ,
+    public FilterBitSet getLt(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       short target;
@@ -611,16 +623,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( numObj.getShort() < target ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getLe(
-        final boolean[] filterArray ,
+    public FilterBitSet getLe(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       short target;
@@ -635,16 +647,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( numObj.getShort() <= target ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getGt(
-        final boolean[] filterArray ,
+    public FilterBitSet getGt(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       short target;
@@ -659,16 +671,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target < numObj.getShort() ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getGe(
-        final boolean[] filterArray ,
+    public FilterBitSet getGe(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       short target;
@@ -683,16 +695,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target <= numObj.getShort() ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getRange(
-        final boolean[] filterArray ,
+    public FilterBitSet getRange(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberRangeFilter numberRangeFilter ) throws IOException {
       boolean invert = numberRangeFilter.isInvert();
@@ -716,10 +728,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         }
         short target = numObj.getShort();
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
-      return filterArray;
+      return filterBitSet;
     }
 
   }
@@ -727,15 +739,15 @@ public class SequentialNumberCellIndex implements ICellIndex {
   public class ByteComparator implements IComparator {
 
     @Override
-    public boolean[] getEqual(
-        final boolean[] filterArray ,
+    public FilterBitSet getEqual(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       byte target;
       try {
         target = numberFilter.getNumberObject().getByte();
       } catch ( NumberFormatException ex ) {
-        return filterArray;
+        return filterBitSet;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
@@ -743,16 +755,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target == numObj.getByte() ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getNotEqual(
-        final boolean[] filterArray ,
+    public FilterBitSet getNotEqual(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       byte target;
@@ -764,16 +776,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
         PrimitiveObject numObj = dicManager.get( i );
         if ( numObj == null || target != numObj.getByte() ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getLt(
-        final boolean[] filterArray ,
+    public FilterBitSet getLt(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       byte target;
@@ -788,16 +800,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( numObj.getByte() < target ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getLe(
-        final boolean[] filterArray ,
+    public FilterBitSet getLe(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       byte target;
@@ -812,16 +824,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( numObj.getByte() <= target ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getGt(
-        final boolean[] filterArray ,
+    public FilterBitSet getGt(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       byte target;
@@ -836,16 +848,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target < numObj.getByte() ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getGe(
-        final boolean[] filterArray ,
+    public FilterBitSet getGe(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       byte target;
@@ -860,16 +872,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target <= numObj.getByte() ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getRange(
-        final boolean[] filterArray ,
+    public FilterBitSet getRange(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberRangeFilter numberRangeFilter ) throws IOException {
       boolean invert = numberRangeFilter.isInvert();
@@ -893,10 +905,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         }
         byte target = numObj.getByte();
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
-      return filterArray;
+      return filterBitSet;
     }
 
   }
@@ -904,24 +916,24 @@ public class SequentialNumberCellIndex implements ICellIndex {
   public class FloatComparator implements IComparator {
 
     @Override
-    public boolean[] getEqual(
-        final boolean[] filterArray ,
+    public FilterBitSet getEqual(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       return null;
     }
 
     @Override
-    public boolean[] getNotEqual(
-        final boolean[] filterArray ,
+    public FilterBitSet getNotEqual(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       return null;
     }
 
     @Override
-    public boolean[] getLt(
-        final boolean[] filterArray ,
+    public FilterBitSet getLt(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       Float target;
@@ -936,16 +948,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( 0 < target.compareTo( numObj.getFloat() ) ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getLe(
-        final boolean[] filterArray ,
+    public FilterBitSet getLe(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       Float target;
@@ -960,16 +972,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( 0 <= target.compareTo( numObj.getFloat() ) ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getGt(
-        final boolean[] filterArray ,
+    public FilterBitSet getGt(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       Float target;
@@ -984,16 +996,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target.compareTo( numObj.getFloat() ) < 0 ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getGe(
-        final boolean[] filterArray ,
+    public FilterBitSet getGe(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       Float target;
@@ -1008,16 +1020,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target.compareTo( numObj.getFloat() ) <= 0 ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getRange(
-        final boolean[] filterArray ,
+    public FilterBitSet getRange(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberRangeFilter numberRangeFilter ) throws IOException {
       boolean invert = numberRangeFilter.isInvert();
@@ -1041,10 +1053,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         }
         Float target = Float.valueOf( numObj.getFloat() );
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
-      return filterArray;
+      return filterBitSet;
     }
 
   }
@@ -1052,24 +1064,24 @@ public class SequentialNumberCellIndex implements ICellIndex {
   public class DoubleComparator implements IComparator {
 
     @Override
-    public boolean[] getEqual(
-        final boolean[] filterArray ,
+    public FilterBitSet getEqual(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       return null;
     }
 
     @Override
-    public boolean[] getNotEqual(
-        final boolean[] filterArray ,
+    public FilterBitSet getNotEqual(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       return null;
     }
 
     @Override
-    public boolean[] getLt(
-        final boolean[] filterArray ,
+    public FilterBitSet getLt(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       Double target;
@@ -1084,16 +1096,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( 0 < target.compareTo( numObj.getDouble() ) ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getLe(
-        final boolean[] filterArray ,
+    public FilterBitSet getLe(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       Double target;
@@ -1108,16 +1120,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( 0 <= target.compareTo( numObj.getDouble() ) ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getGt(
-        final boolean[] filterArray ,
+    public FilterBitSet getGt(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       Double target;
@@ -1132,16 +1144,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target.compareTo( numObj.getDouble() ) < 0 ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getGe(
-        final boolean[] filterArray ,
+    public FilterBitSet getGe(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberFilter numberFilter ) throws IOException {
       Double target;
@@ -1156,16 +1168,16 @@ public class SequentialNumberCellIndex implements ICellIndex {
           continue;
         }
         if ( target.compareTo( numObj.getDouble() ) <= 0 ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
 
-      return filterArray;
+      return filterBitSet;
     }
 
     @Override
-    public boolean[] getRange(
-        final boolean[] filterArray ,
+    public FilterBitSet getRange(
+        final FilterBitSet filterBitSet ,
         final IDicManager dicManager ,
         final NumberRangeFilter numberRangeFilter ) throws IOException {
       boolean invert = numberRangeFilter.isInvert();
@@ -1189,10 +1201,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         }
         Double target = Double.valueOf( numObj.getDouble() );
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
-          filterArray[i] = true;
+          filterBitSet.set( i );
         }
       }
-      return filterArray;
+      return filterBitSet;
     }
 
   }
@@ -25,6 +25,7 @@ import jp.co.yahoo.yosegi.spread.column.filter.IStringComparator;
 import jp.co.yahoo.yosegi.spread.column.filter.IStringCompareFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.IStringDictionaryFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.IStringFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 
 import java.io.IOException;
@@ -41,119 +42,129 @@ public class SequentialStringCellIndex implements ICellIndex {
   @Override
   public boolean[] filter(
       final IFilter filter , final boolean[] filterArray ) throws IOException {
+    FilterBitSet result = filter( filter , new FilterBitSet( filterArray.length ) );
+    if ( result == null ) {
+      return null;
+    }
+    return result.toBooleanArray( filterArray );
+  }
+
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
     switch ( filter.getFilterType() ) {
       case STRING:
         IStringFilter stringFilter = (IStringFilter)filter;
         String targetStr = stringFilter.getSearchString();
         switch ( stringFilter.getStringFilterType() ) {
           case PERFECT:
-            return perfectMatch( targetStr , filterArray );
+            return perfectMatch( targetStr , filterBitSet );
           case PARTIAL:
-            return partialMatch( targetStr , filterArray );
+            return partialMatch( targetStr , filterBitSet );
           case FORWARD:
-            return forwardMatch( targetStr , filterArray );
+            return forwardMatch( targetStr , filterBitSet );
           case BACKWARD:
-            return backwardMatch( targetStr , filterArray );
+            return backwardMatch( targetStr , filterBitSet );
           case REGEXP:
-            return regexpMatch( targetStr , filterArray );
+            return regexpMatch( targetStr , filterBitSet );
           default:
             return null;
         }
       case STRING_COMPARE:
         IStringCompareFilter stringCompareFilter = (IStringCompareFilter)filter;
         IStringComparator comparator = stringCompareFilter.getStringComparator();
-        return compareString( comparator , filterArray );
+        return compareString( comparator , filterBitSet );
       case STRING_DICTIONARY:
         IStringDictionaryFilter stringDictionaryFilter = (IStringDictionaryFilter)filter;
         Set<String> dictionary = stringDictionaryFilter.getDictionary();
-        return dictionaryString( dictionary , filterArray );
+        return dictionaryString( dictionary , filterBitSet );
       default:
         return null;
     }
   }
 
-  private boolean[] dictionaryString(
-      final Set<String> dictionary , boolean[] filterArray ) throws IOException {
+  private FilterBitSet dictionaryString(
+      final Set<String> dictionary , final FilterBitSet filterBitSet ) throws IOException {
     for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
       PrimitiveObject obj = dicManager.get( i );
       if ( obj != null && dictionary.contains( obj.getString() ) ) {
-        filterArray[i] = true;
+        filterBitSet.set( i );
       }
     }
 
-    return filterArray;
+    return filterBitSet;
   }
 
-  private boolean[] compareString(
-      final IStringComparator comparator , boolean[] filterArray ) throws IOException {
+  private FilterBitSet compareString(
+      final IStringComparator comparator , final FilterBitSet filterBitSet ) throws IOException {
     for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
       PrimitiveObject obj = dicManager.get( i );
       if ( obj == null || ! comparator.isFilterString( obj.getString() ) ) {
-        filterArray[i] = true;
+        filterBitSet.set( i );
       }
     }
 
-    return filterArray;
+    return filterBitSet;
   }
 
-  private boolean[] perfectMatch(
-      final String targetStr , boolean[] filterArray ) throws IOException {
+  private FilterBitSet perfectMatch(
+      final String targetStr , final FilterBitSet filterBitSet ) throws IOException {
     for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
       PrimitiveObject obj = dicManager.get( i );
       if ( obj != null && targetStr.equals( obj.getString() ) ) {
-        filterArray[i] = true;
+        filterBitSet.set( i );
       }
     }
 
-    return filterArray;
+    return filterBitSet;
   }
 
-  private boolean[] partialMatch(
-      final String targetStr , boolean[] filterArray ) throws IOException {
+  private FilterBitSet partialMatch(
+      final String targetStr , final FilterBitSet filterBitSet ) throws IOException {
     for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
       PrimitiveObject obj = dicManager.get( i );
       if ( obj != null && ( -1 < obj.getString().indexOf( targetStr) ) ) {
-        filterArray[i] = true;
+        filterBitSet.set( i );
       }
     }
 
-    return filterArray;
+    return filterBitSet;
   }
 
-  private boolean[] forwardMatch(
-      final String targetStr , boolean[] filterArray ) throws IOException {
+  private FilterBitSet forwardMatch(
+      final String targetStr , final FilterBitSet filterBitSet ) throws IOException {
     for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
       PrimitiveObject obj = dicManager.get( i );
       if ( obj != null && obj.getString().startsWith( targetStr ) ) {
-        filterArray[i] = true;
+        filterBitSet.set( i );
       }
     }
 
-    return filterArray;
+    return filterBitSet;
   }
 
-  private boolean[] backwardMatch(
-      final String targetStr , boolean[] filterArray ) throws IOException {
+  private FilterBitSet backwardMatch(
+      final String targetStr , final FilterBitSet filterBitSet ) throws IOException {
     for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
       PrimitiveObject obj = dicManager.get( i );
       if ( obj != null && obj.getString().endsWith( targetStr ) ) {
-        filterArray[i] = true;
+        filterBitSet.set( i );
       }
     }
 
-    return filterArray;
+    return filterBitSet;
   }
 
-  private boolean[] regexpMatch(
-      final String targetStr , boolean[] filterArray ) throws IOException {
+  private FilterBitSet regexpMatch(
+      final String targetStr , final FilterBitSet filterBitSet ) throws IOException {
     for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
       PrimitiveObject obj = dicManager.get( i );
       if ( obj != null && obj.getString().matches( targetStr ) ) {
-        filterArray[i] = true;
+        filterBitSet.set( i );
       }
     }
 
-    return filterArray;
+    return filterBitSet;
   }
 
 }
@@ -0,0 +1,269 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.optimizer;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.analyzer.Analyzer;
+import jp.co.yahoo.yosegi.spread.analyzer.ByteColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.IntegerColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.LongColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.ShortColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.StringColumnAnalizeResult;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Re-evaluate the conversion logic of each column while writing.
+ * The spread is analyzed at a fixed interval and the columns whose cardinality,
+ * null ratio or value range drifted from the last decision are optimized again.
+ * A new decision replaces the current one only after the same decision is made
+ * by consecutive checks, so that a column does not flap between makers.
+ */
+public class AdaptiveBinaryMakerOptimizer {
+
+  public static final String INTERVAL_KEY =
+      "spread.column.maker.auto.optimizer.reoptimize.interval";
+  public static final String HYSTERESIS_KEY =
+      "spread.column.maker.auto.optimizer.reoptimize.hysteresis";
+  public static final String UNIQ_RATIO_KEY =
+      "spread.column.maker.auto.optimizer.reoptimize.drift.uniq.ratio";
+  public static final String NULL_RATIO_KEY =
+      "spread.column.maker.auto.optimizer.reoptimize.drift.null.ratio";
+  public static final String RANGE_BITS_KEY =
+      "spread.column.maker.auto.optimizer.reoptimize.drift.range.bits";
+
+  private final Map<String,ColumnDecision> decisionMap = new HashMap<String,ColumnDecision>();
+  private final IOptimizerFactory factory;
+  private final CompressorOptimizer compressorOptimizer;
+  private final int interval;
+  private final int hysteresis;
+  private final double uniqRatioThreshold;
+  private final double nullRatioThreshold;
+  private final int rangeBitsThreshold;
+  private int spreadCount;
+
+  /**
+   * Read the interval and the drift thresholds from the configuration.
+   * The compressor optimizer is optional.
+   */
+  public AdaptiveBinaryMakerOptimizer(
+      final Configuration config ,
+      final IOptimizerFactory factory ,
+      final CompressorOptimizer compressorOptimizer ) {
+    this.factory = factory;
+    this.compressorOptimizer = compressorOptimizer;
+    interval = Math.max( 1 , config.getInt( INTERVAL_KEY , 4 ) );
+    hysteresis = Math.max( 1 , config.getInt( HYSTERESIS_KEY , 2 ) );
+    uniqRatioThreshold = config.getDouble( UNIQ_RATIO_KEY , 0.1d );
+    nullRatioThreshold = config.getDouble( NULL_RATIO_KEY , 0.1d );
+    rangeBitsThreshold = config.getInt( RANGE_BITS_KEY , 8 );
+  }
+
+  /**
+   * Update the child config nodes of the root node from the spread.
+   * The first spread decides all columns.
+   * Columns that first appear in a later spread are decided when they are checked.
+   */
+  public void optimize(
+      final ColumnBinaryMakerCustomConfigNode rootNode , final Spread spread ) throws IOException {
+    int currentCount = spreadCount++;
+    if ( currentCount % interval != 0 ) {
+      return;
+    }
+    ColumnBinaryMakerConfig commonConfig = rootNode.getCurrentConfig();
+    List<IColumnAnalizeResult> analizeResultList = Analyzer.analize( spread );
+    for ( IColumnAnalizeResult analizeResult : analizeResultList ) {
+      String columnName = analizeResult.getColumnName();
+      ColumnDecision decision = decisionMap.get( columnName );
+      if ( decision != null && ! isDrift( decision.baseline , analizeResult ) ) {
+        decision.clearPending();
+        continue;
+      }
+      ColumnBinaryMakerCustomConfigNode node =
+          new BinaryMakerOptimizerNode( analizeResult ).createConfigNode( commonConfig , factory );
+      if ( node != null && compressorOptimizer != null ) {
+        compressorOptimizer.optimize(
+            commonConfig , node , spread.getColumn( columnName ) );
+      }
+      String signature = createSignature( node , analizeResult );
+      if ( decision == null ) {
+        decisionMap.put( columnName , new ColumnDecision( analizeResult , signature ) );
+        addChildConfigNode( rootNode , columnName , node );
+      } else if ( signature.equals( decision.signature ) ) {
+        decision.baseline = analizeResult;
+        decision.clearPending();
+      } else {
+        if ( signature.equals( decision.pendingSignature ) ) {
+          decision.pendingCount++;
+        } else {
+          decision.pendingSignature = signature;
+          decision.pendingCount = 1;
+        }
+        if ( hysteresis <= decision.pendingCount ) {
+          decision.baseline = analizeResult;
+          decision.signature = signature;
+          decision.clearPending();
+          addChildConfigNode( rootNode , columnName , node );
+        }
+      }
+    }
+  }
+
+  private void addChildConfigNode(
+      final ColumnBinaryMakerCustomConfigNode rootNode ,
+      final String columnName ,
+      final ColumnBinaryMakerCustomConfigNode node ) throws IOException {
+    if ( node != null ) {
+      rootNode.addChildConfigNode( columnName , node );
+    } else if ( rootNode.getChildConfigNode( columnName ) != null ) {
+      rootNode.addChildConfigNode( columnName , new ColumnBinaryMakerCustomConfigNode(
+          columnName , new ColumnBinaryMakerConfig( rootNode.getCurrentConfig() ) ) );
+    }
+  }
+
+  /**
+   * Check whether the column or any of its children drifted from the baseline.
+   */
+  boolean isDrift( final IColumnAnalizeResult baseline , final IColumnAnalizeResult current ) {
+    if ( baseline.getColumnType() != current.getColumnType() ) {
+      return true;
+    }
+    if ( uniqRatioThreshold < Math.abs( getUniqRatio( baseline ) - getUniqRatio( current ) ) ) {
+      return true;
+    }
+    if ( nullRatioThreshold < Math.abs( getNullRatio( baseline ) - getNullRatio( current ) ) ) {
+      return true;
+    }
+    if ( rangeBitsThreshold <= Math.abs( getRangeBits( baseline ) - getRangeBits( current ) ) ) {
+      return true;
+    }
+    Map<String,IColumnAnalizeResult> baselineChildMap =
+        new HashMap<String,IColumnAnalizeResult>();
+    for ( IColumnAnalizeResult child : baseline.getChild() ) {
+      baselineChildMap.put( child.getColumnName() , child );
+    }
+    for ( IColumnAnalizeResult child : current.getChild() ) {
+      IColumnAnalizeResult baselineChild = baselineChildMap.get( child.getColumnName() );
+      if ( baselineChild == null || isDrift( baselineChild , child ) ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static double getUniqRatio( final IColumnAnalizeResult result ) {
+    if ( result.getRowCount() == 0 ) {
+      return 0;
+    }
+    return (double)result.getUniqCount() / (double)result.getRowCount();
+  }
+
+  private static double getNullRatio( final IColumnAnalizeResult result ) {
+    int total = result.getRowCount() + result.getNullCount();
+    if ( total == 0 ) {
+      return 0;
+    }
+    return (double)result.getNullCount() / (double)total;
+  }
+
+  private static int getRangeBits( final IColumnAnalizeResult result ) {
+    if ( result.getRowCount() == 0 ) {
+      return 0;
+    }
+    long range;
+    if ( result instanceof LongColumnAnalizeResult ) {
+      LongColumnAnalizeResult longResult = (LongColumnAnalizeResult)result;
+      range = longResult.getMax() - longResult.getMin();
+      if ( range < 0 ) {
+        return Long.SIZE;
+      }
+    } else if ( result instanceof IntegerColumnAnalizeResult ) {
+      IntegerColumnAnalizeResult intResult = (IntegerColumnAnalizeResult)result;
+      range = (long)intResult.getMax() - (long)intResult.getMin();
+    } else if ( result instanceof ShortColumnAnalizeResult ) {
+      ShortColumnAnalizeResult shortResult = (ShortColumnAnalizeResult)result;
+      range = (long)shortResult.getMax() - (long)shortResult.getMin();
+    } else if ( result instanceof ByteColumnAnalizeResult ) {
+      ByteColumnAnalizeResult byteResult = (ByteColumnAnalizeResult)result;
+      range = (long)byteResult.getMax() - (long)byteResult.getMin();
+    } else if ( result instanceof StringColumnAnalizeResult ) {
+      range = ( (StringColumnAnalizeResult)result ).getMaxUtf8Bytes();
+    } else {
+      return 0;
+    }
+    return Long.SIZE - Long.numberOfLeadingZeros( range );
+  }
+
+  /**
+   * Create a string that identifies the makers and the compressors selected for the column.
+   */
+  static String createSignature(
+      final ColumnBinaryMakerCustomConfigNode node , final IColumnAnalizeResult analizeResult ) {
+    StringBuilder builder = new StringBuilder();
+    appendSignature( builder , node , analizeResult );
+    return builder.toString();
+  }
+
+  private static void appendSignature(
+      final StringBuilder builder ,
+      final ColumnBinaryMakerCustomConfigNode node ,
+      final IColumnAnalizeResult analizeResult ) {
+    builder.append( analizeResult.getColumnName() ).append( '(' );
+    if ( node != null ) {
+      ColumnBinaryMakerConfig config = node.getCurrentConfig();
+      builder.append( config.getColumnMaker( analizeResult.getColumnType() ).getClass().getName() )
+          .append( ',' )
+          .append( config.compressorClass.getClass().getName() )
+          .append( ',' )
+          .append( config.compressionPolicy );
+      for ( IColumnAnalizeResult child : analizeResult.getChild() ) {
+        builder.append( ',' );
+        appendSignature( builder , node.getChildConfigNode( child.getColumnName() ) , child );
+      }
+    }
+    builder.append( ')' );
+  }
+
+  private static class ColumnDecision {
+
+    private IColumnAnalizeResult baseline;
+    private String signature;
+    private String pendingSignature;
+    private int pendingCount;
+
+    ColumnDecision( final IColumnAnalizeResult baseline , final String signature ) {
+      this.baseline = baseline;
+      this.signature = signature;
+    }
+
+    void clearPending() {
+      pendingSignature = null;
+      pendingCount = 0;
+    }
+
+  }
+
+}
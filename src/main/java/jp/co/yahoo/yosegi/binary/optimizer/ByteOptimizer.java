@@ -30,6 +30,7 @@ public class ByteOptimizer implements IOptimizer {
 
   private final IColumnBinaryMaker uniqMaker;
   private final IColumnBinaryMaker[] makerArray;
+  private final IColumnBinaryMaker runLengthMaker;
 
   /**
    * Select logic to convert Byte.
@@ -41,6 +42,8 @@ public class ByteOptimizer implements IOptimizer {
       FindColumnBinaryMaker.get(
           "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ),
     };
+    runLengthMaker = FindColumnBinaryMaker.get(
+        "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" );
   }
 
   @Override
@@ -60,6 +63,13 @@ public class ByteOptimizer implements IOptimizer {
         }
       }
     }
+    // Runs are considered only when a run has two rows or more on average.
+    if ( maker != null
+        && analizeResult.getRunCount() * 2 <= analizeResult.getColumnSize()
+        && runLengthMaker.calcBinarySize( analizeResult )
+            < maker.calcBinarySize( analizeResult ) ) {
+      maker = runLengthMaker;
+    }
     ColumnBinaryMakerConfig currentConfig = new ColumnBinaryMakerConfig( commonConfig );
     if ( maker != null ) {
       currentConfig.byteMakerClass = maker;
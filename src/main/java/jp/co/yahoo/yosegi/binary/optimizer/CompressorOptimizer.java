@@ -0,0 +1,312 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.optimizer;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.yosegi.compressor.CompressionPolicy;
+import jp.co.yahoo.yosegi.compressor.CompressorNameShortCut;
+import jp.co.yahoo.yosegi.compressor.DataType;
+import jp.co.yahoo.yosegi.compressor.DefaultCompressor;
+import jp.co.yahoo.yosegi.compressor.FindCompressor;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Select the compressor of each column by compressing a sample of the column
+ * with the candidate compressors.
+ * The sample is the data that the selected maker passes to the compressor,
+ * so the result reflects the encoding of the maker.
+ */
+public class CompressorOptimizer {
+
+  public static final String CANDIDATES_KEY =
+      "spread.column.maker.compressor.optimizer.candidates";
+  public static final String OBJECTIVE_KEY =
+      "spread.column.maker.compressor.optimizer.objective";
+  public static final String SIZE_WEIGHT_KEY =
+      "spread.column.maker.compressor.optimizer.size.weight";
+  public static final String SAMPLE_SIZE_KEY =
+      "spread.column.maker.compressor.optimizer.sample.size";
+  public static final String SAMPLE_ROWS_KEY =
+      "spread.column.maker.compressor.optimizer.sample.rows";
+  public static final String DECODE_ROUNDS_KEY =
+      "spread.column.maker.compressor.optimizer.decode.rounds";
+  public static final String DECODE_WARMUP_ROUNDS_KEY =
+      "spread.column.maker.compressor.optimizer.decode.warmup.rounds";
+
+  public enum Objective {
+    SIZE,
+    SPEED,
+    BALANCE
+  }
+
+  private final List<ICompressor> candidateList = new ArrayList<ICompressor>();
+  private final Objective objective;
+  private final double sizeWeight;
+  private final int sampleSize;
+  private final int sampleRows;
+  private final int decodeRounds;
+  private final int decodeWarmupRounds;
+
+  /**
+   * Read the candidates and the objective from the configuration.
+   * The default objective is the size, because it does not depend on the timing
+   * of the machine and the same data always selects the same compressor.
+   */
+  public CompressorOptimizer( final Configuration config ) throws IOException {
+    String candidates = config.get( CANDIDATES_KEY , "default,gzip,zstdjni" );
+    for ( String candidate : candidates.split( "," ) ) {
+      String name = candidate.trim();
+      if ( ! name.isEmpty() ) {
+        candidateList.add(
+            FindCompressor.get( CompressorNameShortCut.getClassName( name ) ) );
+      }
+    }
+    if ( candidateList.isEmpty() ) {
+      throw new IOException( "Compressor candidates is empty." );
+    }
+    objective = Objective.valueOf( config.get( OBJECTIVE_KEY , "size" ).toUpperCase() );
+    sizeWeight = config.getDouble( SIZE_WEIGHT_KEY , 0.5d );
+    if ( sizeWeight < 0 || 1 < sizeWeight ) {
+      throw new IOException( SIZE_WEIGHT_KEY + " must be between 0 and 1 : " + sizeWeight );
+    }
+    sampleSize = config.getInt( SAMPLE_SIZE_KEY , 1024 * 256 );
+    sampleRows = Math.max( 1 , config.getInt( SAMPLE_ROWS_KEY , 4096 ) );
+    decodeRounds = Math.max( 1 , config.getInt( DECODE_ROUNDS_KEY , 3 ) );
+    decodeWarmupRounds = Math.max( 0 , config.getInt( DECODE_WARMUP_ROUNDS_KEY , 10 ) );
+  }
+
+  /**
+   * Set the selected compressor to the config of each column that has a config node.
+   */
+  public void optimize(
+      final ColumnBinaryMakerCustomConfigNode rootNode , final Spread spread ) throws IOException {
+    ColumnBinaryMakerConfig commonConfig = rootNode.getCurrentConfig();
+    for ( IColumn column : spread.getListColumn() ) {
+      optimize( commonConfig , rootNode.getChildConfigNode( column.getColumnName() ) , column );
+    }
+  }
+
+  /**
+   * Set the selected compressor to the config of the column and its children.
+   */
+  public void optimize(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentNode ,
+      final IColumn column ) throws IOException {
+    if ( currentNode == null ) {
+      return;
+    }
+    switch ( column.getColumnType() ) {
+      case UNION:
+      case ARRAY:
+      case SPREAD:
+        for ( IColumn childColumn : column.getListColumn() ) {
+          optimize(
+              commonConfig ,
+              currentNode.getChildConfigNode( childColumn.getColumnName() ) ,
+              childColumn );
+        }
+        return;
+      case NULL:
+      case EMPTY_ARRAY:
+      case EMPTY_SPREAD:
+        return;
+      default:
+        break;
+    }
+    ColumnBinaryMakerConfig currentConfig = currentNode.getCurrentConfig();
+    SampleCompressor sampleCompressor = new SampleCompressor( sampleSize );
+    ColumnBinaryMakerConfig sampleConfig = new ColumnBinaryMakerConfig( currentConfig );
+    sampleConfig.compressorClass = sampleCompressor;
+    IColumnBinaryMaker maker = currentConfig.getColumnMaker( column.getColumnType() );
+    maker.toBinary(
+        commonConfig ,
+        new ColumnBinaryMakerCustomConfigNode( column.getColumnName() , sampleConfig ) ,
+        createSampleColumn( column ) );
+    ICompressor compressor =
+        select( sampleCompressor.getSampleList() , currentConfig.compressionPolicy );
+    if ( compressor != null ) {
+      currentConfig.compressorClass = compressor;
+    }
+  }
+
+  /**
+   * Create a column of the first rows of the column.
+   * The maker encodes only this slice, so the cost does not grow with the spread size.
+   */
+  private IColumn createSampleColumn( final IColumn column ) throws IOException {
+    if ( column.size() <= sampleRows ) {
+      return column;
+    }
+    IColumn sampleColumn = new PrimitiveColumn( column.getColumnType() , column.getColumnName() );
+    for ( int i = 0 ; i < sampleRows ; i++ ) {
+      sampleColumn.addCell( column.getColumnType() , column.get( i ) , i );
+    }
+    return sampleColumn;
+  }
+
+  /**
+   * Select the compressor of the sample under the objective.
+   * Returns null if the sample is empty or no candidate can compress it.
+   */
+  public ICompressor select(
+      final List<byte[]> sampleList ,
+      final CompressionPolicy compressionPolicy ) throws IOException {
+    long rawSize = 0;
+    for ( byte[] sample : sampleList ) {
+      rawSize += sample.length;
+    }
+    if ( rawSize == 0 ) {
+      return null;
+    }
+    List<ICompressor> compressorList = new ArrayList<ICompressor>();
+    List<long[]> resultList = new ArrayList<long[]>();
+    long maxDecodeNanos = 1;
+    for ( ICompressor compressor : candidateList ) {
+      long[] result;
+      try {
+        result = measure( compressor , sampleList , compressionPolicy );
+      } catch ( LinkageError ex ) {
+        // The native library of this candidate is not available.
+        continue;
+      }
+      compressorList.add( compressor );
+      resultList.add( result );
+      maxDecodeNanos = Math.max( maxDecodeNanos , result[1] );
+    }
+
+    ICompressor bestCompressor = null;
+    double bestScore = Double.MAX_VALUE;
+    for ( int i = 0 ; i < compressorList.size() ; i++ ) {
+      long[] result = resultList.get( i );
+      double sizeScore = (double)result[0] / (double)rawSize;
+      double speedScore = (double)result[1] / (double)maxDecodeNanos;
+      double score;
+      switch ( objective ) {
+        case SIZE:
+          score = sizeScore;
+          break;
+        case SPEED:
+          score = speedScore;
+          break;
+        default:
+          score = sizeWeight * sizeScore + ( 1.0d - sizeWeight ) * speedScore;
+          break;
+      }
+      if ( score < bestScore ) {
+        bestScore = score;
+        bestCompressor = compressorList.get( i );
+      }
+    }
+    return bestCompressor;
+  }
+
+  /**
+   * Returns the compressed size and the fastest decode time of the sample in nanoseconds.
+   * The decode time is measured only if the objective uses it,
+   * after the warm-up rounds that are not measured.
+   */
+  private long[] measure(
+      final ICompressor compressor ,
+      final List<byte[]> sampleList ,
+      final CompressionPolicy compressionPolicy ) throws IOException {
+    long compressedSize = 0;
+    long decodeNanos = 0;
+    for ( byte[] sample : sampleList ) {
+      byte[] compressData = compressor.compress(
+          sample , 0 , sample.length , DataType.BINARY , compressionPolicy );
+      compressedSize += compressData.length;
+      if ( objective == Objective.SIZE ) {
+        continue;
+      }
+      byte[] buffer = new byte[sample.length];
+      for ( int i = 0 ; i < decodeWarmupRounds ; i++ ) {
+        compressor.decompressAndSet( compressData , 0 , compressData.length , buffer );
+      }
+      long minNanos = Long.MAX_VALUE;
+      for ( int i = 0 ; i < decodeRounds ; i++ ) {
+        long startNanos = System.nanoTime();
+        compressor.decompressAndSet( compressData , 0 , compressData.length , buffer );
+        minNanos = Math.min( minNanos , System.nanoTime() - startNanos );
+      }
+      decodeNanos += minNanos;
+    }
+    return new long[]{ compressedSize , decodeNanos };
+  }
+
+  /**
+   * Keep the data passed to the compressor up to the sample size
+   * and store it without compression.
+   */
+  static class SampleCompressor extends DefaultCompressor {
+
+    private final List<byte[]> sampleList = new ArrayList<byte[]>();
+    private int remaining;
+
+    SampleCompressor( final int sampleSize ) {
+      remaining = sampleSize;
+    }
+
+    @Override
+    public byte[] compress(
+        final byte[] data ,
+        final int start ,
+        final int length ,
+        final DataType dataType ) throws IOException {
+      byte[] result = super.compress( data , start , length , dataType );
+      if ( 0 < remaining && 0 < length ) {
+        int sampleLength = Math.min( remaining , length );
+        byte[] sample = new byte[sampleLength];
+        System.arraycopy( data , start , sample , 0 , sampleLength );
+        sampleList.add( sample );
+        remaining -= sampleLength;
+      }
+      return result;
+    }
+
+    @Override
+    public int compressAndAppend(
+        final byte[] data ,
+        final int start ,
+        final int length ,
+        final DataType dataType ,
+        final ByteArrayData buffer ) throws IOException {
+      byte[] result = compress( data , start , length , dataType );
+      buffer.append( result );
+      return result.length;
+    }
+
+    public List<byte[]> getSampleList() {
+      return sampleList;
+    }
+
+  }
+
+}
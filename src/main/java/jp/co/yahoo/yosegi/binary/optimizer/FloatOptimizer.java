@@ -22,7 +22,12 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
 import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.objects.FloatObj;
+import jp.co.yahoo.yosegi.spread.analyzer.FloatColumnAnalizeResult;
 import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
 
 import java.io.IOException;
 
@@ -38,6 +43,10 @@ public class FloatOptimizer implements IOptimizer {
     uniqMaker = FindColumnBinaryMaker.get(
         "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeFloatColumnBinaryMaker" );
     makerArray = new IColumnBinaryMaker[]{
+      FindColumnBinaryMaker.get(
+          "jp.co.yahoo.yosegi.binary.maker.ByteStreamSplitDoubleColumnBinaryMaker" ),
+      FindColumnBinaryMaker.get(
+          "jp.co.yahoo.yosegi.binary.maker.XorDoubleColumnBinaryMaker" ),
       FindColumnBinaryMaker.get(
           "jp.co.yahoo.yosegi.binary.maker.UnsafeRangeDumpFloatColumnBinaryMaker" ),
     };
@@ -50,9 +59,11 @@ public class FloatOptimizer implements IOptimizer {
     if ( ( (double)analizeResult.getUniqCount() / (double)analizeResult.getRowCount() ) < 0.05d ) {
       maker = uniqMaker;
     } else {
+      IColumn sampleColumn = createSampleColumn( (FloatColumnAnalizeResult) analizeResult );
       int minSize = Integer.MAX_VALUE;
       for ( IColumnBinaryMaker currentMaker : makerArray ) {
-        int currentSize = currentMaker.calcBinarySize( analizeResult );
+        int currentSize =
+            getBinarySize( commonConfig , currentMaker , analizeResult , sampleColumn );
         if ( currentSize <= minSize ) {
           maker = currentMaker;
           minSize = currentSize;
@@ -66,4 +77,44 @@ public class FloatOptimizer implements IOptimizer {
     return currentConfig;
   }
 
+  /**
+   * Create a column of the sample values, or null if there is no sample.
+   */
+  private static IColumn createSampleColumn( final FloatColumnAnalizeResult analizeResult ) {
+    float[] sampleArray = analizeResult.getSampleArray();
+    if ( sampleArray.length == 0 ) {
+      return null;
+    }
+    IColumn sampleColumn = new PrimitiveColumn( ColumnType.FLOAT , analizeResult.getColumnName() );
+    try {
+      for ( int i = 0 ; i < sampleArray.length ; i++ ) {
+        sampleColumn.add( ColumnType.FLOAT , new FloatObj( sampleArray[i] ) , i );
+      }
+    } catch ( IOException ex ) {
+      return null;
+    }
+    return sampleColumn;
+  }
+
+  /**
+   * Get the size of the sample encoded and compressed by the maker.
+   * The sizes of all candidates are measured in the same way,
+   * so the makers that rely on the compressor are compared fairly with the others.
+   * If there is no sample, the size before compression is used.
+   */
+  private static int getBinarySize(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final IColumnBinaryMaker maker ,
+      final IColumnAnalizeResult analizeResult ,
+      final IColumn sampleColumn ) {
+    if ( sampleColumn == null ) {
+      return maker.calcBinarySize( analizeResult );
+    }
+    try {
+      return maker.toBinary( commonConfig , null , sampleColumn ).binaryLength;
+    } catch ( IOException ex ) {
+      return Integer.MAX_VALUE;
+    }
+  }
+
 }
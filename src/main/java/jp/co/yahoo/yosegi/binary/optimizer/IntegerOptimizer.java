@@ -30,6 +30,7 @@ public class IntegerOptimizer implements IOptimizer {
 
   private final IColumnBinaryMaker uniqMaker;
   private final IColumnBinaryMaker[] makerArray;
+  private final IColumnBinaryMaker runLengthMaker;
 
   /**
    * Select logic to convert Integer.
@@ -38,9 +39,13 @@ public class IntegerOptimizer implements IOptimizer {
     uniqMaker = FindColumnBinaryMaker.get(
         "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" );
     makerArray = new IColumnBinaryMaker[]{
+      FindColumnBinaryMaker.get(
+          "jp.co.yahoo.yosegi.binary.maker.DeltaBitPackLongColumnBinaryMaker" ),
       FindColumnBinaryMaker.get(
           "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ),
     };
+    runLengthMaker = FindColumnBinaryMaker.get(
+        "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" );
   }
 
   @Override
@@ -59,6 +64,13 @@ public class IntegerOptimizer implements IOptimizer {
         }
       }
     }
+    // Runs are considered only when a run has two rows or more on average.
+    if ( maker != null
+        && analizeResult.getRunCount() * 2 <= analizeResult.getColumnSize()
+        && runLengthMaker.calcBinarySize( analizeResult )
+            < maker.calcBinarySize( analizeResult ) ) {
+      maker = runLengthMaker;
+    }
     ColumnBinaryMakerConfig currentConfig = new ColumnBinaryMakerConfig( commonConfig );
     if ( maker != null ) {
       currentConfig.integerMakerClass = maker;
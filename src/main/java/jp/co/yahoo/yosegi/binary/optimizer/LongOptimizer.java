@@ -30,6 +30,7 @@ public class LongOptimizer implements IOptimizer {
 
   private final IColumnBinaryMaker uniqMaker;
   private final IColumnBinaryMaker[] makerArray;
+  private final IColumnBinaryMaker runLengthMaker;
 
   /**
    * Select logic to convert Long.
@@ -38,11 +39,15 @@ public class LongOptimizer implements IOptimizer {
     uniqMaker = FindColumnBinaryMaker.get(
         "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" );
     makerArray = new IColumnBinaryMaker[]{
+      FindColumnBinaryMaker.get(
+          "jp.co.yahoo.yosegi.binary.maker.DeltaBitPackLongColumnBinaryMaker" ),
       FindColumnBinaryMaker.get(
           "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ),
       FindColumnBinaryMaker.get(
           "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ),
     };
+    runLengthMaker = FindColumnBinaryMaker.get(
+        "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" );
   }
 
   @Override
@@ -61,6 +66,13 @@ public class LongOptimizer implements IOptimizer {
         }
       }
     }
+    // Runs are considered only when a run has two rows or more on average.
+    if ( maker != null
+        && analizeResult.getRunCount() * 2 <= analizeResult.getColumnSize()
+        && runLengthMaker.calcBinarySize( analizeResult )
+            < maker.calcBinarySize( analizeResult ) ) {
+      maker = runLengthMaker;
+    }
     ColumnBinaryMakerConfig currentConfig = new ColumnBinaryMakerConfig( commonConfig );
     if ( maker != null ) {
       currentConfig.longMakerClass = maker;
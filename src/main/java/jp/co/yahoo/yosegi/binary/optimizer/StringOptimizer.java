@@ -30,6 +30,7 @@ import java.io.IOException;
 public class StringOptimizer implements IOptimizer {
 
   private final IColumnBinaryMaker[] makerArray;
+  private final IColumnBinaryMaker runLengthMaker;
 
   /**
    * Select logic to convert String.
@@ -41,6 +42,8 @@ public class StringOptimizer implements IOptimizer {
       FindColumnBinaryMaker.get(
           "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpStringColumnBinaryMaker" ),
     };
+    runLengthMaker = FindColumnBinaryMaker.get(
+        "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" );
   }
 
   @Override
@@ -65,6 +68,13 @@ public class StringOptimizer implements IOptimizer {
         }
       }
     }
+    // Runs are considered only when a run has two rows or more on average.
+    if ( maker != null
+        && analizeResult.getRunCount() * 2 <= analizeResult.getColumnSize()
+        && runLengthMaker.calcBinarySize( analizeResult )
+            < maker.calcBinarySize( analizeResult ) ) {
+      maker = runLengthMaker;
+    }
     ColumnBinaryMakerConfig currentConfig = null;
     if ( maker != null ) {
       currentConfig = new ColumnBinaryMakerConfig( commonConfig );
@@ -0,0 +1,211 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.optimizer;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.yosegi.compressor.CompressionPolicy;
+import jp.co.yahoo.yosegi.compressor.DataType;
+import jp.co.yahoo.yosegi.compressor.ZstdCompressor;
+import jp.co.yahoo.yosegi.compressor.ZstdDictionary;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Train a zstd dictionary for each column that is compressed with zstd.
+ * The samples are the data that the maker passes to the compressor in the first spreads,
+ * and the dictionary is used only if it makes the samples smaller.
+ * After the training, the config of the column compresses with the dictionary.
+ * The dictionaries are stored in each block by the block writer.
+ */
+public class ZstdDictionaryOptimizer {
+
+  public static final String TRAINING_SPREADS_KEY =
+      "spread.column.maker.zstd.dictionary.training.spreads";
+  public static final String DICTIONARY_SIZE_KEY =
+      "spread.column.maker.zstd.dictionary.size";
+  public static final String SAMPLE_SIZE_KEY =
+      "spread.column.maker.zstd.dictionary.sample.size";
+
+  private final Map<String,ColumnState> columnStateMap = new HashMap<String,ColumnState>();
+  private final List<ZstdDictionary> dictionaryList = new ArrayList<ZstdDictionary>();
+  private final int trainingSpreads;
+  private final int dictionarySize;
+  private final int sampleSize;
+  private ZstdCompressor decompressor;
+
+  private static class ColumnState {
+    final List<byte[]> sampleList = new ArrayList<byte[]>();
+    int sampleSize;
+    int spreadCount;
+    boolean isTrained;
+    ZstdCompressor compressor;
+  }
+
+  /**
+   * Read the number of the training spreads and the sizes from the configuration.
+   */
+  public ZstdDictionaryOptimizer( final Configuration config ) {
+    trainingSpreads = Math.max( 1 , config.getInt( TRAINING_SPREADS_KEY , 8 ) );
+    dictionarySize = Math.max( 1024 , config.getInt( DICTIONARY_SIZE_KEY , 16 * 1024 ) );
+    sampleSize = Math.max( dictionarySize , config.getInt( SAMPLE_SIZE_KEY , 512 * 1024 ) );
+  }
+
+  /**
+   * Collect the samples of the spread or set the trained dictionary
+   * to the config of each column that has a config node.
+   */
+  public void optimize(
+      final ColumnBinaryMakerCustomConfigNode rootNode , final Spread spread ) throws IOException {
+    ColumnBinaryMakerConfig commonConfig = rootNode.getCurrentConfig();
+    for ( IColumn column : spread.getListColumn() ) {
+      optimize(
+          commonConfig ,
+          rootNode.getChildConfigNode( column.getColumnName() ) ,
+          column ,
+          column.getColumnName() );
+    }
+  }
+
+  private void optimize(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentNode ,
+      final IColumn column ,
+      final String columnPath ) throws IOException {
+    if ( currentNode == null ) {
+      return;
+    }
+    switch ( column.getColumnType() ) {
+      case UNION:
+      case ARRAY:
+      case SPREAD:
+        for ( IColumn childColumn : column.getListColumn() ) {
+          optimize(
+              commonConfig ,
+              currentNode.getChildConfigNode( childColumn.getColumnName() ) ,
+              childColumn ,
+              columnPath + "\u0000" + childColumn.getColumnName() );
+        }
+        return;
+      case NULL:
+      case EMPTY_ARRAY:
+      case EMPTY_SPREAD:
+        return;
+      default:
+        break;
+    }
+    ColumnBinaryMakerConfig currentConfig = currentNode.getCurrentConfig();
+    if ( ! ( currentConfig.compressorClass instanceof ZstdCompressor ) ) {
+      return;
+    }
+    ColumnState state = columnStateMap.get( columnPath );
+    if ( state == null ) {
+      state = new ColumnState();
+      columnStateMap.put( columnPath , state );
+    }
+    if ( state.isTrained ) {
+      if ( state.compressor != null ) {
+        currentConfig.compressorClass = state.compressor;
+      }
+      return;
+    }
+
+    CompressorOptimizer.SampleCompressor sampleCompressor =
+        new CompressorOptimizer.SampleCompressor( sampleSize - state.sampleSize );
+    ColumnBinaryMakerConfig sampleConfig = new ColumnBinaryMakerConfig( currentConfig );
+    sampleConfig.compressorClass = sampleCompressor;
+    IColumnBinaryMaker maker = currentConfig.getColumnMaker( column.getColumnType() );
+    maker.toBinary(
+        commonConfig ,
+        new ColumnBinaryMakerCustomConfigNode( column.getColumnName() , sampleConfig ) ,
+        column );
+    for ( byte[] sample : sampleCompressor.getSampleList() ) {
+      state.sampleList.add( sample );
+      state.sampleSize += sample.length;
+    }
+    state.spreadCount++;
+    if ( state.spreadCount < trainingSpreads && state.sampleSize < sampleSize ) {
+      return;
+    }
+
+    state.isTrained = true;
+    ZstdDictionary dictionary = train( state.sampleList , currentConfig.compressionPolicy );
+    state.sampleList.clear();
+    if ( dictionary != null ) {
+      state.compressor = new ZstdCompressor( dictionary );
+      currentConfig.compressorClass = state.compressor;
+      dictionaryList.add( dictionary );
+      decompressor = new ZstdCompressor( dictionaryList );
+    }
+  }
+
+  /**
+   * Train a dictionary from the samples.
+   * Returns null if the dictionary can not be trained, does not make the samples smaller,
+   * or has the same id as another dictionary.
+   */
+  private ZstdDictionary train(
+      final List<byte[]> sampleList ,
+      final CompressionPolicy compressionPolicy ) throws IOException {
+    ZstdDictionary dictionary = ZstdDictionary.train( sampleList , dictionarySize );
+    if ( dictionary == null ) {
+      return null;
+    }
+    for ( ZstdDictionary trainedDictionary : dictionaryList ) {
+      if ( trainedDictionary.getId() == dictionary.getId() ) {
+        return null;
+      }
+    }
+    ZstdCompressor compressor = new ZstdCompressor();
+    ZstdCompressor dictionaryCompressor = new ZstdCompressor( dictionary );
+    long compressedSize = 0;
+    long dictionaryCompressedSize = 0;
+    for ( byte[] sample : sampleList ) {
+      compressedSize += compressor.compress(
+          sample , 0 , sample.length , DataType.BINARY , compressionPolicy ).length;
+      dictionaryCompressedSize += dictionaryCompressor.compress(
+          sample , 0 , sample.length , DataType.BINARY , compressionPolicy ).length;
+    }
+    if ( compressedSize <= dictionaryCompressedSize ) {
+      return null;
+    }
+    return dictionary;
+  }
+
+  /**
+   * Returns the compressor that can decompress with all trained dictionaries,
+   * or null if no dictionary has been trained.
+   */
+  public ZstdCompressor getDecompressor() {
+    return decompressor;
+  }
+
+  public List<ZstdDictionary> getDictionaryList() {
+    return new ArrayList<ZstdDictionary>( dictionaryList );
+  }
+
+}
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.block;
+
+import jp.co.yahoo.yosegi.util.io.InputStreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merge the column ranges of a block into fewer reads.
+ * Ranges whose gap is at most maxGapSize are read with one read,
+ * and the bytes of the gap are read and discarded.
+ */
+public class BlockReadPlanner {
+
+  private final int maxGapSize;
+
+  /**
+   * A range of the stream that is read at once.
+   */
+  public static class ReadRange {
+    public final int streamStart;
+    public final List<BlockReadOffset> readOffsetList = new ArrayList<BlockReadOffset>();
+    private int streamEnd;
+
+    /**
+     * Create a range that starts with the BlockReadOffset.
+     */
+    public ReadRange( final BlockReadOffset readOffset ) {
+      streamStart = readOffset.streamStart;
+      streamEnd = readOffset.streamStart;
+      add( readOffset );
+    }
+
+    private void add( final BlockReadOffset readOffset ) {
+      readOffsetList.add( readOffset );
+      streamEnd = Math.max( streamEnd , readOffset.streamStart + readOffset.length );
+    }
+
+    public int getStreamEnd() {
+      return streamEnd;
+    }
+
+    public int getLength() {
+      return streamEnd - streamStart;
+    }
+  }
+
+  /**
+   * Create a planner that merges ranges within maxGapSize bytes of each other.
+   * If maxGapSize is negative, no ranges are merged.
+   */
+  public BlockReadPlanner( final int maxGapSize ) {
+    this.maxGapSize = maxGapSize;
+  }
+
+  /**
+   * Merge the ranges sorted by the start position of the stream.
+   */
+  public List<ReadRange> createReadRangeList( final List<BlockReadOffset> readOffsetList ) {
+    List<ReadRange> result = new ArrayList<ReadRange>();
+    ReadRange current = null;
+    for ( BlockReadOffset readOffset : readOffsetList ) {
+      if ( current != null
+          && (long)readOffset.streamStart - current.getStreamEnd() <= maxGapSize ) {
+        current.add( readOffset );
+      } else {
+        current = new ReadRange( readOffset );
+        result.add( current );
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Read the ranges sorted by the start position of the stream and
+   * copy them into the buffer of each BlockReadOffset.
+   * Returns the position of the stream after reading.
+   */
+  public int read(
+      final InputStream in ,
+      final List<BlockReadOffset> readOffsetList ) throws IOException {
+    int inOffset = 0;
+    for ( ReadRange readRange : createReadRangeList( readOffsetList ) ) {
+      inOffset += InputStreamUtils.skip( in , readRange.streamStart - inOffset );
+      inOffset = readRange.streamStart;
+      if ( readRange.readOffsetList.size() == 1 ) {
+        BlockReadOffset readOffset = readRange.readOffsetList.get( 0 );
+        inOffset += InputStreamUtils.read(
+            in , readOffset.buffer , readOffset.bufferStart , readOffset.length );
+        continue;
+      }
+      byte[] rangeBuffer = new byte[ readRange.getLength() ];
+      inOffset += InputStreamUtils.read( in , rangeBuffer , 0 , rangeBuffer.length );
+      for ( BlockReadOffset readOffset : readRange.readOffsetList ) {
+        System.arraycopy(
+            rangeBuffer ,
+            readOffset.streamStart - readRange.streamStart ,
+            readOffset.buffer ,
+            readOffset.bufferStart ,
+            readOffset.length );
+      }
+    }
+    return inOffset;
+  }
+
+}
@@ -19,6 +19,8 @@
 package jp.co.yahoo.yosegi.block;
 
 import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryCache;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.ColumnTypeFactory;
 import jp.co.yahoo.yosegi.util.ByteArrayData;
@@ -36,6 +38,7 @@ public class ColumnBinaryTree {
   private final List<ColumnBinary> currentColumnBinaryList = new ArrayList<ColumnBinary>();
   private final Map<String,ColumnBinaryTree> childTreeMap = new HashMap<String,ColumnBinaryTree>();
   private final List<BlockReadOffset> blockReadOffsetList = new ArrayList<BlockReadOffset>();
+  private final List<ColumnBinary> uncachedColumnBinaryList = new ArrayList<ColumnBinary>();
 
   private ColumnNameNode columnNameNode;
   private int currentCount;
@@ -129,6 +132,67 @@ public class ColumnBinaryTree {
     return result;
   }
 
+  /**
+   * Set the cache to the columns that have been read.
+   * Each column is identified by its offset in the data of the block.
+   * The binaries held by the cache are copied to the columns,
+   * and their ranges are removed from the offsets that need to be read.
+   */
+  public void setColumnBinaryCache(
+      final ColumnBinaryCache cache , final String fileId , final long blockOffset ) {
+    uncachedColumnBinaryList.clear();
+    List<BlockReadOffset> uncachedReadOffsetList = new ArrayList<BlockReadOffset>();
+    for ( ColumnBinary columnBinary : currentColumnBinaryList ) {
+      if ( columnBinary == null ) {
+        continue;
+      }
+      columnBinary.setCache( cache , new ColumnBinaryCache.Key(
+          fileId , blockOffset , allBinaryStart + columnBinary.binaryStart ) );
+      if ( columnBinary.binaryLength != 0 && ! columnBinary.loadBinaryFromCache() ) {
+        uncachedColumnBinaryList.add( columnBinary );
+        uncachedReadOffsetList.add( new BlockReadOffset(
+            allBinaryStart + columnBinary.binaryStart ,
+            columnBinary.binaryStart ,
+            columnBinary.binaryLength ,
+            columnBinary.binary ) );
+      }
+    }
+    blockReadOffsetList.clear();
+    blockReadOffsetList.addAll( uncachedReadOffsetList );
+    for ( Map.Entry<String,ColumnBinaryTree> entry : childTreeMap.entrySet() ) {
+      entry.getValue().setColumnBinaryCache( cache , fileId , blockOffset );
+    }
+  }
+
+  /**
+   * Put the binaries of the columns that have been read from the stream into the cache.
+   */
+  public void putColumnBinaryCache() {
+    for ( ColumnBinary columnBinary : uncachedColumnBinaryList ) {
+      columnBinary.putBinaryToCache();
+    }
+    uncachedColumnBinaryList.clear();
+    for ( Map.Entry<String,ColumnBinaryTree> entry : childTreeMap.entrySet() ) {
+      entry.getValue().putColumnBinaryCache();
+    }
+  }
+
+  /**
+   * Set the compressor instance to the columns that are compressed with the class of it.
+   */
+  public void setCompressor( final ICompressor compressor ) {
+    String compressorClassName = compressor.getClass().getName();
+    for ( ColumnBinary columnBinary : currentColumnBinaryList ) {
+      if ( columnBinary != null
+          && compressorClassName.equals( columnBinary.compressorClassName ) ) {
+        columnBinary.setCompressor( compressor );
+      }
+    }
+    for ( Map.Entry<String,ColumnBinaryTree> entry : childTreeMap.entrySet() ) {
+      entry.getValue().setCompressor( compressor );
+    }
+  }
+
   /**
    * Set a filter to determine if it is necessary to read column data.
    */
@@ -340,6 +404,7 @@ public class ColumnBinaryTree {
     childTreeMap.clear();
     columnNameNode = null;
     blockReadOffsetList.clear();
+    uncachedColumnBinaryList.clear();
     currentCount = 0;
     childCount = 0;
     metaLength = 0;
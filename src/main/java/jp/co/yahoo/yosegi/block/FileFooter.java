@@ -0,0 +1,221 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.block;
+
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.util.io.IRangeSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Footer written after the last block of a file.
+ * It holds the offset, length, spread count and block index of every block,
+ * so that a reader can plan the blocks to read from the end of the file alone.
+ * The footer ends with a trailer of the footer length and the magic bytes.
+ */
+public class FileFooter {
+
+  public static final byte[] MAGIC = new byte[]{'$','F','T','R'};
+  public static final byte VERSION = 1;
+  public static final int TRAILER_SIZE = Integer.BYTES + MAGIC.length;
+
+  private static final int BODY_HEADER_SIZE = MAGIC.length + Byte.BYTES + Integer.BYTES;
+  private static final int ENTRY_HEADER_SIZE = Long.BYTES + Integer.BYTES * 4;
+
+  private final List<BlockEntry> blockEntryList = new ArrayList<BlockEntry>();
+
+  public static class BlockEntry {
+    public final long offset;
+    public final int length;
+    public final int spreadCount;
+    public final int rowCount;
+    public final byte[] blockIndexBinary;
+
+    /**
+     * Set the position of the block in the file and its block index.
+     * If the block writer does not provide the block index, blockIndexBinary is empty.
+     */
+    public BlockEntry(
+        final long offset ,
+        final int length ,
+        final int spreadCount ,
+        final int rowCount ,
+        final byte[] blockIndexBinary ) {
+      this.offset = offset;
+      this.length = length;
+      this.spreadCount = spreadCount;
+      this.rowCount = rowCount;
+      this.blockIndexBinary = blockIndexBinary;
+    }
+
+    public boolean hasBlockIndex() {
+      return blockIndexBinary.length != 0;
+    }
+
+    /**
+     * Get the block index of the block, or null if the footer does not have it.
+     */
+    public BlockIndexNode getBlockIndexNode() throws IOException {
+      if ( ! hasBlockIndex() ) {
+        return null;
+      }
+      return BlockIndexNode.createFromBinary( blockIndexBinary , 0 );
+    }
+  }
+
+  public void add( final BlockEntry blockEntry ) {
+    blockEntryList.add( blockEntry );
+  }
+
+  public List<BlockEntry> getBlockEntryList() {
+    return blockEntryList;
+  }
+
+  /**
+   * Get the size of the footer including the trailer.
+   */
+  public int getBinarySize() {
+    int length = BODY_HEADER_SIZE;
+    for ( BlockEntry blockEntry : blockEntryList ) {
+      length += getEntrySize( blockEntry.blockIndexBinary );
+    }
+    return length + TRAILER_SIZE;
+  }
+
+  /**
+   * Get the size that a block entry with the block index adds to the footer.
+   */
+  public static int getEntrySize( final byte[] blockIndexBinary ) {
+    return ENTRY_HEADER_SIZE + blockIndexBinary.length;
+  }
+
+  /**
+   * Create the binary of the footer including the trailer.
+   */
+  public byte[] toBinary() {
+    byte[] result = new byte[ getBinarySize() ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( result );
+    wrapBuffer.put( MAGIC );
+    wrapBuffer.put( VERSION );
+    wrapBuffer.putInt( blockEntryList.size() );
+    for ( BlockEntry blockEntry : blockEntryList ) {
+      wrapBuffer.putLong( blockEntry.offset );
+      wrapBuffer.putInt( blockEntry.length );
+      wrapBuffer.putInt( blockEntry.spreadCount );
+      wrapBuffer.putInt( blockEntry.rowCount );
+      wrapBuffer.putInt( blockEntry.blockIndexBinary.length );
+      wrapBuffer.put( blockEntry.blockIndexBinary );
+    }
+    wrapBuffer.putInt( result.length - TRAILER_SIZE );
+    wrapBuffer.put( MAGIC );
+    return result;
+  }
+
+  /**
+   * Get the length of the footer body from the trailer, or -1 if there is no footer.
+   */
+  public static int getFooterLength( final byte[] buffer , final int start , final int length ) {
+    if ( length < TRAILER_SIZE ) {
+      return -1;
+    }
+    int trailerStart = start + length - TRAILER_SIZE;
+    byte[] magic = Arrays.copyOfRange(
+        buffer , trailerStart + Integer.BYTES , trailerStart + TRAILER_SIZE );
+    if ( ! Arrays.equals( magic , MAGIC ) ) {
+      return -1;
+    }
+    int footerLength = ByteBuffer.wrap( buffer ).getInt( trailerStart );
+    if ( footerLength < BODY_HEADER_SIZE ) {
+      return -1;
+    }
+    return footerLength;
+  }
+
+  /**
+   * Create the footer from the body that does not include the trailer.
+   */
+  public static FileFooter createFromBinary(
+      final byte[] buffer , final int start , final int length ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer , start , length );
+    byte[] magic = new byte[MAGIC.length];
+    wrapBuffer.get( magic );
+    if ( ! Arrays.equals( magic , MAGIC ) ) {
+      throw new IOException( "Invalid footer." );
+    }
+    byte version = wrapBuffer.get();
+    if ( version != VERSION ) {
+      throw new IOException( "Unsupported footer version : " + version );
+    }
+    FileFooter result = new FileFooter();
+    int blockCount = wrapBuffer.getInt();
+    for ( int i = 0 ; i < blockCount ; i++ ) {
+      long offset = wrapBuffer.getLong();
+      int blockLength = wrapBuffer.getInt();
+      int spreadCount = wrapBuffer.getInt();
+      int rowCount = wrapBuffer.getInt();
+      byte[] blockIndexBinary = new byte[ wrapBuffer.getInt() ];
+      wrapBuffer.get( blockIndexBinary );
+      result.add(
+          new BlockEntry( offset , blockLength , spreadCount , rowCount , blockIndexBinary ) );
+    }
+    return result;
+  }
+
+  /**
+   * Read the footer from the end of the source, or return null if the file has no footer.
+   * Only the trailer is read first, so a file without a footer costs one small read.
+   */
+  public static FileFooter read( final IRangeSource source ) throws IOException {
+    long size = source.size();
+    if ( size < TRAILER_SIZE ) {
+      return null;
+    }
+    byte[] trailer = new byte[TRAILER_SIZE];
+    readFully( source , size - TRAILER_SIZE , trailer , 0 , TRAILER_SIZE );
+    int footerLength = getFooterLength( trailer , 0 , TRAILER_SIZE );
+    if ( footerLength < 0 || size < (long)footerLength + TRAILER_SIZE ) {
+      return null;
+    }
+    byte[] footer = new byte[footerLength];
+    readFully( source , size - TRAILER_SIZE - footerLength , footer , 0 , footerLength );
+    return createFromBinary( footer , 0 , footerLength );
+  }
+
+  private static void readFully(
+      final IRangeSource source ,
+      final long position ,
+      final byte[] buffer ,
+      final int start ,
+      final int length ) throws IOException {
+    int readLength = 0;
+    while ( readLength < length ) {
+      int currentLength = source.read(
+          position + readLength , buffer , start + readLength , length - readLength );
+      if ( currentLength < 0 ) {
+        throw new IOException( "Unexpected end of the file." );
+      }
+      readLength += currentLength;
+    }
+  }
+
+}
@@ -19,6 +19,8 @@
 package jp.co.yahoo.yosegi.block;
 
 import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryCache;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.config.Configuration;
 import jp.co.yahoo.yosegi.spread.Spread;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionNode;
@@ -38,6 +40,42 @@ public interface IBlockReader {
 
   void setStream( final InputStream in , final int blockSize ) throws IOException;
 
+  /**
+   * Read the block that is identified by the file and the offset in the file.
+   * Only readers that use the cache need the identity of the block.
+   */
+  default void setStream(
+      final InputStream in ,
+      final int blockSize ,
+      final String fileId ,
+      final long blockOffset ) throws IOException {
+    setStream( in , blockSize );
+  }
+
+  default void setColumnBinaryCache( final ColumnBinaryCache cache ) {}
+
+  default boolean canSkipBlock( final BlockIndexNode blockIndexNode ) throws IOException {
+    return canSkipRewrittenBlock( rewriteBlockIndexNode( blockIndexNode ) );
+  }
+
+  /**
+   * Get the key that identifies how the block index is rewritten by this reader,
+   * or null if the rewritten block index must not be shared with other readers.
+   */
+  default String getBlockIndexRewriteKey() {
+    return null;
+  }
+
+  default BlockIndexNode rewriteBlockIndexNode(
+      final BlockIndexNode blockIndexNode ) throws IOException {
+    return blockIndexNode;
+  }
+
+  default boolean canSkipRewrittenBlock(
+      final BlockIndexNode blockIndexNode ) throws IOException {
+    return false;
+  }
+
   boolean hasNext() throws IOException;
 
   Spread next() throws IOException;
@@ -47,6 +47,10 @@ public interface IBlockWriter {
 
   String getReaderClassName();
 
+  default byte[] getLastBlockIndexBinary() {
+    return new byte[0];
+  }
+
   void close() throws IOException;
 
 }
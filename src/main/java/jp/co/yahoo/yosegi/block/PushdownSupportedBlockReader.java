@@ -19,6 +19,7 @@
 package jp.co.yahoo.yosegi.block;
 
 import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryCache;
 import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
@@ -26,6 +27,8 @@ import jp.co.yahoo.yosegi.compressor.CompressorNameShortCut;
 import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.GzipCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.compressor.ZstdCompressor;
+import jp.co.yahoo.yosegi.compressor.ZstdDictionary;
 import jp.co.yahoo.yosegi.config.Configuration;
 import jp.co.yahoo.yosegi.spread.Spread;
 import jp.co.yahoo.yosegi.spread.expand.ExpandFunctionFactory;
@@ -47,6 +50,8 @@ import java.util.Set;
 
 public class PushdownSupportedBlockReader implements IBlockReader {
 
+  public static final int DEFAULT_READ_MERGE_GAP_SIZE = 64 * 1024;
+
   private final Block block;
   private final ColumnBinaryTree columnBinaryTree = new ColumnBinaryTree();
   private final List<Integer> spreadSizeList = new ArrayList<Integer>();
@@ -57,8 +62,13 @@ public class PushdownSupportedBlockReader implements IBlockReader {
   private ICompressor compressor = new GzipCompressor();
   private IExpandFunction expandFunction;
   private IFlattenFunction flattenFunction;
+  private String blockIndexRewriteKey;
   private BlockIndexNode blockIndexNode = new BlockIndexNode();
   private IExpressionNode blockSkipIndex;
+  private ColumnBinaryCache columnBinaryCache;
+  private String fileId;
+  private long blockOffset;
+  private BlockReadPlanner readPlanner = new BlockReadPlanner( DEFAULT_READ_MERGE_GAP_SIZE );
 
   public PushdownSupportedBlockReader() {
     block = new Block();
@@ -79,6 +89,13 @@ public class PushdownSupportedBlockReader implements IBlockReader {
   public void setup( final Configuration config ) throws IOException {
     expandFunction = ExpandFunctionFactory.get( config );
     flattenFunction = FlattenFunctionFactory.get( config );
+    // The flatten of the block index is limited to the columns to read.
+    blockIndexRewriteKey = String.join( "\u0000" ,
+        config.get( "spread.reader.expand.column" , "" ) ,
+        config.get( "spread.reader.flatten.column" , "" ) ,
+        config.get( "spread.reader.read.column.names" , "" ) );
+    readPlanner = new BlockReadPlanner(
+        config.getInt( "spread.reader.read.merge.gap.size" , DEFAULT_READ_MERGE_GAP_SIZE ) );
 
     columnFilterNode = new ColumnNameNode( "root" );
     List<String[]> needColumnList =
@@ -135,6 +152,59 @@ public class PushdownSupportedBlockReader implements IBlockReader {
     this.blockSkipIndex = blockSkipIndex;
   }
 
+  private List<Integer> getBlockSpreadIndex(
+      final BlockIndexNode blockIndexNode ) throws IOException {
+    return getRewrittenBlockSpreadIndex( rewriteBlockIndexNode( blockIndexNode ) );
+  }
+
+  private List<Integer> getRewrittenBlockSpreadIndex(
+      final BlockIndexNode blockIndexNode ) throws IOException {
+    if ( blockSkipIndex == null ) {
+      return null;
+    }
+    return blockSkipIndex.getBlockSpreadIndex( blockIndexNode );
+  }
+
+  @Override
+  public String getBlockIndexRewriteKey() {
+    return blockIndexRewriteKey;
+  }
+
+  @Override
+  public BlockIndexNode rewriteBlockIndexNode(
+      final BlockIndexNode blockIndexNode ) throws IOException {
+    expandFunction.expandIndexNode( blockIndexNode );
+    flattenFunction.flattenIndexNode( blockIndexNode );
+    return blockIndexNode;
+  }
+
+  @Override
+  public boolean canSkipRewrittenBlock(
+      final BlockIndexNode blockIndexNode ) throws IOException {
+    List<Integer> blockIndexList = getRewrittenBlockSpreadIndex( blockIndexNode );
+    return blockIndexList != null && blockIndexList.isEmpty();
+  }
+
+  @Override
+  public void setColumnBinaryCache( final ColumnBinaryCache cache ) {
+    columnBinaryCache = cache;
+  }
+
+  @Override
+  public void setStream(
+      final InputStream in ,
+      final int blockSize ,
+      final String fileId ,
+      final long blockOffset ) throws IOException {
+    this.fileId = fileId;
+    this.blockOffset = blockOffset;
+    try {
+      setStream( in , blockSize );
+    } finally {
+      this.fileId = null;
+    }
+  }
+
   @Override
   public void setStream( final InputStream in , final int blockSize ) throws IOException {
     clear();
@@ -153,13 +223,7 @@ public class PushdownSupportedBlockReader implements IBlockReader {
     InputStreamUtils.read( in , blockIndexBinary , 0 , blockIndexBinary.length );
 
     blockIndexNode = BlockIndexNode.createFromBinary( blockIndexBinary , 0 );
-    expandFunction.expandIndexNode( blockIndexNode );
-    flattenFunction.flattenIndexNode( blockIndexNode );
-
-    List<Integer> blockIndexList = null;
-    if ( blockSkipIndex != null ) {
-      blockIndexList = blockSkipIndex.getBlockSpreadIndex( blockIndexNode );
-    }
+    List<Integer> blockIndexList = getBlockSpreadIndex( blockIndexNode );
     if ( blockIndexList != null && blockIndexList.isEmpty() ) {
       InputStreamUtils.skip(
           in , blockSize - ( 4 + compressorClassLength + 4 + blockIndexBinary.length ) );
@@ -207,7 +271,16 @@ public class PushdownSupportedBlockReader implements IBlockReader {
     int decompressSize = compressor.getDecompressSize( metaBytes , 0 , metaLength );
     byte[] metaBinary = new byte[decompressSize];
     int binaryLength = compressor.decompressAndSet(  metaBytes , 0 , metaLength , metaBinary );
-    columnBinaryTree.toColumnBinaryTree( metaBinary , 0 , spreadIndexDict );
+    int metaOffset = columnBinaryTree.toColumnBinaryTree( metaBinary , 0 , spreadIndexDict );
+    if ( metaOffset < binaryLength ) {
+      // The zstd dictionaries of this block follow the column tree.
+      columnBinaryTree.setCompressor( new ZstdCompressor( ZstdDictionary.createFromBinary(
+          metaBinary , metaOffset , binaryLength - metaOffset ) ) );
+    }
+    boolean useCache = columnBinaryCache != null && fileId != null;
+    if ( useCache ) {
+      columnBinaryTree.setColumnBinaryCache( columnBinaryCache , fileId , blockOffset );
+    }
 
     block.setColumnBinaryTree( columnBinaryTree );
 
@@ -220,16 +293,13 @@ public class PushdownSupportedBlockReader implements IBlockReader {
     List<BlockReadOffset> readOffsetList = columnBinaryTree.getBlockReadOffset();
     Collections.sort( readOffsetList );
 
-    int inOffset = 0;
-    for ( BlockReadOffset blockReadOffset : readOffsetList ) {
-      inOffset += InputStreamUtils.skip( in , blockReadOffset.streamStart - inOffset );
-      inOffset = blockReadOffset.streamStart;
-      inOffset += InputStreamUtils.read(
-          in , blockReadOffset.buffer , blockReadOffset.bufferStart , blockReadOffset.length );
-    }
+    int inOffset = readPlanner.read( in , readOffsetList );
     if ( inOffset < dataBufferLength ) {
       inOffset += InputStreamUtils.skip( in , dataBufferLength - inOffset );
     }
+    if ( useCache ) {
+      columnBinaryTree.putColumnBinaryCache();
+    }
 
     readCount = 0;
   }
@@ -23,15 +23,22 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.optimizer.AdaptiveBinaryMakerOptimizer;
 import jp.co.yahoo.yosegi.binary.optimizer.BinaryMakerOptimizer;
+import jp.co.yahoo.yosegi.binary.optimizer.CompressorOptimizer;
 import jp.co.yahoo.yosegi.binary.optimizer.FindOptimizerFactory;
 import jp.co.yahoo.yosegi.binary.optimizer.IOptimizerFactory;
+import jp.co.yahoo.yosegi.binary.optimizer.ZstdDictionaryOptimizer;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.compressor.CompressionPolicy;
 import jp.co.yahoo.yosegi.compressor.CompressorNameShortCut;
+import jp.co.yahoo.yosegi.compressor.DataType;
 import jp.co.yahoo.yosegi.compressor.DefaultCompressor;
 import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.GzipCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.compressor.ZstdCompressor;
+import jp.co.yahoo.yosegi.compressor.ZstdDictionary;
 import jp.co.yahoo.yosegi.config.Configuration;
 import jp.co.yahoo.yosegi.message.parser.IParser;
 import jp.co.yahoo.yosegi.message.parser.json.JacksonMessageReader;
@@ -44,7 +51,14 @@ import jp.co.yahoo.yosegi.util.ByteArrayData;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class PushdownSupportedBlockWriter implements IBlockWriter {
 
@@ -52,19 +66,28 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
 
   private final List<Integer> spreadSizeList = new ArrayList<Integer>();
   private final BlockIndexNode blockIndexNode = new BlockIndexNode();
+  private final Map<Long,ZstdDictionary> blockDictionaryMap =
+      new LinkedHashMap<Long,ZstdDictionary>();
 
   private ColumnBinaryMakerCustomConfigNode configNode;
   private ByteArrayData dataBuffer;
   private ByteArrayData metaBuffer;
+  private ByteArrayData compressedMetaBuffer;
   private int blockSize;
   private ColumnBinaryTree columnTree;
   private boolean makeCustomConfig;
   private IOptimizerFactory optimizerFactory;
+  private CompressorOptimizer compressorOptimizer;
+  private AdaptiveBinaryMakerOptimizer adaptiveOptimizer;
+  private ZstdDictionaryOptimizer dictionaryOptimizer;
   private ICompressor compressor;
   private byte[] compressorClassNameBytes;
 
   private byte[] headerBytes;
+  private byte[] lastBlockIndexBinary = new byte[0];
   private int bufferSize;
+  private int dictionaryBinarySize;
+  private ExecutorService executor;
 
   /**
    * Define the required initial value.
@@ -79,13 +102,26 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
   public void setup( final int blockSize , final Configuration config ) throws IOException {
     this.blockSize = blockSize;
     spreadSizeList.clear();
+    blockDictionaryMap.clear();
+    dictionaryBinarySize = 0;
 
     ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
     if ( config.containsKey( "spread.column.maker.default.compress.class" ) ) {
       defaultConfig.compressorClass =
           FindCompressor.get( config.get( "spread.column.maker.default.compress.class" ) );
     }
+    if ( config.containsKey( "spread.column.maker.default.compression.policy" ) ) {
+      defaultConfig.compressionPolicy = CompressionPolicy.valueOf(
+          config.get( "spread.column.maker.default.compression.policy" ) );
+    }
+
+    defaultConfig.bitPackDictionaryIndex = config.get(
+        "spread.column.maker.default.bit.pack.dictionary.index" , "false" ).equals( "true" );
+    defaultConfig.bitPackNullFlags = config.get(
+        "spread.column.maker.default.bit.pack.null.flags" , "false" ).equals( "true" );
 
+    compressorOptimizer = null;
+    adaptiveOptimizer = null;
     if ( config.containsKey( "spread.column.maker.setting" ) ) {
       JacksonMessageReader jsonReader = new JacksonMessageReader();
       IParser jsonParser = jsonReader.create( config.get( "spread.column.maker.setting" ) );
@@ -96,12 +132,26 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
           "spread.column.maker.use.auto.optimizer.factory.class" ,
           "jp.co.yahoo.yosegi.binary.optimizer.DefaultOptimizerFactory" ) , config );
       configNode = new ColumnBinaryMakerCustomConfigNode( "root" , defaultConfig );
+      if ( config.get(
+          "spread.column.maker.use.compressor.optimizer" , "false" ).equals( "true" ) ) {
+        compressorOptimizer = new CompressorOptimizer( config );
+      }
+      if ( config.get(
+          "spread.column.maker.auto.optimizer.reoptimize" , "false" ).equals( "true" ) ) {
+        adaptiveOptimizer =
+            new AdaptiveBinaryMakerOptimizer( config , optimizerFactory , compressorOptimizer );
+      }
     } else {
       configNode = new ColumnBinaryMakerCustomConfigNode( "root" , defaultConfig );
     }
+    dictionaryOptimizer = null;
+    if ( config.get( "spread.column.maker.use.zstd.dictionary" , "false" ).equals( "true" ) ) {
+      dictionaryOptimizer = new ZstdDictionaryOptimizer( config );
+    }
 
     dataBuffer = new ByteArrayData( blockSize );
     metaBuffer = new ByteArrayData( blockSize );
+    compressedMetaBuffer = new ByteArrayData();
     columnTree = new ColumnBinaryTree();
 
     bufferSize = 0;
@@ -111,6 +161,20 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
         "jp.co.yahoo.yosegi.compressor.DefaultCompressor" ) );
     compressorClassNameBytes = CompressorNameShortCut.getShortCutName(
         compressor.getClass().getName() ).getBytes( "UTF-8" );
+
+    blockIndexNode.setBloomFilterFpp( config.getDouble( "block.index.bloom.filter.fpp" , 0 ) );
+    blockIndexNode.setSpreadRangeIndex(
+        config.get( "block.index.spread.range" , "true" ).equals( "true" ) );
+
+    shutdownExecutor();
+    int parallelism = config.getInt( "block.maker.parallelism" , 1 );
+    if ( 1 < parallelism ) {
+      executor = Executors.newFixedThreadPool( parallelism , runnable -> {
+        Thread thread = new Thread( runnable , "yosegi-column-maker" );
+        thread.setDaemon( true );
+        return thread;
+      } );
+    }
   }
 
   @Override
@@ -144,6 +208,8 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
       }
     }
     bufferSize += getColumnBinarySize( binaryList ) + Integer.BYTES * 2;
+    findDictionary( binaryList , blockDictionaryMap );
+    dictionaryBinarySize = getDictionaryBinarySize( blockDictionaryMap );
     spreadSizeList.add( spreadSize );
 
     columnTree.addChild( binaryList );
@@ -154,33 +220,139 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
 
   @Override
   public List<ColumnBinary> convertRow( final Spread spread ) throws IOException {
-    if ( makeCustomConfig ) {
+    if ( adaptiveOptimizer != null ) {
+      adaptiveOptimizer.optimize( configNode , spread );
+    } else if ( makeCustomConfig ) {
       List<IColumnAnalizeResult> analizeResultList = Analyzer.analize( spread );
       BinaryMakerOptimizer optimizer = new BinaryMakerOptimizer( analizeResultList );
       configNode = optimizer.createConfigNode( configNode.getCurrentConfig() , optimizerFactory );
+      if ( compressorOptimizer != null ) {
+        compressorOptimizer.optimize( configNode , spread );
+      }
       makeCustomConfig = false;
     }
-    List<ColumnBinary> result = new ArrayList<ColumnBinary>();
+    if ( dictionaryOptimizer != null ) {
+      dictionaryOptimizer.optimize( configNode , spread );
+    }
+    List<ColumnBinary> result;
+    if ( executor != null && 1 < spread.getColumnSize() ) {
+      result = convertRowParallel( spread );
+    } else {
+      result = new ArrayList<ColumnBinary>();
+      for ( int i = 0 ; i < spread.getColumnSize() ; i++ ) {
+        result.add( toColumnBinary( spread.getColumn( i ) ) );
+      }
+    }
+    if ( dictionaryOptimizer != null && dictionaryOptimizer.getDecompressor() != null ) {
+      setDictionaryCompressor( result , dictionaryOptimizer.getDecompressor() );
+    }
+    return result;
+  }
+
+  /**
+   * Set the compressor that has the trained dictionaries to the zstd columns,
+   * so the dictionaries are stored in the block and the columns can be decompressed.
+   */
+  private void setDictionaryCompressor(
+      final List<ColumnBinary> binaryList , final ZstdCompressor decompressor ) {
+    String compressorClassName = ZstdCompressor.class.getName();
+    for ( ColumnBinary columnBinary : binaryList ) {
+      if ( columnBinary == null ) {
+        continue;
+      }
+      if ( compressorClassName.equals( columnBinary.compressorClassName ) ) {
+        columnBinary.setCompressor( decompressor );
+      }
+      if ( columnBinary.columnBinaryList != null ) {
+        setDictionaryCompressor( columnBinary.columnBinaryList , decompressor );
+      }
+    }
+  }
+
+  /**
+   * Add the zstd dictionaries that the columns need to the map.
+   * The columns read from another file have the dictionaries of their block.
+   */
+  private void findDictionary(
+      final List<ColumnBinary> binaryList ,
+      final Map<Long,ZstdDictionary> dictionaryMap ) throws IOException {
+    for ( ColumnBinary columnBinary : binaryList ) {
+      if ( columnBinary == null ) {
+        continue;
+      }
+      ICompressor columnCompressor = columnBinary.getCompressor();
+      if ( columnCompressor instanceof ZstdCompressor ) {
+        ZstdCompressor zstdCompressor = (ZstdCompressor)columnCompressor;
+        for ( ZstdDictionary dictionary : zstdCompressor.getDictionaryList() ) {
+          ZstdDictionary current = dictionaryMap.putIfAbsent(
+              Long.valueOf( dictionary.getId() ) , dictionary );
+          if ( current != null && current != dictionary && ! current.isSame( dictionary ) ) {
+            throw new IOException(
+                "Different zstd dictionaries have the same id : " + dictionary.getId() );
+          }
+        }
+      }
+      if ( columnBinary.columnBinaryList != null ) {
+        findDictionary( columnBinary.columnBinaryList , dictionaryMap );
+      }
+    }
+  }
+
+  private int getDictionaryBinarySize( final Map<Long,ZstdDictionary> dictionaryMap ) {
+    if ( dictionaryMap.isEmpty() ) {
+      return 0;
+    }
+    return ZstdDictionary.getBinarySize( new ArrayList<ZstdDictionary>( dictionaryMap.values() ) );
+  }
+
+  private List<ColumnBinary> convertRowParallel( final Spread spread ) throws IOException {
+    List<Future<ColumnBinary>> futureList = new ArrayList<Future<ColumnBinary>>();
     for ( int i = 0 ; i < spread.getColumnSize() ; i++ ) {
       IColumn column = spread.getColumn( i );
-      ColumnBinaryMakerConfig commonConfig = configNode.getCurrentConfig();
-      ColumnBinaryMakerCustomConfigNode childConfigNode =
-          configNode.getChildConfigNode( column.getColumnName() );
-      IColumnBinaryMaker maker = commonConfig.getColumnMaker( column.getColumnType() );
-      if ( childConfigNode != null ) {
-        maker = childConfigNode.getCurrentConfig().getColumnMaker( column.getColumnType() );
+      futureList.add( executor.submit( () -> toColumnBinary( column ) ) );
+    }
+    List<ColumnBinary> result = new ArrayList<ColumnBinary>();
+    try {
+      for ( Future<ColumnBinary> future : futureList ) {
+        result.add( future.get() );
+      }
+    } catch ( InterruptedException ex ) {
+      Thread.currentThread().interrupt();
+      throw new IOException( ex );
+    } catch ( ExecutionException ex ) {
+      if ( ex.getCause() instanceof IOException ) {
+        throw (IOException)ex.getCause();
+      }
+      throw new IOException( ex.getCause() );
+    } finally {
+      for ( Future<ColumnBinary> future : futureList ) {
+        future.cancel( true );
       }
-      result.add( maker.toBinary( commonConfig , childConfigNode , column ) );
     }
     return result;
   }
 
+  private ColumnBinary toColumnBinary( final IColumn column ) throws IOException {
+    ColumnBinaryMakerConfig commonConfig = configNode.getCurrentConfig();
+    ColumnBinaryMakerCustomConfigNode childConfigNode =
+        configNode.getChildConfigNode( column.getColumnName() );
+    IColumnBinaryMaker maker = commonConfig.getColumnMaker( column.getColumnType() );
+    if ( childConfigNode != null ) {
+      maker = childConfigNode.getCurrentConfig().getColumnMaker( column.getColumnType() );
+    }
+    return maker.toBinary( commonConfig , childConfigNode , column );
+  }
+
   @Override
   public boolean canAppend( final List<ColumnBinary> binaryList ) throws IOException {
     int length = getColumnBinarySize( binaryList );
+    Map<Long,ZstdDictionary> dictionaryMap =
+        new LinkedHashMap<Long,ZstdDictionary>( blockDictionaryMap );
+    findDictionary( binaryList , dictionaryMap );
     int currentSize = 
         size()
         + length
+        + ( getDictionaryBinarySize( dictionaryMap ) - dictionaryBinarySize )
         + Integer.BYTES
         + Integer.BYTES
         + ( Integer.BYTES * spreadSizeList.size() + 1 );
@@ -193,6 +365,7 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
       return
           headerBytes.length
           + bufferSize
+          + dictionaryBinarySize
           + META_BUFFER_SIZE
           + Integer.BYTES
           + compressorClassNameBytes.length
@@ -226,19 +399,29 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
     int metaLength = 4 + compressorClassNameBytes.length + 4;
     blockIndexBuffer.putInt( blockIndexBinary.length - metaLength );
     blockIndexNode.toBinary( blockIndexBinary , metaLength );
+    lastBlockIndexBinary =
+        Arrays.copyOfRange( blockIndexBinary , metaLength , blockIndexBinary.length );
     appendHeader( blockIndexBinary );
     blockIndexNode.clear();
 
     columnTree.create( metaBuffer , dataBuffer );
+    if ( ! blockDictionaryMap.isEmpty() ) {
+      // Old readers ignore the data after the column tree in the meta.
+      ZstdDictionary.appendBinary(
+          new ArrayList<ZstdDictionary>( blockDictionaryMap.values() ) , metaBuffer );
+    }
 
-    byte[] metaBinary = compressor.compress( metaBuffer.getBytes() , 0 , metaBuffer.getLength() );
+    compressedMetaBuffer.clear();
+    compressor.compressAndAppend( metaBuffer.getBytes() , 0 , metaBuffer.getLength() ,
+        DataType.TEXT , compressedMetaBuffer );
+    int metaBinaryLength = compressedMetaBuffer.getLength();
 
     byte[] result;
     if ( dataSize == -1 ) {
       result = new byte[
           headerBytes.length
           + dataBuffer.getLength()
-          + metaBinary.length
+          + metaBinaryLength
           + Integer.BYTES
           + Integer.BYTES
           + ( Integer.BYTES * spreadSizeList.size() ) ];
@@ -258,22 +441,29 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
       offset += Integer.BYTES;
     }
 
-    wrapBuffer.putInt( offset , metaBinary.length );
+    wrapBuffer.putInt( offset , metaBinaryLength );
     offset += Integer.BYTES;
 
-    System.arraycopy( metaBinary , 0 , result , offset , metaBinary.length );
-    offset += metaBinary.length;
+    System.arraycopy( compressedMetaBuffer.getBytes() , 0 , result , offset , metaBinaryLength );
+    offset += metaBinaryLength;
     System.arraycopy( dataBuffer.getBytes() , 0 , result , offset , dataBuffer.getLength() );
 
     spreadSizeList.clear();
     dataBuffer.clear();
     metaBuffer.clear();
     columnTree.clear();
+    blockDictionaryMap.clear();
+    dictionaryBinarySize = 0;
     headerBytes = new byte[0];
     bufferSize = 0;
     return result;
   }
 
+  @Override
+  public byte[] getLastBlockIndexBinary() {
+    return lastBlockIndexBinary;
+  }
+
   @Override
   public String getReaderClassName() {
     return PushdownSupportedBlockReader.class.getName();
@@ -285,7 +475,17 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
     dataBuffer.clear();
     metaBuffer.clear();
     columnTree.clear();
+    blockDictionaryMap.clear();
+    dictionaryBinarySize = 0;
     bufferSize = 0;
+    shutdownExecutor();
+  }
+
+  private void shutdownExecutor() {
+    if ( executor != null ) {
+      executor.shutdownNow();
+      executor = null;
+    }
   }
 
   private int getRegisterSpreadCount() {
@@ -29,6 +29,8 @@ public class BlockIndexNode {
 
   private IBlockIndex blockIndex;
   private boolean isDisable;
+  private double bloomFilterFpp;
+  private boolean isSpreadRangeIndex;
 
   public BlockIndexNode() {
     childContainer = new HashMap<String,BlockIndexNode>();
@@ -44,12 +46,30 @@ public class BlockIndexNode {
     if ( this.blockIndex == null ) {
       this.blockIndex = blockIndex;
     } else {
-      if ( ! this.blockIndex.merge( blockIndex ) ) {
+      if ( this.blockIndex.merge( blockIndex ) ) {
+        return;
+      }
+      if ( blockIndex.getBlockIndexType() == BlockIndexType.BLOOM_FILTER
+          && blockIndex.merge( this.blockIndex ) ) {
+        this.blockIndex = blockIndex;
+      } else {
         disable();
       }
     }
   }
 
+  /**
+   * Set the Index of the spread to this Node.
+   * If the range of each spread is kept, the index is stored with the spread index.
+   */
+  public void setBlockIndex( final IBlockIndex blockIndex , final int spreadIndex ) {
+    if ( isSpreadRangeIndex && FullRangeBlockIndex.isSupported( blockIndex.getBlockIndexType() ) ) {
+      setBlockIndex( new FullRangeBlockIndex( spreadIndex , blockIndex ) );
+    } else {
+      setBlockIndex( blockIndex );
+    }
+  }
+
   /**
    * Invalidate Index of this Node.
    */
@@ -69,12 +89,40 @@ public class BlockIndexNode {
     return blockIndex;
   }
 
+  /**
+   * Set the false positive rate of the BloomFilter created by the writer.
+   * If it is 0 or less, BloomFilter is not created.
+   * The child nodes created after this call inherit the setting.
+   */
+  public void setBloomFilterFpp( final double bloomFilterFpp ) {
+    this.bloomFilterFpp = bloomFilterFpp;
+  }
+
+  public double getBloomFilterFpp() {
+    return bloomFilterFpp;
+  }
+
+  /**
+   * Set whether the writer keeps the range of each spread.
+   * The child nodes created after this call inherit the setting.
+   */
+  public void setSpreadRangeIndex( final boolean isSpreadRangeIndex ) {
+    this.isSpreadRangeIndex = isSpreadRangeIndex;
+  }
+
+  public boolean isSpreadRangeIndex() {
+    return isSpreadRangeIndex;
+  }
+
   /**
    * Get the child 's BlockIndexNode from the column name.
    */
   public BlockIndexNode getChildNode( final String nodeName ) {
     if ( ! childContainer.containsKey( nodeName ) ) {
-      childContainer.put( nodeName , new BlockIndexNode() );
+      BlockIndexNode childNode = new BlockIndexNode();
+      childNode.setBloomFilterFpp( bloomFilterFpp );
+      childNode.setSpreadRangeIndex( isSpreadRangeIndex );
+      childContainer.put( nodeName , childNode );
     }
     return childContainer.get( nodeName );
   }
@@ -31,4 +31,6 @@ public enum BlockIndexType {
   RANGE_FLOAT,
   RANGE_DOUBLE,
 
+  BLOOM_FILTER,
+
 }
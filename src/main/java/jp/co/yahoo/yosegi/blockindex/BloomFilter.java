@@ -0,0 +1,164 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.blockindex;
+
+import java.nio.ByteBuffer;
+
+public class BloomFilter {
+
+  private static final double LN2 = Math.log( 2 );
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final int hashCount;
+  private final long[] bits;
+  private final long bitSize;
+
+  /**
+   * Create a filter sized for the number of values and the false positive rate.
+   */
+  public BloomFilter( final int expectedCount , final double falsePositiveRate ) {
+    if ( falsePositiveRate <= 0 || 1 <= falsePositiveRate ) {
+      throw new IllegalArgumentException(
+          "False positive rate must be between 0 and 1 : " + falsePositiveRate );
+    }
+    int count = Math.max( expectedCount , 1 );
+    long optimalBits = (long)Math.ceil( - count * Math.log( falsePositiveRate ) / ( LN2 * LN2 ) );
+    int wordCount = (int)Math.max( 1 , ( optimalBits + Long.SIZE - 1 ) / Long.SIZE );
+    this.bits = new long[wordCount];
+    this.bitSize = (long)wordCount * Long.SIZE;
+    this.hashCount = Math.max( 1 , (int)Math.round( (double)bitSize / count * LN2 ) );
+  }
+
+  /**
+   * Create a filter from the serialized bit array.
+   */
+  public BloomFilter( final int hashCount , final long[] bits ) {
+    this.hashCount = hashCount;
+    this.bits = bits;
+    this.bitSize = (long)bits.length * Long.SIZE;
+  }
+
+  public int getHashCount() {
+    return hashCount;
+  }
+
+  public long getBitSize() {
+    return bitSize;
+  }
+
+  public void addLong( final long value ) {
+    add( hashLong( value ) );
+  }
+
+  public void addBytes( final byte[] value , final int start , final int length ) {
+    add( hashBytes( value , start , length ) );
+  }
+
+  public boolean mightContainLong( final long value ) {
+    return mightContain( hashLong( value ) );
+  }
+
+  public boolean mightContainBytes( final byte[] value , final int start , final int length ) {
+    return mightContain( hashBytes( value , start , length ) );
+  }
+
+  private void add( final long hash ) {
+    int hash1 = (int)hash;
+    int hash2 = (int)( hash >>> 32 );
+    for ( int i = 1 ; i <= hashCount ; i++ ) {
+      long bitIndex = getBitIndex( hash1 , hash2 , i );
+      bits[(int)( bitIndex >>> 6 )] |= 1L << bitIndex;
+    }
+  }
+
+  private boolean mightContain( final long hash ) {
+    int hash1 = (int)hash;
+    int hash2 = (int)( hash >>> 32 );
+    for ( int i = 1 ; i <= hashCount ; i++ ) {
+      long bitIndex = getBitIndex( hash1 , hash2 , i );
+      if ( ( bits[(int)( bitIndex >>> 6 )] & ( 1L << bitIndex ) ) == 0 ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private long getBitIndex( final int hash1 , final int hash2 , final int index ) {
+    int combinedHash = hash1 + ( index * hash2 );
+    if ( combinedHash < 0 ) {
+      combinedHash = ~combinedHash;
+    }
+    return combinedHash % bitSize;
+  }
+
+  /**
+   * Calculate the hash of the byte array with FNV-1a and a final bit mix.
+   */
+  public static long hashBytes( final byte[] value , final int start , final int length ) {
+    long hash = FNV_OFFSET_BASIS;
+    for ( int i = start ; i < start + length ; i++ ) {
+      hash ^= value[i] & 0xff;
+      hash *= FNV_PRIME;
+    }
+    return mix( hash );
+  }
+
+  public static long hashLong( final long value ) {
+    return mix( value );
+  }
+
+  private static long mix( final long value ) {
+    long hash = value;
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  public int getBinarySize() {
+    return Integer.BYTES * 2 + Long.BYTES * bits.length;
+  }
+
+  /**
+   * Write this filter to the buffer.
+   */
+  public void toBinary( final ByteBuffer wrapBuffer ) {
+    wrapBuffer.putInt( hashCount );
+    wrapBuffer.putInt( bits.length );
+    for ( long word : bits ) {
+      wrapBuffer.putLong( word );
+    }
+  }
+
+  /**
+   * Read a filter from the buffer.
+   */
+  public static BloomFilter createFromBinary( final ByteBuffer wrapBuffer ) {
+    int hashCount = wrapBuffer.getInt();
+    long[] bits = new long[wrapBuffer.getInt()];
+    for ( int i = 0 ; i < bits.length ; i++ ) {
+      bits[i] = wrapBuffer.getLong();
+    }
+    return new BloomFilter( hashCount , bits );
+  }
+
+}
@@ -0,0 +1,276 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.blockindex;
+
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.IStringDictionaryFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.IStringFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.yosegi.spread.column.filter.StringFilterType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Range index with a BloomFilter for each spread in the block.
+ * The range index is checked first, then the filters of each spread
+ * are checked for equality conditions.
+ */
+public class BloomFilterBlockIndex implements IBlockIndex {
+
+  private final List<SpreadBloomFilter> childList = new ArrayList<SpreadBloomFilter>();
+
+  private IBlockIndex rangeIndex;
+  private boolean isDisableFilter;
+
+  public BloomFilterBlockIndex() {}
+
+  /**
+   * Set an initial value to create a new object.
+   */
+  public BloomFilterBlockIndex(
+      final IBlockIndex rangeIndex , final int spreadIndex , final BloomFilter bloomFilter ) {
+    getTypeToByte( rangeIndex.getBlockIndexType() );
+    this.rangeIndex = rangeIndex;
+    childList.add( new SpreadBloomFilter( spreadIndex , bloomFilter ) );
+  }
+
+  private static final class SpreadBloomFilter {
+
+    private final int index;
+    private final BloomFilter bloomFilter;
+
+    public SpreadBloomFilter( final int index , final BloomFilter bloomFilter ) {
+      this.index = index;
+      this.bloomFilter = bloomFilter;
+    }
+
+    public int getIndex() {
+      return index;
+    }
+
+    public BloomFilter getBloomFilter() {
+      return bloomFilter;
+    }
+
+  }
+
+  /**
+   * Determine the type of range index and convert it to bytes.
+   */
+  public byte getTypeToByte( final BlockIndexType type ) {
+    switch ( type ) {
+      case RANGE_STRING:
+        return 0;
+      case RANGE_BYTE:
+        return 1;
+      case RANGE_SHORT:
+        return 2;
+      case RANGE_INTEGER:
+        return 3;
+      case RANGE_LONG:
+        return 4;
+      default:
+        throw new UnsupportedOperationException( "Unsupport index type : " + type );
+    }
+  }
+
+  /**
+   * Determine byte and obtain IBlockIndex.
+   */
+  public IBlockIndex getByteToBlockIndex( final byte type ) {
+    switch ( type ) {
+      case 0:
+        return new StringRangeBlockIndex();
+      case 1:
+        return new ByteRangeBlockIndex();
+      case 2:
+        return new ShortRangeBlockIndex();
+      case 3:
+        return new IntegerRangeBlockIndex();
+      case 4:
+        return new LongRangeBlockIndex();
+      default:
+        throw new UnsupportedOperationException( "Unsupport index type" );
+    }
+  }
+
+  public IBlockIndex getRangeIndex() {
+    return rangeIndex;
+  }
+
+  public int getBloomFilterCount() {
+    return childList.size();
+  }
+
+  @Override
+  public BlockIndexType getBlockIndexType() {
+    return BlockIndexType.BLOOM_FILTER;
+  }
+
+  @Override
+  public boolean merge( final IBlockIndex blockIndex ) {
+    if ( blockIndex instanceof BloomFilterBlockIndex ) {
+      BloomFilterBlockIndex bloomFilterBlockIndex = (BloomFilterBlockIndex)blockIndex;
+      if ( ! rangeIndex.merge( bloomFilterBlockIndex.getRangeIndex() ) ) {
+        return false;
+      }
+      if ( bloomFilterBlockIndex.isDisableFilter ) {
+        disableFilter();
+      } else if ( ! isDisableFilter ) {
+        childList.addAll( bloomFilterBlockIndex.childList );
+      }
+      return true;
+    }
+    // A spread without a filter can not be excluded by the filter,
+    // so only the range of the block is kept.
+    if ( ! rangeIndex.merge( blockIndex ) ) {
+      return false;
+    }
+    disableFilter();
+    return true;
+  }
+
+  private void disableFilter() {
+    childList.clear();
+    isDisableFilter = true;
+  }
+
+  @Override
+  public int getBinarySize() {
+    int total = Byte.BYTES + Integer.BYTES + rangeIndex.getBinarySize() + Integer.BYTES;
+    for ( SpreadBloomFilter child : childList ) {
+      total += Integer.BYTES + child.getBloomFilter().getBinarySize();
+    }
+    return total;
+  }
+
+  @Override
+  public byte[] toBinary() {
+    byte[] result = new byte[getBinarySize()];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( result );
+    byte[] rangeBinary = rangeIndex.toBinary();
+    wrapBuffer.put( getTypeToByte( rangeIndex.getBlockIndexType() ) );
+    wrapBuffer.putInt( rangeBinary.length );
+    wrapBuffer.put( rangeBinary );
+    wrapBuffer.putInt( childList.size() );
+    for ( SpreadBloomFilter child : childList ) {
+      wrapBuffer.putInt( child.getIndex() );
+      child.getBloomFilter().toBinary( wrapBuffer );
+    }
+    return result;
+  }
+
+  @Override
+  public void setFromBinary( final byte[] buffer , final int start , final int length ) {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer , start , length );
+    rangeIndex = getByteToBlockIndex( wrapBuffer.get() );
+    byte[] rangeBinary = new byte[wrapBuffer.getInt()];
+    wrapBuffer.get( rangeBinary , 0 , rangeBinary.length );
+    rangeIndex.setFromBinary( rangeBinary , 0 , rangeBinary.length );
+    int num = wrapBuffer.getInt();
+    childList.clear();
+    for ( int i = 0 ; i < num ; i++ ) {
+      int spreadIndex = wrapBuffer.getInt();
+      childList.add( new SpreadBloomFilter(
+          spreadIndex , BloomFilter.createFromBinary( wrapBuffer ) ) );
+    }
+  }
+
+  @Override
+  public List<Integer> getBlockSpreadIndex( final IFilter filter ) {
+    List<Integer> rangeResult = rangeIndex.getBlockSpreadIndex( filter );
+    if ( rangeResult != null || childList.isEmpty() ) {
+      return rangeResult;
+    }
+    List<Integer> result = new ArrayList<Integer>();
+    switch ( filter.getFilterType() ) {
+      case STRING:
+        if ( rangeIndex.getBlockIndexType() != BlockIndexType.RANGE_STRING ) {
+          return null;
+        }
+        IStringFilter stringFilter = (IStringFilter)filter;
+        if ( stringFilter.getStringFilterType() != StringFilterType.PERFECT ) {
+          return null;
+        }
+        byte[] target = stringFilter.getSearchString().getBytes( StandardCharsets.UTF_8 );
+        for ( SpreadBloomFilter child : childList ) {
+          if ( child.getBloomFilter().mightContainBytes( target , 0 , target.length ) ) {
+            result.add( child.getIndex() );
+          }
+        }
+        break;
+      case STRING_DICTIONARY:
+        if ( rangeIndex.getBlockIndexType() != BlockIndexType.RANGE_STRING ) {
+          return null;
+        }
+        IStringDictionaryFilter stringDictionaryFilter = (IStringDictionaryFilter)filter;
+        List<byte[]> targetList = new ArrayList<byte[]>();
+        for ( String str : stringDictionaryFilter.getDictionary() ) {
+          targetList.add( str.getBytes( StandardCharsets.UTF_8 ) );
+        }
+        for ( SpreadBloomFilter child : childList ) {
+          BloomFilter bloomFilter = child.getBloomFilter();
+          for ( byte[] targetBytes : targetList ) {
+            if ( bloomFilter.mightContainBytes( targetBytes , 0 , targetBytes.length ) ) {
+              result.add( child.getIndex() );
+              break;
+            }
+          }
+        }
+        break;
+      case NUMBER:
+        if ( rangeIndex.getBlockIndexType() == BlockIndexType.RANGE_STRING ) {
+          return null;
+        }
+        NumberFilter numberFilter = (NumberFilter)filter;
+        if ( numberFilter.getNumberFilterType() != NumberFilterType.EQUAL ) {
+          return null;
+        }
+        long setNumber;
+        try {
+          setNumber = numberFilter.getNumberObject().getLong();
+        } catch ( NumberFormatException | IOException ex ) {
+          return null;
+        }
+        for ( SpreadBloomFilter child : childList ) {
+          if ( child.getBloomFilter().mightContainLong( setNumber ) ) {
+            result.add( child.getIndex() );
+          }
+        }
+        break;
+      default:
+        return null;
+    }
+    if ( result.size() == childList.size() ) {
+      return null;
+    }
+    return result;
+  }
+
+  @Override
+  public IBlockIndex getNewInstance() {
+    return new BloomFilterBlockIndex();
+  }
+
+}
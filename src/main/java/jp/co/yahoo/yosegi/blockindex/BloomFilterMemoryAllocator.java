@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.blockindex;
+
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Receives the decoded values of a column and adds them to a BloomFilter.
+ */
+public class BloomFilterMemoryAllocator implements IMemoryAllocator {
+
+  private final BloomFilter bloomFilter;
+
+  public BloomFilterMemoryAllocator( final BloomFilter bloomFilter ) {
+    this.bloomFilter = bloomFilter;
+  }
+
+  @Override
+  public void setByte( final int index , final byte value ) throws IOException {
+    bloomFilter.addLong( value );
+  }
+
+  @Override
+  public void setShort( final int index , final short value ) throws IOException {
+    bloomFilter.addLong( value );
+  }
+
+  @Override
+  public void setInteger( final int index , final int value ) throws IOException {
+    bloomFilter.addLong( value );
+  }
+
+  @Override
+  public void setLong( final int index , final long value ) throws IOException {
+    bloomFilter.addLong( value );
+  }
+
+  @Override
+  public void setBytes(
+      final int index ,
+      final byte[] value ,
+      final int start ,
+      final int length ) throws IOException {
+    bloomFilter.addBytes( value , start , length );
+  }
+
+  @Override
+  public void setString( final int index , final String value ) throws IOException {
+    byte[] utf8Bytes = value.getBytes( StandardCharsets.UTF_8 );
+    bloomFilter.addBytes( utf8Bytes , 0 , utf8Bytes.length );
+  }
+
+}
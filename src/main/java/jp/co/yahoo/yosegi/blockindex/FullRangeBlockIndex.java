@@ -34,7 +34,18 @@ public class FullRangeBlockIndex implements IBlockIndex {
    * Set an initial value to create a new object.
    */
   public FullRangeBlockIndex( final int spreadIndex , final IBlockIndex index ) {
-    switch ( index.getBlockIndexType() ) {
+    if ( ! isSupported( index.getBlockIndexType() ) ) {
+      throw new UnsupportedOperationException(
+          "Unsupport index type : " + index.getBlockIndexType() );
+    }
+    childList.add( new RangeBlockIndex( spreadIndex , index ) );
+  }
+
+  /**
+   * Determine whether the index of a spread can be held.
+   */
+  public static boolean isSupported( final BlockIndexType type ) {
+    switch ( type ) {
       case RANGE_STRING:
       case RANGE_BYTE:
       case RANGE_SHORT:
@@ -42,12 +53,11 @@ public class FullRangeBlockIndex implements IBlockIndex {
       case RANGE_LONG:
       case RANGE_FLOAT:
       case RANGE_DOUBLE:
-        break;
+      case BLOOM_FILTER:
+        return true;
       default:
-        throw new UnsupportedOperationException(
-            "Unsupport index type : " + index.getBlockIndexType() );
+        return false;
     }
-    childList.add( new RangeBlockIndex( spreadIndex , index ) );
   }
 
   private final class RangeBlockIndex {
@@ -89,6 +99,8 @@ public class FullRangeBlockIndex implements IBlockIndex {
         return 5;
       case RANGE_DOUBLE:
         return 6;
+      case BLOOM_FILTER:
+        return 7;
       default:
         throw new UnsupportedOperationException( "Unsupport index type : " + type );
     }
@@ -113,6 +125,8 @@ public class FullRangeBlockIndex implements IBlockIndex {
         return new FloatRangeBlockIndex();
       case 6:
         return new DoubleRangeBlockIndex();
+      case 7:
+        return new BloomFilterBlockIndex();
       default:
         throw new UnsupportedOperationException( "Unsupport index type"  );
     }
@@ -186,7 +200,7 @@ public class FullRangeBlockIndex implements IBlockIndex {
     List<Integer> result = new ArrayList<Integer>();
     for ( RangeBlockIndex index : childList ) {
       List<Integer> childResult = index.getBlockIndex().getBlockSpreadIndex( filter );
-      if ( childResult == null ) {
+      if ( childResult == null || ! childResult.isEmpty() ) {
         result.add( index.getIndex() );
       }
     }
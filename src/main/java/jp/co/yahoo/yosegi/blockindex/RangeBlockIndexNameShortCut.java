@@ -34,6 +34,7 @@ public final class RangeBlockIndexNameShortCut {
     CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex"   , "R6" );
 
     CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.blockindex.FullRangeBlockIndex"   , "FR0" );
+    CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex" , "BF0" );
   }
 
   private RangeBlockIndexNameShortCut() {}
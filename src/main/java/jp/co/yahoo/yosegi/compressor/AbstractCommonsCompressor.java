@@ -18,11 +18,12 @@
 
 package jp.co.yahoo.yosegi.compressor;
 
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+import jp.co.yahoo.yosegi.util.ByteArrayDataOutputStream;
 import jp.co.yahoo.yosegi.util.io.InputStreamUtils;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -41,20 +42,24 @@ public abstract class AbstractCommonsCompressor implements ICompressor {
       final int start ,
       final int length ,
       final DataType dataType ) throws IOException {
-    ByteArrayOutputStream byteArrayOut = new ByteArrayOutputStream();
-    OutputStream out = createOutputStream( byteArrayOut , dataType );
+    ByteArrayData buffer = CompressBufferPool.get();
+    compressAndAppend( data , start , length , dataType , buffer );
+    return CompressBufferPool.toByteArrayAndRelease( buffer );
+  }
 
+  @Override
+  public int compressAndAppend(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final DataType dataType ,
+      final ByteArrayData buffer ) throws IOException {
+    final int beforeLength = buffer.getLength();
+    buffer.appendInt( length );
+    OutputStream out = createOutputStream( new ByteArrayDataOutputStream( buffer ) , dataType );
     out.write( data , start , length );
     out.close();
-    byte[] compressByte = byteArrayOut.toByteArray();
-    byte[] retVal = new byte[ Integer.BYTES + compressByte.length ];
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( retVal );
-    wrapBuffer.putInt( length );
-    wrapBuffer.put( compressByte );
-
-    byteArrayOut.close();
-
-    return retVal;
+    return buffer.getLength() - beforeLength;
   }
 
   @Override
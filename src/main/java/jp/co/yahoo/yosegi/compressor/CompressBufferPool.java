@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.compressor;
+
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread work buffer for compressing to a byte array.
+ * A buffer that has grown too large is not kept so that a huge column does not
+ * pin memory for the lifetime of the thread.
+ */
+final class CompressBufferPool {
+
+  private static final int INITIAL_BUFFER_SIZE = 1024 * 64;
+  private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024 * 8;
+
+  private static final ThreadLocal<ByteArrayData> BUFFER =
+      ThreadLocal.withInitial( () -> new ByteArrayData( INITIAL_BUFFER_SIZE ) );
+  private static final ThreadLocal<ByteArrayData> BINARY_BUFFER =
+      ThreadLocal.withInitial( () -> new ByteArrayData( INITIAL_BUFFER_SIZE ) );
+
+  private CompressBufferPool() {}
+
+  /**
+   * Get the empty buffer of the current thread.
+   */
+  static ByteArrayData get() {
+    ByteArrayData buffer = BUFFER.get();
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * Get the empty buffer of the current thread for a binary that contains compressed bytes.
+   * It is not the buffer of get, so a compressor can use get while appending to it.
+   */
+  static ByteArrayData getBinaryBuffer() {
+    ByteArrayData buffer = BINARY_BUFFER.get();
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * Copy the buffer to a byte array of the exact length and release the buffer.
+   */
+  static byte[] toByteArrayAndRelease( final ByteArrayData buffer ) {
+    byte[] result = Arrays.copyOf( buffer.getBytes() , buffer.getLength() );
+    buffer.clear();
+    if ( MAX_POOLED_BUFFER_SIZE < buffer.getBytes().length ) {
+      if ( buffer == BINARY_BUFFER.get() ) {
+        BINARY_BUFFER.remove();
+      } else {
+        BUFFER.remove();
+      }
+    }
+    return result;
+  }
+
+}
@@ -34,6 +34,7 @@ public final class CompressorNameShortCut {
     CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.compressor.FramedSnappyCommonsCompressor" , "snappy" );
     CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.compressor.LzmaCommonsCompressor" , "lzma" );
     CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.compressor.ZstdCommonsCompressor" , "zstd" );
+    CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.compressor.ZstdCompressor" , "zstdjni" );
   }
 
   private CompressorNameShortCut() {}
@@ -18,6 +18,8 @@
 
 package jp.co.yahoo.yosegi.compressor;
 
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -36,6 +38,17 @@ public class DefaultCompressor implements ICompressor {
     return result;
   }
 
+  @Override
+  public int compressAndAppend(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final DataType dataType ,
+      final ByteArrayData buffer ) throws IOException {
+    buffer.append( data , start , length );
+    return length;
+  }
+
   @Override
   public int getDecompressSize(
       final byte[] data ,
@@ -21,13 +21,14 @@ package jp.co.yahoo.yosegi.compressor;
 import jp.co.yahoo.yosegi.util.FindClass;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class FindCompressor {
 
   private static final Object LOCK = new Object();
-  private static final Map<String,ICompressor> CACHE = new HashMap<String,ICompressor>();
+  private static final Map<String,ICompressor> CACHE =
+      new ConcurrentHashMap<String,ICompressor>();
 
   private FindCompressor() {}
 
@@ -35,6 +36,9 @@ public final class FindCompressor {
    * Create an ICompressor from the class name.
    */
   public static ICompressor get( final String target ) throws IOException {
+    if ( target == null || target.isEmpty() ) {
+      throw new IOException( "ICompressor class name is null or empty." );
+    }
     if ( CACHE.containsKey( target ) ) {
       return CACHE.get( target );
     }
@@ -21,12 +21,15 @@ package jp.co.yahoo.yosegi.compressor;
 import org.apache.commons.compress.compressors.snappy.FramedSnappyCompressorInputStream;
 import org.apache.commons.compress.compressors.snappy.FramedSnappyCompressorOutputStream;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
 public class FramedSnappyCommonsCompressor extends AbstractCommonsCompressor {
 
+  private static final int MAX_WRITE_LENGTH = 1024 * 64;
+
   @Override
   public InputStream createInputStream( final InputStream in ) throws IOException {
     return new FramedSnappyCompressorInputStream( in );
@@ -35,7 +38,27 @@ public class FramedSnappyCommonsCompressor extends AbstractCommonsCompressor {
   @Override
   public OutputStream createOutputStream(
       final OutputStream out , final DataType dataType ) throws IOException {
-    return new FramedSnappyCompressorOutputStream( out );
+    return new ChunkedOutputStream( new FramedSnappyCompressorOutputStream( out ) );
+  }
+
+  /**
+   * FramedSnappyCompressorOutputStream breaks the data when more than 64KB is
+   * written at once, so the data is written in chunks of 64KB.
+   */
+  private static class ChunkedOutputStream extends FilterOutputStream {
+
+    ChunkedOutputStream( final OutputStream out ) {
+      super( out );
+    }
+
+    @Override
+    public void write(
+        final byte[] data , final int start , final int length ) throws IOException {
+      for ( int offset = 0 ; offset < length ; offset += MAX_WRITE_LENGTH ) {
+        out.write( data , start + offset , Math.min( MAX_WRITE_LENGTH , length - offset ) );
+      }
+    }
+
   }
 
 }
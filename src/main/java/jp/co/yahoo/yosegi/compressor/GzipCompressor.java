@@ -18,43 +18,82 @@
 
 package jp.co.yahoo.yosegi.compressor;
 
+import jp.co.yahoo.yosegi.util.ByteArrayData;
 import jp.co.yahoo.yosegi.util.io.InputStreamUtils;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
-
+import java.util.zip.Inflater;
 
+/**
+ * Compress with the GZIP format.
+ * The Deflater, Inflater and CRC32 are reused per thread instead of creating
+ * GZIPOutputStream and GZIPInputStream on each call.
+ * The output is the same as GZIPOutputStream.
+ */
 public class GzipCompressor implements ICompressor {
 
+  private static final byte[] HEADER = new byte[]{
+      (byte)0x1f , (byte)0x8b , Deflater.DEFLATED , 0 , 0 , 0 , 0 , 0 , 0 , 0 };
+  private static final int TRAILER_SIZE = 8;
+
+  private static final ThreadLocal<GzipContext> CONTEXT =
+      ThreadLocal.withInitial( GzipContext::new );
+
+  private static class GzipContext {
+    final Deflater deflater = new Deflater( Deflater.DEFAULT_COMPRESSION , true );
+    final Inflater inflater = new Inflater( true );
+    final CRC32 crc = new CRC32();
+  }
+
   @Override
   public byte[] compress(
       final byte[] data ,
       final int start ,
       final int length ,
       final DataType dataType ) throws IOException {
-    ByteArrayOutputStream byteArrayOut = new ByteArrayOutputStream();
-    GZIPOutputStream out = new GZIPOutputStream( byteArrayOut );
-
-    out.write( data , start , length );
-    out.flush();
-    out.finish();
-    byte[] compressByte = byteArrayOut.toByteArray();
-    byte[] retVal = new byte[ Integer.BYTES + compressByte.length ];
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( retVal );
-    wrapBuffer.putInt( length );
-    wrapBuffer.put( compressByte );
-
-    byteArrayOut.close();
-    out.close();
+    ByteArrayData buffer = CompressBufferPool.get();
+    compressAndAppend( data , start , length , dataType , buffer );
+    return CompressBufferPool.toByteArrayAndRelease( buffer );
+  }
 
-    return retVal;
+  @Override
+  public int compressAndAppend(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final DataType dataType ,
+      final ByteArrayData buffer ) throws IOException {
+    GzipContext context = CONTEXT.get();
+    final int beforeLength = buffer.getLength();
+    buffer.appendInt( length );
+    buffer.append( HEADER );
+
+    Deflater deflater = context.deflater;
+    deflater.reset();
+    deflater.setInput( data , start , length );
+    deflater.finish();
+    buffer.reserve( getDeflateBound( length ) );
+    while ( ! deflater.finished() ) {
+      int freeLength = buffer.getBytes().length - buffer.getLength();
+      if ( freeLength == 0 ) {
+        buffer.reserve( 1 );
+        continue;
+      }
+      buffer.forward( deflater.deflate( buffer.getBytes() , buffer.getLength() , freeLength ) );
+    }
+
+    CRC32 crc = context.crc;
+    crc.reset();
+    crc.update( data , start , length );
+    appendIntLittleEndian( buffer , (int)crc.getValue() );
+    appendIntLittleEndian( buffer , length );
+    return buffer.getLength() - beforeLength;
   }
 
   @Override
@@ -67,16 +106,8 @@ public class GzipCompressor implements ICompressor {
   @Override
   public byte[] decompress(
       final byte[] data , final int start , final int length ) throws IOException {
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( data , start , length );
-    int dataLength = wrapBuffer.getInt();
-
-    ByteArrayInputStream byteArrayIn =
-        new ByteArrayInputStream( data , start + Integer.BYTES , length );
-    GZIPInputStream in = new GZIPInputStream( byteArrayIn , 1024 * 256 );
-
-    byte[] retVal = new byte[dataLength];
-    InputStreamUtils.read( in , retVal , 0 , dataLength );
-
+    byte[] retVal = new byte[ getDecompressSize( data , start , length ) ];
+    decompressAndSet( data , start , length , retVal );
     return retVal;
   }
 
@@ -89,6 +120,51 @@ public class GzipCompressor implements ICompressor {
     ByteBuffer wrapBuffer = ByteBuffer.wrap( data , start , length );
     int dataLength = wrapBuffer.getInt();
 
+    int gzipStart = start + Integer.BYTES;
+    int gzipLength = length - Integer.BYTES;
+    if ( ! hasFixedHeader( data , gzipStart , gzipLength ) ) {
+      return decompressAndSetFromStream( data , start , length , buffer , dataLength );
+    }
+
+    GzipContext context = CONTEXT.get();
+    Inflater inflater = context.inflater;
+    inflater.reset();
+    int deflateStart = gzipStart + HEADER.length;
+    int deflateLength = gzipLength - HEADER.length;
+    inflater.setInput( data , deflateStart , deflateLength );
+    int readLength = 0;
+    try {
+      while ( readLength < dataLength && ! inflater.finished() ) {
+        int inflateLength = inflater.inflate( buffer , readLength , dataLength - readLength );
+        if ( inflateLength == 0 && ( inflater.needsInput() || inflater.needsDictionary() ) ) {
+          throw new IOException( "Unexpected end of GZIP data." );
+        }
+        readLength += inflateLength;
+      }
+    } catch ( DataFormatException ex ) {
+      throw new IOException( ex );
+    }
+
+    int trailerStart = deflateStart + deflateLength - inflater.getRemaining();
+    if ( inflater.finished() && trailerStart + TRAILER_SIZE <= start + length ) {
+      CRC32 crc = context.crc;
+      crc.reset();
+      crc.update( buffer , 0 , readLength );
+      if ( getIntLittleEndian( data , trailerStart ) != (int)crc.getValue()
+          || getIntLittleEndian( data , trailerStart + Integer.BYTES ) != readLength ) {
+        throw new IOException( "Corrupt GZIP trailer." );
+      }
+    }
+
+    return dataLength;
+  }
+
+  private int decompressAndSetFromStream(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final byte[] buffer ,
+      final int dataLength ) throws IOException {
     ByteArrayInputStream byteArrayIn =
         new ByteArrayInputStream( data , start + Integer.BYTES , length );
     GZIPInputStream in = new GZIPInputStream( byteArrayIn , 1024 * 256 );
@@ -98,4 +174,36 @@ public class GzipCompressor implements ICompressor {
     return dataLength;
   }
 
+  /**
+   * Check if the header is the fixed header written by this class and GZIPOutputStream.
+   * Other headers that have optional fields are read with GZIPInputStream.
+   */
+  private static boolean hasFixedHeader( final byte[] data , final int start , final int length ) {
+    if ( length < HEADER.length + TRAILER_SIZE ) {
+      return false;
+    }
+    return data[start] == HEADER[0]
+        && data[start + 1] == HEADER[1]
+        && data[start + 2] == HEADER[2]
+        && data[start + 3] == 0;
+  }
+
+  private static int getDeflateBound( final int length ) {
+    return length + ( length >>> 12 ) + ( length >>> 14 ) + ( length >>> 25 ) + 13 + TRAILER_SIZE;
+  }
+
+  private static void appendIntLittleEndian( final ByteArrayData buffer , final int value ) {
+    buffer.append( (byte)value );
+    buffer.append( (byte)( value >>> 8 ) );
+    buffer.append( (byte)( value >>> 16 ) );
+    buffer.append( (byte)( value >>> 24 ) );
+  }
+
+  private static int getIntLittleEndian( final byte[] data , final int start ) {
+    return ( data[start] & 0xff )
+        | ( ( data[start + 1] & 0xff ) << 8 )
+        | ( ( data[start + 2] & 0xff ) << 16 )
+        | ( ( data[start + 3] & 0xff ) << 24 );
+  }
+
 }
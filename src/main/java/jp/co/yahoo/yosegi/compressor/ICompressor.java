@@ -18,6 +18,8 @@
 
 package jp.co.yahoo.yosegi.compressor;
 
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -35,6 +37,67 @@ public interface ICompressor {
       final int length ,
       final DataType dataType ) throws IOException;
 
+  /**
+   * Compress with the compression policy.
+   * Compressors that do not have levels ignore the policy.
+   */
+  default byte[] compress(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final DataType dataType ,
+      final CompressionPolicy compressionPolicy ) throws IOException {
+    return compress( data , start , length , dataType );
+  }
+
+  /**
+   * Compress and append the result to the end of the buffer.
+   * The appended bytes are the same as the result of compress.
+   * Returns the number of appended bytes.
+   */
+  default int compressAndAppend(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final DataType dataType ,
+      final ByteArrayData buffer ) throws IOException {
+    byte[] compressData = compress( data , start , length , dataType );
+    buffer.append( compressData );
+    return compressData.length;
+  }
+
+  /**
+   * Compress with the compression policy and append the result to the end of the buffer.
+   * Compressors that do not have levels ignore the policy.
+   */
+  default int compressAndAppend(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final DataType dataType ,
+      final CompressionPolicy compressionPolicy ,
+      final ByteArrayData buffer ) throws IOException {
+    return compressAndAppend( data , start , length , dataType , buffer );
+  }
+
+  /**
+   * Compress and return the header followed by the compressed bytes.
+   * The compressed bytes are appended after the header in a per-thread buffer,
+   * so they are copied only once into the result.
+   */
+  default byte[] compressWithHeader(
+      final byte[] header ,
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final DataType dataType ,
+      final CompressionPolicy compressionPolicy ) throws IOException {
+    ByteArrayData buffer = CompressBufferPool.getBinaryBuffer();
+    buffer.append( header );
+    compressAndAppend( data , start , length , dataType , compressionPolicy , buffer );
+    return CompressBufferPool.toByteArrayAndRelease( buffer );
+  }
+
   int getDecompressSize(
       final byte[] data , final int start , final int length ) throws IOException;
 
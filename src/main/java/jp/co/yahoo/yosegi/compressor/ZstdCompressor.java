@@ -0,0 +1,247 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.compressor;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import com.github.luben.zstd.ZstdException;
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compress with zstd-jni directly.
+ * The compression level is selected from CompressionPolicy and
+ * the compression and decompression contexts are reused per thread.
+ *
+ * <p>An instance created with a dictionary compresses with the dictionary.
+ * The frame has the id of the dictionary, so an instance that has the dictionary
+ * in its dictionary list is required to decompress it.
+ * The instance created by FindCompressor has no dictionary.</p>
+ */
+public class ZstdCompressor implements ICompressor {
+
+  private static final int FRAME_HEADER_MAX_SIZE = 18;
+
+  private static final ThreadLocal<ZstdContext> CONTEXT =
+      ThreadLocal.withInitial( ZstdContext::new );
+
+  private static class ZstdContext {
+    final ZstdCompressCtx compressCtx = new ZstdCompressCtx();
+    final ZstdDecompressCtx decompressCtx = new ZstdDecompressCtx();
+    final ZstdCompressCtx dictCompressCtx = new ZstdCompressCtx();
+    final ZstdDecompressCtx dictDecompressCtx = new ZstdDecompressCtx();
+  }
+
+  private final ZstdDictionary compressDictionary;
+  private final Map<Long,ZstdDictionary> dictionaryMap;
+
+  public ZstdCompressor() {
+    this( null , Collections.emptyList() );
+  }
+
+  /**
+   * Compress with the dictionary.
+   */
+  public ZstdCompressor( final ZstdDictionary dictionary ) {
+    this( dictionary , Collections.singletonList( dictionary ) );
+  }
+
+  /**
+   * Compress without dictionary and decompress with the dictionaries.
+   */
+  public ZstdCompressor( final List<ZstdDictionary> dictionaryList ) {
+    this( null , dictionaryList );
+  }
+
+  private ZstdCompressor(
+      final ZstdDictionary compressDictionary ,
+      final List<ZstdDictionary> dictionaryList ) {
+    this.compressDictionary = compressDictionary;
+    Map<Long,ZstdDictionary> map = new LinkedHashMap<Long,ZstdDictionary>();
+    for ( ZstdDictionary dictionary : dictionaryList ) {
+      map.put( Long.valueOf( dictionary.getId() ) , dictionary );
+    }
+    dictionaryMap = Collections.unmodifiableMap( map );
+  }
+
+  /**
+   * Returns the dictionary used for compression, or null if it compresses without dictionary.
+   */
+  public ZstdDictionary getCompressDictionary() {
+    return compressDictionary;
+  }
+
+  /**
+   * Returns the dictionaries that this instance can decompress with.
+   */
+  public List<ZstdDictionary> getDictionaryList() {
+    return new ArrayList<ZstdDictionary>( dictionaryMap.values() );
+  }
+
+  /**
+   * Get the zstd compression level from the compression policy.
+   */
+  public static int getCompressionLevel( final CompressionPolicy compressionPolicy ) {
+    if ( compressionPolicy == null ) {
+      return 3;
+    }
+    switch ( compressionPolicy ) {
+      case BEST_SPEED:
+        return -5;
+      case SPEED:
+        return 1;
+      case BEST_COMPRESSION:
+        return 19;
+      case DEFAULT:
+      default:
+        return 3;
+    }
+  }
+
+  @Override
+  public byte[] compress(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final DataType dataType ) throws IOException {
+    return compress( data , start , length , dataType , CompressionPolicy.DEFAULT );
+  }
+
+  @Override
+  public byte[] compress(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final DataType dataType ,
+      final CompressionPolicy compressionPolicy ) throws IOException {
+    ByteArrayData buffer = CompressBufferPool.get();
+    compressAndAppend( data , start , length , dataType , compressionPolicy , buffer );
+    return CompressBufferPool.toByteArrayAndRelease( buffer );
+  }
+
+  @Override
+  public int compressAndAppend(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final DataType dataType ,
+      final ByteArrayData buffer ) throws IOException {
+    return compressAndAppend(
+        data , start , length , dataType , CompressionPolicy.DEFAULT , buffer );
+  }
+
+  @Override
+  public int compressAndAppend(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final DataType dataType ,
+      final CompressionPolicy compressionPolicy ,
+      final ByteArrayData buffer ) throws IOException {
+    ZstdCompressCtx compressCtx;
+    if ( compressDictionary == null ) {
+      compressCtx = CONTEXT.get().compressCtx;
+      compressCtx.setLevel( getCompressionLevel( compressionPolicy ) );
+    } else {
+      // The level of the digested dictionary is used instead of the level of the context.
+      compressCtx = CONTEXT.get().dictCompressCtx;
+      compressCtx.loadDict(
+          compressDictionary.getCompressDict( getCompressionLevel( compressionPolicy ) ) );
+    }
+    int bound = (int)Zstd.compressBound( length );
+    buffer.appendInt( length );
+    buffer.reserve( bound );
+    try {
+      int compressLength = compressCtx.compressByteArray(
+          buffer.getBytes() , buffer.getLength() , bound , data , start , length );
+      buffer.forward( compressLength );
+      return Integer.BYTES + compressLength;
+    } catch ( ZstdException ex ) {
+      throw new IOException( ex );
+    }
+  }
+
+  @Override
+  public int getDecompressSize(
+      final byte[] data , final int start , final int length ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( data , start , length );
+    return wrapBuffer.getInt();
+  }
+
+  @Override
+  public byte[] decompress(
+      final byte[] data , final int start , final int length ) throws IOException {
+    byte[] retVal = new byte[ getDecompressSize( data , start , length ) ];
+    decompressAndSet( data , start , length , retVal );
+    return retVal;
+  }
+
+  @Override
+  public int decompressAndSet(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final byte[] buffer ) throws IOException {
+    int dataLength = getDecompressSize( data , start , length );
+    if ( dataLength == 0 ) {
+      return 0;
+    }
+    ZstdDecompressCtx decompressCtx = getDecompressCtx( data , start , length );
+    try {
+      int decompressLength = decompressCtx.decompressByteArray(
+          buffer , 0 , dataLength ,
+          data , start + Integer.BYTES , length - Integer.BYTES );
+      if ( decompressLength != dataLength ) {
+        throw new IOException( String.format(
+            "Invalid decompress length. Expected %d but got %d." ,
+            dataLength , decompressLength ) );
+      }
+    } catch ( ZstdException ex ) {
+      throw new IOException( ex );
+    }
+    return dataLength;
+  }
+
+  private ZstdDecompressCtx getDecompressCtx(
+      final byte[] data , final int start , final int length ) throws IOException {
+    int headerLength = Math.min( FRAME_HEADER_MAX_SIZE , length - Integer.BYTES );
+    long dictionaryId = Zstd.getDictIdFromFrame( Arrays.copyOfRange(
+        data , start + Integer.BYTES , start + Integer.BYTES + headerLength ) );
+    if ( dictionaryId == 0 ) {
+      return CONTEXT.get().decompressCtx;
+    }
+    ZstdDictionary dictionary = dictionaryMap.get( Long.valueOf( dictionaryId ) );
+    if ( dictionary == null ) {
+      throw new IOException( "The zstd dictionary is not found. Dictionary id : " + dictionaryId );
+    }
+    ZstdDecompressCtx decompressCtx = CONTEXT.get().dictDecompressCtx;
+    decompressCtx.loadDict( dictionary.getDecompressDict() );
+    return decompressCtx;
+  }
+
+}
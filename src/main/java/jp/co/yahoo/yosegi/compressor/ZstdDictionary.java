@@ -0,0 +1,169 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.compressor;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdDictTrainer;
+import com.github.luben.zstd.ZstdException;
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A zstd dictionary identified by the dictionary id of zstd.
+ * The frames compressed with the dictionary have the id in the frame header,
+ * so the decompressor finds the dictionary from the frame.
+ * The digested dictionaries are created on the first use and shared between threads.
+ */
+public class ZstdDictionary {
+
+  private final byte[] binary;
+  private final long id;
+  private final Map<Integer,ZstdDictCompress> compressDictMap =
+      new ConcurrentHashMap<Integer,ZstdDictCompress>();
+  private volatile ZstdDictDecompress decompressDict;
+
+  /**
+   * Create a dictionary from the binary of a zstd dictionary.
+   */
+  public ZstdDictionary( final byte[] binary ) throws IOException {
+    this.binary = binary;
+    id = Zstd.getDictIdFromDict( binary );
+    if ( id == 0 ) {
+      throw new IOException( "Invalid zstd dictionary. The dictionary id is not found." );
+    }
+  }
+
+  /**
+   * Train a dictionary from the samples.
+   * Returns null if zstd can not train a dictionary from the samples.
+   */
+  public static ZstdDictionary train(
+      final List<byte[]> sampleList , final int dictionarySize ) throws IOException {
+    int sampleSize = 0;
+    for ( byte[] sample : sampleList ) {
+      sampleSize += sample.length;
+    }
+    if ( sampleSize == 0 ) {
+      return null;
+    }
+    ZstdDictTrainer trainer = new ZstdDictTrainer( sampleSize , dictionarySize );
+    for ( byte[] sample : sampleList ) {
+      trainer.addSample( sample );
+    }
+    byte[] dictionary;
+    try {
+      dictionary = trainer.trainSamples();
+    } catch ( ZstdException ex ) {
+      return null;
+    }
+    if ( dictionary == null || dictionary.length == 0
+        || Zstd.getDictIdFromDict( dictionary ) == 0 ) {
+      return null;
+    }
+    return new ZstdDictionary( dictionary );
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public byte[] getBinary() {
+    return binary;
+  }
+
+  /**
+   * Returns true if the argument has the same id and the same binary.
+   */
+  public boolean isSame( final ZstdDictionary target ) {
+    return target != null && id == target.id && Arrays.equals( binary , target.binary );
+  }
+
+  ZstdDictCompress getCompressDict( final int level ) {
+    return compressDictMap.computeIfAbsent(
+        Integer.valueOf( level ) , key -> new ZstdDictCompress( binary , level ) );
+  }
+
+  ZstdDictDecompress getDecompressDict() {
+    if ( decompressDict == null ) {
+      synchronized ( this ) {
+        if ( decompressDict == null ) {
+          decompressDict = new ZstdDictDecompress( binary );
+        }
+      }
+    }
+    return decompressDict;
+  }
+
+  /**
+   * Calculate the size of the binary that holds the dictionaries.
+   */
+  public static int getBinarySize( final List<ZstdDictionary> dictionaryList ) {
+    int length = Integer.BYTES;
+    for ( ZstdDictionary dictionary : dictionaryList ) {
+      length += Integer.BYTES + dictionary.binary.length;
+    }
+    return length;
+  }
+
+  /**
+   * Append the dictionaries to the buffer.
+   * The layout is the number of dictionaries and the length and the binary of each dictionary.
+   */
+  public static void appendBinary(
+      final List<ZstdDictionary> dictionaryList , final ByteArrayData buffer ) {
+    buffer.appendInt( dictionaryList.size() );
+    for ( ZstdDictionary dictionary : dictionaryList ) {
+      buffer.appendInt( dictionary.binary.length );
+      buffer.append( dictionary.binary );
+    }
+  }
+
+  /**
+   * Restore the dictionaries from the binary created by appendBinary.
+   */
+  public static List<ZstdDictionary> createFromBinary(
+      final byte[] data , final int start , final int length ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( data , start , length );
+    int dictionaryCount = wrapBuffer.getInt();
+    if ( dictionaryCount < 0 ) {
+      throw new IOException( "Invalid zstd dictionary count : " + dictionaryCount );
+    }
+    List<ZstdDictionary> result = new ArrayList<ZstdDictionary>( dictionaryCount );
+    for ( int i = 0 ; i < dictionaryCount ; i++ ) {
+      int dictionaryLength = wrapBuffer.getInt();
+      if ( dictionaryLength < 0 || wrapBuffer.remaining() < dictionaryLength ) {
+        throw new IOException( "Invalid zstd dictionary length : " + dictionaryLength );
+      }
+      byte[] dictionary = new byte[dictionaryLength];
+      wrapBuffer.get( dictionary );
+      result.add( new ZstdDictionary( dictionary ) );
+    }
+    return result;
+  }
+
+}
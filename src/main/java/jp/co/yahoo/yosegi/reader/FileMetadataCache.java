@@ -0,0 +1,218 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jp.co.yahoo.yosegi.reader;
+
+import jp.co.yahoo.yosegi.block.FileFooter;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of the parsed metadata of files shared by readers.
+ * The files are identified by the identity of IRangeSource,
+ * which contains the path, the length and the modification time,
+ * so a rewritten file is never served from the cache.
+ * The size is the number of files.
+ */
+public class FileMetadataCache {
+
+  public static final int MAX_REWRITE_KEY_COUNT = 8;
+
+  private static FileMetadataCache sharedCache;
+
+  private final LinkedHashMap<String,FileMetadata> cacheMap =
+      new LinkedHashMap<String,FileMetadata>( 16 , 0.75f , true );
+
+  private int maxEntryCount;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  /**
+   * Metadata of a file.
+   * The header is read when the file is opened, and the footer and the block indexes
+   * are added when they are first needed.
+   * The block indexes are kept after they are rewritten by the block reader,
+   * so they are kept for each key of the rewrite.
+   */
+  public static final class FileMetadata {
+    public final int blockSize;
+    public final int headerSize;
+    public final String className;
+
+    private final LinkedHashMap<String,BlockIndexNode[]> blockIndexNodeMap =
+        new LinkedHashMap<String,BlockIndexNode[]>( 16 , 0.75f , true );
+    private boolean isFooterRead;
+    private FileFooter fileFooter;
+
+    /**
+     * Create the metadata from the file header.
+     */
+    public FileMetadata( final int blockSize , final String className , final int headerSize ) {
+      this.blockSize = blockSize;
+      this.className = className;
+      this.headerSize = headerSize;
+    }
+
+    public synchronized boolean isFooterRead() {
+      return isFooterRead;
+    }
+
+    /**
+     * Get the footer, or null if the file has no footer.
+     */
+    public synchronized FileFooter getFileFooter() {
+      return fileFooter;
+    }
+
+    /**
+     * Set the footer that was read, or null if the file has no footer.
+     */
+    public synchronized void setFileFooter( final FileFooter fileFooter ) {
+      this.fileFooter = fileFooter;
+      isFooterRead = true;
+    }
+
+    /**
+     * Get the rewritten block index of the block entry of the footer,
+     * or null if it is not kept.
+     */
+    public synchronized BlockIndexNode getBlockIndexNode(
+        final String rewriteKey , final int index ) {
+      BlockIndexNode[] blockIndexNodeArray = blockIndexNodeMap.get( rewriteKey );
+      if ( blockIndexNodeArray == null || blockIndexNodeArray.length <= index ) {
+        return null;
+      }
+      return blockIndexNodeArray[index];
+    }
+
+    /**
+     * Keep the rewritten block index of the block entry of the footer.
+     * If another reader has already kept one, it is returned instead,
+     * so that all readers share the same node.
+     */
+    public synchronized BlockIndexNode putBlockIndexNodeIfAbsent(
+        final String rewriteKey , final int index , final BlockIndexNode blockIndexNode ) {
+      BlockIndexNode[] blockIndexNodeArray = blockIndexNodeMap.get( rewriteKey );
+      if ( blockIndexNodeArray == null || blockIndexNodeArray.length <= index ) {
+        int entryCount = fileFooter == null ? 0 : fileFooter.getBlockEntryList().size();
+        BlockIndexNode[] newArray = new BlockIndexNode[ Math.max( entryCount , index + 1 ) ];
+        if ( blockIndexNodeArray != null ) {
+          System.arraycopy( blockIndexNodeArray , 0 , newArray , 0 , blockIndexNodeArray.length );
+        }
+        blockIndexNodeArray = newArray;
+        blockIndexNodeMap.put( rewriteKey , blockIndexNodeArray );
+        Iterator<String> iterator = blockIndexNodeMap.keySet().iterator();
+        while ( MAX_REWRITE_KEY_COUNT < blockIndexNodeMap.size() && iterator.hasNext() ) {
+          iterator.next();
+          iterator.remove();
+        }
+      }
+      if ( blockIndexNodeArray[index] == null ) {
+        blockIndexNodeArray[index] = blockIndexNode;
+      }
+      return blockIndexNodeArray[index];
+    }
+  }
+
+  public FileMetadataCache( final int maxEntryCount ) {
+    this.maxEntryCount = maxEntryCount;
+  }
+
+  /**
+   * Get the cache shared in the process.
+   * It is created with the specified size on the first call,
+   * and later calls return the same cache.
+   */
+  public static synchronized FileMetadataCache getSharedCache( final int maxEntryCount ) {
+    if ( sharedCache == null ) {
+      sharedCache = new FileMetadataCache( maxEntryCount );
+    }
+    return sharedCache;
+  }
+
+  /**
+   * Get the metadata of the file, or null if it is not cached.
+   */
+  public synchronized FileMetadata get( final String fileId ) {
+    FileMetadata result = cacheMap.get( fileId );
+    if ( result == null ) {
+      missCount++;
+    } else {
+      hitCount++;
+    }
+    return result;
+  }
+
+  /**
+   * Add the metadata and evict the least recently used files that exceed the size.
+   */
+  public synchronized void put( final String fileId , final FileMetadata metadata ) {
+    cacheMap.put( fileId , metadata );
+    evict();
+  }
+
+  /**
+   * Change the size and evict the files that exceed it.
+   */
+  public synchronized void setMaxEntryCount( final int maxEntryCount ) {
+    this.maxEntryCount = maxEntryCount;
+    evict();
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<String,FileMetadata>> iterator = cacheMap.entrySet().iterator();
+    while ( maxEntryCount < cacheMap.size() && iterator.hasNext() ) {
+      iterator.next();
+      iterator.remove();
+      evictionCount++;
+    }
+  }
+
+  /**
+   * Remove all files. The counts are not reset.
+   */
+  public synchronized void clear() {
+    cacheMap.clear();
+  }
+
+  public synchronized int getMaxEntryCount() {
+    return maxEntryCount;
+  }
+
+  public synchronized int getEntryCount() {
+    return cacheMap.size();
+  }
+
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+}
@@ -0,0 +1,275 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.reader;
+
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.expression.IExpressionNode;
+import jp.co.yahoo.yosegi.util.io.FileChannelRangeSource;
+import jp.co.yahoo.yosegi.util.io.IRangeSource;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class YosegiParallelReader implements AutoCloseable {
+
+  private static final Spread END_OF_BLOCK = new Spread();
+
+  private final int parallelism;
+  private final boolean ordered;
+  private final List<BlockingQueue<Spread>> queueList = new ArrayList<BlockingQueue<Spread>>();
+  private final List<Thread> workerList = new ArrayList<Thread>();
+  private final AtomicInteger nextBlockIndex = new AtomicInteger();
+
+  private IExpressionNode blockSkipIndex;
+  private FileMetadataCache fileMetadataCache;
+  private IRangeSource rangeSource;
+  private Configuration config;
+  private int blockSize;
+  private int blockCount;
+  private int currentQueueIndex;
+  private int finishedWorkerCount;
+  private Spread nextSpread;
+  private volatile IOException error;
+  private volatile boolean isClosed;
+
+  /**
+   * Read the blocks of one file with the specified number of threads.
+   * If ordered is true, Spreads are returned in the same order as YosegiReader,
+   * otherwise they are returned in the order in which the threads read them.
+   */
+  public YosegiParallelReader( final int parallelism , final boolean ordered ) {
+    if ( parallelism < 1 ) {
+      throw new IllegalArgumentException( "parallelism must be greater than 0." );
+    }
+    this.parallelism = parallelism;
+    this.ordered = ordered;
+  }
+
+  public void setBlockSkipIndex( final IExpressionNode blockSkipIndex ) {
+    this.blockSkipIndex = blockSkipIndex;
+  }
+
+  /**
+   * Set the cache that shares the file header and footer between the threads.
+   * If it is not set, a cache of this reader is used.
+   */
+  public void setFileMetadataCache( final FileMetadataCache fileMetadataCache ) {
+    this.fileMetadataCache = fileMetadataCache;
+  }
+
+  /**
+   * Set FileChannel of the file and start reading.
+   * Each thread has its own YosegiReader and reads the channel with positional reads.
+   * The file header is read once and shared by the threads through the metadata cache.
+   * The channel is owned by the caller and is not closed by this reader.
+   */
+  public void setNewStream(
+      final FileChannel channel , final Configuration config ) throws IOException {
+    if ( ! workerList.isEmpty() ) {
+      throw new IOException( "The stream has already been set." );
+    }
+    this.config = config;
+    if ( fileMetadataCache == null ) {
+      fileMetadataCache = new FileMetadataCache( 1 );
+    }
+    rangeSource = new FileChannelRangeSource(
+        channel , false , "yosegi-parallel-reader:" + UUID.randomUUID().toString() );
+
+    try ( YosegiReader headerReader = createReader() ) {
+      headerReader.setNewStream( rangeSource , config , 0 , 0 );
+      blockSize = headerReader.getBlockSize();
+    }
+    blockCount =
+        Double.valueOf( Math.ceil( (double)rangeSource.size() / (double)blockSize ) ).intValue();
+
+    int queueSize = config.getInt( "spread.reader.parallel.queue.size" , 4 );
+    int workerCount = Math.min( parallelism , blockCount );
+    int queueCount = ordered ? blockCount : 1;
+    for ( int i = 0 ; i < queueCount ; i++ ) {
+      queueList.add( new LinkedBlockingQueue<Spread>( queueSize ) );
+    }
+    for ( int i = 0 ; i < workerCount ; i++ ) {
+      Thread worker = new Thread( this::runWorker , "yosegi-parallel-reader-" + i );
+      worker.setDaemon( true );
+      workerList.add( worker );
+    }
+    for ( Thread worker : workerList ) {
+      worker.start();
+    }
+  }
+
+  private BlockingQueue<Spread> getQueue( final int blockIndex ) {
+    if ( ordered ) {
+      return queueList.get( blockIndex );
+    }
+    return queueList.get( 0 );
+  }
+
+  private YosegiReader createReader() {
+    YosegiReader reader = new YosegiReader();
+    reader.setFileMetadataCache( fileMetadataCache );
+    return reader;
+  }
+
+  /**
+   * Decode the column and all of its child columns,
+   * so that the lazy columns are not decoded later by the thread that consumes the Spread.
+   */
+  private static void decodeColumn( final IColumn column ) {
+    column.size();
+    for ( IColumn childColumn : column.getListColumn() ) {
+      decodeColumn( childColumn );
+    }
+  }
+
+  private void runWorker() {
+    BlockingQueue<Spread> queue = null;
+    try ( YosegiReader reader = createReader() ) {
+      reader.setBlockSkipIndex( blockSkipIndex );
+      while ( ! isClosed ) {
+        int blockIndex = nextBlockIndex.getAndIncrement();
+        if ( blockCount <= blockIndex ) {
+          break;
+        }
+        queue = getQueue( blockIndex );
+        reader.setNewStream(
+            rangeSource , config , (long)blockIndex * (long)blockSize , blockSize );
+        while ( reader.hasNext() ) {
+          Spread spread = reader.next();
+          for ( IColumn column : spread.getListColumn() ) {
+            decodeColumn( column );
+          }
+          queue.put( spread );
+        }
+        if ( ordered ) {
+          queue.put( END_OF_BLOCK );
+          queue = null;
+        }
+      }
+    } catch ( InterruptedException ex ) {
+      return;
+    } catch ( IOException ex ) {
+      error = ex;
+    } catch ( Throwable ex ) {
+      error = new IOException( ex );
+    }
+    try {
+      if ( ! ordered ) {
+        getQueue( 0 ).put( END_OF_BLOCK );
+      } else if ( queue != null ) {
+        queue.put( END_OF_BLOCK );
+      }
+    } catch ( InterruptedException ex ) {
+      return;
+    }
+  }
+
+  private void checkError() throws IOException {
+    if ( error != null ) {
+      throw error;
+    }
+  }
+
+  private Spread take( final BlockingQueue<Spread> queue ) throws IOException {
+    try {
+      return queue.take();
+    } catch ( InterruptedException ex ) {
+      Thread.currentThread().interrupt();
+      throw new IOException( ex );
+    }
+  }
+
+  /**
+   * It is judged whether there is the next Spread.
+   */
+  public boolean hasNext() throws IOException {
+    while ( nextSpread == null ) {
+      checkError();
+      Spread spread;
+      if ( ordered ) {
+        if ( blockCount <= currentQueueIndex ) {
+          return false;
+        }
+        spread = take( queueList.get( currentQueueIndex ) );
+        if ( spread == END_OF_BLOCK ) {
+          queueList.set( currentQueueIndex , null );
+          currentQueueIndex++;
+          continue;
+        }
+      } else {
+        if ( workerList.size() <= finishedWorkerCount ) {
+          return false;
+        }
+        spread = take( queueList.get( 0 ) );
+        if ( spread == END_OF_BLOCK ) {
+          finishedWorkerCount++;
+          continue;
+        }
+      }
+      nextSpread = spread;
+    }
+    return true;
+  }
+
+  /**
+   * Get the next Spread.
+   */
+  public Spread next() throws IOException {
+    if ( ! hasNext() ) {
+      return new Spread();
+    }
+    Spread result = nextSpread;
+    nextSpread = null;
+    return result;
+  }
+
+  /**
+   * Stop the threads.
+   * FileChannel is not closed because it is owned by the caller.
+   */
+  @Override
+  public void close() throws IOException {
+    isClosed = true;
+    for ( Thread worker : workerList ) {
+      worker.interrupt();
+    }
+    try {
+      for ( Thread worker : workerList ) {
+        worker.join();
+      }
+    } catch ( InterruptedException ex ) {
+      Thread.currentThread().interrupt();
+      throw new IOException( ex );
+    } finally {
+      workerList.clear();
+      queueList.clear();
+      nextSpread = null;
+      rangeSource = null;
+    }
+  }
+
+}
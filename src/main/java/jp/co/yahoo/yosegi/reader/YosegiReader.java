@@ -19,23 +19,38 @@
 package jp.co.yahoo.yosegi.reader;
 
 import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryCache;
+import jp.co.yahoo.yosegi.block.FileFooter;
 import jp.co.yahoo.yosegi.block.IBlockReader;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.config.Configuration;
 import jp.co.yahoo.yosegi.spread.Spread;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionNode;
 import jp.co.yahoo.yosegi.stats.SummaryStats;
 import jp.co.yahoo.yosegi.util.FindClass;
+import jp.co.yahoo.yosegi.util.io.FileChannelRangeSource;
+import jp.co.yahoo.yosegi.util.io.IRangeSource;
 import jp.co.yahoo.yosegi.util.io.InputStreamUtils;
+import jp.co.yahoo.yosegi.util.io.RangeSourceInputStream;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class YosegiReader implements AutoCloseable {
 
@@ -43,24 +58,30 @@ public class YosegiReader implements AutoCloseable {
 
   private final Map<String,IBlockReader> blockReaderMap = new HashMap<String,IBlockReader>();
   private final List<ReadBlockOffset> readTargetList = new ArrayList<ReadBlockOffset>();
+  private final Deque<PrefetchBlock> prefetchQueue = new ArrayDeque<PrefetchBlock>();
+  private final Deque<IBlockReader> idleBlockReaderQueue = new ArrayDeque<IBlockReader>();
+  private final List<IBlockReader> prefetchBlockReaderList = new ArrayList<IBlockReader>();
+  private final SummaryStats releasedReadStats = new SummaryStats();
   private IBlockReader currentBlockReader;
   private IExpressionNode blockSkipIndex;
+  private ColumnBinaryCache columnBinaryCache;
+  private ColumnBinaryCache currentColumnBinaryCache;
+  private FileMetadataCache fileMetadataCache;
+  private FileMetadataCache.FileMetadata fileMetadata;
+  private String fileId;
 
   private InputStream in;
+  private IRangeSource rangeSource;
+  private FileFooter fileFooter;
   private int blockSize;
+  private int headerSize;
   private long inReadOffset;
 
-  private class FileHeaderMeta {
-    public final int blockSize;
-    public final int headerSize;
-    public final String className;
-
-    public FileHeaderMeta( final int blockSize , final String className , final int headerSize ) {
-      this.blockSize = blockSize;
-      this.className = className;
-      this.headerSize = headerSize;
-    }
-  }
+  private ExecutorService prefetchExecutor;
+  private int prefetchDepth;
+  private String blockReaderClassName;
+  private Configuration blockReaderConfig;
+  private long prefetchReadOffset;
 
   private class ReadBlockOffset {
     public final long start;
@@ -72,7 +93,23 @@ public class YosegiReader implements AutoCloseable {
     }
   }
 
-  private FileHeaderMeta readFileHeader( final InputStream in ) throws IOException {
+  private class PrefetchBlock {
+    public final ReadBlockOffset readOffset;
+    public final IBlockReader blockReader;
+    public final Future<IBlockReader> future;
+
+    public PrefetchBlock(
+        final ReadBlockOffset readOffset ,
+        final IBlockReader blockReader ,
+        final Future<IBlockReader> future ) {
+      this.readOffset = readOffset;
+      this.blockReader = blockReader;
+      this.future = future;
+    }
+  }
+
+  private FileMetadataCache.FileMetadata readFileHeader(
+      final InputStream in ) throws IOException {
     byte[] magic = new byte[MAGIC.length];
     InputStreamUtils.read( in , magic , 0 , MAGIC.length );
 
@@ -98,8 +135,8 @@ public class YosegiReader implements AutoCloseable {
     viewCharBuffer.get( classNameChars );
     String blockReaderClass = new String( classNameChars );
 
-    return new FileHeaderMeta(
-        readBlockSize , 
+    return new FileMetadataCache.FileMetadata(
+        readBlockSize ,
         blockReaderClass ,
         ( MAGIC.length + ( Integer.BYTES * 2 ) + classNameSize ) );
   }
@@ -108,13 +145,79 @@ public class YosegiReader implements AutoCloseable {
     this.blockSkipIndex = blockSkipIndex;
   }
 
+  /**
+   * Set the cache of decompressed column binaries.
+   * The cache is used only for files set with IRangeSource that has an identity.
+   * If it is not set, "spread.reader.column.cache.size" bytes of the shared cache is used
+   * when the value is greater than 0.
+   */
+  public void setColumnBinaryCache( final ColumnBinaryCache columnBinaryCache ) {
+    this.columnBinaryCache = columnBinaryCache;
+  }
+
+  /**
+   * Set the cache of the file headers, footers and block indexes.
+   * The cache is used only for files set with IRangeSource that has an identity.
+   * If it is not set, the shared cache of "spread.reader.metadata.cache.size" files is used
+   * when the value is greater than 0.
+   */
+  public void setFileMetadataCache( final FileMetadataCache fileMetadataCache ) {
+    this.fileMetadataCache = fileMetadataCache;
+  }
+
   public void setNewStream(
       final InputStream in , final long dataSize , final Configuration config ) throws IOException {
     setNewStream( in , dataSize , config , 0 , dataSize );
   }
 
+  public void setNewStream(
+      final FileChannel channel , final Configuration config ) throws IOException {
+    setNewStream( channel , config , 0 , channel.size() );
+  }
+
+  /**
+   * Set FileChannel of the file.
+   * Blocks and columns that are not needed are skipped by moving the read position,
+   * so only the block headers and the selected column ranges are read.
+   */
+  public void setNewStream(
+      final FileChannel channel ,
+      final Configuration config ,
+      final long start ,
+      final long length ) throws IOException {
+    setNewStream( new FileChannelRangeSource( channel ) , config , start , length );
+  }
+
+  public void setNewStream(
+      final IRangeSource rangeSource , final Configuration config ) throws IOException {
+    setNewStream( rangeSource , config , 0 , rangeSource.size() );
+  }
+
+  /**
+   * Set the source of the file that supports positional reads.
+   * The column ranges of a block that are close to each other are read with one read,
+   * and if prefetch is enabled, the following blocks are read in parallel.
+   * If the file has a footer, the blocks to read are selected from it with one tail read.
+   */
+  public void setNewStream(
+      final IRangeSource rangeSource ,
+      final Configuration config ,
+      final long start ,
+      final long length ) throws IOException {
+    setNewStream(
+        new RangeSourceInputStream( rangeSource , 0 ) ,
+        rangeSource ,
+        rangeSource.size() ,
+        config ,
+        start ,
+        length );
+  }
+
   /**
    * Set InputStream of the file.
+   * If "spread.reader.prefetch.depth" is greater than 0,
+   * the following blocks are read and parsed by a background thread
+   * while the current block is consumed.
    */
   public void setNewStream(
       final InputStream in ,
@@ -122,68 +225,319 @@ public class YosegiReader implements AutoCloseable {
       final Configuration config ,
       final long start ,
       final long length ) throws IOException {
+    setNewStream( in , null , dataSize , config , start , length );
+  }
+
+  private void setNewStream(
+      final InputStream in ,
+      final IRangeSource rangeSource ,
+      final long dataSize ,
+      final Configuration config ,
+      final long start ,
+      final long length ) throws IOException {
+    stopPrefetch();
+    releasePrefetchBlockReaders();
     inReadOffset = 0;
     readTargetList.clear();
 
     this.in = in;
+    this.rangeSource = rangeSource;
 
-    FileHeaderMeta meta = readFileHeader( in );
+    fileId = rangeSource != null ? rangeSource.getIdentity() : null;
+    FileMetadataCache.FileMetadata meta = getFileMetadata( in , config );
     inReadOffset += meta.headerSize;
+    headerSize = meta.headerSize;
     if ( ! blockReaderMap.containsKey( meta.className ) ) {
       IBlockReader blockReader = (IBlockReader)(
           FindClass.getObject( meta.className , true , this.getClass().getClassLoader() ) );
       blockReaderMap.put( meta.className , blockReader );
     }
 
+    currentColumnBinaryCache = columnBinaryCache;
+    long cacheSize = config.getLong( "spread.reader.column.cache.size" , 0 );
+    if ( currentColumnBinaryCache == null && 0 < cacheSize ) {
+      currentColumnBinaryCache = ColumnBinaryCache.getSharedCache( cacheSize );
+    }
+
     currentBlockReader = blockReaderMap.get( meta.className );
     currentBlockReader.setup( config );
     currentBlockReader.setBlockSkipIndex( blockSkipIndex );
+    currentBlockReader.setColumnBinaryCache( currentColumnBinaryCache );
 
     blockSize = meta.blockSize;
 
-    int blockCount = Double.valueOf( Math.ceil( (double)dataSize / (double)blockSize ) ).intValue();
-    for ( int i = 0 ; i < blockCount ; i++ ) {
-      int targetBlockSize = blockSize;
-      if ( i == 0 ) {
-        targetBlockSize -= meta.headerSize;
+    fileFooter = null;
+    if ( rangeSource != null
+        && config.get( "spread.reader.use.footer" , "true" ).equals( "true" ) ) {
+      if ( ! meta.isFooterRead() ) {
+        meta.setFileFooter( FileFooter.read( rangeSource ) );
       }
-      long readStartOffset = (long)i * (long)blockSize;
-      if ( start <= readStartOffset && readStartOffset < ( start + length ) ) {
-        readTargetList.add( new ReadBlockOffset( readStartOffset , targetBlockSize ) );
+      fileFooter = meta.getFileFooter();
+    }
+    if ( fileFooter != null ) {
+      setReadTargetFromFooter( start , length );
+    } else {
+      int blockCount =
+          Double.valueOf( Math.ceil( (double)dataSize / (double)blockSize ) ).intValue();
+      for ( int i = 0 ; i < blockCount ; i++ ) {
+        int targetBlockSize = blockSize;
+        if ( i == 0 ) {
+          targetBlockSize -= meta.headerSize;
+        }
+        long readStartOffset = (long)i * (long)blockSize;
+        if ( start <= readStartOffset && readStartOffset < ( start + length ) ) {
+          readTargetList.add( new ReadBlockOffset( readStartOffset , targetBlockSize ) );
+        }
       }
     }
     if ( readTargetList.isEmpty() ) {
       return;
     }
     currentBlockReader.setBlockSize( blockSize );
+    prefetchDepth = config.getInt( "spread.reader.prefetch.depth" , 0 );
+    if ( 0 < prefetchDepth ) {
+      startPrefetch( meta.className , config );
+    }
     setNextBlock();
   }
 
+  /**
+   * Get the metadata of the file from the cache, or read the header from the stream.
+   * If the metadata is cached, the stream is only moved over the header without reading it.
+   */
+  private FileMetadataCache.FileMetadata getFileMetadata(
+      final InputStream in , final Configuration config ) throws IOException {
+    FileMetadataCache currentFileMetadataCache = fileMetadataCache;
+    int cacheSize = config.getInt( "spread.reader.metadata.cache.size" , 0 );
+    if ( currentFileMetadataCache == null && 0 < cacheSize ) {
+      currentFileMetadataCache = FileMetadataCache.getSharedCache( cacheSize );
+    }
+    if ( fileId == null || currentFileMetadataCache == null ) {
+      fileMetadata = readFileHeader( in );
+      return fileMetadata;
+    }
+    fileMetadata = currentFileMetadataCache.get( fileId );
+    if ( fileMetadata == null ) {
+      fileMetadata = readFileHeader( in );
+      currentFileMetadataCache.put( fileId , fileMetadata );
+    } else {
+      InputStreamUtils.skip( in , fileMetadata.headerSize );
+    }
+    return fileMetadata;
+  }
+
+  /**
+   * Select the blocks to read from the block table of the footer.
+   * Empty blocks and blocks that the block index proves unnecessary are not read at all.
+   */
+  private void setReadTargetFromFooter( final long start , final long length ) throws IOException {
+    List<FileFooter.BlockEntry> blockEntryList = fileFooter.getBlockEntryList();
+    for ( int i = 0 ; i < blockEntryList.size() ; i++ ) {
+      FileFooter.BlockEntry blockEntry = blockEntryList.get( i );
+      if ( blockEntry.offset < start || ( start + length ) <= blockEntry.offset ) {
+        continue;
+      }
+      if ( blockEntry.spreadCount == 0 ) {
+        continue;
+      }
+      if ( blockSkipIndex != null && blockEntry.hasBlockIndex() && canSkipBlock( i ) ) {
+        continue;
+      }
+      long readStartOffset = Math.max( blockEntry.offset , (long)headerSize );
+      int targetBlockSize = (int)( blockEntry.offset + blockEntry.length - readStartOffset );
+      readTargetList.add( new ReadBlockOffset( readStartOffset , targetBlockSize ) );
+    }
+  }
+
+  /**
+   * Judge whether the block of the footer entry can be skipped.
+   * The rewritten block index is kept in the metadata of the file,
+   * so a cached file is pruned without parsing or rewriting the block index again.
+   * The node is shared by the readers, so it is evaluated while holding its lock.
+   */
+  private boolean canSkipBlock( final int index ) throws IOException {
+    FileFooter.BlockEntry blockEntry = fileFooter.getBlockEntryList().get( index );
+    String rewriteKey = currentBlockReader.getBlockIndexRewriteKey();
+    if ( rewriteKey == null ) {
+      return currentBlockReader.canSkipBlock( blockEntry.getBlockIndexNode() );
+    }
+    BlockIndexNode blockIndexNode = fileMetadata.getBlockIndexNode( rewriteKey , index );
+    if ( blockIndexNode == null ) {
+      blockIndexNode = fileMetadata.putBlockIndexNodeIfAbsent(
+          rewriteKey ,
+          index ,
+          currentBlockReader.rewriteBlockIndexNode( blockEntry.getBlockIndexNode() ) );
+    }
+    synchronized ( blockIndexNode ) {
+      return currentBlockReader.canSkipRewrittenBlock( blockIndexNode );
+    }
+  }
+
+  private void startPrefetch( final String className , final Configuration config ) {
+    blockReaderClassName = className;
+    blockReaderConfig = config;
+    prefetchReadOffset = inReadOffset;
+    idleBlockReaderQueue.add( currentBlockReader );
+    if ( ! prefetchBlockReaderList.contains( currentBlockReader ) ) {
+      prefetchBlockReaderList.add( currentBlockReader );
+    }
+    int threadCount = rangeSource == null ? 1 : prefetchDepth;
+    AtomicInteger threadIndex = new AtomicInteger();
+    prefetchExecutor = Executors.newFixedThreadPool( threadCount , runnable -> {
+      Thread thread = new Thread(
+          runnable , "yosegi-prefetch-reader-" + threadIndex.getAndIncrement() );
+      thread.setDaemon( true );
+      return thread;
+    } );
+  }
+
+  private IBlockReader getIdleBlockReader() throws IOException {
+    if ( ! idleBlockReaderQueue.isEmpty() ) {
+      return idleBlockReaderQueue.poll();
+    }
+    IBlockReader blockReader = (IBlockReader)(
+        FindClass.getObject( blockReaderClassName , true , this.getClass().getClassLoader() ) );
+    blockReader.setup( blockReaderConfig );
+    blockReader.setBlockSkipIndex( blockSkipIndex );
+    blockReader.setColumnBinaryCache( currentColumnBinaryCache );
+    blockReader.setBlockSize( blockSize );
+    prefetchBlockReaderList.add( blockReader );
+    return blockReader;
+  }
+
+  /**
+   * Submit the blocks until the number of blocks being read reaches the prefetch depth.
+   * With IRangeSource, each block is read with positional reads, so the blocks are read
+   * in parallel. Otherwise, a single thread reads the blocks in order from the stream.
+   */
+  private void fillPrefetchQueue() throws IOException {
+    while ( prefetchQueue.size() < prefetchDepth && ! readTargetList.isEmpty() ) {
+      final ReadBlockOffset readOffset = readTargetList.remove(0);
+      final IBlockReader blockReader = getIdleBlockReader();
+      Future<IBlockReader> future = prefetchExecutor.submit( () -> {
+        if ( rangeSource != null ) {
+          long blockOffset = Math.max( readOffset.start , headerSize );
+          blockReader.setStream(
+              new RangeSourceInputStream( rangeSource , blockOffset ) ,
+              readOffset.length ,
+              fileId ,
+              blockOffset );
+        } else {
+          prefetchReadOffset +=
+              InputStreamUtils.skip( in , readOffset.start - prefetchReadOffset );
+          blockReader.setStream( in , readOffset.length );
+          prefetchReadOffset += readOffset.length;
+        }
+        return blockReader;
+      } );
+      prefetchQueue.add( new PrefetchBlock( readOffset , blockReader , future ) );
+    }
+  }
+
+  private IBlockReader takePrefetchBlock() throws IOException {
+    PrefetchBlock prefetchBlock = prefetchQueue.poll();
+    try {
+      IBlockReader blockReader = prefetchBlock.future.get();
+      inReadOffset = prefetchBlock.readOffset.start + prefetchBlock.readOffset.length;
+      return blockReader;
+    } catch ( InterruptedException ex ) {
+      Thread.currentThread().interrupt();
+      throw new IOException( ex );
+    } catch ( ExecutionException ex ) {
+      if ( ex.getCause() instanceof IOException ) {
+        throw (IOException)ex.getCause();
+      }
+      throw new IOException( ex.getCause() );
+    }
+  }
+
+  /**
+   * Wait for the blocks being read and stop the threads.
+   * The tasks are not interrupted, because interrupting a read closes the FileChannel.
+   */
+  private void stopPrefetch() throws IOException {
+    if ( prefetchExecutor == null ) {
+      return;
+    }
+    for ( PrefetchBlock prefetchBlock : prefetchQueue ) {
+      prefetchBlock.future.cancel( false );
+    }
+    prefetchExecutor.shutdown();
+    try {
+      while ( ! prefetchExecutor.awaitTermination( 1 , TimeUnit.SECONDS ) ) {
+        continue;
+      }
+    } catch ( InterruptedException ex ) {
+      Thread.currentThread().interrupt();
+      throw new IOException( ex );
+    } finally {
+      prefetchExecutor = null;
+      prefetchQueue.clear();
+      idleBlockReaderQueue.clear();
+    }
+  }
+
+  /**
+   * Close the block readers created for prefetch and keep their statistics.
+   * The block reader of the reader class is kept, because it is reused for the next stream.
+   */
+  private void releasePrefetchBlockReaders() throws IOException {
+    for ( IBlockReader blockReader : prefetchBlockReaderList ) {
+      if ( ! blockReaderMap.containsValue( blockReader ) ) {
+        releasedReadStats.merge( blockReader.getReadStats() );
+        blockReader.close();
+      }
+    }
+    prefetchBlockReaderList.clear();
+    if ( currentBlockReader != null && ! blockReaderMap.containsValue( currentBlockReader ) ) {
+      currentBlockReader = blockReaderMap.get( blockReaderClassName );
+    }
+  }
+
   /**
    * It is judged whether there is the next Spread.
    */
   public boolean hasNext() throws IOException {
     if ( currentBlockReader.hasNext() ) {
       return true;
-    } else if ( ! readTargetList.isEmpty() ) {
+    } else if ( ! readTargetList.isEmpty() || ! prefetchQueue.isEmpty() ) {
       return true;
     }
     return false;
   }
 
   private boolean setNextBlock() throws IOException {
+    if ( prefetchExecutor != null ) {
+      return setNextPrefetchBlock();
+    }
     while ( ! currentBlockReader.hasNext() ) {
       if ( readTargetList.isEmpty() ) {
         return false;
       }
       ReadBlockOffset readOffset = readTargetList.remove(0);
       inReadOffset += InputStreamUtils.skip( in , readOffset.start - inReadOffset );
-      currentBlockReader.setStream( in , readOffset.length );
+      currentBlockReader.setStream( in , readOffset.length , fileId , inReadOffset );
       inReadOffset += readOffset.length;
     }
     return true;
   }
 
+  private boolean setNextPrefetchBlock() throws IOException {
+    while ( ! currentBlockReader.hasNext() ) {
+      fillPrefetchQueue();
+      if ( prefetchQueue.isEmpty() ) {
+        return false;
+      }
+      IBlockReader nextBlockReader = takePrefetchBlock();
+      if ( currentBlockReader != nextBlockReader ) {
+        idleBlockReaderQueue.add( currentBlockReader );
+      }
+      currentBlockReader = nextBlockReader;
+      fillPrefetchQueue();
+    }
+    return true;
+  }
+
   /**
    * Get the next Spread as a Spread.
    */
@@ -212,29 +566,64 @@ public class YosegiReader implements AutoCloseable {
     return currentBlockReader.getBlockCount();
   }
 
+  public int getBlockSize() {
+    return blockSize;
+  }
+
   public long getReadPos() {
     return inReadOffset;
   }
 
+  /**
+   * Get the footer of the current file, or null if the file has no footer
+   * or it was not set with IRangeSource.
+   */
+  public FileFooter getFileFooter() {
+    return fileFooter;
+  }
+
   public Integer getCurrentSpreadSize() {
     return currentBlockReader.getCurrentSpreadSize();
   }
 
+  /**
+   * Get the statistics of the columns that have been read.
+   * In prefetch mode, the statistics of all block readers are merged,
+   * including the block readers already released for the previous streams.
+   */
   public SummaryStats getReadStats() {
-    return currentBlockReader.getReadStats();
+    if ( prefetchBlockReaderList.isEmpty() && releasedReadStats.getRowCount() == 0 ) {
+      return currentBlockReader.getReadStats();
+    }
+    SummaryStats result = new SummaryStats();
+    result.merge( releasedReadStats );
+    if ( prefetchBlockReaderList.isEmpty() ) {
+      result.merge( currentBlockReader.getReadStats() );
+    }
+    for ( IBlockReader blockReader : prefetchBlockReaderList ) {
+      result.merge( blockReader.getReadStats() );
+    }
+    return result;
   }
 
   /**
    * Close InputStream and reset internal data.
    */
   public void close() throws IOException {
+    stopPrefetch();
     if ( in != null ) {
       in.close();
       in = null;
     }
+    rangeSource = null;
+    fileFooter = null;
+    fileMetadata = null;
     inReadOffset = 0;
     readTargetList.clear();
-    currentBlockReader.close();
+    if ( currentBlockReader != null && blockReaderMap.containsValue( currentBlockReader ) ) {
+      currentBlockReader.close();
+    }
+    releasePrefetchBlockReaders();
   }
 
 }
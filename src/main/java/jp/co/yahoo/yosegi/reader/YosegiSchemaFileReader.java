@@ -24,9 +24,9 @@ import jp.co.yahoo.yosegi.message.parser.IStreamReader;
 
 import java.io.Closeable;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import javax.xml.ws.WebServiceException;
 
 public class YosegiSchemaFileReader implements Closeable,IStreamReader {
@@ -38,8 +38,8 @@ public class YosegiSchemaFileReader implements Closeable,IStreamReader {
    */
   public YosegiSchemaFileReader( final File file, final Configuration config) throws IOException {
     reader = new YosegiSchemaReader();
-    InputStream in = new FileInputStream(file);
-    reader.setNewStream(in, file.length(), config);
+    FileChannel channel = FileChannel.open( file.toPath() , StandardOpenOption.READ );
+    reader.setNewStream( channel , config );
   }
 
 
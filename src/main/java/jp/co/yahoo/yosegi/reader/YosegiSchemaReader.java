@@ -31,6 +31,7 @@ import jp.co.yahoo.yosegi.spread.expression.IndexFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.util.List;
 
 public class YosegiSchemaReader implements IStreamReader {
@@ -62,6 +63,21 @@ public class YosegiSchemaReader implements IStreamReader {
     nextReader();
   }
 
+  public void setNewStream(
+      final FileChannel channel , final Configuration config ) throws IOException {
+    currentReader.setNewStream( channel , config );
+    nextReader();
+  }
+
+  public void setNewStream(
+      final FileChannel channel ,
+      final Configuration config ,
+      final long start ,
+      final long length ) throws IOException {
+    currentReader.setNewStream( channel , config , start , length );
+    nextReader();
+  }
+
   /**
    * Set filter conditions.
    */
@@ -83,7 +99,8 @@ public class YosegiSchemaReader implements IStreamReader {
     if ( currentSpread.size() == 0 ) {
       return nextReader();
     }
-    currentIndexList = IndexFactory.toExpressionIndex( currentSpread , node.exec( currentSpread ) );
+    currentIndexList = IndexFactory.toExpressionIndex(
+        currentSpread , node.execBitSet( currentSpread ) );
     currentIndex = 0;
     if ( currentIndexList.size() == 0 ) {
       return nextReader();
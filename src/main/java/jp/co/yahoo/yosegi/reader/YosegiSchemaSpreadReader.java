@@ -45,7 +45,7 @@ public class YosegiSchemaSpreadReader implements IStreamReader {
     spreadColumn.setSpread( spread );
 
     IExpressionNode node = new AndExpressionNode();
-    currentIndexList = IndexFactory.toExpressionIndex( spread , node.exec( spread ) );
+    currentIndexList = IndexFactory.toExpressionIndex( spread , node.execBitSet( spread ) );
     currentIndex = 0;
     currentParser = YosegiParserFactory.get( spreadColumn , currentIndexList.get( currentIndex ) );
   }
@@ -62,7 +62,7 @@ public class YosegiSchemaSpreadReader implements IStreamReader {
     SpreadColumn spreadColumn = new SpreadColumn( "root" );
     spreadColumn.setSpread( spread );
 
-    currentIndexList = IndexFactory.toExpressionIndex( spread , node.exec( spread ) );
+    currentIndexList = IndexFactory.toExpressionIndex( spread , node.execBitSet( spread ) );
     currentIndex = 0;
     currentParser = YosegiParserFactory.get( spreadColumn , currentIndexList.get( currentIndex ) );
   }
@@ -24,8 +24,6 @@ import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
 
 public class ByteColumnAnalizer implements IColumnAnalizer {
 
@@ -38,41 +36,55 @@ public class ByteColumnAnalizer implements IColumnAnalizer {
   @Override
   public IColumnAnalizeResult analize() throws IOException {
     boolean maybeSorted = true;
-    Byte currentSortCheckValue = Byte.MIN_VALUE;
+    byte currentSortCheckValue = Byte.MIN_VALUE;
     int nullCount = 0;
+    int runCount = 0;
+    boolean isPreviousNull = false;
+    byte previousValue = 0;
     int rowCount = 0;
 
-    Set<Byte> dicSet = new HashSet<Byte>();
+    long[] dicBitmap = new long[ ( 1 << Byte.SIZE ) / Long.SIZE ];
+    int uniqCount = 0;
 
-    Byte min = Byte.MAX_VALUE;
-    Byte max = Byte.MIN_VALUE;
+    byte min = Byte.MAX_VALUE;
+    byte max = Byte.MIN_VALUE;
     for ( int i = 0 ; i < column.size() ; i++ ) {
       ICell cell = column.get(i);
       if ( cell.getType() == ColumnType.NULL ) {
+        if ( i == 0 || ! isPreviousNull ) {
+          runCount++;
+        }
+        isPreviousNull = true;
         nullCount++;
         continue;
       }
-      Byte target = Byte.valueOf( ( (PrimitiveCell) cell).getRow().getByte() );
-      if ( maybeSorted && currentSortCheckValue.compareTo( target ) <= 0 ) {
+      byte target = ( (PrimitiveCell) cell).getRow().getByte();
+      if ( i == 0 || isPreviousNull || previousValue != target ) {
+        runCount++;
+      }
+      isPreviousNull = false;
+      previousValue = target;
+      if ( maybeSorted && currentSortCheckValue <= target ) {
         currentSortCheckValue = target;
       } else {
         maybeSorted = false;
       }
 
       rowCount++;
-      if ( ! dicSet.contains( target ) ) {
-        dicSet.add( target );
-        if ( 0 < min.compareTo( target ) ) {
-          min = Byte.valueOf( target );
-        }
-        if ( max.compareTo( target ) < 0 ) {
-          max = Byte.valueOf( target );
-        }
+      int dicIndex = target - Byte.MIN_VALUE;
+      long dicBit = 1L << dicIndex;
+      if ( ( dicBitmap[ dicIndex >>> 6 ] & dicBit ) == 0 ) {
+        dicBitmap[ dicIndex >>> 6 ] |= dicBit;
+        uniqCount++;
+      }
+      if ( target < min ) {
+        min = target;
+      }
+      if ( max < target ) {
+        max = target;
       }
     }
 
-    int uniqCount = dicSet.size();
-
     return new ByteColumnAnalizeResult(
         column.getColumnName() ,
         column.size() ,
@@ -81,7 +93,8 @@ public class ByteColumnAnalizer implements IColumnAnalizer {
         rowCount ,
         uniqCount ,
         min ,
-        max );
+        max ,
+        runCount );
   }
 
 }
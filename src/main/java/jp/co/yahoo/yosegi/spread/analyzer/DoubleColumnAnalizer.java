@@ -22,13 +22,15 @@ import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.util.io.XorEncoder;
 
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 
 public class DoubleColumnAnalizer implements IColumnAnalizer {
 
+  public static final int SAMPLE_SIZE = 1024;
+
   private final IColumn column;
 
   public DoubleColumnAnalizer( final IColumn column ) {
@@ -38,41 +40,45 @@ public class DoubleColumnAnalizer implements IColumnAnalizer {
   @Override
   public IColumnAnalizeResult analize() throws IOException {
     boolean maybeSorted = true;
-    Double currentSortCheckValue = Double.MIN_VALUE;
+    double currentSortCheckValue = Double.MIN_VALUE;
     int nullCount = 0;
     int rowCount = 0;
 
-    Set<Double> dicSet = new HashSet<Double>();
-
-    Double min = Double.MAX_VALUE;
-    Double max = Double.MIN_VALUE;
+    LongUniqCounter uniqCounter = new LongUniqCounter();
+    XorEncoder xorEncoder = new XorEncoder( Long.SIZE );
+    double[] sampleArray = new double[ Math.min( column.size() , SAMPLE_SIZE ) ];
 
+    double min = Double.MAX_VALUE;
+    double max = Double.MIN_VALUE;
     for ( int i = 0 ; i < column.size() ; i++ ) {
       ICell cell = column.get(i);
       if ( cell.getType() == ColumnType.NULL ) {
         nullCount++;
         continue;
       }
-      Double target = Double.valueOf( ( (PrimitiveCell) cell).getRow().getDouble() );
-      if ( maybeSorted && currentSortCheckValue.compareTo( target ) <= 0 ) {
+      double target = ( (PrimitiveCell) cell).getRow().getDouble();
+      if ( maybeSorted && Double.compare( currentSortCheckValue , target ) <= 0 ) {
         currentSortCheckValue = target;
       } else {
         maybeSorted = false;
       }
 
+      if ( rowCount < sampleArray.length ) {
+        sampleArray[rowCount] = target;
+      }
       rowCount++;
-      if ( ! dicSet.contains( target ) ) {
-        dicSet.add( target );
-        if ( 0 < min.compareTo( target ) ) {
-          min = Double.valueOf( target );
-        }
-        if ( max.compareTo( target ) < 0 ) {
-          max = Double.valueOf( target );
-        }
+      long bits = Double.doubleToRawLongBits( target );
+      xorEncoder.add( bits );
+      uniqCounter.add( Double.doubleToLongBits( target ) );
+      if ( 0 < Double.compare( min , target ) ) {
+        min = target;
+      }
+      if ( Double.compare( max , target ) < 0 ) {
+        max = target;
       }
     }
 
-    int uniqCount = dicSet.size();
+    int uniqCount = uniqCounter.getUniqCount();
 
     return new DoubleColumnAnalizeResult(
         column.getColumnName() ,
@@ -82,7 +88,9 @@ public class DoubleColumnAnalizer implements IColumnAnalizer {
         rowCount ,
         uniqCount ,
         min ,
-        max );
+        max ,
+        xorEncoder.getLength() ,
+        Arrays.copyOf( sampleArray , Math.min( rowCount , sampleArray.length ) ) );
   }
 
 }
@@ -19,6 +19,7 @@
 package jp.co.yahoo.yosegi.spread.analyzer;
 
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.util.io.XorEncoder;
 
 public class FloatColumnAnalizeResult implements IColumnAnalizeResult {
 
@@ -31,6 +32,8 @@ public class FloatColumnAnalizeResult implements IColumnAnalizeResult {
 
   private final float min;
   private final float max;
+  private final int xorEncodedLength;
+  private final float[] sampleArray;
 
   /**
    * Set and initialize results.
@@ -44,6 +47,26 @@ public class FloatColumnAnalizeResult implements IColumnAnalizeResult {
       final int uniqCount ,
       final float min ,
       final float max ) {
+    this(
+        columnName , columnSize , sortFlag , nullCount , rowCount , uniqCount , min , max ,
+        XorEncoder.getMaxLength( rowCount , Integer.SIZE ) , new float[0] );
+  }
+
+  /**
+   * Set and initialize results with the length of the values written by XorEncoder
+   * and the first values of the column.
+   */
+  public FloatColumnAnalizeResult(
+      final String columnName ,
+      final int columnSize ,
+      final boolean sortFlag ,
+      final int nullCount ,
+      final int rowCount ,
+      final int uniqCount ,
+      final float min ,
+      final float max ,
+      final int xorEncodedLength ,
+      final float[] sampleArray ) {
     this.columnName = columnName;
     this.columnSize = columnSize;
     this.sortFlag = sortFlag;
@@ -52,6 +75,8 @@ public class FloatColumnAnalizeResult implements IColumnAnalizeResult {
     this.uniqCount = uniqCount;
     this.min = min;
     this.max = max;
+    this.xorEncodedLength = xorEncodedLength;
+    this.sampleArray = sampleArray;
   }
 
   @Override
@@ -112,4 +137,19 @@ public class FloatColumnAnalizeResult implements IColumnAnalizeResult {
     return max;
   }
 
+  /**
+   * Returns the number of bytes of the values written by XorEncoder.
+   */
+  public int getXorEncodedLength() {
+    return xorEncodedLength;
+  }
+
+  /**
+   * Returns the first values of the column except null.
+   * The optimizer encodes them with the candidate makers to compare the compressed sizes.
+   */
+  public float[] getSampleArray() {
+    return sampleArray;
+  }
+
 }
@@ -22,13 +22,15 @@ import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.util.io.XorEncoder;
 
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 
 public class FloatColumnAnalizer implements IColumnAnalizer {
 
+  public static final int SAMPLE_SIZE = 1024;
+
   private final IColumn column;
 
   public FloatColumnAnalizer( final IColumn column ) {
@@ -38,40 +40,45 @@ public class FloatColumnAnalizer implements IColumnAnalizer {
   @Override
   public IColumnAnalizeResult analize() throws IOException {
     boolean maybeSorted = true;
-    Float currentSortCheckValue = Float.MIN_VALUE;
+    float currentSortCheckValue = Float.MIN_VALUE;
     int nullCount = 0;
     int rowCount = 0;
 
-    Set<Float> dicSet = new HashSet<Float>();
+    LongUniqCounter uniqCounter = new LongUniqCounter();
+    XorEncoder xorEncoder = new XorEncoder( Integer.SIZE );
+    float[] sampleArray = new float[ Math.min( column.size() , SAMPLE_SIZE ) ];
 
-    Float min = Float.MAX_VALUE;
-    Float max = Float.MIN_VALUE;
+    float min = Float.MAX_VALUE;
+    float max = Float.MIN_VALUE;
     for ( int i = 0 ; i < column.size() ; i++ ) {
       ICell cell = column.get(i);
       if ( cell.getType() == ColumnType.NULL ) {
         nullCount++;
         continue;
       }
-      Float target = Float.valueOf( ( (PrimitiveCell) cell).getRow().getFloat() );
-      if ( maybeSorted && currentSortCheckValue.compareTo( target ) <= 0 ) {
+      float target = ( (PrimitiveCell) cell).getRow().getFloat();
+      if ( maybeSorted && Float.compare( currentSortCheckValue , target ) <= 0 ) {
         currentSortCheckValue = target;
       } else {
         maybeSorted = false;
       }
 
+      if ( rowCount < sampleArray.length ) {
+        sampleArray[rowCount] = target;
+      }
       rowCount++;
-      if ( ! dicSet.contains( target ) ) {
-        dicSet.add( target );
-        if ( 0 < min.compareTo( target ) ) {
-          min = Float.valueOf( target );
-        }
-        if ( max.compareTo( target ) < 0 ) {
-          max = Float.valueOf( target );
-        }
+      long bits = Float.floatToRawIntBits( target ) & 0xFFFFFFFFL;
+      xorEncoder.add( bits );
+      uniqCounter.add( Float.floatToIntBits( target ) );
+      if ( 0 < Float.compare( min , target ) ) {
+        min = target;
+      }
+      if ( Float.compare( max , target ) < 0 ) {
+        max = target;
       }
     }
 
-    int uniqCount = dicSet.size();
+    int uniqCount = uniqCounter.getUniqCount();
 
     return new FloatColumnAnalizeResult(
         column.getColumnName() ,
@@ -81,7 +88,9 @@ public class FloatColumnAnalizer implements IColumnAnalizer {
         rowCount ,
         uniqCount ,
         min ,
-        max );
+        max ,
+        xorEncoder.getLength() ,
+        Arrays.copyOf( sampleArray , Math.min( rowCount , sampleArray.length ) ) );
   }
 
 }
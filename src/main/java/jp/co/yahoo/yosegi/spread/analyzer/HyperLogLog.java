@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.spread.analyzer;
+
+/**
+ * HyperLogLog sketch that estimates the number of distinct 64bit hashes.
+ */
+final class HyperLogLog {
+
+  private static final int PRECISION = 14;
+  private static final int REGISTER_SIZE = 1 << PRECISION;
+
+  private final byte[] registers = new byte[REGISTER_SIZE];
+
+  /**
+   * Add a hash that is well mixed in all 64 bits.
+   */
+  void add( final long hash ) {
+    int index = (int)( hash >>> ( Long.SIZE - PRECISION ) );
+    long remaining = ( hash << PRECISION ) | ( 1L << ( PRECISION - 1 ) );
+    byte rank = (byte)( Long.numberOfLeadingZeros( remaining ) + 1 );
+    if ( registers[index] < rank ) {
+      registers[index] = rank;
+    }
+  }
+
+  /**
+   * Estimate the number of distinct hashes.
+   */
+  long estimate() {
+    double sum = 0;
+    int zeroCount = 0;
+    for ( byte register : registers ) {
+      sum += 1.0d / ( 1L << register );
+      if ( register == 0 ) {
+        zeroCount++;
+      }
+    }
+    double size = REGISTER_SIZE;
+    double alpha = 0.7213d / ( 1.0d + 1.079d / size );
+    double estimate = alpha * size * size / sum;
+    if ( estimate <= size * 2.5d && zeroCount != 0 ) {
+      estimate = size * Math.log( size / zeroCount );
+    }
+    return Math.round( estimate );
+  }
+
+  /**
+   * Mix the bits of the value so that it can be added to the sketch.
+   */
+  static long mix( final long value ) {
+    long hash = value;
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+}
@@ -45,6 +45,14 @@ public interface IColumnAnalizeResult {
 
   int getRowEnd();
 
+  /**
+   * Returns the number of runs of equal consecutive values. Null is counted as a value.
+   * If the analysis does not count the runs, every row is assumed to be a run.
+   */
+  default int getRunCount() {
+    return getColumnSize();
+  }
+
   default List<IColumnAnalizeResult> getChild() {
     return new ArrayList<IColumnAnalizeResult>();
   }
@@ -22,10 +22,9 @@ import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.util.io.BitPackUtils;
 
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
 
 public class IntegerColumnAnalizer implements IColumnAnalizer {
 
@@ -38,40 +37,63 @@ public class IntegerColumnAnalizer implements IColumnAnalizer {
   @Override
   public IColumnAnalizeResult analize() throws IOException {
     boolean maybeSorted = true;
-    Integer currentSortCheckValue = Integer.MIN_VALUE;
+    int currentSortCheckValue = Integer.MIN_VALUE;
+    int currentValue = 0;
     int nullCount = 0;
+    int runCount = 0;
+    boolean isPreviousNull = false;
     int rowCount = 0;
 
-    Set<Integer> dicSet = new HashSet<Integer>();
+    LongUniqCounter uniqCounter = new LongUniqCounter();
 
-    Integer min = Integer.MAX_VALUE;
-    Integer max = Integer.MIN_VALUE;
+    long minDelta = Long.MAX_VALUE;
+    long maxDelta = Long.MIN_VALUE;
+
+    int min = Integer.MAX_VALUE;
+    int max = Integer.MIN_VALUE;
     for ( int i = 0 ; i < column.size() ; i++ ) {
       ICell cell = column.get(i);
       if ( cell.getType() == ColumnType.NULL ) {
+        if ( i == 0 || ! isPreviousNull ) {
+          runCount++;
+        }
+        isPreviousNull = true;
         nullCount++;
         continue;
       }
-      Integer target = Integer.valueOf( ( (PrimitiveCell) cell).getRow().getInt() );
-      if ( maybeSorted && currentSortCheckValue.compareTo( target ) <= 0 ) {
+      int target = ( (PrimitiveCell) cell).getRow().getInt();
+      if ( maybeSorted && currentSortCheckValue <= target ) {
         currentSortCheckValue = target;
       } else {
         maybeSorted = false;
       }
 
-      rowCount++;
-      if ( ! dicSet.contains( target ) ) {
-        dicSet.add( target );
-        if ( 0 < min.compareTo( target ) ) {
-          min = Integer.valueOf( target );
+      if ( 0 < rowCount ) {
+        long delta = (long)target - (long)currentValue;
+        if ( delta < minDelta ) {
+          minDelta = delta;
         }
-        if ( max.compareTo( target ) < 0 ) {
-          max = Integer.valueOf( target );
+        if ( maxDelta < delta ) {
+          maxDelta = delta;
         }
       }
+      if ( i == 0 || isPreviousNull || currentValue != target ) {
+        runCount++;
+      }
+      isPreviousNull = false;
+      currentValue = target;
+
+      rowCount++;
+      uniqCounter.add( target );
+      if ( target < min ) {
+        min = target;
+      }
+      if ( max < target ) {
+        max = target;
+      }
     }
 
-    int uniqCount = dicSet.size();
+    int uniqCount = uniqCounter.getUniqCount();
 
     return new IntegerColumnAnalizeResult(
         column.getColumnName() ,
@@ -81,7 +103,9 @@ public class IntegerColumnAnalizer implements IColumnAnalizer {
         rowCount ,
         uniqCount ,
         min ,
-        max );
+        max ,
+        rowCount < 2 ? 0 : BitPackUtils.getBitWidth( maxDelta - minDelta ) ,
+        runCount );
   }
 
 }
@@ -31,6 +31,8 @@ public class LongColumnAnalizeResult implements IColumnAnalizeResult {
 
   private final long min;
   private final long max;
+  private final int deltaBitWidth;
+  private final int runCount;
 
   /**
    * Set and initialize results.
@@ -44,6 +46,44 @@ public class LongColumnAnalizeResult implements IColumnAnalizeResult {
       final int uniqCount ,
       final long min ,
       final long max ) {
+    this(
+        columnName , columnSize , sortFlag , nullCount , rowCount , uniqCount , min , max ,
+        Long.SIZE );
+  }
+
+  /**
+   * Set and initialize results with the bit width of the range of consecutive differences.
+   */
+  public LongColumnAnalizeResult(
+      final String columnName ,
+      final int columnSize ,
+      final boolean sortFlag ,
+      final int nullCount ,
+      final int rowCount ,
+      final int uniqCount ,
+      final long min ,
+      final long max ,
+      final int deltaBitWidth ) {
+    this(
+        columnName , columnSize , sortFlag , nullCount , rowCount , uniqCount , min , max ,
+        deltaBitWidth , columnSize );
+  }
+
+  /**
+   * Set and initialize results with the bit width of the range of consecutive differences
+   * and the number of runs of equal consecutive values.
+   */
+  public LongColumnAnalizeResult(
+      final String columnName ,
+      final int columnSize ,
+      final boolean sortFlag ,
+      final int nullCount ,
+      final int rowCount ,
+      final int uniqCount ,
+      final long min ,
+      final long max ,
+      final int deltaBitWidth ,
+      final int runCount ) {
     this.columnName = columnName;
     this.columnSize = columnSize;
     this.sortFlag = sortFlag;
@@ -52,6 +92,8 @@ public class LongColumnAnalizeResult implements IColumnAnalizeResult {
     this.uniqCount = uniqCount;
     this.min = min;
     this.max = max;
+    this.deltaBitWidth = deltaBitWidth;
+    this.runCount = runCount;
   }
 
   @Override
@@ -112,4 +154,17 @@ public class LongColumnAnalizeResult implements IColumnAnalizeResult {
     return max;
   }
 
+  /**
+   * Returns the bits needed for the range between the smallest and the largest
+   * difference of consecutive non-null values.
+   */
+  public int getDeltaBitWidth() {
+    return deltaBitWidth;
+  }
+
+  @Override
+  public int getRunCount() {
+    return runCount;
+  }
+
 }
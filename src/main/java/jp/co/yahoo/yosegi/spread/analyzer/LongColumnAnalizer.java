@@ -22,10 +22,9 @@ import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.util.io.BitPackUtils;
 
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
 
 public class LongColumnAnalizer implements IColumnAnalizer {
 
@@ -38,40 +37,63 @@ public class LongColumnAnalizer implements IColumnAnalizer {
   @Override
   public IColumnAnalizeResult analize() throws IOException {
     boolean maybeSorted = true;
-    Long currentSortCheckValue = Long.MIN_VALUE;
+    long currentSortCheckValue = Long.MIN_VALUE;
+    long currentValue = 0;
     int nullCount = 0;
+    int runCount = 0;
+    boolean isPreviousNull = false;
     int rowCount = 0;
 
-    Set<Long> dicSet = new HashSet<Long>();
+    LongUniqCounter uniqCounter = new LongUniqCounter();
 
-    Long min = Long.MAX_VALUE;
-    Long max = Long.MIN_VALUE;
+    long minDelta = Long.MAX_VALUE;
+    long maxDelta = Long.MIN_VALUE;
+
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
     for ( int i = 0 ; i < column.size() ; i++ ) {
       ICell cell = column.get(i);
       if ( cell.getType() == ColumnType.NULL ) {
+        if ( i == 0 || ! isPreviousNull ) {
+          runCount++;
+        }
+        isPreviousNull = true;
         nullCount++;
         continue;
       }
-      Long target = Long.valueOf( ( (PrimitiveCell) cell).getRow().getLong() );
-      if ( maybeSorted && currentSortCheckValue.compareTo( target ) <= 0 ) {
+      long target = ( (PrimitiveCell) cell).getRow().getLong();
+      if ( maybeSorted && currentSortCheckValue <= target ) {
         currentSortCheckValue = target;
       } else {
         maybeSorted = false;
       }
 
-      rowCount++;
-      if ( ! dicSet.contains( target ) ) {
-        dicSet.add( target );
-        if ( 0 < min.compareTo( target ) ) {
-          min = Long.valueOf( target );
+      if ( 0 < rowCount ) {
+        long delta = target - currentValue;
+        if ( delta < minDelta ) {
+          minDelta = delta;
         }
-        if ( max.compareTo( target ) < 0 ) {
-          max = Long.valueOf( target );
+        if ( maxDelta < delta ) {
+          maxDelta = delta;
         }
       }
+      if ( i == 0 || isPreviousNull || currentValue != target ) {
+        runCount++;
+      }
+      isPreviousNull = false;
+      currentValue = target;
+
+      rowCount++;
+      uniqCounter.add( target );
+      if ( target < min ) {
+        min = target;
+      }
+      if ( max < target ) {
+        max = target;
+      }
     }
 
-    int uniqCount = dicSet.size();
+    int uniqCount = uniqCounter.getUniqCount();
 
     return new LongColumnAnalizeResult(
         column.getColumnName() ,
@@ -81,7 +103,9 @@ public class LongColumnAnalizer implements IColumnAnalizer {
         rowCount ,
         uniqCount ,
         min ,
-        max );
+        max ,
+        rowCount < 2 ? 0 : BitPackUtils.getBitWidth( maxDelta - minDelta ) ,
+        runCount );
   }
 
 }
@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.spread.analyzer;
+
+/**
+ * Count distinct long values without boxing.
+ * Values are counted exactly with an open addressing hash set up to the limit,
+ * and estimated with HyperLogLog beyond it.
+ */
+final class LongUniqCounter {
+
+  static final int DEFAULT_EXACT_LIMIT = 1 << 16;
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final int exactLimit;
+  private long[] keys = new long[INITIAL_CAPACITY];
+  private boolean hasZero;
+  private int size;
+  private HyperLogLog sketch;
+
+  LongUniqCounter() {
+    this( DEFAULT_EXACT_LIMIT );
+  }
+
+  LongUniqCounter( final int exactLimit ) {
+    this.exactLimit = exactLimit;
+  }
+
+  /**
+   * Add a value.
+   */
+  void add( final long value ) {
+    if ( sketch != null ) {
+      sketch.add( HyperLogLog.mix( value ) );
+      return;
+    }
+    if ( value == 0 ) {
+      if ( ! hasZero ) {
+        hasZero = true;
+        added();
+      }
+      return;
+    }
+    int mask = keys.length - 1;
+    int index = (int)HyperLogLog.mix( value ) & mask;
+    while ( keys[index] != 0 ) {
+      if ( keys[index] == value ) {
+        return;
+      }
+      index = ( index + 1 ) & mask;
+    }
+    keys[index] = value;
+    added();
+  }
+
+  private void added() {
+    size++;
+    if ( exactLimit < size ) {
+      toSketch();
+    } else if ( keys.length < size * 2 ) {
+      resize();
+    }
+  }
+
+  private void resize() {
+    long[] oldKeys = keys;
+    keys = new long[oldKeys.length * 2];
+    int mask = keys.length - 1;
+    for ( long key : oldKeys ) {
+      if ( key != 0 ) {
+        int index = (int)HyperLogLog.mix( key ) & mask;
+        while ( keys[index] != 0 ) {
+          index = ( index + 1 ) & mask;
+        }
+        keys[index] = key;
+      }
+    }
+  }
+
+  private void toSketch() {
+    sketch = new HyperLogLog();
+    if ( hasZero ) {
+      sketch.add( HyperLogLog.mix( 0 ) );
+    }
+    for ( long key : keys ) {
+      if ( key != 0 ) {
+        sketch.add( HyperLogLog.mix( key ) );
+      }
+    }
+    keys = null;
+  }
+
+  /**
+   * Returns true while the count is exact.
+   */
+  boolean isExact() {
+    return sketch == null;
+  }
+
+  /**
+   * Returns the number of distinct values.
+   * The estimate never falls below the exact count that was reached before the sketch.
+   */
+  int getUniqCount() {
+    if ( sketch == null ) {
+      return size;
+    }
+    return (int)Math.min( Integer.MAX_VALUE , Math.max( size , sketch.estimate() ) );
+  }
+
+}
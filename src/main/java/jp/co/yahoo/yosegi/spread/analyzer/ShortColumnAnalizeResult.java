@@ -31,6 +31,7 @@ public class ShortColumnAnalizeResult implements IColumnAnalizeResult {
 
   private final short min;
   private final short max;
+  private final int runCount;
 
   /**
    * Set and initialize results.
@@ -44,6 +45,24 @@ public class ShortColumnAnalizeResult implements IColumnAnalizeResult {
       final int uniqCount ,
       final short min ,
       final short max ) {
+    this(
+        columnName , columnSize , sortFlag , nullCount , rowCount , uniqCount , min , max ,
+        columnSize );
+  }
+
+  /**
+   * Set and initialize results with the number of runs of equal consecutive values.
+   */
+  public ShortColumnAnalizeResult(
+      final String columnName ,
+      final int columnSize ,
+      final boolean sortFlag ,
+      final int nullCount ,
+      final int rowCount ,
+      final int uniqCount ,
+      final short min ,
+      final short max ,
+      final int runCount ) {
     this.columnName = columnName;
     this.columnSize = columnSize;
     this.sortFlag = sortFlag;
@@ -52,6 +71,7 @@ public class ShortColumnAnalizeResult implements IColumnAnalizeResult {
     this.uniqCount = uniqCount;
     this.min = min;
     this.max = max;
+    this.runCount = runCount;
   }
 
   @Override
@@ -112,4 +132,9 @@ public class ShortColumnAnalizeResult implements IColumnAnalizeResult {
     return max;
   }
 
+  @Override
+  public int getRunCount() {
+    return runCount;
+  }
+
 }
@@ -24,8 +24,6 @@ import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
 
 public class ShortColumnAnalizer implements IColumnAnalizer {
 
@@ -38,41 +36,55 @@ public class ShortColumnAnalizer implements IColumnAnalizer {
   @Override
   public IColumnAnalizeResult analize() throws IOException {
     boolean maybeSorted = true;
-    Short currentSortCheckValue = Short.MIN_VALUE;
+    short currentSortCheckValue = Short.MIN_VALUE;
     int nullCount = 0;
+    int runCount = 0;
+    boolean isPreviousNull = false;
+    short previousValue = 0;
     int rowCount = 0;
 
-    Set<Short> dicSet = new HashSet<Short>();
+    long[] dicBitmap = new long[ ( 1 << Short.SIZE ) / Long.SIZE ];
+    int uniqCount = 0;
 
-    Short min = Short.MAX_VALUE;
-    Short max = Short.MIN_VALUE;
+    short min = Short.MAX_VALUE;
+    short max = Short.MIN_VALUE;
     for ( int i = 0 ; i < column.size() ; i++ ) {
       ICell cell = column.get(i);
       if ( cell.getType() == ColumnType.NULL ) {
+        if ( i == 0 || ! isPreviousNull ) {
+          runCount++;
+        }
+        isPreviousNull = true;
         nullCount++;
         continue;
       }
-      Short target = Short.valueOf( ( (PrimitiveCell) cell).getRow().getShort() );
-      if ( maybeSorted && currentSortCheckValue.compareTo( target ) <= 0 ) {
+      short target = ( (PrimitiveCell) cell).getRow().getShort();
+      if ( i == 0 || isPreviousNull || previousValue != target ) {
+        runCount++;
+      }
+      isPreviousNull = false;
+      previousValue = target;
+      if ( maybeSorted && currentSortCheckValue <= target ) {
         currentSortCheckValue = target;
       } else {
         maybeSorted = false;
       }
 
       rowCount++;
-      if ( ! dicSet.contains( target ) ) {
-        dicSet.add( target );
-        if ( 0 < min.compareTo( target ) ) {
-          min = Short.valueOf( target );
-        }
-        if ( max.compareTo( target ) < 0 ) {
-          max = Short.valueOf( target );
-        }
+      int dicIndex = target - Short.MIN_VALUE;
+      long dicBit = 1L << dicIndex;
+      if ( ( dicBitmap[ dicIndex >>> 6 ] & dicBit ) == 0 ) {
+        dicBitmap[ dicIndex >>> 6 ] |= dicBit;
+        uniqCount++;
+      }
+      if ( target < min ) {
+        min = target;
+      }
+      if ( max < target ) {
+        max = target;
       }
     }
 
-    int uniqCount = dicSet.size();
-
     return new ShortColumnAnalizeResult(
         column.getColumnName() ,
         column.size() ,
@@ -81,7 +93,8 @@ public class ShortColumnAnalizer implements IColumnAnalizer {
         rowCount ,
         uniqCount ,
         min ,
-        max );
+        max ,
+        runCount );
   }
 
 }
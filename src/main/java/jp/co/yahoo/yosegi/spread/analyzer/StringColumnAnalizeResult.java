@@ -43,6 +43,7 @@ public class StringColumnAnalizeResult implements IColumnAnalizeResult {
 
   private final String min;
   private final String max;
+  private final int runCount;
 
   /**
    * Set and initialize results.
@@ -66,6 +67,36 @@ public class StringColumnAnalizeResult implements IColumnAnalizeResult {
       final int maxUtfBytes ,
       final String min ,
       final String max ) {
+    this(
+        columnName , columnSize , sortFlag , nullCount , rowCount , uniqCount ,
+        totalLogicalDataSize , startIndex , lastIndex , totalUtf8ByteSize , uniqLogicalDataSize ,
+        uniqUtf8ByteSize , minCharLength , maxCharLength , minUtfBytes , maxUtfBytes , min , max ,
+        columnSize );
+  }
+
+  /**
+   * Set and initialize results with the number of runs of equal consecutive values.
+   */
+  public StringColumnAnalizeResult(
+      final String columnName ,
+      final int columnSize ,
+      final boolean sortFlag ,
+      final int nullCount ,
+      final int rowCount ,
+      final int uniqCount ,
+      final int totalLogicalDataSize ,
+      final int startIndex ,
+      final int lastIndex ,
+      final int totalUtf8ByteSize ,
+      final int uniqLogicalDataSize ,
+      final int uniqUtf8ByteSize ,
+      final int minCharLength ,
+      final int maxCharLength ,
+      final int minUtfBytes ,
+      final int maxUtfBytes ,
+      final String min ,
+      final String max ,
+      final int runCount ) {
     this.columnName = columnName;
     this.columnSize = columnSize;
     this.sortFlag = sortFlag;
@@ -84,6 +115,7 @@ public class StringColumnAnalizeResult implements IColumnAnalizeResult {
     this.maxUtfBytes = maxUtfBytes;
     this.min = min;
     this.max = max;
+    this.runCount = runCount;
   }
 
   @Override
@@ -172,4 +204,9 @@ public class StringColumnAnalizeResult implements IColumnAnalizeResult {
     return max;
   }
 
+  @Override
+  public int getRunCount() {
+    return runCount;
+  }
+
 }
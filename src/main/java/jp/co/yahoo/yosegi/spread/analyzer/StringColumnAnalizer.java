@@ -18,18 +18,20 @@
 
 package jp.co.yahoo.yosegi.spread.analyzer;
 
+import jp.co.yahoo.yosegi.message.objects.IBytesLink;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
+import java.nio.charset.StandardCharsets;
 
 public class StringColumnAnalizer implements IColumnAnalizer {
 
   private final IColumn column;
+  private byte[] encodeBuffer = new byte[64];
 
   public StringColumnAnalizer( final IColumn column ) {
     this.column = column;
@@ -38,8 +40,9 @@ public class StringColumnAnalizer implements IColumnAnalizer {
   @Override
   public IColumnAnalizeResult analize() throws IOException {
     boolean maybeSorted = true;
-    String currentSortCheckValue = "";
     int nullCount = 0;
+    int runCount = 0;
+    boolean isPreviousNull = false;
     int rowCount = 0;
     int totalLogicalDataSize = 0;
     int totalUtf8ByteSize = 0;
@@ -53,19 +56,49 @@ public class StringColumnAnalizer implements IColumnAnalizer {
 
     int startIndex = -1;
     int lastIndex = 0;
-    Set<String> dicSet = new HashSet<String>();
+    Utf8UniqCounter uniqCounter = new Utf8UniqCounter();
 
-    String min = "";
-    String max = "";
+    Utf8Value sortCheckValue = new Utf8Value();
+    Utf8Value previousValue = new Utf8Value();
+    Utf8Value min = null;
+    Utf8Value max = new Utf8Value();
     for ( int i = 0 ; i < column.size() ; i++ ) {
       ICell cell = column.get(i);
       if ( cell.getType() == ColumnType.NULL ) {
+        if ( i == 0 || ! isPreviousNull ) {
+          runCount++;
+        }
+        isPreviousNull = true;
         nullCount++;
         continue;
       }
-      String target = ( (PrimitiveCell) cell ).getRow().getString();
-      if ( maybeSorted && currentSortCheckValue.compareTo( target ) <= 0 ) {
-        currentSortCheckValue = target;
+      PrimitiveObject target = ( (PrimitiveCell) cell ).getRow();
+      byte[] utf8Bytes;
+      int utf8Start;
+      int utf8Length;
+      int charLength;
+      if ( target instanceof IBytesLink ) {
+        IBytesLink bytesLink = (IBytesLink)target;
+        utf8Bytes = bytesLink.getLinkBytes();
+        utf8Start = bytesLink.getStart();
+        utf8Length = bytesLink.getLength();
+        charLength = getUtf16Length( utf8Bytes , utf8Start , utf8Length ) * Character.BYTES;
+      } else {
+        String targetString = target.getString();
+        utf8Length = encode( targetString );
+        utf8Bytes = encodeBuffer;
+        utf8Start = 0;
+        charLength = targetString.length() * Character.BYTES;
+      }
+
+      if ( i == 0 || isPreviousNull
+          || previousValue.compareTo( utf8Bytes , utf8Start , utf8Length ) != 0 ) {
+        runCount++;
+        previousValue.set( utf8Bytes , utf8Start , utf8Length );
+      }
+      isPreviousNull = false;
+      if ( maybeSorted && sortCheckValue.compareTo( utf8Bytes , utf8Start , utf8Length ) <= 0 ) {
+        sortCheckValue.set( utf8Bytes , utf8Start , utf8Length );
       } else {
         maybeSorted = false;
       }
@@ -75,38 +108,42 @@ public class StringColumnAnalizer implements IColumnAnalizer {
       }
       lastIndex = i;
 
-      byte[] stringBytes = target.getBytes( "UTF-8" );
       rowCount++;
-      int charLength = target.length() * Character.BYTES;
       totalLogicalDataSize += charLength;
-      totalUtf8ByteSize += stringBytes.length;
+      totalUtf8ByteSize += utf8Length;
 
-      if ( ! dicSet.contains( target ) ) {
+      if ( uniqCounter.add( utf8Bytes , utf8Start , utf8Length ) ) {
         uniqLogicalDataSize += charLength;
-        uniqUtf8ByteSize += stringBytes.length;
-        dicSet.add( target );
-        if ( min.isEmpty() || 0 < min.compareTo( target ) ) {
-          min = String.valueOf( target );
-        }
-        if ( max.compareTo( target ) < 0 ) {
-          max = String.valueOf( target );
-        }
-        if ( charLength < minCharLength ) {
-          minCharLength = charLength;
-        }
-        if ( maxCharLength < charLength ) {
-          maxCharLength = charLength;
-        }
-        if ( stringBytes.length < minUtfBytes ) {
-          minUtfBytes = stringBytes.length;
-        }
-        if ( maxUtfBytes < stringBytes.length ) {
-          maxUtfBytes = stringBytes.length;
-        }
+        uniqUtf8ByteSize += utf8Length;
+      }
+      if ( min == null ) {
+        min = new Utf8Value();
+        min.set( utf8Bytes , utf8Start , utf8Length );
+      } else if ( 0 < min.compareTo( utf8Bytes , utf8Start , utf8Length ) ) {
+        min.set( utf8Bytes , utf8Start , utf8Length );
+      }
+      if ( max.compareTo( utf8Bytes , utf8Start , utf8Length ) < 0 ) {
+        max.set( utf8Bytes , utf8Start , utf8Length );
+      }
+      if ( charLength < minCharLength ) {
+        minCharLength = charLength;
+      }
+      if ( maxCharLength < charLength ) {
+        maxCharLength = charLength;
+      }
+      if ( utf8Length < minUtfBytes ) {
+        minUtfBytes = utf8Length;
+      }
+      if ( maxUtfBytes < utf8Length ) {
+        maxUtfBytes = utf8Length;
       }
     }
 
-    int uniqCount = dicSet.size();
+    int uniqCount = uniqCounter.getUniqCount();
+    if ( ! uniqCounter.isExact() ) {
+      uniqLogicalDataSize = (int)( (long)totalLogicalDataSize * uniqCount / rowCount );
+      uniqUtf8ByteSize = (int)( (long)totalUtf8ByteSize * uniqCount / rowCount );
+    }
 
     return new StringColumnAnalizeResult(
         column.getColumnName() ,
@@ -125,8 +162,93 @@ public class StringColumnAnalizer implements IColumnAnalizer {
         maxCharLength ,
         minUtfBytes ,
         maxUtfBytes ,
-        min ,
-        max );
+        min == null ? "" : min.toString() ,
+        max.toString() ,
+        runCount );
+  }
+
+  /**
+   * Encode the string to UTF-8 in the reused buffer and returns the length.
+   * Unpaired surrogates are replaced with '?' in the same way as String#getBytes.
+   */
+  private int encode( final String target ) {
+    int maxLength = target.length() * 3;
+    if ( encodeBuffer.length < maxLength ) {
+      encodeBuffer = new byte[ Math.max( maxLength , encodeBuffer.length * 2 ) ];
+    }
+    byte[] buffer = encodeBuffer;
+    int length = 0;
+    for ( int i = 0 ; i < target.length() ; i++ ) {
+      char ch = target.charAt( i );
+      if ( ch < 0x80 ) {
+        buffer[length++] = (byte)ch;
+      } else if ( ch < 0x800 ) {
+        buffer[length++] = (byte)( 0xc0 | ( ch >> 6 ) );
+        buffer[length++] = (byte)( 0x80 | ( ch & 0x3f ) );
+      } else if ( Character.isHighSurrogate( ch )
+          && i + 1 < target.length() && Character.isLowSurrogate( target.charAt( i + 1 ) ) ) {
+        int codePoint = Character.toCodePoint( ch , target.charAt( ++i ) );
+        buffer[length++] = (byte)( 0xf0 | ( codePoint >> 18 ) );
+        buffer[length++] = (byte)( 0x80 | ( ( codePoint >> 12 ) & 0x3f ) );
+        buffer[length++] = (byte)( 0x80 | ( ( codePoint >> 6 ) & 0x3f ) );
+        buffer[length++] = (byte)( 0x80 | ( codePoint & 0x3f ) );
+      } else if ( Character.isSurrogate( ch ) ) {
+        buffer[length++] = (byte)'?';
+      } else {
+        buffer[length++] = (byte)( 0xe0 | ( ch >> 12 ) );
+        buffer[length++] = (byte)( 0x80 | ( ( ch >> 6 ) & 0x3f ) );
+        buffer[length++] = (byte)( 0x80 | ( ch & 0x3f ) );
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Count the UTF-16 chars of the UTF-8 bytes.
+   */
+  private static int getUtf16Length( final byte[] data , final int start , final int length ) {
+    int result = 0;
+    for ( int i = start ; i < start + length ; i++ ) {
+      int leadByte = data[i] & 0xff;
+      if ( ( leadByte & 0xc0 ) != 0x80 ) {
+        result += ( leadByte & 0xf8 ) == 0xf0 ? 2 : 1;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * UTF-8 value that is compared in the order of the code points.
+   */
+  private static final class Utf8Value {
+
+    private byte[] value = new byte[0];
+    private int length;
+
+    void set( final byte[] data , final int start , final int length ) {
+      if ( value.length < length ) {
+        value = new byte[ Math.max( length , value.length * 2 ) ];
+      }
+      System.arraycopy( data , start , value , 0 , length );
+      this.length = length;
+    }
+
+    int compareTo( final byte[] data , final int start , final int length ) {
+      int minLength = Math.min( this.length , length );
+      for ( int i = 0 ; i < minLength ; i++ ) {
+        int diff = ( value[i] & 0xff ) - ( data[start + i] & 0xff );
+        if ( diff != 0 ) {
+          return diff;
+        }
+      }
+      return this.length - length;
+    }
+
+    @Override
+    public String toString() {
+      return new String( value , 0 , length , StandardCharsets.UTF_8 );
+    }
+
   }
 
 }
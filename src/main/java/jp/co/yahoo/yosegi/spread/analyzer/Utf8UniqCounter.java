@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.spread.analyzer;
+
+import java.util.Arrays;
+
+/**
+ * Count distinct UTF-8 byte sequences.
+ * Distinct sequences are copied into a single byte array and counted exactly
+ * up to the limit, and estimated with HyperLogLog beyond it.
+ */
+final class Utf8UniqCounter {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final int exactLimit;
+  private int[] table = new int[INITIAL_CAPACITY];
+  private int[] offsets = new int[INITIAL_CAPACITY];
+  private int[] lengths = new int[INITIAL_CAPACITY];
+  private long[] hashes = new long[INITIAL_CAPACITY];
+  private byte[] arena = new byte[INITIAL_CAPACITY * 16];
+  private int arenaLength;
+  private int size;
+  private HyperLogLog sketch;
+
+  Utf8UniqCounter() {
+    this( LongUniqCounter.DEFAULT_EXACT_LIMIT );
+  }
+
+  Utf8UniqCounter( final int exactLimit ) {
+    this.exactLimit = exactLimit;
+  }
+
+  /**
+   * Add a byte sequence.
+   * Returns true if the sequence is counted exactly and it was not added before.
+   */
+  boolean add( final byte[] data , final int start , final int length ) {
+    long hash = hash( data , start , length );
+    if ( sketch != null ) {
+      sketch.add( hash );
+      return false;
+    }
+    int mask = table.length - 1;
+    int index = (int)hash & mask;
+    while ( table[index] != 0 ) {
+      int entry = table[index] - 1;
+      if ( hashes[entry] == hash && equals( entry , data , start , length ) ) {
+        return false;
+      }
+      index = ( index + 1 ) & mask;
+    }
+    if ( offsets.length == size ) {
+      int newLength = size * 2;
+      offsets = Arrays.copyOf( offsets , newLength );
+      lengths = Arrays.copyOf( lengths , newLength );
+      hashes = Arrays.copyOf( hashes , newLength );
+    }
+    if ( arena.length - arenaLength < length ) {
+      arena = Arrays.copyOf( arena , Math.max( arena.length * 2 , arenaLength + length ) );
+    }
+    System.arraycopy( data , start , arena , arenaLength , length );
+    offsets[size] = arenaLength;
+    lengths[size] = length;
+    hashes[size] = hash;
+    arenaLength += length;
+    size++;
+    table[index] = size;
+    if ( exactLimit < size ) {
+      toSketch();
+    } else if ( table.length < size * 2 ) {
+      resize();
+    }
+    return true;
+  }
+
+  private boolean equals(
+      final int entry , final byte[] data , final int start , final int length ) {
+    if ( lengths[entry] != length ) {
+      return false;
+    }
+    int offset = offsets[entry];
+    for ( int i = 0 ; i < length ; i++ ) {
+      if ( arena[offset + i] != data[start + i] ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void resize() {
+    table = new int[table.length * 2];
+    int mask = table.length - 1;
+    for ( int entry = 0 ; entry < size ; entry++ ) {
+      int index = (int)hashes[entry] & mask;
+      while ( table[index] != 0 ) {
+        index = ( index + 1 ) & mask;
+      }
+      table[index] = entry + 1;
+    }
+  }
+
+  private void toSketch() {
+    sketch = new HyperLogLog();
+    for ( int entry = 0 ; entry < size ; entry++ ) {
+      sketch.add( hashes[entry] );
+    }
+    table = null;
+    offsets = null;
+    lengths = null;
+    hashes = null;
+    arena = null;
+  }
+
+  /**
+   * Returns true while the count is exact.
+   */
+  boolean isExact() {
+    return sketch == null;
+  }
+
+  /**
+   * Returns the number of distinct sequences.
+   * The estimate never falls below the exact count that was reached before the sketch.
+   */
+  int getUniqCount() {
+    if ( sketch == null ) {
+      return size;
+    }
+    return (int)Math.min( Integer.MAX_VALUE , Math.max( size , sketch.estimate() ) );
+  }
+
+  private static long hash( final byte[] data , final int start , final int length ) {
+    long hash = 0xcbf29ce484222325L;
+    for ( int i = start ; i < start + length ; i++ ) {
+      hash ^= data[i];
+      hash *= 0x100000001b3L;
+    }
+    return HyperLogLog.mix( hash ^ length );
+  }
+
+}
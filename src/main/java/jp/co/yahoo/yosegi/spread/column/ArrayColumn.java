@@ -27,6 +27,7 @@ import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.message.parser.IParser;
 import jp.co.yahoo.yosegi.spread.Spread;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionIndex;
 import jp.co.yahoo.yosegi.spread.expression.ListIndexExpressionIndex;
@@ -210,6 +211,12 @@ public class ArrayColumn implements IColumn {
     return cellManager.filter( filter , filterArray );
   }
 
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    return cellManager.filter( filter , filterBitSet );
+  }
+
   @Override
   public PrimitiveObject[] getPrimitiveObjectArray(
       final IExpressionIndex indexList , final int start , final int length ) {
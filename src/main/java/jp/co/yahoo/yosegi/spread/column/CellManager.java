@@ -22,6 +22,7 @@ import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 import jp.co.yahoo.yosegi.spread.column.index.DefaultCellIndex;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionIndex;
 
@@ -97,6 +98,18 @@ public class CellManager implements ICellManager {
     }
   }
 
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    switch ( filter.getFilterType() ) {
+      case NOT_NULL:
+      case NULL:
+        return ICellManager.super.filter( filter , filterBitSet );
+      default:
+        return index.filter( filter , filterBitSet );
+    }
+  }
+
   private ICell search(
       final int index , final int min , final int max , final ICell defaultCell ) {
     if ( max < min ) {
@@ -21,6 +21,7 @@ package jp.co.yahoo.yosegi.spread.column;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionIndex;
 
@@ -40,6 +41,19 @@ public interface ICellManager {
 
   boolean[] filter( final IFilter filter , final boolean[] filterArray ) throws IOException;
 
+  /**
+   * Filter the rows and set the matched rows to the bitmap.
+   * Returns null if the rows can not be narrowed down.
+   */
+  default FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    boolean[] result = filter( filter , new boolean[filterBitSet.size()] );
+    if ( result == null ) {
+      return null;
+    }
+    return FilterBitSet.valueOf( result );
+  }
+
   PrimitiveObject[] getPrimitiveObjectArray(
       final IExpressionIndex indexList , final int start , final int length );
 
@@ -22,6 +22,7 @@ import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.design.IField;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionIndex;
 
@@ -74,6 +75,19 @@ public interface IColumn {
 
   boolean[] filter( final IFilter filter , boolean[] filterArray ) throws IOException;
 
+  /**
+   * Filter the rows and set the matched rows to the bitmap.
+   * Returns null if the rows can not be narrowed down.
+   */
+  default FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    boolean[] result = filter( filter , new boolean[filterBitSet.size()] );
+    if ( result == null ) {
+      return null;
+    }
+    return FilterBitSet.valueOf( result );
+  }
+
   PrimitiveObject[] getPrimitiveObjectArray(
       final IExpressionIndex indexList , final int start , final int length );
 
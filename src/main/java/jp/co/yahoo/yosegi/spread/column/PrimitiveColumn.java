@@ -22,6 +22,7 @@ import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.design.IField;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionIndex;
 
@@ -163,6 +164,12 @@ public class PrimitiveColumn implements IColumn {
     return cellManager.filter( filter , filterArray );
   }
 
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    return cellManager.filter( filter , filterBitSet );
+  }
+
   @Override
   public PrimitiveObject[] getPrimitiveObjectArray(
       final IExpressionIndex indexList , final int start , final int length ) {
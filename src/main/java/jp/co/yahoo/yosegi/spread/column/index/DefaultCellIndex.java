@@ -29,4 +29,10 @@ public class DefaultCellIndex implements ICellIndex {
     return null;
   }
 
+  @Override
+  public FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    return null;
+  }
+
 }
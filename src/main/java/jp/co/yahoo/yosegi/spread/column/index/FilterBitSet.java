@@ -0,0 +1,241 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.spread.column.index;
+
+import jp.co.yahoo.yosegi.util.io.BitPackUtils;
+
+/**
+ * Fixed size bitmap of the rows that match a filter.
+ * The rows are packed into 64 bit words so that conditions can be combined per word.
+ */
+public class FilterBitSet {
+
+  private static final int ADDRESS_BITS_PER_WORD = 6;
+  private static final long WORD_MASK = 0xFFFFFFFFFFFFFFFFL;
+
+  private final int size;
+  private final long[] words;
+
+  /**
+   * Create an empty bitmap for the number of rows.
+   */
+  public FilterBitSet( final int size ) {
+    if ( size < 0 ) {
+      throw new IllegalArgumentException( "size is negative : " + size );
+    }
+    this.size = size;
+    words = new long[ ( size + Long.SIZE - 1 ) >>> ADDRESS_BITS_PER_WORD ];
+  }
+
+  /**
+   * Create a bitmap from row flags.
+   */
+  public static FilterBitSet valueOf( final boolean[] filterArray ) {
+    FilterBitSet result = new FilterBitSet( filterArray.length );
+    for ( int i = 0 ; i < filterArray.length ; i++ ) {
+      if ( filterArray[i] ) {
+        result.set( i );
+      }
+    }
+    return result;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void set( final int index ) {
+    words[ index >>> ADDRESS_BITS_PER_WORD ] |= 1L << index;
+  }
+
+  /**
+   * Set the rows from fromIndex (inclusive) to toIndex (exclusive).
+   */
+  public void set( final int fromIndex , final int toIndex ) {
+    if ( toIndex <= fromIndex ) {
+      return;
+    }
+    int startWordIndex = fromIndex >>> ADDRESS_BITS_PER_WORD;
+    int endWordIndex = ( toIndex - 1 ) >>> ADDRESS_BITS_PER_WORD;
+    long firstWordMask = WORD_MASK << fromIndex;
+    long lastWordMask = WORD_MASK >>> -toIndex;
+    if ( startWordIndex == endWordIndex ) {
+      words[startWordIndex] |= firstWordMask & lastWordMask;
+      return;
+    }
+    words[startWordIndex] |= firstWordMask;
+    for ( int i = startWordIndex + 1 ; i < endWordIndex ; i++ ) {
+      words[i] = WORD_MASK;
+    }
+    words[endWordIndex] |= lastWordMask;
+  }
+
+  public void clear( final int index ) {
+    words[ index >>> ADDRESS_BITS_PER_WORD ] &= ~( 1L << index );
+  }
+
+  public boolean get( final int index ) {
+    return ( words[ index >>> ADDRESS_BITS_PER_WORD ] & ( 1L << index ) ) != 0;
+  }
+
+  /**
+   * Keep only the rows that are also set in the other bitmap.
+   */
+  public FilterBitSet and( final FilterBitSet other ) {
+    checkSize( other );
+    for ( int i = 0 ; i < words.length ; i++ ) {
+      words[i] &= other.words[i];
+    }
+    return this;
+  }
+
+  /**
+   * Add the rows that are set in the other bitmap.
+   */
+  public FilterBitSet or( final FilterBitSet other ) {
+    checkSize( other );
+    for ( int i = 0 ; i < words.length ; i++ ) {
+      words[i] |= other.words[i];
+    }
+    return this;
+  }
+
+  /**
+   * Add the rows that are set in the bitmap of BitPackUtils.
+   * The bitmap is read one word at a time.
+   */
+  public FilterBitSet or( final byte[] bitmap , final int offset , final int bitmapSize ) {
+    int wordCount = getBitmapWordCount( bitmapSize );
+    for ( int i = 0 ; i < wordCount ; i++ ) {
+      words[i] |= BitPackUtils.getBitmapWord( bitmap , offset , bitmapSize , i );
+    }
+    clearUnusedBits();
+    return this;
+  }
+
+  /**
+   * Remove the rows that are set in the bitmap of BitPackUtils.
+   * The bitmap is read one word at a time.
+   */
+  public FilterBitSet andNot( final byte[] bitmap , final int offset , final int bitmapSize ) {
+    int wordCount = getBitmapWordCount( bitmapSize );
+    for ( int i = 0 ; i < wordCount ; i++ ) {
+      words[i] &= ~BitPackUtils.getBitmapWord( bitmap , offset , bitmapSize , i );
+    }
+    return this;
+  }
+
+  /**
+   * Invert all rows.
+   */
+  public FilterBitSet not() {
+    for ( int i = 0 ; i < words.length ; i++ ) {
+      words[i] = ~words[i];
+    }
+    clearUnusedBits();
+    return this;
+  }
+
+  /**
+   * Get the number of rows that are set.
+   */
+  public int cardinality() {
+    int count = 0;
+    for ( long word : words ) {
+      count += Long.bitCount( word );
+    }
+    return count;
+  }
+
+  /**
+   * Determine whether no row is set.
+   */
+  public boolean isEmpty() {
+    for ( long word : words ) {
+      if ( word != 0 ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Determine whether all rows are set.
+   */
+  public boolean isFull() {
+    return cardinality() == size;
+  }
+
+  /**
+   * Get the first row that is set at or after the index, or -1 if there is none.
+   */
+  public int nextSetBit( final int fromIndex ) {
+    if ( size <= fromIndex ) {
+      return -1;
+    }
+    int wordIndex = fromIndex >>> ADDRESS_BITS_PER_WORD;
+    long word = words[wordIndex] & ( WORD_MASK << fromIndex );
+    while ( true ) {
+      if ( word != 0 ) {
+        return ( wordIndex * Long.SIZE ) + Long.numberOfTrailingZeros( word );
+      }
+      wordIndex++;
+      if ( wordIndex == words.length ) {
+        return -1;
+      }
+      word = words[wordIndex];
+    }
+  }
+
+  /**
+   * Convert to row flags.
+   */
+  public boolean[] toBooleanArray() {
+    return toBooleanArray( new boolean[size] );
+  }
+
+  /**
+   * Set the rows of this bitmap to the row flags and return them.
+   */
+  public boolean[] toBooleanArray( final boolean[] filterArray ) {
+    for ( int i = nextSetBit( 0 ) ; 0 <= i ; i = nextSetBit( i + 1 ) ) {
+      filterArray[i] = true;
+    }
+    return filterArray;
+  }
+
+  private void clearUnusedBits() {
+    int usedBits = size & ( Long.SIZE - 1 );
+    if ( usedBits != 0 ) {
+      words[ words.length - 1 ] &= WORD_MASK >>> ( Long.SIZE - usedBits );
+    }
+  }
+
+  private int getBitmapWordCount( final int bitmapSize ) {
+    return Math.min( words.length , ( bitmapSize + Long.SIZE - 1 ) >>> ADDRESS_BITS_PER_WORD );
+  }
+
+  private void checkSize( final FilterBitSet other ) {
+    if ( size != other.size ) {
+      throw new IllegalArgumentException(
+          "Bitmap size does not match : " + size + " and " + other.size );
+    }
+  }
+
+}
@@ -26,4 +26,17 @@ public interface ICellIndex {
 
   boolean[] filter( final IFilter filter , final boolean[] filterArray ) throws IOException;
 
+  /**
+   * Filter the rows and set the matched rows to the bitmap.
+   * Returns null if the rows can not be narrowed down.
+   */
+  default FilterBitSet filter(
+      final IFilter filter , final FilterBitSet filterBitSet ) throws IOException {
+    boolean[] result = filter( filter , new boolean[filterBitSet.size()] );
+    if ( result == null ) {
+      return null;
+    }
+    return FilterBitSet.valueOf( result );
+  }
+
 }
@@ -20,6 +20,7 @@ package jp.co.yahoo.yosegi.spread.expression;
 
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.util.CollectionUtils;
 
 import java.io.IOException;
@@ -39,21 +40,24 @@ public class AndExpressionNode implements IExpressionNode {
 
   @Override
   public boolean[] exec( final Spread spread ) throws IOException {
-    boolean[] intersection = null;
+    FilterBitSet result = execBitSet( spread );
+    if ( result == null ) {
+      return null;
+    }
+    return result.toBooleanArray();
+  }
+
+  @Override
+  public FilterBitSet execBitSet( final Spread spread ) throws IOException {
+    FilterBitSet intersection = null;
     for ( IExpressionNode node : childNode ) {
-      boolean[] result = node.exec( spread );
+      FilterBitSet result = node.execBitSet( spread );
       if ( result != null ) {
         if ( intersection == null ) {
           intersection = result;
         } else {
-          boolean isEmpty = true;
-          for ( int i = 0 ; i < intersection.length ; i++ ) {
-            intersection[i] = intersection[i] && result[i];
-            if ( intersection[i] ) {
-              isEmpty = false;
-            }
-          }
-          if ( isEmpty ) {
+          intersection.and( result );
+          if ( intersection.isEmpty() ) {
             return intersection;
           }
         }
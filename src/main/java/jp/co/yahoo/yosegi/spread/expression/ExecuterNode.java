@@ -22,6 +22,7 @@ import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.spread.Spread;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 
 import java.io.IOException;
 import java.util.List;
@@ -56,6 +57,12 @@ public class ExecuterNode implements IExpressionNode {
     return column.filter( filter , new boolean[spread.size()] );
   }
 
+  @Override
+  public FilterBitSet execBitSet( final Spread spread ) throws IOException {
+    IColumn column = columnExtractNode.get( spread );
+    return column.filter( filter , new FilterBitSet( spread.size() ) );
+  }
+
   @Override
   public List<Integer> getBlockSpreadIndex( final BlockIndexNode indexNode ) throws IOException {
     BlockIndexNode currentNode = columnExtractNode.get( indexNode );
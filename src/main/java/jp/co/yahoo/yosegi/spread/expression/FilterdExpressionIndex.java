@@ -18,6 +18,8 @@
 
 package jp.co.yahoo.yosegi.spread.expression;
 
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
+
 public class FilterdExpressionIndex implements IExpressionIndex {
 
   private final int[] indexList;
@@ -37,6 +39,18 @@ public class FilterdExpressionIndex implements IExpressionIndex {
     }
   }
 
+  /**
+   * Create a valid row index from the bitmap of rows.
+   */
+  public FilterdExpressionIndex( final FilterBitSet filterBitSet ) {
+    size = 0;
+    indexList = new int[filterBitSet.cardinality()];
+    for ( int i = filterBitSet.nextSetBit( 0 ) ; 0 <= i ; i = filterBitSet.nextSetBit( i + 1 ) ) {
+      indexList[size] = i;
+      size++;
+    }
+  }
+
   @Override
   public int size() {
     return size;
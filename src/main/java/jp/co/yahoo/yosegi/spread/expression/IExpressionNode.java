@@ -20,6 +20,7 @@ package jp.co.yahoo.yosegi.spread.expression;
 
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 
 import java.io.IOException;
 import java.io.Serializable;
@@ -31,6 +32,18 @@ public interface IExpressionNode extends Serializable {
 
   boolean[] exec( final Spread spread ) throws IOException;
 
+  /**
+   * Execute the filter and get the matched rows as a bitmap.
+   * Returns null if all rows match.
+   */
+  default FilterBitSet execBitSet( final Spread spread ) throws IOException {
+    boolean[] result = exec( spread );
+    if ( result == null ) {
+      return null;
+    }
+    return FilterBitSet.valueOf( result );
+  }
+
   List<Integer> getBlockSpreadIndex( final BlockIndexNode indexNode ) throws IOException;
 
 }
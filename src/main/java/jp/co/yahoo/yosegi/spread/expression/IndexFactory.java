@@ -19,6 +19,7 @@
 package jp.co.yahoo.yosegi.spread.expression;
 
 import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 
 public final class IndexFactory {
 
@@ -35,4 +36,16 @@ public final class IndexFactory {
     }
   }
 
+  /**
+   * Determine the state of the bitmap and create IExpressionIndex.
+   */
+  public static IExpressionIndex toExpressionIndex(
+      final Spread spread , final FilterBitSet index ) {
+    if ( index == null ) {
+      return new AllExpressionIndex( spread.size() );
+    } else {
+      return new FilterdExpressionIndex( index );
+    }
+  }
+
 }
@@ -20,6 +20,7 @@ package jp.co.yahoo.yosegi.spread.expression;
 
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 
 import java.io.IOException;
 import java.util.List;
@@ -41,19 +42,23 @@ public class NotExpressionNode implements IExpressionNode {
 
   @Override
   public boolean[] exec( final Spread spread ) throws IOException {
+    FilterBitSet result = execBitSet( spread );
+    if ( result == null ) {
+      return null;
+    }
+    return result.toBooleanArray();
+  }
+
+  @Override
+  public FilterBitSet execBitSet( final Spread spread ) throws IOException {
     if ( childNode == null ) {
       return null;
     }
-    boolean[] childCollection = childNode.exec( spread );
+    FilterBitSet childCollection = childNode.execBitSet( spread );
     if ( childCollection == null ) {
       return null;
     }
-
-    for ( int i = 0 ; i < childCollection.length ; i++ ) {
-      childCollection[i] = ! childCollection[i];
-    }
-
-    return childCollection;
+    return childCollection.not();
   }
 
   @Override
@@ -20,6 +20,7 @@ package jp.co.yahoo.yosegi.spread.expression;
 
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.util.CollectionUtils;
 
 import java.io.IOException;
@@ -39,23 +40,26 @@ public class OrExpressionNode implements IExpressionNode {
 
   @Override
   public boolean[] exec( final Spread spread ) throws IOException {
-    boolean[] union = null;
+    FilterBitSet result = execBitSet( spread );
+    if ( result == null ) {
+      return null;
+    }
+    return result.toBooleanArray();
+  }
+
+  @Override
+  public FilterBitSet execBitSet( final Spread spread ) throws IOException {
+    FilterBitSet union = null;
     for ( IExpressionNode node : childNode ) {
-      boolean[] result = node.exec( spread );
+      FilterBitSet result = node.execBitSet( spread );
       if ( result == null ) {
         return null;
       }
       if ( union == null ) {
         union = result;
       } else {
-        boolean isAll = true;
-        for ( int i = 0 ; i < union.length ; i++ ) {
-          union[i] = union[i] || result[i];
-          if ( ! union[i] ) {
-            isAll = false;
-          }
-        }
-        if ( isAll ) {
+        union.or( result );
+        if ( union.isFull() ) {
           return union;
         }
       }
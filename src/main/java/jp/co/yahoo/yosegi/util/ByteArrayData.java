@@ -113,6 +113,38 @@ public class ByteArrayData {
     length += targetLength;
   }
 
+  /**
+   * Add int in big endian.
+   */
+  public void appendInt( final int value ) {
+    checkSize( Integer.BYTES );
+    data[length] = (byte)( value >>> 24 );
+    data[length + 1] = (byte)( value >>> 16 );
+    data[length + 2] = (byte)( value >>> 8 );
+    data[length + 3] = (byte)value;
+    length += Integer.BYTES;
+  }
+
+  /**
+   * Make sure that the specified length can be written after the current length
+   * to the array returned by getBytes().
+   */
+  public void reserve( final int addLength ) {
+    checkSize( addLength );
+  }
+
+  /**
+   * Advance the length after writing directly to the array returned by getBytes().
+   */
+  public void forward( final int writeLength ) {
+    if ( writeLength < 0 || data.length < ( length + writeLength ) ) {
+      throw new IndexOutOfBoundsException( String.format(
+          "Invalid write length %d. Current length is %d and capacity is %d." ,
+          writeLength , length , data.length ) );
+    }
+    length += writeLength;
+  }
+
   private void checkSize( final int addLength ) {
     if ( data.length < ( length + addLength ) ) {
       int newDataSize = data.length + UP_DATA_SIZE_INTERVAL;
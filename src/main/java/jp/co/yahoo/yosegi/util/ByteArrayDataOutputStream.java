@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util;
+
+import java.io.OutputStream;
+
+/**
+ * OutputStream that appends the written bytes to ByteArrayData without copying on completion.
+ */
+public class ByteArrayDataOutputStream extends OutputStream {
+
+  private final ByteArrayData buffer;
+
+  public ByteArrayDataOutputStream( final ByteArrayData buffer ) {
+    this.buffer = buffer;
+  }
+
+  @Override
+  public void write( final int value ) {
+    buffer.append( (byte)value );
+  }
+
+  @Override
+  public void write( final byte[] data , final int start , final int length ) {
+    buffer.append( data , start , length );
+  }
+
+  @Override
+  public void close() {}
+
+}
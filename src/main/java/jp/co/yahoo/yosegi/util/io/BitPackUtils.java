@@ -0,0 +1,290 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io;
+
+/**
+ * Pack unsigned integers into a little endian bit stream with a fixed bit width.
+ */
+public final class BitPackUtils {
+
+  private static final int CHUNK_BITS = Integer.SIZE;
+
+  private BitPackUtils() {}
+
+  /**
+   * Returns the number of bits needed to hold the value as an unsigned integer.
+   */
+  public static int getBitWidth( final long unsignedValue ) {
+    return Long.SIZE - Long.numberOfLeadingZeros( unsignedValue );
+  }
+
+  /**
+   * Returns the number of bytes needed to pack the values.
+   */
+  public static int getPackedLength( final int count , final int bitWidth ) {
+    return (int)( ( (long)count * bitWidth + Byte.SIZE - 1 ) / Byte.SIZE );
+  }
+
+  private static long getMask( final int bits ) {
+    return bits == Long.SIZE ? -1L : ( 1L << bits ) - 1;
+  }
+
+  /**
+   * Pack values[start] - base ... values[start + count - 1] - base into the buffer.
+   * Each difference must fit in bitWidth bits as an unsigned integer.
+   * Returns the number of written bytes.
+   */
+  public static int pack(
+      final long[] values ,
+      final int start ,
+      final int count ,
+      final long base ,
+      final int bitWidth ,
+      final byte[] buffer ,
+      final int offset ) {
+    if ( bitWidth == 0 ) {
+      return 0;
+    }
+    int position = offset;
+    long bits = 0;
+    int bitCount = 0;
+    for ( int i = start ; i < start + count ; i++ ) {
+      long value = values[i] - base;
+      int remaining = bitWidth;
+      while ( 0 < remaining ) {
+        int chunk = Math.min( remaining , CHUNK_BITS );
+        bits |= ( value & getMask( chunk ) ) << bitCount;
+        bitCount += chunk;
+        value >>>= chunk;
+        remaining -= chunk;
+        while ( Byte.SIZE <= bitCount ) {
+          buffer[position++] = (byte)bits;
+          bits >>>= Byte.SIZE;
+          bitCount -= Byte.SIZE;
+        }
+      }
+    }
+    if ( 0 < bitCount ) {
+      buffer[position++] = (byte)bits;
+    }
+    return position - offset;
+  }
+
+  /**
+   * Unpack count values that were packed with bitWidth and add base to each of them.
+   * Returns the number of read bytes.
+   */
+  public static int unpack(
+      final byte[] buffer ,
+      final int offset ,
+      final int count ,
+      final long base ,
+      final int bitWidth ,
+      final long[] values ,
+      final int start ) {
+    if ( bitWidth == 0 ) {
+      for ( int i = start ; i < start + count ; i++ ) {
+        values[i] = base;
+      }
+      return 0;
+    }
+    int position = offset;
+    long bits = 0;
+    int bitCount = 0;
+    for ( int i = start ; i < start + count ; i++ ) {
+      long value = 0;
+      int shift = 0;
+      int remaining = bitWidth;
+      while ( 0 < remaining ) {
+        int chunk = Math.min( remaining , CHUNK_BITS );
+        while ( bitCount < chunk ) {
+          bits |= ( buffer[position++] & 0xFFL ) << bitCount;
+          bitCount += Byte.SIZE;
+        }
+        value |= ( bits & getMask( chunk ) ) << shift;
+        bits >>>= chunk;
+        bitCount -= chunk;
+        shift += chunk;
+        remaining -= chunk;
+      }
+      values[i] = value + base;
+    }
+    return position - offset;
+  }
+
+  /**
+   * Pack int values of at most 32 bits without a base.
+   * Returns the number of written bytes.
+   */
+  public static int packInt(
+      final int[] values ,
+      final int start ,
+      final int count ,
+      final int bitWidth ,
+      final byte[] buffer ,
+      final int offset ) {
+    if ( bitWidth == 0 ) {
+      return 0;
+    }
+    final long mask = getMask( bitWidth );
+    int position = offset;
+    long bits = 0;
+    int bitCount = 0;
+    for ( int i = start ; i < start + count ; i++ ) {
+      bits |= ( values[i] & mask ) << bitCount;
+      bitCount += bitWidth;
+      while ( Byte.SIZE <= bitCount ) {
+        buffer[position++] = (byte)bits;
+        bits >>>= Byte.SIZE;
+        bitCount -= Byte.SIZE;
+      }
+    }
+    if ( 0 < bitCount ) {
+      buffer[position++] = (byte)bits;
+    }
+    return position - offset;
+  }
+
+  /**
+   * Unpack count int values of at most 32 bits in bulk.
+   * Byte and short widths are copied directly, the others are read through
+   * a 64 bit window that is refilled one byte at a time.
+   * Returns the number of read bytes.
+   */
+  public static int unpackInt(
+      final byte[] buffer ,
+      final int offset ,
+      final int count ,
+      final int bitWidth ,
+      final int[] values ,
+      final int start ) {
+    final int end = start + count;
+    if ( bitWidth == 0 ) {
+      for ( int i = start ; i < end ; i++ ) {
+        values[i] = 0;
+      }
+      return 0;
+    }
+    int position = offset;
+    if ( bitWidth == Byte.SIZE ) {
+      for ( int i = start ; i < end ; i++ ) {
+        values[i] = buffer[position++] & 0xFF;
+      }
+      return position - offset;
+    }
+    if ( bitWidth == Short.SIZE ) {
+      for ( int i = start ; i < end ; i++ ) {
+        values[i] = ( buffer[position] & 0xFF ) | ( ( buffer[position + 1] & 0xFF ) << Byte.SIZE );
+        position += Short.BYTES;
+      }
+      return position - offset;
+    }
+    final long mask = getMask( bitWidth );
+    long bits = 0;
+    int bitCount = 0;
+    for ( int i = start ; i < end ; i++ ) {
+      while ( bitCount < bitWidth ) {
+        bits |= ( buffer[position++] & 0xFFL ) << bitCount;
+        bitCount += Byte.SIZE;
+      }
+      values[i] = (int)( bits & mask );
+      bits >>>= bitWidth;
+      bitCount -= bitWidth;
+    }
+    return position - offset;
+  }
+
+  /**
+   * Returns the number of bytes of a bitmap that holds one bit per row.
+   */
+  public static int getBitmapLength( final int size ) {
+    return ( size + Byte.SIZE - 1 ) >>> 3;
+  }
+
+  /**
+   * Pack the non zero flags into a bitmap that holds one bit per row.
+   * Row i is bit ( i % 8 ) of byte ( i / 8 ), the same order as an Arrow validity buffer.
+   * Returns the number of written bytes.
+   */
+  public static int packBitmap(
+      final byte[] flags ,
+      final int start ,
+      final int size ,
+      final byte[] buffer ,
+      final int offset ) {
+    final int length = getBitmapLength( size );
+    for ( int i = 0 ; i < length ; i++ ) {
+      buffer[ offset + i ] = 0;
+    }
+    for ( int i = 0 ; i < size ; i++ ) {
+      if ( flags[ start + i ] != 0 ) {
+        buffer[ offset + ( i >>> 3 ) ] |= (byte)( 1 << ( i & 7 ) );
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Returns the bit of the row in the bitmap.
+   */
+  public static boolean getBit( final byte[] buffer , final int offset , final int index ) {
+    return ( buffer[ offset + ( index >>> 3 ) ] & ( 1 << ( index & 7 ) ) ) != 0;
+  }
+
+  /**
+   * Read the 64 rows from wordIndex * 64 of the bitmap as one word.
+   * The bits beyond size are cleared.
+   */
+  public static long getBitmapWord(
+      final byte[] buffer , final int offset , final int size , final int wordIndex ) {
+    final int byteStart = wordIndex << 3;
+    final int byteLength = Math.min( Long.BYTES , getBitmapLength( size ) - byteStart );
+    long word = 0;
+    for ( int i = byteLength - 1 ; 0 <= i ; i-- ) {
+      word = ( word << Byte.SIZE ) | ( buffer[ offset + byteStart + i ] & 0xFFL );
+    }
+    final int remainingBits = size - ( wordIndex << 6 );
+    if ( remainingBits < Long.SIZE ) {
+      word &= getMask( remainingBits );
+    }
+    return word;
+  }
+
+  /**
+   * Expand the bitmap into one flag byte per row.
+   * The bitmap is read one word at a time and only the rows that are set are written,
+   * so the flags must be cleared beforehand.
+   */
+  public static void unpackBitmap(
+      final byte[] buffer ,
+      final int offset ,
+      final int size ,
+      final byte[] flags ,
+      final int start ) {
+    final int wordCount = ( size + Long.SIZE - 1 ) >>> 6;
+    for ( int wordIndex = 0 ; wordIndex < wordCount ; wordIndex++ ) {
+      long word = getBitmapWord( buffer , offset , size , wordIndex );
+      while ( word != 0 ) {
+        flags[ start + ( wordIndex << 6 ) + Long.numberOfTrailingZeros( word ) ] = 1;
+        word &= word - 1;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+public class ByteBufferRangeSource implements IRangeSource {
+
+  private final ByteBuffer buffer;
+
+  /**
+   * Read the bytes from position 0 to the limit of the buffer.
+   * The position of the buffer itself is never changed, so multiple readers can share it.
+   */
+  public ByteBufferRangeSource( final ByteBuffer buffer ) {
+    this.buffer = buffer.duplicate();
+    this.buffer.position( 0 );
+  }
+
+  /**
+   * Map the whole file into memory.
+   */
+  public static ByteBufferRangeSource map( final FileChannel channel ) throws IOException {
+    long size = channel.size();
+    if ( Integer.MAX_VALUE < size ) {
+      throw new IOException( "The file is too large to map : " + size );
+    }
+    return new ByteBufferRangeSource( channel.map( FileChannel.MapMode.READ_ONLY , 0 , size ) );
+  }
+
+  @Override
+  public long size() {
+    return buffer.limit();
+  }
+
+  @Override
+  public int read(
+      final long position ,
+      final byte[] dst ,
+      final int start ,
+      final int length ) {
+    if ( buffer.limit() <= position ) {
+      return -1;
+    }
+    int readLength = (int)Math.min( (long)length , buffer.limit() - position );
+    ByteBuffer readBuffer = buffer.duplicate();
+    readBuffer.position( (int)position );
+    readBuffer.get( dst , start , readLength );
+    return readLength;
+  }
+
+  @Override
+  public void close() {}
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io;
+
+/**
+ * Split fixed width values into one stream per byte position.
+ * The sign and exponent bytes of floating point values change slowly,
+ * so a general codec finds long repeats in their streams even when the mantissa is noise.
+ */
+public final class ByteStreamSplitUtils {
+
+  private ByteStreamSplitUtils() {}
+
+  /**
+   * Write byte j of values[start + i] to buffer[offset + j * count + i].
+   */
+  public static void split(
+      final long[] values ,
+      final int start ,
+      final int count ,
+      final int byteWidth ,
+      final byte[] buffer ,
+      final int offset ) {
+    for ( int j = 0 ; j < byteWidth ; j++ ) {
+      final int streamStart = offset + j * count;
+      final int shift = j * Byte.SIZE;
+      for ( int i = 0 ; i < count ; i++ ) {
+        buffer[ streamStart + i ] = (byte)( values[ start + i ] >>> shift );
+      }
+    }
+  }
+
+  /**
+   * Read the values written by split.
+   */
+  public static void merge(
+      final byte[] buffer ,
+      final int offset ,
+      final int count ,
+      final int byteWidth ,
+      final long[] values ,
+      final int start ) {
+    for ( int i = 0 ; i < count ; i++ ) {
+      values[ start + i ] = 0;
+    }
+    for ( int j = 0 ; j < byteWidth ; j++ ) {
+      final int streamStart = offset + j * count;
+      final int shift = j * Byte.SIZE;
+      for ( int i = 0 ; i < count ; i++ ) {
+        values[ start + i ] |= ( buffer[ streamStart + i ] & 0xFFL ) << shift;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,42 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+public class FileChannelInputStream extends RangeSourceInputStream {
+
+  public FileChannelInputStream( final FileChannel channel ) throws IOException {
+    this( channel , 0 , true );
+  }
+
+  /**
+   * Read the channel with positional reads starting from the specified offset.
+   * Since the position of the channel itself is never changed,
+   * multiple streams can share one channel.
+   */
+  public FileChannelInputStream(
+      final FileChannel channel ,
+      final long start ,
+      final boolean closeChannel ) throws IOException {
+    super( new FileChannelRangeSource( channel , closeChannel ) , start );
+  }
+
+}
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class FileChannelRangeSource implements IRangeSource {
+
+  private final FileChannel channel;
+  private final boolean closeChannel;
+  private final String identity;
+
+  public FileChannelRangeSource( final FileChannel channel ) {
+    this( channel , true );
+  }
+
+  public FileChannelRangeSource( final FileChannel channel , final boolean closeChannel ) {
+    this( channel , closeChannel , null );
+  }
+
+  /**
+   * Read the channel with positional reads.
+   * Since the position of the channel itself is never changed,
+   * multiple readers can share one channel.
+   * The identity is used as the key of caches and may be null.
+   */
+  public FileChannelRangeSource(
+      final FileChannel channel , final boolean closeChannel , final String identity ) {
+    this.channel = channel;
+    this.closeChannel = closeChannel;
+    this.identity = identity;
+  }
+
+  /**
+   * Open the file. The identity is made from the path, the size and the modified time,
+   * so a rewritten file does not share caches with the old one.
+   */
+  public static FileChannelRangeSource open( final Path path ) throws IOException {
+    Path absolutePath = path.toAbsolutePath();
+    String identity = absolutePath.toString()
+        + ":" + Files.size( absolutePath )
+        + ":" + Files.getLastModifiedTime( absolutePath ).toMillis();
+    return new FileChannelRangeSource(
+        FileChannel.open( absolutePath , StandardOpenOption.READ ) , true , identity );
+  }
+
+  @Override
+  public long size() throws IOException {
+    return channel.size();
+  }
+
+  @Override
+  public String getIdentity() {
+    return identity;
+  }
+
+  @Override
+  public int read(
+      final long position ,
+      final byte[] buffer ,
+      final int start ,
+      final int length ) throws IOException {
+    return channel.read( ByteBuffer.wrap( buffer , start , length ) , position );
+  }
+
+  @Override
+  public void close() throws IOException {
+    if ( closeChannel ) {
+      channel.close();
+    }
+  }
+
+}
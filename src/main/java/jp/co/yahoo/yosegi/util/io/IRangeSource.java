@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Source of the file bytes that is read with positional reads.
+ * Each read is one request to the storage, so callers should merge nearby ranges.
+ */
+public interface IRangeSource extends Closeable {
+
+  long size() throws IOException;
+
+  /**
+   * Get a string that identifies the content of the file, or null if it is unknown.
+   * Caches of the file are shared only between sources with the same identity.
+   */
+  default String getIdentity() {
+    return null;
+  }
+
+  /**
+   * Read up to length bytes starting at position into the buffer.
+   * Returns the number of bytes read, or -1 if the position is at the end.
+   */
+  int read(
+      final long position ,
+      final byte[] buffer ,
+      final int start ,
+      final int length ) throws IOException;
+
+}
@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public class RangeSourceInputStream extends InputStream {
+
+  private final IRangeSource source;
+  private final long size;
+  private long position;
+
+  /**
+   * Read the source with positional reads starting from the specified offset.
+   * Each read of this stream is one read of the source.
+   */
+  public RangeSourceInputStream( final IRangeSource source , final long start ) throws IOException {
+    this.source = source;
+    size = source.size();
+    position = start;
+  }
+
+  public IRangeSource getRangeSource() {
+    return source;
+  }
+
+  public long getPosition() {
+    return position;
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] buffer = new byte[1];
+    if ( read( buffer , 0 , 1 ) == -1 ) {
+      return -1;
+    }
+    return buffer[0] & 0xFF;
+  }
+
+  @Override
+  public int read( final byte[] buffer , final int start , final int length ) throws IOException {
+    if ( length == 0 ) {
+      return 0;
+    }
+    if ( size <= position ) {
+      return -1;
+    }
+    int readLength = source.read( position , buffer , start , length );
+    if ( readLength < 0 ) {
+      return -1;
+    }
+    position += readLength;
+    return readLength;
+  }
+
+  /**
+   * Skipping only moves the read position, so no data is read.
+   */
+  @Override
+  public long skip( final long length ) throws IOException {
+    if ( length <= 0 ) {
+      return 0;
+    }
+    long skipLength = Math.min( length , size - position );
+    if ( skipLength <= 0 ) {
+      return 0;
+    }
+    position += skipLength;
+    return skipLength;
+  }
+
+  @Override
+  public int available() throws IOException {
+    long remaining = size - position;
+    if ( remaining <= 0 ) {
+      return 0;
+    }
+    return (int)Math.min( remaining , (long)Integer.MAX_VALUE );
+  }
+
+  @Override
+  public void close() throws IOException {
+    source.close();
+  }
+
+}
@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io;
+
+/**
+ * Read the values written by XorEncoder.
+ */
+public final class XorDecoder {
+
+  private final int width;
+  private final byte[] buffer;
+
+  private int position;
+  private long bitBuffer;
+  private int bitCount;
+
+  private boolean hasPrevious;
+  private long previous;
+  private int leadingZeros;
+  private int trailingZeros;
+
+  /**
+   * Read the values of width bits from the offset of the buffer.
+   */
+  public XorDecoder( final int width , final byte[] buffer , final int offset ) {
+    if ( width != Integer.SIZE && width != Long.SIZE ) {
+      throw new IllegalArgumentException( "width must be 32 or 64 : " + width );
+    }
+    this.width = width;
+    this.buffer = buffer;
+    position = offset;
+  }
+
+  /**
+   * Read the next value.
+   */
+  public long next() {
+    if ( ! hasPrevious ) {
+      hasPrevious = true;
+      previous = read( width );
+      return previous;
+    }
+    if ( read( 1 ) == 0 ) {
+      return previous;
+    }
+    if ( read( 1 ) != 0 ) {
+      leadingZeros = (int)read( XorEncoder.LEADING_ZERO_BITS );
+      int meaningfulLength = (int)read( XorEncoder.MEANINGFUL_LENGTH_BITS ) + 1;
+      trailingZeros = width - leadingZeros - meaningfulLength;
+    }
+    long xor = read( width - leadingZeros - trailingZeros ) << trailingZeros;
+    previous ^= xor;
+    return previous;
+  }
+
+  private long read( final int bits ) {
+    if ( Integer.SIZE < bits ) {
+      long low = readChunk( Integer.SIZE );
+      return low | ( readChunk( bits - Integer.SIZE ) << Integer.SIZE );
+    }
+    return readChunk( bits );
+  }
+
+  private long readChunk( final int bits ) {
+    while ( bitCount < bits ) {
+      bitBuffer |= ( buffer[position++] & 0xFFL ) << bitCount;
+      bitCount += Byte.SIZE;
+    }
+    long result = bitBuffer & ( ( 1L << bits ) - 1 );
+    bitBuffer >>>= bits;
+    bitCount -= bits;
+    return result;
+  }
+
+}
@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io;
+
+/**
+ * Write floating point bits as the XOR with the previous value.
+ * An unchanged value takes one bit. A changed value takes its meaningful bits,
+ * which reuse the leading and trailing zero window of the previous value when they fit in it.
+ * Without a buffer only the length is counted, which the analyzers use to estimate the size.
+ */
+public final class XorEncoder {
+
+  public static final int LEADING_ZERO_BITS = 6;
+  public static final int MEANINGFUL_LENGTH_BITS = 6;
+
+  private final int width;
+  private final byte[] buffer;
+  private final int offset;
+
+  private int position;
+  private long bitBuffer;
+  private int bitCount;
+  private long totalBits;
+
+  private boolean hasPrevious;
+  private long previous;
+  private int leadingZeros = -1;
+  private int trailingZeros;
+
+  public XorEncoder( final int width ) {
+    this( width , null , 0 );
+  }
+
+  /**
+   * Write the values of width bits to the buffer from the offset.
+   */
+  public XorEncoder( final int width , final byte[] buffer , final int offset ) {
+    if ( width != Integer.SIZE && width != Long.SIZE ) {
+      throw new IllegalArgumentException( "width must be 32 or 64 : " + width );
+    }
+    this.width = width;
+    this.buffer = buffer;
+    this.offset = offset;
+    position = offset;
+  }
+
+  /**
+   * Returns the largest number of bytes that count values can take.
+   */
+  public static int getMaxLength( final int count , final int width ) {
+    return BitPackUtils.getPackedLength(
+        count , width + 2 + LEADING_ZERO_BITS + MEANINGFUL_LENGTH_BITS );
+  }
+
+  /**
+   * Add the next value.
+   * Only the lower width bits are used.
+   */
+  public void add( final long value ) {
+    if ( ! hasPrevious ) {
+      hasPrevious = true;
+      previous = value;
+      write( value , width );
+      return;
+    }
+    long xor = value ^ previous;
+    previous = value;
+    if ( xor == 0 ) {
+      write( 0L , 1 );
+      return;
+    }
+    int leading = Long.numberOfLeadingZeros( xor ) - ( Long.SIZE - width );
+    int trailing = Long.numberOfTrailingZeros( xor );
+    if ( 0 <= leadingZeros && leadingZeros <= leading && trailingZeros <= trailing ) {
+      write( 1L , 2 );
+      write( xor >>> trailingZeros , width - leadingZeros - trailingZeros );
+      return;
+    }
+    leadingZeros = leading;
+    trailingZeros = trailing;
+    int meaningfulLength = width - leading - trailing;
+    write( 3L , 2 );
+    write( leading , LEADING_ZERO_BITS );
+    write( meaningfulLength - 1 , MEANINGFUL_LENGTH_BITS );
+    write( xor >>> trailing , meaningfulLength );
+  }
+
+  public long getBitLength() {
+    return totalBits;
+  }
+
+  /**
+   * Returns the number of bytes of the added values.
+   */
+  public int getLength() {
+    return (int)( ( totalBits + Byte.SIZE - 1 ) / Byte.SIZE );
+  }
+
+  /**
+   * Write the remaining bits and return the number of written bytes.
+   */
+  public int finish() {
+    if ( buffer != null && 0 < bitCount ) {
+      buffer[position++] = (byte)bitBuffer;
+      bitBuffer = 0;
+      bitCount = 0;
+    }
+    return position - offset;
+  }
+
+  private void write( final long value , final int bits ) {
+    totalBits += bits;
+    if ( buffer == null ) {
+      return;
+    }
+    if ( Integer.SIZE < bits ) {
+      writeChunk( value , Integer.SIZE );
+      writeChunk( value >>> Integer.SIZE , bits - Integer.SIZE );
+    } else {
+      writeChunk( value , bits );
+    }
+  }
+
+  private void writeChunk( final long value , final int bits ) {
+    bitBuffer |= ( value & ( ( 1L << bits ) - 1 ) ) << bitCount;
+    bitCount += bits;
+    while ( Byte.SIZE <= bitCount ) {
+      buffer[position++] = (byte)bitBuffer;
+      bitBuffer >>>= Byte.SIZE;
+      bitCount -= Byte.SIZE;
+    }
+  }
+
+}
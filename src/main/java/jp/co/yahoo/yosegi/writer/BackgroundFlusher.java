@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.writer;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+public class BackgroundFlusher implements AutoCloseable {
+
+  private static final IFlushTask END_TASK = () -> { };
+
+  private final BlockingQueue<IFlushTask> queue;
+  private final Thread thread;
+
+  private volatile IOException error;
+  private boolean isClosed;
+
+  public interface IFlushTask {
+
+    void run() throws IOException;
+
+  }
+
+  /**
+   * Start a thread that runs the submitted tasks in order.
+   * When queueSize tasks are waiting, submit blocks until the thread catches up.
+   */
+  public BackgroundFlusher( final int queueSize ) {
+    queue = new ArrayBlockingQueue<IFlushTask>( queueSize );
+    thread = new Thread( this::runLoop , "yosegi-writer-flusher" );
+    thread.setDaemon( true );
+    thread.start();
+  }
+
+  private void runLoop() {
+    while ( true ) {
+      IFlushTask task;
+      try {
+        task = queue.take();
+      } catch ( InterruptedException ex ) {
+        error = new IOException( ex );
+        return;
+      }
+      if ( task == END_TASK ) {
+        return;
+      }
+      if ( error != null ) {
+        continue;
+      }
+      try {
+        task.run();
+      } catch ( IOException ex ) {
+        error = ex;
+      } catch ( Throwable ex ) {
+        error = new IOException( ex );
+      }
+    }
+  }
+
+  private void checkError() throws IOException {
+    if ( error != null ) {
+      throw error;
+    }
+  }
+
+  /**
+   * Add a task to the queue.
+   * If a previous task has failed, the error is thrown here.
+   */
+  public void submit( final IFlushTask task ) throws IOException {
+    if ( isClosed ) {
+      throw new IOException( "BackgroundFlusher is already closed." );
+    }
+    checkError();
+    try {
+      queue.put( task );
+    } catch ( InterruptedException ex ) {
+      Thread.currentThread().interrupt();
+      throw new IOException( ex );
+    }
+  }
+
+  /**
+   * Wait until all submitted tasks are finished and stop the thread.
+   */
+  @Override
+  public void close() throws IOException {
+    if ( isClosed ) {
+      return;
+    }
+    isClosed = true;
+    try {
+      queue.put( END_TASK );
+      thread.join();
+    } catch ( InterruptedException ex ) {
+      Thread.currentThread().interrupt();
+      throw new IOException( ex );
+    }
+    checkError();
+  }
+
+}
@@ -19,12 +19,14 @@
 package jp.co.yahoo.yosegi.writer;
 
 import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.block.FileFooter;
 import jp.co.yahoo.yosegi.block.FindBlockWriter;
 import jp.co.yahoo.yosegi.block.IBlockWriter;
 import jp.co.yahoo.yosegi.block.PushdownSupportedBlockWriter;
 import jp.co.yahoo.yosegi.config.Configuration;
 import jp.co.yahoo.yosegi.spread.Spread;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
@@ -37,6 +39,14 @@ public class YosegiWriter implements AutoCloseable {
 
   private final OutputStream out;
   private final IBlockWriter blockMaker;
+  private final BackgroundFlusher flusher;
+  private final FileFooter footer;
+  private final int blockSize;
+
+  private long writeOffset;
+  private int blockSpreadCount;
+  private int blockRowCount;
+  private boolean footerWritten;
 
   /**
    * Initialize by setting OutputStream.
@@ -44,7 +54,7 @@ public class YosegiWriter implements AutoCloseable {
   public YosegiWriter( final OutputStream out , final Configuration config ) throws IOException {
     this.out = out;
 
-    int blockSize = config.getInt( "block.size" , 1024 * 1024 * 128 );
+    blockSize = config.getInt( "block.size" , 1024 * 1024 * 128 );
 
     blockMaker = FindBlockWriter.get(
         config.get( "block.maker.class" , PushdownSupportedBlockWriter.class.getName() ) );
@@ -66,14 +76,32 @@ public class YosegiWriter implements AutoCloseable {
     viewCharBuffer.put( blockMakerClassName.toCharArray() );
 
     blockMaker.appendHeader( header );
+
+    int asyncQueueSize = config.getInt( "writer.async.queue.size" , 0 );
+    if ( 0 < asyncQueueSize ) {
+      flusher = new BackgroundFlusher( asyncQueueSize );
+    } else {
+      flusher = null;
+    }
+
+    if ( config.get( "writer.footer.enable" , "false" ).equals( "true" ) ) {
+      footer = new FileFooter();
+    } else {
+      footer = null;
+    }
   }
 
   /**
    * Add Spread as a Spread.
+   * In async mode the Spread is encoded on the flusher thread,
+   * so the caller must not modify it after this call.
    */
   public void append( final Spread spread ) throws IOException {
-    List<ColumnBinary> binaryList = blockMaker.convertRow( spread );
-    appendRow(binaryList, spread.size());
+    if ( flusher != null ) {
+      flusher.submit( () -> appendSpread( spread ) );
+    } else {
+      appendSpread( spread );
+    }
   }
 
   /**
@@ -81,21 +109,95 @@ public class YosegiWriter implements AutoCloseable {
    */
   public void appendRow(
       final List<ColumnBinary> binaryList, final int spreadSize ) throws IOException {
+    if ( flusher != null ) {
+      flusher.submit( () -> appendBinaryList( binaryList , spreadSize ) );
+    } else {
+      appendBinaryList( binaryList , spreadSize );
+    }
+  }
+
+  private void appendSpread( final Spread spread ) throws IOException {
+    List<ColumnBinary> binaryList = blockMaker.convertRow( spread );
+    appendBinaryList( binaryList , spread.size() );
+  }
+
+  private void appendBinaryList(
+      final List<ColumnBinary> binaryList, final int spreadSize ) throws IOException {
     if ( ! blockMaker.canAppend( binaryList ) ) {
-      byte[] block = blockMaker.createFixedBlock();
-      out.write( block , 0 , block.length );
+      writeBlock( blockMaker.createFixedBlock() );
     }
     blockMaker.append( spreadSize , binaryList );
+    blockSpreadCount++;
+    blockRowCount += spreadSize;
+  }
+
+  private void writeBlock( final byte[] block ) throws IOException {
+    out.write( block , 0 , block.length );
+    if ( footer != null ) {
+      footer.add( new FileFooter.BlockEntry(
+          writeOffset ,
+          block.length ,
+          blockSpreadCount ,
+          blockRowCount ,
+          blockMaker.getLastBlockIndexBinary() ) );
+    }
+    writeOffset += block.length;
+    blockSpreadCount = 0;
+    blockRowCount = 0;
+  }
+
+  /**
+   * Write the footer after the last block.
+   * Readers without footer support read the file at fixed block positions,
+   * so if the footer would cross the next block position,
+   * the last block is padded and the footer follows an empty block.
+   * If the footer does not fit in one block, nothing is written after the last block
+   * and isFooterWritten returns false.
+   */
+  private void writeFooter() throws IOException {
+    List<FileFooter.BlockEntry> blockEntryList = footer.getBlockEntryList();
+    long nextBlockStart = blockEntryList.get( blockEntryList.size() - 1 ).offset + blockSize;
+    if ( nextBlockStart < writeOffset + footer.getBinarySize() ) {
+      byte[] emptyBlock = blockMaker.createVariableBlock();
+      int footerSize = footer.getBinarySize()
+          + FileFooter.getEntrySize( blockMaker.getLastBlockIndexBinary() );
+      if ( blockSize < emptyBlock.length + footerSize ) {
+        return;
+      }
+      byte[] padding = new byte[ (int)( nextBlockStart - writeOffset ) ];
+      out.write( padding , 0 , padding.length );
+      writeOffset += padding.length;
+      writeBlock( emptyBlock );
+    }
+    byte[] footerBinary = footer.toBinary();
+    out.write( footerBinary , 0 , footerBinary.length );
+    writeOffset += footerBinary.length;
+    footerWritten = true;
+  }
+
+  /**
+   * Returns true if the footer was written when the writer was closed.
+   * It is false if the footer is disabled or it does not fit in one block.
+   */
+  public boolean isFooterWritten() {
+    return footerWritten;
   }
 
   /**
    * Close.
+   * The block writer and the output stream are closed even if the last block fails,
+   * and the first error is thrown with the later ones added as suppressed.
    */
   public void close() throws IOException {
-    byte[] block = blockMaker.createVariableBlock();
-    out.write( block , 0 , block.length );
-    blockMaker.close();
-    out.close();
+    try ( Closeable outCloser = out ; Closeable blockMakerCloser = blockMaker::close ) {
+      if ( flusher != null ) {
+        flusher.close();
+      }
+      writeBlock( blockMaker.createVariableBlock() );
+      if ( footer != null ) {
+        writeFooter();
+      }
+    }
   }
 
   public IBlockWriter getBlockWriter() {
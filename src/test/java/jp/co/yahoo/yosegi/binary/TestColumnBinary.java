@@ -24,10 +24,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
+import jp.co.yahoo.yosegi.compressor.CompressionPolicy;
+import jp.co.yahoo.yosegi.compressor.DataType;
+import jp.co.yahoo.yosegi.compressor.GzipCompressor;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 
 public class TestColumnBinary{
@@ -95,5 +100,52 @@ public class TestColumnBinary{
     assertTrue( 0 < columnBinary.getMetaSize() );
   }
 
+  private ColumnBinary createCompressedColumnBinary( final byte[] data ) throws IOException{
+    byte[] header = new byte[]{ 1 , 2 , 3 };
+    byte[] binary = new GzipCompressor().compressWithHeader( header , data , 0 , data.length , DataType.NUMBER , CompressionPolicy.DEFAULT );
+    return new ColumnBinary( "hoge.class" , GzipCompressor.class.getName() , "test" , ColumnType.LONG , data.length , data.length , data.length , -1 , binary , 0 , binary.length , null );
+  }
+
+  @Test
+  public void T_decompress_reuseBuffer() throws IOException{
+    byte[] data = "abcdefghij".getBytes();
+    ColumnBinary columnBinary = createCompressedColumnBinary( data );
+    byte[] buffer = new byte[32];
+    byte[] result = columnBinary.decompress( buffer , 3 , columnBinary.binaryLength - 3 );
+    assertSame( buffer , result );
+    assertTrue( Arrays.equals( data , Arrays.copyOf( result , data.length ) ) );
+  }
+
+  @Test
+  public void T_decompress_smallBuffer() throws IOException{
+    byte[] data = "abcdefghij".getBytes();
+    ColumnBinary columnBinary = createCompressedColumnBinary( data );
+    byte[] buffer = new byte[4];
+    byte[] result = columnBinary.decompress( buffer , 3 , columnBinary.binaryLength - 3 );
+    assertNotSame( buffer , result );
+    assertTrue( Arrays.equals( data , result ) );
+    assertTrue( Arrays.equals( data , columnBinary.decompress( null , 3 , columnBinary.binaryLength - 3 ) ) );
+  }
+
+  @Test
+  public void T_decompress_withCache() throws IOException{
+    byte[] data = "abcdefghij".getBytes();
+    ColumnBinary columnBinary = createCompressedColumnBinary( data );
+    columnBinary.setCache( new ColumnBinaryCache( 1024 ) , new ColumnBinaryCache.Key( "file" , 0 , 0 ) );
+    byte[] cached = columnBinary.decompress( 3 , columnBinary.binaryLength - 3 );
+    byte[] buffer = new byte[32];
+    assertSame( cached , columnBinary.decompress( buffer , 3 , columnBinary.binaryLength - 3 ) );
+    assertSame( cached , columnBinary.decompressToWorkBuffer( 3 , columnBinary.binaryLength - 3 ) );
+  }
+
+  @Test
+  public void T_decompressToWorkBuffer_reuseOnSameThread() throws IOException{
+    byte[] data = "abcdefghij".getBytes();
+    ColumnBinary columnBinary = createCompressedColumnBinary( data );
+    byte[] first = columnBinary.decompressToWorkBuffer( 3 , columnBinary.binaryLength - 3 );
+    assertTrue( Arrays.equals( data , Arrays.copyOf( first , data.length ) ) );
+    byte[] second = columnBinary.decompressToWorkBuffer( 3 , columnBinary.binaryLength - 3 );
+    assertSame( first , second );
+  }
 
 }
@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestColumnBinaryCache{
+
+  private ColumnBinaryCache.Key key( final int columnOffset ){
+    return new ColumnBinaryCache.Key( "file" , 0 , columnOffset );
+  }
+
+  @Test
+  public void T_get_1(){
+    ColumnBinaryCache cache = new ColumnBinaryCache( 100 );
+    assertNull( cache.get( key( 0 ) ) );
+    cache.put( key( 0 ) , new byte[10] );
+    assertEquals( 10 , cache.get( key( 0 ) ).length );
+    assertNull( cache.get( key( 0 ).getRangeKey( 1 , 10 ) ) );
+    assertNull( cache.get( new ColumnBinaryCache.Key( "file2" , 0 , 0 ) ) );
+    assertEquals( 1 , cache.getHitCount() );
+    assertEquals( 3 , cache.getMissCount() );
+    assertEquals( 10 , cache.getSize() );
+  }
+
+  @Test
+  public void T_put_evictLeastRecentlyUsed(){
+    ColumnBinaryCache cache = new ColumnBinaryCache( 100 );
+    cache.put( key( 0 ) , new byte[40] );
+    cache.put( key( 1 ) , new byte[40] );
+    cache.get( key( 0 ) );
+    cache.put( key( 2 ) , new byte[40] );
+    assertNotNull( cache.get( key( 0 ) ) );
+    assertNull( cache.get( key( 1 ) ) );
+    assertNotNull( cache.get( key( 2 ) ) );
+    assertEquals( 1 , cache.getEvictionCount() );
+    assertEquals( 80 , cache.getSize() );
+    assertEquals( 2 , cache.getEntryCount() );
+  }
+
+  @Test
+  public void T_put_largerThanCache(){
+    ColumnBinaryCache cache = new ColumnBinaryCache( 100 );
+    cache.put( key( 0 ) , new byte[101] );
+    assertEquals( 0 , cache.getEntryCount() );
+    assertEquals( 0 , cache.getSize() );
+  }
+
+  @Test
+  public void T_setMaxSize_1(){
+    ColumnBinaryCache cache = new ColumnBinaryCache( 100 );
+    cache.put( key( 0 ) , new byte[40] );
+    cache.put( key( 1 ) , new byte[40] );
+    cache.setMaxSize( 50 );
+    assertEquals( 1 , cache.getEntryCount() );
+    assertNotNull( cache.get( key( 1 ) ) );
+    cache.clear();
+    assertEquals( 0 , cache.getSize() );
+  }
+
+}
@@ -29,6 +29,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.Arguments;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
+import jp.co.yahoo.yosegi.compressor.CompressionPolicy;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.binary.maker.*;
 
@@ -65,6 +66,13 @@ public class TestColumnBinaryMakerConfig{
     new ColumnBinaryMakerConfig( new ColumnBinaryMakerConfig() );
   }
 
+  @Test
+  public void T_newInstance_copyCompressionPolicy() throws IOException{
+    ColumnBinaryMakerConfig config = new ColumnBinaryMakerConfig();
+    config.compressionPolicy = CompressionPolicy.BEST_COMPRESSION;
+    assertEquals( CompressionPolicy.BEST_COMPRESSION , new ColumnBinaryMakerConfig( config ).compressionPolicy );
+  }
+
   @ParameterizedTest
   @MethodSource( "parametersForT_getColumnMaker_1" )
   public void T_getColumnMaker_1( final ColumnType columnType , final String className ) throws IOException{
@@ -0,0 +1,184 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.FloatObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class TestBitPackDictionaryIndex{
+
+  @Test
+  public void T_orderByte_1() throws IOException{
+    byte orderByte = BitPackDictionaryIndex.toOrderByte( ByteOrder.LITTLE_ENDIAN , true );
+    assertEquals( ByteOrder.LITTLE_ENDIAN , BitPackDictionaryIndex.getByteOrder( orderByte ) );
+    assertTrue( BitPackDictionaryIndex.isBitPacked( orderByte ) );
+
+    orderByte = BitPackDictionaryIndex.toOrderByte( ByteOrder.BIG_ENDIAN , true );
+    assertEquals( ByteOrder.BIG_ENDIAN , BitPackDictionaryIndex.getByteOrder( orderByte ) );
+    assertTrue( BitPackDictionaryIndex.isBitPacked( orderByte ) );
+  }
+
+  @Test
+  public void T_orderByte_legacy() throws IOException{
+    assertEquals( ByteOrder.BIG_ENDIAN , BitPackDictionaryIndex.getByteOrder( (byte)0 ) );
+    assertEquals( ByteOrder.LITTLE_ENDIAN , BitPackDictionaryIndex.getByteOrder( (byte)1 ) );
+    assertFalse( BitPackDictionaryIndex.isBitPacked( (byte)0 ) );
+    assertFalse( BitPackDictionaryIndex.isBitPacked( (byte)1 ) );
+    assertTrue( UnsafeOptimizeLongColumnBinaryMaker.chooseDictionaryIndexMaker( 100 , 3 , (byte)1 )
+        instanceof UnsafeOptimizeLongColumnBinaryMaker.ByteDictionaryIndexMaker );
+    assertTrue( UnsafeOptimizeStringColumnBinaryMaker.chooseDictionaryIndexMaker( 100 , 3 , (byte)0 )
+        instanceof UnsafeOptimizeStringColumnBinaryMaker.ByteDictionaryIndexMaker );
+  }
+
+  @Test
+  public void T_getBitWidth_1() throws IOException{
+    assertEquals( 0 , BitPackDictionaryIndex.getBitWidth( 1 ) );
+    assertEquals( 1 , BitPackDictionaryIndex.getBitWidth( 2 ) );
+    assertEquals( 2 , BitPackDictionaryIndex.getBitWidth( 3 ) );
+    assertEquals( 8 , BitPackDictionaryIndex.getBitWidth( 256 ) );
+    assertEquals( 9 , BitPackDictionaryIndex.getBitWidth( 301 ) );
+  }
+
+  @Test
+  public void T_createAndGetIndexIntBuffer_1() throws IOException{
+    int dicSize = 301;
+    int[] indexArray = new int[1000];
+    for ( int i = 0 ; i < indexArray.length ; i++ ) {
+      indexArray[i] = i % dicSize;
+    }
+    int length = BitPackDictionaryIndex.calcBinarySize( indexArray.length , dicSize );
+    assertEquals( 1125 , length );
+    byte[] buffer = new byte[length];
+    BitPackDictionaryIndex.create( indexArray , dicSize , buffer , 0 );
+
+    IntBuffer result = BitPackDictionaryIndex.getIndexIntBuffer(
+        indexArray.length , dicSize , buffer , 0 );
+    assertEquals( indexArray.length , result.capacity() );
+    for ( int i = 0 ; i < indexArray.length ; i++ ) {
+      assertEquals( indexArray[i] , result.get() );
+    }
+  }
+
+  private ColumnBinary toBinary(
+      final IColumnBinaryMaker maker ,
+      final IColumn column ,
+      final boolean bitPackDictionaryIndex ) throws IOException{
+    ColumnBinaryMakerConfig config = new ColumnBinaryMakerConfig();
+    config.bitPackDictionaryIndex = bitPackDictionaryIndex;
+    ColumnBinaryMakerCustomConfigNode configNode =
+        new ColumnBinaryMakerCustomConfigNode( "root" , config );
+    return maker.toBinary( config , configNode , column );
+  }
+
+  private IColumn createColumn( final ColumnType columnType ) throws IOException{
+    IColumn column = new PrimitiveColumn( columnType , "target" );
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      switch ( columnType ) {
+        case LONG:
+          column.add( columnType , new LongObj( i % 300 ) , i );
+          break;
+        case FLOAT:
+          column.add( columnType , new FloatObj( i % 300 ) , i );
+          break;
+        case DOUBLE:
+          column.add( columnType , new DoubleObj( i % 300 ) , i );
+          break;
+        default:
+          column.add( columnType , new StringObj( "v" + ( i % 300 ) ) , i );
+          break;
+      }
+    }
+    return column;
+  }
+
+  private void assertColumn( final IColumn expected , final IColumn actual ) throws IOException{
+    assertEquals( expected.size() , actual.size() );
+    for ( int i = 0 ; i < expected.size() ; i++ ) {
+      assertEquals(
+          ( (PrimitiveCell)expected.get( i ) ).getRow().getString() ,
+          ( (PrimitiveCell)actual.get( i ) ).getRow().getString() );
+    }
+  }
+
+  private void assertRoundTrip( final boolean bitPackDictionaryIndex ) throws IOException{
+    IColumnBinaryMaker[] makers = new IColumnBinaryMaker[]{
+        new UnsafeOptimizeLongColumnBinaryMaker() ,
+        new UnsafeOptimizeFloatColumnBinaryMaker() ,
+        new UnsafeOptimizeDoubleColumnBinaryMaker() ,
+        new UnsafeOptimizeStringColumnBinaryMaker() };
+    ColumnType[] types = new ColumnType[]{
+        ColumnType.LONG , ColumnType.FLOAT , ColumnType.DOUBLE , ColumnType.STRING };
+    for ( int i = 0 ; i < makers.length ; i++ ) {
+      IColumn column = createColumn( types[i] );
+      ColumnBinary columnBinary = toBinary( makers[i] , column , bitPackDictionaryIndex );
+      assertColumn( column , makers[i].toColumn( columnBinary ) );
+    }
+  }
+
+  @Test
+  public void T_toBinary_roundTrip_legacy() throws IOException{
+    assertRoundTrip( false );
+  }
+
+  @Test
+  public void T_toBinary_roundTrip_bitPacked() throws IOException{
+    assertRoundTrip( true );
+  }
+
+  @Test
+  public void T_toBinary_defaultIsLegacyFormat() throws IOException{
+    assertFalse( new ColumnBinaryMakerConfig().bitPackDictionaryIndex );
+    IColumn column = createColumn( ColumnType.LONG );
+    ColumnBinaryMakerConfig config = new ColumnBinaryMakerConfig();
+    ColumnBinary columnBinary =
+        new UnsafeOptimizeLongColumnBinaryMaker().toBinary( config , null , column );
+    byte orderByte = columnBinary.binary[ columnBinary.binaryStart + Long.BYTES * 2 ];
+    assertTrue( orderByte == 0 || orderByte == 1 );
+
+    config.bitPackDictionaryIndex = true;
+    columnBinary = new UnsafeOptimizeLongColumnBinaryMaker().toBinary( config , null , column );
+    orderByte = columnBinary.binary[ columnBinary.binaryStart + Long.BYTES * 2 ];
+    assertTrue( BitPackDictionaryIndex.isBitPacked( orderByte ) );
+  }
+
+  @Test
+  public void T_copyConfig_bitPackDictionaryIndex() throws IOException{
+    ColumnBinaryMakerConfig config = new ColumnBinaryMakerConfig();
+    config.bitPackDictionaryIndex = true;
+    assertTrue( new ColumnBinaryMakerConfig( config ).bitPackDictionaryIndex );
+  }
+
+}
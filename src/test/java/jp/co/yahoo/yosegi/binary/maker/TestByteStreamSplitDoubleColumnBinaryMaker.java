@@ -0,0 +1,244 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker;
+
+import java.io.IOException;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.FloatObj;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.NullCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.io.BitPackUtils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestByteStreamSplitDoubleColumnBinaryMaker{
+
+  private ColumnBinary toBinary( final Double[] values ) throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.DOUBLE , "column" );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      if ( values[i] == null ) {
+        column.addCell( ColumnType.NULL , NullCell.getInstance() , i );
+      } else {
+        column.add( ColumnType.DOUBLE , new DoubleObj( values[i] ) , i );
+      }
+    }
+    return new ByteStreamSplitDoubleColumnBinaryMaker().toBinary( new ColumnBinaryMakerConfig() , null , column );
+  }
+
+  private ColumnBinary toBinary( final Float[] values ) throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.FLOAT , "column" );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      if ( values[i] == null ) {
+        column.addCell( ColumnType.NULL , NullCell.getInstance() , i );
+      } else {
+        column.add( ColumnType.FLOAT , new FloatObj( values[i] ) , i );
+      }
+    }
+    return new ByteStreamSplitDoubleColumnBinaryMaker().toBinary( new ColumnBinaryMakerConfig() , null , column );
+  }
+
+  private IColumn toColumn( final ColumnBinary columnBinary ) throws IOException{
+    return FindColumnBinaryMaker.get( columnBinary.makerClassName ).toColumn( columnBinary );
+  }
+
+  private void assertDoubleBits( final Double[] values ) throws IOException{
+    ColumnBinary columnBinary = toBinary( values );
+    assertEquals( ByteStreamSplitDoubleColumnBinaryMaker.class.getName() , columnBinary.makerClassName );
+    IColumn decodeColumn = toColumn( columnBinary );
+    assertEquals( values.length , decodeColumn.size() );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      if ( values[i] == null ) {
+        assertEquals( ColumnType.NULL , decodeColumn.get( i ).getType() , "index " + i );
+      } else {
+        double value = ( (PrimitiveCell) decodeColumn.get( i ) ).getRow().getDouble();
+        assertEquals( Double.doubleToRawLongBits( values[i] ) , Double.doubleToRawLongBits( value ) , "index " + i );
+      }
+    }
+  }
+
+  private void assertFloatBits( final Float[] values ) throws IOException{
+    ColumnBinary columnBinary = toBinary( values );
+    assertEquals( ByteStreamSplitDoubleColumnBinaryMaker.class.getName() , columnBinary.makerClassName );
+    IColumn decodeColumn = toColumn( columnBinary );
+    assertEquals( ColumnType.FLOAT , decodeColumn.getColumnType() );
+    assertEquals( values.length , decodeColumn.size() );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      if ( values[i] == null ) {
+        assertEquals( ColumnType.NULL , decodeColumn.get( i ).getType() , "index " + i );
+      } else {
+        float value = ( (PrimitiveCell) decodeColumn.get( i ) ).getRow().getFloat();
+        assertEquals( Float.floatToRawIntBits( values[i] ) , Float.floatToRawIntBits( value ) , "index " + i );
+      }
+    }
+  }
+
+  @Test
+  public void T_encode_streamLayout() throws IOException{
+    // The array is longer than the row count as it is when the column has null.
+    long[] valueArray = new long[]{ 0x1122334455667788L , 0x0102030405060708L , -1L };
+    byte[] binary = ByteStreamSplitDoubleColumnBinaryMaker.encode( valueArray , 2 , Long.SIZE );
+    assertEquals( 2 * Long.BYTES , binary.length );
+    for ( int j = 0 ; j < Long.BYTES ; j++ ) {
+      assertEquals( (byte)( valueArray[0] >>> ( j * Byte.SIZE ) ) , binary[ j * 2 ] );
+      assertEquals( (byte)( valueArray[1] >>> ( j * Byte.SIZE ) ) , binary[ j * 2 + 1 ] );
+    }
+    long[] decodeArray = ByteStreamSplitDoubleColumnBinaryMaker.decode( binary , 0 , 2 , Long.SIZE );
+    assertEquals( valueArray[0] , decodeArray[0] );
+    assertEquals( valueArray[1] , decodeArray[1] );
+  }
+
+  @Test
+  public void T_toBinary_eachBytePosition() throws IOException{
+    // Each value differs from the base only in one byte, so each stream is checked alone.
+    long base = Double.doubleToRawLongBits( 1234.5678d );
+    Double[] values = new Double[ Long.BYTES + 1 ];
+    values[0] = Double.longBitsToDouble( base );
+    for ( int j = 0 ; j < Long.BYTES ; j++ ) {
+      values[ j + 1 ] = Double.longBitsToDouble( base ^ ( 0xA5L << ( j * Byte.SIZE ) ) );
+    }
+    assertDoubleBits( values );
+  }
+
+  @Test
+  public void T_toBinary_rawSize() throws IOException{
+    ColumnBinary columnBinary = toBinary( new Double[]{ 1.0d , null , 2.0d , 3.0d } );
+    assertEquals( BitPackUtils.getBitmapLength( 4 ) + 3 * Double.BYTES , columnBinary.rawDataSize );
+    columnBinary = toBinary( new Float[]{ 1.0f , 2.0f , 3.0f } );
+    assertEquals( 3 * Float.BYTES , columnBinary.rawDataSize );
+  }
+
+  @Test
+  public void T_toBinary_nanPayload() throws IOException{
+    assertDoubleBits( new Double[]{
+        Double.NaN ,
+        Double.longBitsToDouble( 0x7ff0000000000001L ) ,
+        Double.longBitsToDouble( 0xfff8000000000000L ) ,
+        2.5d ,
+        Double.longBitsToDouble( 0x7ff8dead0000beefL ) } );
+  }
+
+  @Test
+  public void T_toBinary_signedZero() throws IOException{
+    // Only the sign byte stream differs.
+    assertDoubleBits( new Double[]{ 0.0d , -0.0d , -0.0d , 0.0d } );
+  }
+
+  @Test
+  public void T_toBinary_infinityAndExtremes() throws IOException{
+    assertDoubleBits( new Double[]{
+        Double.NEGATIVE_INFINITY ,
+        Double.POSITIVE_INFINITY ,
+        Double.MIN_VALUE ,
+        -Double.MAX_VALUE ,
+        Double.MIN_NORMAL } );
+  }
+
+  @Test
+  public void T_toBinary_repeated() throws IOException{
+    Double[] values = new Double[1000];
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      values[i] = ( i % 3 ) * 0.1d;
+    }
+    assertDoubleBits( values );
+  }
+
+  @Test
+  public void T_toBinary_constant() throws IOException{
+    ColumnBinary columnBinary = toBinary( new Double[]{ -0.0d , -0.0d , -0.0d } );
+    assertEquals( ConstantColumnBinaryMaker.class.getName() , columnBinary.makerClassName );
+    IColumn decodeColumn = toColumn( columnBinary );
+    assertEquals( 3 , decodeColumn.size() );
+    for ( int i = 0 ; i < 3 ; i++ ) {
+      double value = ( (PrimitiveCell) decodeColumn.get( i ) ).getRow().getDouble();
+      assertEquals( Double.doubleToRawLongBits( -0.0d ) , Double.doubleToRawLongBits( value ) );
+    }
+  }
+
+  @Test
+  public void T_toBinary_constantWithNull() throws IOException{
+    assertDoubleBits( new Double[]{ null , 7.0d , 7.0d , null , 7.0d } );
+  }
+
+  @Test
+  public void T_toBinary_singleRow() throws IOException{
+    assertEquals( ConstantColumnBinaryMaker.class.getName() , toBinary( new Double[]{ 9.75d } ).makerClassName );
+    assertDoubleBits( new Double[]{ 9.75d , null } );
+  }
+
+  @Test
+  public void T_toBinary_allNull() throws IOException{
+    assertDoubleBits( new Double[]{ null , null , null } );
+  }
+
+  @Test
+  public void T_toBinary_sparseNull() throws IOException{
+    Double[] values = new Double[777];
+    values[3] = Double.POSITIVE_INFINITY;
+    values[400] = -1.0d;
+    values[776] = Double.NaN;
+    assertDoubleBits( values );
+  }
+
+  @Test
+  public void T_toBinary_floatBits() throws IOException{
+    assertFloatBits( new Float[]{
+        Float.intBitsToFloat( 0x7fc00001 ) ,
+        Float.NaN ,
+        -0.0f ,
+        0.0f ,
+        Float.NEGATIVE_INFINITY ,
+        Float.MIN_VALUE ,
+        Float.MAX_VALUE ,
+        null ,
+        3.14159f } );
+  }
+
+  @Test
+  public void T_toBinary_floatEachBytePosition() throws IOException{
+    int base = Float.floatToRawIntBits( -42.125f );
+    Float[] values = new Float[ Integer.BYTES + 1 ];
+    values[0] = Float.intBitsToFloat( base );
+    for ( int j = 0 ; j < Integer.BYTES ; j++ ) {
+      values[ j + 1 ] = Float.intBitsToFloat( base ^ ( 0x5A << ( j * Byte.SIZE ) ) );
+    }
+    assertFloatBits( values );
+  }
+
+  @Test
+  public void T_toBinary_unsupportedType() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "column" );
+    column.add( ColumnType.STRING , new StringObj( "a" ) , 0 );
+    IColumnBinaryMaker maker = new ByteStreamSplitDoubleColumnBinaryMaker();
+    assertThrows( IOException.class ,
+      () -> {
+        maker.toBinary( new ColumnBinaryMakerConfig() , null , column );
+      }
+    );
+  }
+
+}
@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker;
+
+import java.io.IOException;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.spread.analyzer.LongColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestDeltaBitPackLongColumnBinaryMaker{
+
+  private long[] decode( final byte[] binary , final int rowCount ){
+    return DeltaBitPackLongColumnBinaryMaker.decode( binary , 0 , rowCount );
+  }
+
+  @Test
+  public void T_encode_timestamp() throws IOException{
+    long[] values = new long[1000];
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      values[i] = 1600000000000L + (long)i * i;
+    }
+    byte[] binary = DeltaBitPackLongColumnBinaryMaker.encode( values , values.length );
+    assertEquals( DeltaBitPackLongColumnBinaryMaker.ENCODING_DELTA_OF_DELTA , binary[0] );
+    assertTrue( binary.length < 200 );
+    long[] result = decode( binary , values.length );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      assertEquals( values[i] , result[i] );
+    }
+  }
+
+  @Test
+  public void T_encode_randomDelta() throws IOException{
+    long[] values = new long[300];
+    long seed = 12345L;
+    for ( int i = 1 ; i < values.length ; i++ ) {
+      seed = seed * 6364136223846793005L + 1442695040888963407L;
+      values[i] = values[i - 1] + ( seed >>> 54 );
+    }
+    byte[] binary = DeltaBitPackLongColumnBinaryMaker.encode( values , values.length );
+    assertEquals( DeltaBitPackLongColumnBinaryMaker.ENCODING_DELTA , binary[0] );
+    long[] result = decode( binary , values.length );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      assertEquals( values[i] , result[i] );
+    }
+  }
+
+  @Test
+  public void T_encode_overflow() throws IOException{
+    long[] values = new long[]{ Long.MIN_VALUE , Long.MAX_VALUE , 0L , Long.MIN_VALUE , -1L };
+    byte[] binary = DeltaBitPackLongColumnBinaryMaker.encode( values , values.length );
+    long[] result = decode( binary , values.length );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      assertEquals( values[i] , result[i] );
+    }
+  }
+
+  @Test
+  public void T_encode_shortLength() throws IOException{
+    for ( int length = 0 ; length < 4 ; length++ ) {
+      long[] values = new long[length];
+      for ( int i = 0 ; i < length ; i++ ) {
+        values[i] = 10L - i * 3L;
+      }
+      byte[] binary = DeltaBitPackLongColumnBinaryMaker.encode( values , length );
+      long[] result = decode( binary , length );
+      for ( int i = 0 ; i < length ; i++ ) {
+        assertEquals( values[i] , result[i] );
+      }
+    }
+  }
+
+  @Test
+  public void T_toBinary_withNull() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "column" );
+    for ( int i = 0 ; i < 500 ; i++ ) {
+      if ( i % 7 != 0 ) {
+        column.add( ColumnType.LONG , new LongObj( 1000L + i ) , i );
+      }
+    }
+    IColumnBinaryMaker maker = new DeltaBitPackLongColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , column );
+    assertEquals( maker.getClass().getName() , columnBinary.makerClassName );
+
+    IColumn decodeColumn = maker.toColumn( columnBinary );
+    assertEquals( column.size() , decodeColumn.size() );
+    for ( int i = 0 ; i < column.size() ; i++ ) {
+      if ( i % 7 == 0 ) {
+        assertEquals( ColumnType.NULL , decodeColumn.get( i ).getType() );
+      } else {
+        assertEquals( 1000L + i , ( (PrimitiveCell) decodeColumn.get( i ) ).getRow().getLong() );
+      }
+    }
+  }
+
+  @Test
+  public void T_calcBinarySize_sorted() throws IOException{
+    LongColumnAnalizeResult sorted = new LongColumnAnalizeResult(
+        "column" , 1000 , false , 0 , 1000 , 1000 , 0L , 999L , 1 );
+    LongColumnAnalizeResult random = new LongColumnAnalizeResult(
+        "column" , 1000 , false , 0 , 1000 , 1000 , 0L , 999L , 64 );
+    IColumnBinaryMaker deltaMaker = new DeltaBitPackLongColumnBinaryMaker();
+    IColumnBinaryMaker dumpMaker = new UnsafeOptimizeDumpLongColumnBinaryMaker();
+    assertTrue( deltaMaker.calcBinarySize( sorted ) < dumpMaker.calcBinarySize( sorted ) );
+    assertTrue( dumpMaker.calcBinarySize( random ) <= deltaMaker.calcBinarySize( random ) );
+  }
+
+}
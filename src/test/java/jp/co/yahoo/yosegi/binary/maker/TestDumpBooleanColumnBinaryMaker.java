@@ -39,6 +39,12 @@ import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.compressor.DataType;
+import jp.co.yahoo.yosegi.compressor.FindCompressor;
+import jp.co.yahoo.yosegi.spread.column.filter.BooleanFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NotNullFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NullFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 
 import jp.co.yahoo.yosegi.message.objects.BooleanObj;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
@@ -184,5 +190,120 @@ public class TestDumpBooleanColumnBinaryMaker {
     assertEquals( allocator.list.get( 5 ).booleanValue() , true );
   }
 
-}
+  private IColumn createNullableColumn( final int size ) throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.BOOLEAN , "boolean" );
+    for( int i = 0 ; i < size ; i++ ){
+      if( i % 3 != 0 ){
+        column.add( ColumnType.BOOLEAN , new BooleanObj( i % 2 == 0 ) , i );
+      }
+    }
+    return column;
+  }
+
+  @Test
+  public void T_toBinary_defaultIsLegacyFormat() throws IOException{
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    IColumnBinaryMaker maker = new DumpBooleanColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( defaultConfig , null , createNullableColumn( 200 ) );
+
+    assertEquals( 133 , columnBinary.rowCount );
+    assertEquals( 200 , columnBinary.rawDataSize );
+    byte[] raw = FindCompressor.get( columnBinary.compressorClassName ).decompress(
+        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    assertEquals( 200 , raw.length );
+    for( int i = 0 ; i < 200 ; i++ ){
+      if( i % 3 == 0 ){
+        assertEquals( (byte)2 , raw[i] );
+      }
+      else{
+        assertEquals( i % 2 == 0 ? (byte)1 : (byte)0 , raw[i] );
+      }
+    }
+  }
+
+  @Test
+  public void T_toBinary_bitPacked() throws IOException{
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    defaultConfig.bitPackNullFlags = true;
+    IColumnBinaryMaker maker = new DumpBooleanColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( defaultConfig , null , createNullableColumn( 200 ) );
+
+    assertEquals( 133 , columnBinary.rowCount );
+    assertEquals( 6 + 25 + 25 , columnBinary.rawDataSize );
+
+    IColumn decodeColumn = maker.toColumn( columnBinary );
+    assertEquals( 200 , decodeColumn.size() );
+    for( int i = 0 ; i < 200 ; i++ ){
+      if( i % 3 == 0 ){
+        assertEquals( ColumnType.NULL , decodeColumn.get(i).getType() );
+      }
+      else{
+        assertEquals( i % 2 == 0 , ( (PrimitiveObject)( decodeColumn.get(i).getRow() ) ).getBoolean() );
+      }
+    }
+  }
+
+  @Test
+  public void T_filter_bitPacked() throws IOException{
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    defaultConfig.bitPackNullFlags = true;
+    IColumnBinaryMaker maker = new DumpBooleanColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( defaultConfig , null , createNullableColumn( 200 ) );
+    IColumn decodeColumn = maker.toColumn( columnBinary );
 
+    FilterBitSet trueResult = decodeColumn.filter( new BooleanFilter( true ) , new FilterBitSet( 210 ) );
+    FilterBitSet falseResult = decodeColumn.filter( new BooleanFilter( false ) , new FilterBitSet( 210 ) );
+    FilterBitSet nullResult = decodeColumn.filter( new NullFilter( ColumnType.BOOLEAN ) , new FilterBitSet( 210 ) );
+    FilterBitSet notNullResult = decodeColumn.filter( new NotNullFilter( ColumnType.BOOLEAN ) , new FilterBitSet( 210 ) );
+    for( int i = 0 ; i < 210 ; i++ ){
+      boolean isNull = 200 <= i || i % 3 == 0;
+      assertEquals( ! isNull && i % 2 == 0 , trueResult.get( i ) );
+      assertEquals( ! isNull && i % 2 != 0 , falseResult.get( i ) );
+      assertEquals( isNull , nullResult.get( i ) );
+      assertEquals( ! isNull , notNullResult.get( i ) );
+    }
+
+    boolean[] filterArray = decodeColumn.filter( new BooleanFilter( true ) , new boolean[200] );
+    assertEquals( 210 , trueResult.toBooleanArray().length );
+    for( int i = 0 ; i < 200 ; i++ ){
+      assertEquals( trueResult.get( i ) , filterArray[i] );
+    }
+  }
+
+  @Test
+  public void T_toColumn_legacyBinary() throws IOException{
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    byte[] raw = new byte[]{ 1 , 0 , 2 , 1 };
+    byte[] compressData = defaultConfig.compressorClass.compress(
+        raw , 0 , raw.length , DataType.TEXT , defaultConfig.compressionPolicy );
+    ColumnBinary columnBinary = new ColumnBinary(
+        DumpBooleanColumnBinaryMaker.class.getName() ,
+        defaultConfig.compressorClass.getClass().getName() ,
+        "boolean" ,
+        ColumnType.BOOLEAN ,
+        3 ,
+        raw.length ,
+        3 ,
+        -1 ,
+        compressData ,
+        0 ,
+        compressData.length ,
+        null );
+
+    IColumnBinaryMaker maker = new DumpBooleanColumnBinaryMaker();
+    IColumn decodeColumn = maker.toColumn( columnBinary );
+    assertEquals( 4 , decodeColumn.size() );
+    assertTrue( ( (PrimitiveObject)( decodeColumn.get(0).getRow() ) ).getBoolean() );
+    assertFalse( ( (PrimitiveObject)( decodeColumn.get(1).getRow() ) ).getBoolean() );
+    assertEquals( ColumnType.NULL , decodeColumn.get(2).getType() );
+    assertTrue( ( (PrimitiveObject)( decodeColumn.get(3).getRow() ) ).getBoolean() );
+
+    TestBooleanMemoryAllocator allocator = new TestBooleanMemoryAllocator();
+    maker.loadInMemoryStorage( columnBinary , allocator );
+    assertEquals( allocator.list.get( 0 ).booleanValue() , true );
+    assertEquals( allocator.list.get( 1 ).booleanValue() , false );
+    assertEquals( allocator.list.get( 2 ) , null );
+    assertEquals( allocator.list.get( 3 ).booleanValue() , true );
+  }
+
+}
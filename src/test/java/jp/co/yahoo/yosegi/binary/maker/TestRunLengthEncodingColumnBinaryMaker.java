@@ -0,0 +1,282 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.maker.index.RunLengthCellIndex;
+import jp.co.yahoo.yosegi.binary.optimizer.IntegerOptimizer;
+import jp.co.yahoo.yosegi.binary.optimizer.LongOptimizer;
+import jp.co.yahoo.yosegi.binary.optimizer.StringOptimizer;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.BooleanObj;
+import jp.co.yahoo.yosegi.message.objects.IntegerObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.IntegerColumnAnalizer;
+import jp.co.yahoo.yosegi.spread.analyzer.LongColumnAnalizer;
+import jp.co.yahoo.yosegi.spread.analyzer.StringColumnAnalizer;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.spread.column.filter.BooleanFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.yosegi.spread.column.filter.PerfectMatchStringFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
+import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TestRunLengthEncodingColumnBinaryMaker{
+
+  private class TestMemoryAllocator implements IMemoryAllocator{
+
+    private final Map<Integer,Object> valueMap = new HashMap<Integer,Object>();
+    private int valueCount;
+
+    @Override
+    public void setNull( final int index ){
+      valueMap.put( index , null );
+    }
+
+    @Override
+    public void setBoolean( final int index , final boolean value ) throws IOException{
+      valueMap.put( index , value );
+    }
+
+    @Override
+    public void setLong( final int index , final long value ) throws IOException{
+      valueMap.put( index , value );
+    }
+
+    @Override
+    public void setBytes( final int index , final byte[] value , final int start , final int length ) throws IOException{
+      valueMap.put( index , new String( value , start , length , "UTF-8" ) );
+    }
+
+    @Override
+    public void setValueCount( final int count ) throws IOException{
+      valueCount = count;
+    }
+
+  }
+
+  private IColumn createStatusColumn() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.INTEGER , "status" );
+    for( int i = 0 ; i < 1000 ; i++ ){
+      if( i < 400 ){
+        column.add( ColumnType.INTEGER , new IntegerObj( 200 ) , i );
+      }
+      else if( i < 450 ){
+        // null run
+      }
+      else if( i < 900 ){
+        column.add( ColumnType.INTEGER , new IntegerObj( 404 ) , i );
+      }
+      else{
+        column.add( ColumnType.INTEGER , new IntegerObj( 200 ) , i );
+      }
+    }
+    return column;
+  }
+
+  @Test
+  public void T_toBinary_integer() throws IOException{
+    IColumnBinaryMaker maker = new RunLengthEncodingColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , createStatusColumn() );
+    assertEquals( 1000 , columnBinary.rowCount );
+    assertEquals( 3 , columnBinary.cardinality );
+
+    IColumn decodeColumn = maker.toColumn( columnBinary );
+    assertEquals( 1000 , decodeColumn.size() );
+    assertEquals( 200 , ( (PrimitiveCell)decodeColumn.get( 0 ) ).getRow().getInt() );
+    assertEquals( ColumnType.NULL , decodeColumn.get( 420 ).getType() );
+    assertEquals( 404 , ( (PrimitiveCell)decodeColumn.get( 899 ) ).getRow().getInt() );
+    assertEquals( 200 , ( (PrimitiveCell)decodeColumn.get( 999 ) ).getRow().getInt() );
+  }
+
+  @Test
+  public void T_filter_integer() throws IOException{
+    IColumnBinaryMaker maker = new RunLengthEncodingColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , createStatusColumn() );
+    IColumn decodeColumn = maker.toColumn( columnBinary );
+    IFilter filter = new NumberFilter( NumberFilterType.EQUAL , new IntegerObj( 200 ) );
+
+    boolean[] result = decodeColumn.filter( filter , new boolean[1000] );
+    FilterBitSet bitSet = decodeColumn.filter( filter , new FilterBitSet( 1000 ) );
+    assertEquals( 500 , bitSet.cardinality() );
+    for( int i = 0 ; i < 1000 ; i++ ){
+      boolean expected = i < 400 || 900 <= i;
+      assertEquals( expected , result[i] );
+      assertEquals( expected , bitSet.get( i ) );
+    }
+  }
+
+  @Test
+  public void T_filter_runIndex() throws IOException{
+    ICellIndex runIndex = new ICellIndex(){
+      @Override
+      public boolean[] filter( final IFilter filter , final boolean[] filterArray ) throws IOException{
+        assertEquals( 3 , filterArray.length );
+        filterArray[1] = true;
+        return filterArray;
+      }
+    };
+    ICellIndex index = new RunLengthCellIndex( runIndex , new int[]{ 0 , 5 , 70 } , new int[]{ 5 , 65 , 30 } );
+    FilterBitSet bitSet = index.filter( new BooleanFilter( true ) , new FilterBitSet( 100 ) );
+    assertEquals( 65 , bitSet.cardinality() );
+    assertFalse( bitSet.get( 4 ) );
+    assertTrue( bitSet.get( 5 ) );
+    assertTrue( bitSet.get( 69 ) );
+    assertFalse( bitSet.get( 70 ) );
+  }
+
+  @Test
+  public void T_toBinary_boolean() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.BOOLEAN , "flag" );
+    for( int i = 0 ; i < 300 ; i++ ){
+      if( i % 100 != 50 ){
+        column.add( ColumnType.BOOLEAN , new BooleanObj( i == 10 ) , i );
+      }
+    }
+    IColumnBinaryMaker maker = new RunLengthEncodingColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , column );
+    IColumn decodeColumn = maker.toColumn( columnBinary );
+    boolean[] result = decodeColumn.filter( new BooleanFilter( true ) , new boolean[300] );
+    for( int i = 0 ; i < 300 ; i++ ){
+      assertEquals( i == 10 , result[i] );
+    }
+
+    TestMemoryAllocator allocator = new TestMemoryAllocator();
+    maker.loadInMemoryStorage( columnBinary , allocator );
+    assertEquals( 300 , allocator.valueCount );
+    assertEquals( true , allocator.valueMap.get( 10 ) );
+    assertEquals( false , allocator.valueMap.get( 11 ) );
+    assertNull( allocator.valueMap.get( 150 ) );
+    assertTrue( allocator.valueMap.containsKey( 150 ) );
+  }
+
+  @Test
+  public void T_toBinary_string() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "key" );
+    String[] keys = new String[]{ "2019-01-01" , "2019-01-02" , "日本語" };
+    for( int i = 0 ; i < 300 ; i++ ){
+      column.add( ColumnType.STRING , new StringObj( keys[ i / 100 ] ) , i );
+    }
+    IColumnBinaryMaker maker = new RunLengthEncodingColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , column );
+    IColumn decodeColumn = maker.toColumn( columnBinary );
+    for( int i = 0 ; i < 300 ; i++ ){
+      assertEquals( keys[ i / 100 ] , ( (PrimitiveCell)decodeColumn.get( i ) ).getRow().getString() );
+    }
+    boolean[] result = decodeColumn.filter( new PerfectMatchStringFilter( "日本語" ) , new boolean[300] );
+    for( int i = 0 ; i < 300 ; i++ ){
+      assertEquals( 200 <= i , result[i] );
+    }
+
+    TestMemoryAllocator allocator = new TestMemoryAllocator();
+    maker.loadInMemoryStorage( columnBinary , allocator );
+    assertEquals( "2019-01-02" , allocator.valueMap.get( 150 ) );
+    assertEquals( "日本語" , allocator.valueMap.get( 299 ) );
+  }
+
+  private IColumn createLongRunColumn( final int runLength ) throws IOException{
+    Random rnd = new Random( 3 );
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "long" );
+    long value = 0;
+    for( int i = 0 ; i < 10000 ; i++ ){
+      if( i % runLength == 0 ){
+        value = rnd.nextInt( 1000000 );
+      }
+      column.add( ColumnType.LONG , new LongObj( value ) , i );
+    }
+    return column;
+  }
+
+  @Test
+  public void T_calcBinarySize_longRuns() throws IOException{
+    IColumn column = createLongRunColumn( 100 );
+    IColumnAnalizeResult analizeResult = new LongColumnAnalizer( column ).analize();
+    assertEquals( 100 , analizeResult.getRunCount() );
+    IColumnBinaryMaker maker = new RunLengthEncodingColumnBinaryMaker();
+    int binarySize = maker.calcBinarySize( analizeResult );
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , column );
+    assertTrue( columnBinary.rawDataSize <= binarySize );
+    assertTrue( binarySize < new UnsafeOptimizeLongColumnBinaryMaker().calcBinarySize( analizeResult ) );
+  }
+
+  @Test
+  public void T_optimizer_longRuns() throws IOException{
+    IColumnAnalizeResult analizeResult = new LongColumnAnalizer( createLongRunColumn( 100 ) ).analize();
+    ColumnBinaryMakerConfig config = new LongOptimizer( new Configuration() )
+        .getColumnBinaryMakerConfig( new ColumnBinaryMakerConfig() , analizeResult );
+    assertTrue( config.longMakerClass instanceof RunLengthEncodingColumnBinaryMaker );
+  }
+
+  @Test
+  public void T_optimizer_shortRuns() throws IOException{
+    IColumnAnalizeResult analizeResult = new LongColumnAnalizer( createLongRunColumn( 1 ) ).analize();
+    ColumnBinaryMakerConfig config = new LongOptimizer( new Configuration() )
+        .getColumnBinaryMakerConfig( new ColumnBinaryMakerConfig() , analizeResult );
+    assertFalse( config.longMakerClass instanceof RunLengthEncodingColumnBinaryMaker );
+  }
+
+  @Test
+  public void T_optimizer_integerRuns() throws IOException{
+    IColumnAnalizeResult analizeResult = new IntegerColumnAnalizer( createStatusColumn() ).analize();
+    ColumnBinaryMakerConfig config = new IntegerOptimizer( new Configuration() )
+        .getColumnBinaryMakerConfig( new ColumnBinaryMakerConfig() , analizeResult );
+    assertTrue( config.integerMakerClass instanceof RunLengthEncodingColumnBinaryMaker );
+  }
+
+  @Test
+  public void T_optimizer_stringRuns() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "string" );
+    for( int i = 0 ; i < 10000 ; i++ ){
+      column.add( ColumnType.STRING , new StringObj( String.format( "2019-01-%02d" , i / 400 + 1 ) ) , i );
+    }
+    IColumnAnalizeResult analizeResult = new StringColumnAnalizer( column ).analize();
+    ColumnBinaryMakerConfig config = new StringOptimizer( new Configuration() )
+        .getColumnBinaryMakerConfig( new ColumnBinaryMakerConfig() , analizeResult );
+    assertTrue( config.stringMakerClass instanceof RunLengthEncodingColumnBinaryMaker );
+
+    IColumn shuffleColumn = new PrimitiveColumn( ColumnType.STRING , "string" );
+    for( int i = 0 ; i < 10000 ; i++ ){
+      shuffleColumn.add( ColumnType.STRING , new StringObj( String.format( "2019-01-%02d" , i % 25 + 1 ) ) , i );
+    }
+    analizeResult = new StringColumnAnalizer( shuffleColumn ).analize();
+    config = new StringOptimizer( new Configuration() )
+        .getColumnBinaryMakerConfig( new ColumnBinaryMakerConfig() , analizeResult );
+    assertFalse( config.stringMakerClass instanceof RunLengthEncodingColumnBinaryMaker );
+  }
+
+}
@@ -279,4 +279,47 @@ public class TestUnsafeOptimizeDumpLongColumnBinaryMaker{
     }
   }
 
+  private IColumn createNullableColumn() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "target" );
+    for( int i = 0 ; i < 200 ; i++ ){
+      if( i % 3 != 0 ){
+        column.add( ColumnType.LONG , new LongObj( (long)i * 100 ) , i );
+      }
+    }
+    return column;
+  }
+
+  private ColumnBinary toNullableBinary( final boolean bitPackNullFlags ) throws IOException{
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    defaultConfig.bitPackNullFlags = bitPackNullFlags;
+    return new UnsafeOptimizeDumpLongColumnBinaryMaker().toBinary( defaultConfig , null , createNullableColumn() );
+  }
+
+  private void assertNullableColumn( final ColumnBinary columnBinary ) throws IOException{
+    IColumn column = new UnsafeOptimizeDumpLongColumnBinaryMaker().toColumn( columnBinary );
+    assertEquals( 200 , column.size() );
+    for( int i = 0 ; i < 200 ; i++ ){
+      if( i % 3 == 0 ){
+        assertEquals( ColumnType.NULL , column.get(i).getType() );
+      }
+      else{
+        assertEquals( (long)i * 100 , ( (PrimitiveCell)column.get(i) ).getRow().getLong() );
+      }
+    }
+  }
+
+  @Test
+  public void T_toBinary_nullFlags_legacy() throws IOException{
+    ColumnBinary columnBinary = toNullableBinary( false );
+    assertEquals( (byte)1 , columnBinary.binary[ columnBinary.binaryStart + Long.BYTES * 2 ] );
+    assertNullableColumn( columnBinary );
+  }
+
+  @Test
+  public void T_toBinary_nullFlags_bitPacked() throws IOException{
+    ColumnBinary columnBinary = toNullableBinary( true );
+    assertEquals( (byte)2 , columnBinary.binary[ columnBinary.binaryStart + Long.BYTES * 2 ] );
+    assertNullableColumn( columnBinary );
+  }
+
 }
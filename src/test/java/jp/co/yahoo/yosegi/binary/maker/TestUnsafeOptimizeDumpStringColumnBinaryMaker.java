@@ -154,4 +154,46 @@ public class TestUnsafeOptimizeDumpStringColumnBinaryMaker{
     }
   }
 
+  private IColumn createNullableColumn() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "target" );
+    for( int i = 0 ; i < 200 ; i++ ){
+      if( i % 3 != 0 ){
+        column.add( ColumnType.STRING , new StringObj( "v" + i ) , i );
+      }
+    }
+    return column;
+  }
+
+  private ColumnBinary toNullableBinary( final boolean bitPackNullFlags ) throws IOException{
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    defaultConfig.bitPackNullFlags = bitPackNullFlags;
+    return new UnsafeOptimizeDumpStringColumnBinaryMaker().toBinary( defaultConfig , null , createNullableColumn() );
+  }
+
+  private void assertNullableColumn( final ColumnBinary columnBinary ) throws IOException{
+    IColumn column = new UnsafeOptimizeDumpStringColumnBinaryMaker().toColumn( columnBinary );
+    assertEquals( 200 , column.size() );
+    for( int i = 0 ; i < 200 ; i++ ){
+      if( i % 3 == 0 ){
+        assertEquals( ColumnType.NULL , column.get(i).getType() );
+      }
+      else{
+        assertEquals( "v" + i , ( (PrimitiveCell)column.get(i) ).getRow().getString() );
+      }
+    }
+  }
+
+  @Test
+  public void T_toBinary_nullFlags_legacy() throws IOException{
+    ColumnBinary columnBinary = toNullableBinary( false );
+    assertNullableColumn( columnBinary );
+  }
+
+  @Test
+  public void T_toBinary_nullFlags_bitPacked() throws IOException{
+    ColumnBinary columnBinary = toNullableBinary( true );
+    assertEquals( toNullableBinary( false ).rawDataSize - 200 + 25 , columnBinary.rawDataSize );
+    assertNullableColumn( columnBinary );
+  }
+
 }
@@ -135,6 +135,12 @@ public class TestUnsafeOptimizeLongColumnBinaryMaker{
     for( int i = 1 ; i < rp.length ; i++ ){
       assertEquals( rp[i].getLong() , l.get( i ).getLong() );
     }
+
+    long[] rl = maker.getDicLongArray( l.size() , b , 0 , b.length , ByteOrder.nativeOrder() );
+    assertEquals( rl.length , l.size() );
+    for( int i = 1 ; i < rl.length ; i++ ){
+      assertEquals( rl[i] , l.get( i ).getLong() );
+    }
   }
 
   @Test
@@ -161,6 +167,12 @@ public class TestUnsafeOptimizeLongColumnBinaryMaker{
     for( int i = 1 ; i < rp.length ; i++ ){
       assertEquals( rp[i].getLong() , l.get( i ).getLong() );
     }
+
+    long[] rl = maker.getDicLongArray( l.size() , b , 0 , b.length , ByteOrder.nativeOrder() );
+    assertEquals( rl.length , l.size() );
+    for( int i = 1 ; i < rl.length ; i++ ){
+      assertEquals( rl[i] , l.get( i ).getLong() );
+    }
   }
 
   @Test
@@ -187,6 +199,12 @@ public class TestUnsafeOptimizeLongColumnBinaryMaker{
     for( int i = 1 ; i < rp.length ; i++ ){
       assertEquals( rp[i].getLong() , l.get( i ).getLong() );
     }
+
+    long[] rl = maker.getDicLongArray( l.size() , b , 0 , b.length , ByteOrder.nativeOrder() );
+    assertEquals( rl.length , l.size() );
+    for( int i = 1 ; i < rl.length ; i++ ){
+      assertEquals( rl[i] , l.get( i ).getLong() );
+    }
   }
 
   @Test
@@ -213,6 +231,12 @@ public class TestUnsafeOptimizeLongColumnBinaryMaker{
     for( int i = 1 ; i < rp.length ; i++ ){
       assertEquals( rp[i].getLong() , l.get( i ).getLong() );
     }
+
+    long[] rl = maker.getDicLongArray( l.size() , b , 0 , b.length , ByteOrder.nativeOrder() );
+    assertEquals( rl.length , l.size() );
+    for( int i = 1 ; i < rl.length ; i++ ){
+      assertEquals( rl[i] , l.get( i ).getLong() );
+    }
   }
 
   @Test
@@ -238,6 +262,12 @@ public class TestUnsafeOptimizeLongColumnBinaryMaker{
     for( int i = 1 ; i < rp.length ; i++ ){
       assertEquals( rp[i].getLong() , l.get( i ).getLong() );
     }
+
+    long[] rl = maker.getDicLongArray( l.size() , b , 0 , b.length , ByteOrder.nativeOrder() );
+    assertEquals( rl.length , l.size() );
+    for( int i = 1 ; i < rl.length ; i++ ){
+      assertEquals( rl[i] , l.get( i ).getLong() );
+    }
   }
 
   @Test
@@ -263,6 +293,12 @@ public class TestUnsafeOptimizeLongColumnBinaryMaker{
     for( int i = 1 ; i < rp.length ; i++ ){
       assertEquals( rp[i].getLong() , l.get( i ).getLong() );
     }
+
+    long[] rl = maker.getDicLongArray( l.size() , b , 0 , b.length , ByteOrder.nativeOrder() );
+    assertEquals( rl.length , l.size() );
+    for( int i = 1 ; i < rl.length ; i++ ){
+      assertEquals( rl[i] , l.get( i ).getLong() );
+    }
   }
 
   @Test
@@ -286,6 +322,12 @@ public class TestUnsafeOptimizeLongColumnBinaryMaker{
     for( int i = 1 ; i < rp.length ; i++ ){
       assertEquals( rp[i].getLong() , l.get( i ).getLong() );
     }
+
+    long[] rl = maker.getDicLongArray( l.size() , b , 0 , b.length , ByteOrder.nativeOrder() );
+    assertEquals( rl.length , l.size() );
+    for( int i = 1 ; i < rl.length ; i++ ){
+      assertEquals( rl[i] , l.get( i ).getLong() );
+    }
   }
 
   @Test
@@ -311,6 +353,12 @@ public class TestUnsafeOptimizeLongColumnBinaryMaker{
     for( int i = 1 ; i < rp.length ; i++ ){
       assertEquals( rp[i].getLong() , l.get( i ).getLong() );
     }
+
+    long[] rl = maker.getDicLongArray( l.size() , b , 0 , b.length , ByteOrder.nativeOrder() );
+    assertEquals( rl.length , l.size() );
+    for( int i = 1 ; i < rl.length ; i++ ){
+      assertEquals( rl[i] , l.get( i ).getLong() );
+    }
   }
 
   @Test
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+
+public class TestUnsafeRangeDumpDoubleColumnBinaryMaker{
+
+  private IColumn createNullableColumn() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.DOUBLE , "target" );
+    for( int i = 0 ; i < 200 ; i++ ){
+      if( i % 3 != 0 ){
+        column.add( ColumnType.DOUBLE , new DoubleObj( (double)i / 4 ) , i );
+      }
+    }
+    return column;
+  }
+
+  private ColumnBinary toNullableBinary( final boolean bitPackNullFlags ) throws IOException{
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    defaultConfig.bitPackNullFlags = bitPackNullFlags;
+    return new UnsafeRangeDumpDoubleColumnBinaryMaker().toBinary( defaultConfig , null , createNullableColumn() );
+  }
+
+  private void assertNullableColumn( final ColumnBinary columnBinary ) throws IOException{
+    IColumn column = new UnsafeRangeDumpDoubleColumnBinaryMaker().toColumn( columnBinary );
+    assertEquals( 200 , column.size() );
+    for( int i = 0 ; i < 200 ; i++ ){
+      if( i % 3 == 0 ){
+        assertEquals( ColumnType.NULL , column.get(i).getType() );
+      }
+      else{
+        assertEquals( (double)i / 4 , ( (PrimitiveCell)column.get(i) ).getRow().getDouble() );
+      }
+    }
+  }
+
+  @Test
+  public void T_toBinary_nullFlags_legacy() throws IOException{
+    ColumnBinary columnBinary = toNullableBinary( false );
+    assertEquals( (byte)1 , columnBinary.binary[ columnBinary.binaryStart + Double.BYTES * 2 ] );
+    assertEquals( 200 + 1 + 133 * Double.BYTES , columnBinary.rawDataSize );
+    assertNullableColumn( columnBinary );
+  }
+
+  @Test
+  public void T_toBinary_nullFlags_bitPacked() throws IOException{
+    ColumnBinary columnBinary = toNullableBinary( true );
+    assertEquals( (byte)2 , columnBinary.binary[ columnBinary.binaryStart + Double.BYTES * 2 ] );
+    assertEquals( 25 + 1 + 133 * Double.BYTES , columnBinary.rawDataSize );
+    assertNullableColumn( columnBinary );
+  }
+
+}
@@ -0,0 +1,237 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker;
+
+import java.io.IOException;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.FloatObj;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.NullCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestXorDoubleColumnBinaryMaker{
+
+  private IColumn createDoubleColumn( final Double[] values ) throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.DOUBLE , "column" );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      if ( values[i] == null ) {
+        column.addCell( ColumnType.NULL , NullCell.getInstance() , i );
+      } else {
+        column.add( ColumnType.DOUBLE , new DoubleObj( values[i] ) , i );
+      }
+    }
+    return column;
+  }
+
+  private IColumn createFloatColumn( final Float[] values ) throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.FLOAT , "column" );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      if ( values[i] == null ) {
+        column.addCell( ColumnType.NULL , NullCell.getInstance() , i );
+      } else {
+        column.add( ColumnType.FLOAT , new FloatObj( values[i] ) , i );
+      }
+    }
+    return column;
+  }
+
+  private IColumn toBinaryAndBack( final IColumn column , final boolean isXor ) throws IOException{
+    ColumnBinary columnBinary = new XorDoubleColumnBinaryMaker().toBinary( new ColumnBinaryMakerConfig() , null , column );
+    assertEquals( isXor , XorDoubleColumnBinaryMaker.class.getName().equals( columnBinary.makerClassName ) );
+    return FindColumnBinaryMaker.get( columnBinary.makerClassName ).toColumn( columnBinary );
+  }
+
+  private void assertDoubleBits( final Double[] values , final boolean isXor ) throws IOException{
+    IColumn decodeColumn = toBinaryAndBack( createDoubleColumn( values ) , isXor );
+    assertEquals( values.length , decodeColumn.size() );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      if ( values[i] == null ) {
+        assertEquals( ColumnType.NULL , decodeColumn.get( i ).getType() , "index " + i );
+      } else {
+        double value = ( (PrimitiveCell) decodeColumn.get( i ) ).getRow().getDouble();
+        assertEquals( Double.doubleToRawLongBits( values[i] ) , Double.doubleToRawLongBits( value ) , "index " + i );
+      }
+    }
+  }
+
+  private void assertFloatBits( final Float[] values , final boolean isXor ) throws IOException{
+    IColumn decodeColumn = toBinaryAndBack( createFloatColumn( values ) , isXor );
+    assertEquals( ColumnType.FLOAT , decodeColumn.getColumnType() );
+    assertEquals( values.length , decodeColumn.size() );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      if ( values[i] == null ) {
+        assertEquals( ColumnType.NULL , decodeColumn.get( i ).getType() , "index " + i );
+      } else {
+        float value = ( (PrimitiveCell) decodeColumn.get( i ) ).getRow().getFloat();
+        assertEquals( Float.floatToRawIntBits( values[i] ) , Float.floatToRawIntBits( value ) , "index " + i );
+      }
+    }
+  }
+
+  @Test
+  public void T_toBinary_nanPayload() throws IOException{
+    assertDoubleBits( new Double[]{
+        Double.NaN ,
+        1.0d ,
+        Double.longBitsToDouble( 0x7ff0000000000001L ) ,
+        Double.longBitsToDouble( 0xfff8000000000000L ) ,
+        Double.NaN ,
+        Double.longBitsToDouble( 0x7ff8dead0000beefL ) } , true );
+  }
+
+  @Test
+  public void T_toBinary_nanPayloadOnly() throws IOException{
+    // All values are NaN by Double.compare, but the payloads differ.
+    assertDoubleBits( new Double[]{
+        Double.NaN ,
+        Double.longBitsToDouble( 0x7ff0000000000001L ) ,
+        Double.NaN } , true );
+  }
+
+  @Test
+  public void T_toBinary_signedZero() throws IOException{
+    // The XOR of 0.0 and -0.0 is only the sign bit, the leftmost meaningful window.
+    assertDoubleBits( new Double[]{ 0.0d , -0.0d , 0.0d , 0.0d , -0.0d , -0.0d , 0.0d } , true );
+  }
+
+  @Test
+  public void T_toBinary_constantNegativeZero() throws IOException{
+    assertDoubleBits( new Double[]{ -0.0d , -0.0d , -0.0d } , false );
+  }
+
+  @Test
+  public void T_toBinary_infinityAndExtremes() throws IOException{
+    assertDoubleBits( new Double[]{
+        Double.POSITIVE_INFINITY ,
+        Double.NEGATIVE_INFINITY ,
+        Double.MAX_VALUE ,
+        -Double.MAX_VALUE ,
+        Double.MIN_VALUE ,
+        -Double.MIN_VALUE ,
+        Double.MIN_NORMAL ,
+        Double.POSITIVE_INFINITY } , true );
+  }
+
+  @Test
+  public void T_toBinary_repeatedRuns() throws IOException{
+    Double[] values = new Double[2080];
+    int index = 0;
+    for ( int run = 1 ; index < values.length ; run++ ) {
+      for ( int i = 0 ; i < run && index < values.length ; i++ ) {
+        values[index++] = 100.0d + run * 0.25d;
+      }
+    }
+    assertDoubleBits( values , true );
+  }
+
+  @Test
+  public void T_encode_zeroRunLength() throws IOException{
+    long[] valueArray = new long[1000];
+    for ( int i = 0 ; i < valueArray.length ; i++ ) {
+      valueArray[i] = Double.doubleToRawLongBits( 36.6d );
+    }
+    byte[] binary = XorDoubleColumnBinaryMaker.encode( valueArray , valueArray.length , Long.SIZE );
+    // The first value is written as is and each repeat is written with one bit.
+    assertTrue( binary.length <= ( Long.SIZE + valueArray.length ) / Byte.SIZE + 1 );
+    long[] decodeArray = XorDoubleColumnBinaryMaker.decode( binary , 0 , valueArray.length , Long.SIZE );
+    for ( int i = 0 ; i < valueArray.length ; i++ ) {
+      assertEquals( valueArray[i] , decodeArray[i] );
+    }
+  }
+
+  @Test
+  public void T_toBinary_constant() throws IOException{
+    assertDoubleBits( new Double[]{ 1.5d , 1.5d , 1.5d , 1.5d } , false );
+  }
+
+  @Test
+  public void T_toBinary_constantWithNull() throws IOException{
+    assertDoubleBits( new Double[]{ 1.5d , null , 1.5d , 1.5d , null } , true );
+  }
+
+  @Test
+  public void T_toBinary_singleRow() throws IOException{
+    assertDoubleBits( new Double[]{ -123.456d } , false );
+    assertDoubleBits( new Double[]{ null , -123.456d } , true );
+  }
+
+  @Test
+  public void T_toBinary_allNull() throws IOException{
+    assertDoubleBits( new Double[]{ null , null , null , null } , true );
+  }
+
+  @Test
+  public void T_toBinary_sparseNull() throws IOException{
+    Double[] values = new Double[1000];
+    values[0] = 1.0d;
+    values[511] = Double.NaN;
+    values[999] = -0.0d;
+    assertDoubleBits( values , true );
+  }
+
+  @Test
+  public void T_toBinary_floatBits() throws IOException{
+    assertFloatBits( new Float[]{
+        Float.NaN ,
+        Float.intBitsToFloat( 0x7fc00001 ) ,
+        Float.intBitsToFloat( 0xff800001 ) ,
+        0.0f ,
+        -0.0f ,
+        Float.POSITIVE_INFINITY ,
+        Float.NEGATIVE_INFINITY ,
+        Float.MIN_VALUE ,
+        -Float.MAX_VALUE ,
+        null ,
+        0.1f } , true );
+  }
+
+  @Test
+  public void T_toBinary_floatFullWidthWindow() throws IOException{
+    // The XOR of these values sets both the top and the bottom bit of the 32 bit word.
+    assertFloatBits( new Float[]{
+        Float.intBitsToFloat( 0x00000001 ) ,
+        Float.intBitsToFloat( 0x80000000 ) ,
+        Float.intBitsToFloat( 0x7fffffff ) ,
+        Float.intBitsToFloat( 0x80000000 ) } , true );
+  }
+
+  @Test
+  public void T_toBinary_unsupportedType() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "column" );
+    column.add( ColumnType.STRING , new StringObj( "a" ) , 0 );
+    IColumnBinaryMaker maker = new XorDoubleColumnBinaryMaker();
+    assertThrows( IOException.class ,
+      () -> {
+        maker.toBinary( new ColumnBinaryMakerConfig() , null , column );
+      }
+    );
+  }
+
+}
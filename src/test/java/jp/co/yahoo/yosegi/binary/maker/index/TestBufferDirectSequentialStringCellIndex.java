@@ -41,6 +41,7 @@ import jp.co.yahoo.yosegi.spread.expression.*;
 import jp.co.yahoo.yosegi.message.objects.*;
 
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 
 public class TestBufferDirectSequentialStringCellIndex{
@@ -224,4 +225,29 @@ public class TestBufferDirectSequentialStringCellIndex{
     }
   }
 
+  @Test
+  public void T_filter_bitSet_1() throws IOException{
+    List<PrimitiveObject> dic = new ArrayList<PrimitiveObject>();
+    dic.add( null );
+    dic.add( new StringObj( "abc" ) );
+    dic.add( new StringObj( "bcd" ) );
+    dic.add( new StringObj( "cde" ) );
+    IntBuffer buffer = IntBuffer.allocate( 100 );
+    for( int i = 0 ; i < 100 ; i++ ){
+      buffer.put( i % 4 );
+    }
+    ICellIndex index = new BufferDirectSequentialStringCellIndex( new TestDicManager( dic ) , buffer );
+    Set<String> dictionary = new HashSet<String>();
+    dictionary.add( "abc" );
+    dictionary.add( "cde" );
+
+    FilterBitSet result = index.filter( new StringDictionaryFilter( dictionary ) , new FilterBitSet( 100 ) );
+    assertEquals( 50 , result.cardinality() );
+    for( int i = 0 ; i < 100 ; i++ ){
+      assertEquals( i % 4 == 1 || i % 4 == 3 , result.get( i ) );
+    }
+    assertTrue( index.filter( new PerfectMatchStringFilter( "xyz" ) , new FilterBitSet( 100 ) ).isEmpty() );
+    assertNull( index.filter( new NullFilter( ColumnType.STRING ) , new FilterBitSet( 100 ) ) );
+  }
+
 }
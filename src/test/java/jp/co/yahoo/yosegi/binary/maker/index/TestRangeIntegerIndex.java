@@ -42,6 +42,7 @@ import jp.co.yahoo.yosegi.spread.expression.*;
 
 import jp.co.yahoo.yosegi.message.objects.*;
 
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 
 public class TestRangeIntegerIndex{
@@ -109,4 +110,17 @@ public class TestRangeIntegerIndex{
     }
   }
 
+  @ParameterizedTest
+  @MethodSource( "data1" )
+  public void T_filter_bitSet( final ICellIndex cIndex , final IFilter filter , final boolean[] result ) throws IOException{
+    FilterBitSet r = cIndex.filter( filter , new FilterBitSet( 10 ) );
+    if( r == null ){
+      assertNull( result );
+    }
+    else{
+      assertNotNull( result );
+      assertTrue( r.isEmpty() );
+    }
+  }
+
 }
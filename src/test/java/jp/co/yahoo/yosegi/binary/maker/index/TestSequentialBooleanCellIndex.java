@@ -34,6 +34,7 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import jp.co.yahoo.yosegi.spread.column.filter.BooleanFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NullFilter;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
 
 public class TestSequentialBooleanCellIndex{
 
@@ -104,4 +105,19 @@ public class TestSequentialBooleanCellIndex{
     assertEquals( result , null );
   }
 
+  @Test
+  public void T_filter_bitSet() throws IOException{
+    byte[] data = new byte[10];
+    for( int i = 0 ; i < 10 ; i++ ){
+      data[i] = (byte)( i % 2 );
+    }
+    SequentialBooleanCellIndex index = new SequentialBooleanCellIndex( data );
+    FilterBitSet result = index.filter( new BooleanFilter( true ) , new FilterBitSet( 10 ) );
+    for( int i = 0 ; i < 10 ; i++ ){
+      assertEquals( i % 2 == 1 , result.get( i ) );
+    }
+    assertNull( index.filter( null , new FilterBitSet( 10 ) ) );
+    assertNull( index.filter( new NullFilter( ColumnType.BOOLEAN ) , new FilterBitSet( 10 ) ) );
+  }
+
 }
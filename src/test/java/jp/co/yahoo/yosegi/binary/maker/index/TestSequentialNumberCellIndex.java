@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker.index;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.maker.IDicManager;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.yosegi.spread.column.filter.PerfectMatchStringFilter;
+import jp.co.yahoo.yosegi.spread.column.index.FilterBitSet;
+
+public class TestSequentialNumberCellIndex{
+
+  private IDicManager createDicManager( final PrimitiveObject[] dic ){
+    return new IDicManager(){
+      @Override
+      public PrimitiveObject get( final int index ) throws IOException{
+        return dic[index];
+      }
+      @Override
+      public int getDicSize() throws IOException{
+        return dic.length;
+      }
+    };
+  }
+
+  @Test
+  public void T_filter_number() throws IOException{
+    PrimitiveObject[] dic = new PrimitiveObject[10];
+    for( int i = 0 ; i < 10 ; i++ ){
+      dic[i] = i % 3 == 0 ? null : new LongObj( i );
+    }
+    SequentialNumberCellIndex index = new SequentialNumberCellIndex( ColumnType.LONG , createDicManager( dic ) );
+    NumberFilter filter = new NumberFilter( NumberFilterType.GE , new LongObj( 5 ) );
+    boolean[] result = index.filter( filter , new boolean[10] );
+    FilterBitSet bitSet = index.filter( filter , new FilterBitSet( 10 ) );
+    for( int i = 0 ; i < 10 ; i++ ){
+      boolean expected = dic[i] != null && 5 <= i;
+      assertEquals( expected , result[i] );
+      assertEquals( expected , bitSet.get( i ) );
+    }
+  }
+
+  @Test
+  public void T_filter_unsupported() throws IOException{
+    SequentialNumberCellIndex index = new SequentialNumberCellIndex( ColumnType.LONG , createDicManager( new PrimitiveObject[10] ) );
+    PerfectMatchStringFilter filter = new PerfectMatchStringFilter( "a" );
+    assertNull( index.filter( filter , new boolean[10] ) );
+    assertNull( index.filter( filter , new FilterBitSet( 10 ) ) );
+  }
+
+}
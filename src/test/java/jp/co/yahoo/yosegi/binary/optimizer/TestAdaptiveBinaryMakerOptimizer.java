@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.optimizer;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.binary.maker.DeltaBitPackLongColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.parser.json.JacksonMessageReader;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.analyzer.Analyzer;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+
+public class TestAdaptiveBinaryMakerOptimizer{
+
+  private Spread createSpread( final int mod ) throws IOException{
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    Spread spread = new Spread();
+    for( int i = 0 ; i < 1000 ; i++ ){
+      String json = String.format( "{\"id\":%d,\"nest\":{\"a\":%d}}" , i % mod , i % mod );
+      spread.addParserRow( messageReader.create( json ) );
+    }
+    return spread;
+  }
+
+  private AdaptiveBinaryMakerOptimizer createOptimizer(
+      final int interval , final int hysteresis ) throws IOException{
+    Configuration config = new Configuration();
+    config.set( AdaptiveBinaryMakerOptimizer.INTERVAL_KEY , Integer.toString( interval ) );
+    config.set( AdaptiveBinaryMakerOptimizer.HYSTERESIS_KEY , Integer.toString( hysteresis ) );
+    IOptimizerFactory factory = new DefaultOptimizerFactory();
+    factory.setup( config );
+    return new AdaptiveBinaryMakerOptimizer( config , factory , null );
+  }
+
+  private ColumnBinaryMakerCustomConfigNode createRootNode() throws IOException{
+    return new ColumnBinaryMakerCustomConfigNode( "root" , new ColumnBinaryMakerConfig() );
+  }
+
+  private Object getIntegerMaker(
+      final ColumnBinaryMakerCustomConfigNode rootNode , final String columnName ){
+    return rootNode.getChildConfigNode( columnName ).getCurrentConfig().integerMakerClass;
+  }
+
+  @Test
+  public void T_optimize_firstSpread() throws IOException{
+    ColumnBinaryMakerCustomConfigNode rootNode = createRootNode();
+    createOptimizer( 1 , 2 ).optimize( rootNode , createSpread( 3 ) );
+    assertTrue( getIntegerMaker( rootNode , "id" ) instanceof UnsafeOptimizeLongColumnBinaryMaker );
+    assertTrue( rootNode.getChildConfigNode( "nest" ).getChildConfigNode( "a" )
+        .getCurrentConfig().integerMakerClass instanceof UnsafeOptimizeLongColumnBinaryMaker );
+  }
+
+  @Test
+  public void T_optimize_switchAfterHysteresis() throws IOException{
+    ColumnBinaryMakerCustomConfigNode rootNode = createRootNode();
+    AdaptiveBinaryMakerOptimizer optimizer = createOptimizer( 1 , 2 );
+    optimizer.optimize( rootNode , createSpread( 3 ) );
+    optimizer.optimize( rootNode , createSpread( 1000 ) );
+    assertTrue( getIntegerMaker( rootNode , "id" ) instanceof UnsafeOptimizeLongColumnBinaryMaker );
+    optimizer.optimize( rootNode , createSpread( 1000 ) );
+    assertTrue(
+        getIntegerMaker( rootNode , "id" ) instanceof DeltaBitPackLongColumnBinaryMaker );
+  }
+
+  @Test
+  public void T_optimize_resetPendingDecision() throws IOException{
+    ColumnBinaryMakerCustomConfigNode rootNode = createRootNode();
+    AdaptiveBinaryMakerOptimizer optimizer = createOptimizer( 1 , 2 );
+    optimizer.optimize( rootNode , createSpread( 3 ) );
+    optimizer.optimize( rootNode , createSpread( 1000 ) );
+    optimizer.optimize( rootNode , createSpread( 3 ) );
+    optimizer.optimize( rootNode , createSpread( 1000 ) );
+    assertTrue( getIntegerMaker( rootNode , "id" ) instanceof UnsafeOptimizeLongColumnBinaryMaker );
+  }
+
+  @Test
+  public void T_optimize_skipBetweenInterval() throws IOException{
+    ColumnBinaryMakerCustomConfigNode rootNode = createRootNode();
+    AdaptiveBinaryMakerOptimizer optimizer = createOptimizer( 3 , 1 );
+    optimizer.optimize( rootNode , createSpread( 3 ) );
+    optimizer.optimize( rootNode , createSpread( 1000 ) );
+    optimizer.optimize( rootNode , createSpread( 1000 ) );
+    assertTrue( getIntegerMaker( rootNode , "id" ) instanceof UnsafeOptimizeLongColumnBinaryMaker );
+    optimizer.optimize( rootNode , createSpread( 1000 ) );
+    assertTrue(
+        getIntegerMaker( rootNode , "id" ) instanceof DeltaBitPackLongColumnBinaryMaker );
+  }
+
+  @Test
+  public void T_optimize_newColumn() throws IOException{
+    ColumnBinaryMakerCustomConfigNode rootNode = createRootNode();
+    AdaptiveBinaryMakerOptimizer optimizer = createOptimizer( 1 , 2 );
+    optimizer.optimize( rootNode , createSpread( 3 ) );
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    Spread spread = new Spread();
+    for( int i = 0 ; i < 1000 ; i++ ){
+      spread.addParserRow( messageReader.create( String.format( "{\"id2\":%d}" , i % 3 ) ) );
+    }
+    optimizer.optimize( rootNode , spread );
+    assertTrue( getIntegerMaker( rootNode , "id2" ) instanceof UnsafeOptimizeLongColumnBinaryMaker );
+  }
+
+  @Test
+  public void T_isDrift() throws IOException{
+    AdaptiveBinaryMakerOptimizer optimizer = createOptimizer( 1 , 2 );
+    IColumnAnalizeResult lowCardinality = Analyzer.analize( createSpread( 3 ) ).get( 0 );
+    IColumnAnalizeResult lowCardinality2 = Analyzer.analize( createSpread( 4 ) ).get( 0 );
+    IColumnAnalizeResult highCardinality = Analyzer.analize( createSpread( 1000 ) ).get( 0 );
+    assertFalse( optimizer.isDrift( lowCardinality , lowCardinality2 ) );
+    assertTrue( optimizer.isDrift( lowCardinality , highCardinality ) );
+  }
+
+}
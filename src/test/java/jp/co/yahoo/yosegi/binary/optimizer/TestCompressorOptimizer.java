@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.optimizer;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.compressor.CompressionPolicy;
+import jp.co.yahoo.yosegi.compressor.DefaultCompressor;
+import jp.co.yahoo.yosegi.compressor.GzipCompressor;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.parser.json.JacksonMessageReader;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.analyzer.Analyzer;
+
+public class TestCompressorOptimizer{
+
+  private Spread createSpread() throws IOException{
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    Spread spread = new Spread();
+    for( int i = 0 ; i < 1000 ; i++ ){
+      String json = String.format(
+          "{\"id\":%d,\"name\":\"name_%d\",\"nest\":{\"a\":%d}}" , i , i , i % 3 );
+      spread.addParserRow( messageReader.create( json ) );
+    }
+    return spread;
+  }
+
+  private List<byte[]> createSample( final boolean random ){
+    byte[] sample = new byte[1024 * 64];
+    if( random ){
+      new Random( 1 ).nextBytes( sample );
+    }
+    else{
+      for( int i = 0 ; i < sample.length ; i++ ){
+        sample[i] = (byte)( i % 8 );
+      }
+    }
+    List<byte[]> result = new ArrayList<byte[]>();
+    result.add( sample );
+    return result;
+  }
+
+  @Test
+  public void T_select_size_compressibleSample() throws IOException{
+    Configuration config = new Configuration();
+    config.set( CompressorOptimizer.CANDIDATES_KEY , "default,gzip" );
+    config.set( CompressorOptimizer.OBJECTIVE_KEY , "size" );
+    CompressorOptimizer optimizer = new CompressorOptimizer( config );
+    ICompressor compressor = optimizer.select( createSample( false ) , CompressionPolicy.DEFAULT );
+    assertTrue( compressor instanceof GzipCompressor );
+  }
+
+  @Test
+  public void T_select_size_randomSample() throws IOException{
+    Configuration config = new Configuration();
+    config.set( CompressorOptimizer.CANDIDATES_KEY , "gzip,default" );
+    config.set( CompressorOptimizer.OBJECTIVE_KEY , "size" );
+    CompressorOptimizer optimizer = new CompressorOptimizer( config );
+    ICompressor compressor = optimizer.select( createSample( true ) , CompressionPolicy.DEFAULT );
+    assertTrue( compressor instanceof DefaultCompressor );
+  }
+
+  @Test
+  public void T_select_balance_onlySizeWeight() throws IOException{
+    Configuration config = new Configuration();
+    config.set( CompressorOptimizer.CANDIDATES_KEY , "default,gzip" );
+    config.set( CompressorOptimizer.OBJECTIVE_KEY , "balance" );
+    config.set( CompressorOptimizer.SIZE_WEIGHT_KEY , "1" );
+    CompressorOptimizer optimizer = new CompressorOptimizer( config );
+    ICompressor compressor = optimizer.select( createSample( false ) , CompressionPolicy.DEFAULT );
+    assertTrue( compressor instanceof GzipCompressor );
+  }
+
+  @Test
+  public void T_select_defaultObjectiveIsSize() throws IOException{
+    Configuration config = new Configuration();
+    config.set( CompressorOptimizer.CANDIDATES_KEY , "default,gzip" );
+    CompressorOptimizer optimizer = new CompressorOptimizer( config );
+    for( int i = 0 ; i < 3 ; i++ ){
+      assertTrue( optimizer.select(
+          createSample( false ) , CompressionPolicy.DEFAULT ) instanceof GzipCompressor );
+      assertTrue( optimizer.select(
+          createSample( true ) , CompressionPolicy.DEFAULT ) instanceof DefaultCompressor );
+    }
+  }
+
+  @Test
+  public void T_select_emptySample() throws IOException{
+    CompressorOptimizer optimizer = new CompressorOptimizer( new Configuration() );
+    assertNull( optimizer.select( new ArrayList<byte[]>() , CompressionPolicy.DEFAULT ) );
+    assertNull( optimizer.select( Arrays.asList( new byte[0] ) , CompressionPolicy.DEFAULT ) );
+  }
+
+  @Test
+  public void T_newInstance_invalidSetting() throws IOException{
+    Configuration config = new Configuration();
+    config.set( CompressorOptimizer.SIZE_WEIGHT_KEY , "2" );
+    assertThrows( IOException.class , () -> new CompressorOptimizer( config ) );
+    Configuration config2 = new Configuration();
+    config2.set( CompressorOptimizer.CANDIDATES_KEY , " , " );
+    assertThrows( IOException.class , () -> new CompressorOptimizer( config2 ) );
+    Configuration config3 = new Configuration();
+    config3.set( CompressorOptimizer.OBJECTIVE_KEY , "fast" );
+    assertThrows( IllegalArgumentException.class , () -> new CompressorOptimizer( config3 ) );
+  }
+
+  @Test
+  public void T_optimize_setCompressorToChildNode() throws IOException{
+    Configuration config = new Configuration();
+    config.set( CompressorOptimizer.CANDIDATES_KEY , "default,gzip" );
+    config.set( CompressorOptimizer.OBJECTIVE_KEY , "size" );
+    Spread spread = createSpread();
+    IOptimizerFactory factory = new DefaultOptimizerFactory();
+    factory.setup( config );
+    ColumnBinaryMakerConfig commonConfig = new ColumnBinaryMakerConfig();
+    commonConfig.compressorClass = new DefaultCompressor();
+    ColumnBinaryMakerCustomConfigNode rootNode = new BinaryMakerOptimizer(
+        Analyzer.analize( spread ) ).createConfigNode( commonConfig , factory );
+
+    new CompressorOptimizer( config ).optimize( rootNode , spread );
+
+    assertTrue( rootNode.getCurrentConfig().compressorClass instanceof DefaultCompressor );
+    assertTrue( rootNode.getChildConfigNode( "name" )
+        .getCurrentConfig().compressorClass instanceof GzipCompressor );
+    assertTrue( rootNode.getChildConfigNode( "nest" ).getChildConfigNode( "a" )
+        .getCurrentConfig().compressorClass instanceof GzipCompressor );
+  }
+
+  @Test
+  public void T_optimize_sampleRows() throws IOException{
+    Configuration config = new Configuration();
+    config.set( CompressorOptimizer.CANDIDATES_KEY , "default,gzip" );
+    config.set( CompressorOptimizer.SAMPLE_ROWS_KEY , "100" );
+    Spread spread = createSpread();
+    IOptimizerFactory factory = new DefaultOptimizerFactory();
+    factory.setup( config );
+    ColumnBinaryMakerConfig commonConfig = new ColumnBinaryMakerConfig();
+    commonConfig.compressorClass = new DefaultCompressor();
+    ColumnBinaryMakerCustomConfigNode rootNode = new BinaryMakerOptimizer(
+        Analyzer.analize( spread ) ).createConfigNode( commonConfig , factory );
+
+    new CompressorOptimizer( config ).optimize( rootNode , spread );
+
+    assertTrue( rootNode.getChildConfigNode( "name" )
+        .getCurrentConfig().compressorClass instanceof GzipCompressor );
+    assertEquals( 1000 , spread.getColumn( "name" ).size() );
+  }
+
+}
@@ -0,0 +1,205 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.optimizer;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.maker.ByteStreamSplitDoubleColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDoubleColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeFloatColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.UnsafeRangeDumpDoubleColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.UnsafeRangeDumpFloatColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.XorDoubleColumnBinaryMaker;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.FloatObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.analyzer.DoubleColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.DoubleColumnAnalizer;
+import jp.co.yahoo.yosegi.spread.analyzer.FloatColumnAnalizer;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+
+public class TestFloatingPointOptimizer{
+
+  private enum Pattern{
+    SLOWLY_CHANGING,
+    NOISE,
+    GAUGE,
+    CYCLE,
+    LOW_CARDINALITY
+  }
+
+  private double createValue( final Pattern pattern , final int i , final Random rnd , final double[] walk ){
+    switch( pattern ){
+      case SLOWLY_CHANGING:
+        return 20.0d + ( i / 5 ) * 0.5d;
+      case NOISE:
+        return rnd.nextDouble();
+      case GAUGE:
+        // A random walk rounded to 2 decimals like a metric reported as text.
+        walk[0] += rnd.nextGaussian() * 0.3d;
+        return Math.round( walk[0] * 100 ) / 100.0d;
+      case CYCLE:
+        return ( i % 150 ) * 0.37d;
+      default:
+        return ( i % 20 ) * 1.5d;
+    }
+  }
+
+  private IColumn createDoubleColumn( final Pattern pattern ) throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.DOUBLE , "column" );
+    Random rnd = new Random( 7 );
+    double[] walk = new double[]{ 50.0d };
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      column.add( ColumnType.DOUBLE , new DoubleObj( createValue( pattern , i , rnd , walk ) ) , i );
+    }
+    return column;
+  }
+
+  private IColumn createFloatColumn( final Pattern pattern ) throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.FLOAT , "column" );
+    Random rnd = new Random( 7 );
+    double[] walk = new double[]{ 50.0d };
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      float value = (float)createValue( pattern , i , rnd , walk );
+      column.add( ColumnType.FLOAT , new FloatObj( value ) , i );
+    }
+    return column;
+  }
+
+  private IColumnBinaryMaker selectDouble( final IColumn column ) throws IOException{
+    IColumnAnalizeResult result = new DoubleColumnAnalizer( column ).analize();
+    return new DoubleOptimizer( new Configuration() )
+        .getColumnBinaryMakerConfig( new ColumnBinaryMakerConfig() , result ).doubleMakerClass;
+  }
+
+  private IColumnBinaryMaker selectFloat( final IColumn column ) throws IOException{
+    IColumnAnalizeResult result = new FloatColumnAnalizer( column ).analize();
+    return new FloatOptimizer( new Configuration() )
+        .getColumnBinaryMakerConfig( new ColumnBinaryMakerConfig() , result ).floatMakerClass;
+  }
+
+  private int getBinaryLength( final IColumnBinaryMaker maker , final IColumn column ) throws IOException{
+    return maker.toBinary( new ColumnBinaryMakerConfig() , null , column ).binaryLength;
+  }
+
+  private void assertSmallest( final IColumnBinaryMaker selected , final IColumn column , final IColumnBinaryMaker[] makerArray ) throws IOException{
+    int selectedLength = getBinaryLength( selected , column );
+    for ( IColumnBinaryMaker maker : makerArray ) {
+      assertTrue( selectedLength <= getBinaryLength( maker , column ) , maker.getClass().getName() );
+    }
+  }
+
+  private IColumnBinaryMaker[] getDoubleMakerArray(){
+    return new IColumnBinaryMaker[]{
+      new ByteStreamSplitDoubleColumnBinaryMaker() ,
+      new XorDoubleColumnBinaryMaker() ,
+      new UnsafeRangeDumpDoubleColumnBinaryMaker() ,
+      new UnsafeOptimizeDoubleColumnBinaryMaker() };
+  }
+
+  private IColumnBinaryMaker[] getFloatMakerArray(){
+    return new IColumnBinaryMaker[]{
+      new ByteStreamSplitDoubleColumnBinaryMaker() ,
+      new XorDoubleColumnBinaryMaker() ,
+      new UnsafeRangeDumpFloatColumnBinaryMaker() };
+  }
+
+  @Test
+  public void T_double_selectSmallest() throws IOException{
+    for ( Pattern pattern : Pattern.values() ) {
+      if ( pattern == Pattern.LOW_CARDINALITY ) {
+        continue;
+      }
+      IColumn column = createDoubleColumn( pattern );
+      assertSmallest( selectDouble( column ) , column , getDoubleMakerArray() );
+    }
+  }
+
+  @Test
+  public void T_float_selectSmallest() throws IOException{
+    for ( Pattern pattern : Pattern.values() ) {
+      if ( pattern == Pattern.LOW_CARDINALITY ) {
+        continue;
+      }
+      IColumn column = createFloatColumn( pattern );
+      assertSmallest( selectFloat( column ) , column , getFloatMakerArray() );
+    }
+  }
+
+  @Test
+  public void T_double_slowlyChanging() throws IOException{
+    IColumnBinaryMaker maker = selectDouble( createDoubleColumn( Pattern.SLOWLY_CHANGING ) );
+    assertTrue( maker instanceof XorDoubleColumnBinaryMaker || maker instanceof ByteStreamSplitDoubleColumnBinaryMaker );
+  }
+
+  @Test
+  public void T_double_gauge() throws IOException{
+    assertTrue( selectDouble( createDoubleColumn( Pattern.GAUGE ) ) instanceof UnsafeRangeDumpDoubleColumnBinaryMaker );
+  }
+
+  @Test
+  public void T_double_cycle() throws IOException{
+    assertTrue( selectDouble( createDoubleColumn( Pattern.CYCLE ) ) instanceof UnsafeRangeDumpDoubleColumnBinaryMaker );
+  }
+
+  @Test
+  public void T_double_lowCardinality() throws IOException{
+    assertTrue( selectDouble( createDoubleColumn( Pattern.LOW_CARDINALITY ) ) instanceof UnsafeOptimizeDoubleColumnBinaryMaker );
+  }
+
+  @Test
+  public void T_float_slowlyChanging() throws IOException{
+    assertTrue( selectFloat( createFloatColumn( Pattern.SLOWLY_CHANGING ) ) instanceof XorDoubleColumnBinaryMaker );
+  }
+
+  @Test
+  public void T_float_gauge() throws IOException{
+    assertTrue( selectFloat( createFloatColumn( Pattern.GAUGE ) ) instanceof UnsafeRangeDumpFloatColumnBinaryMaker );
+  }
+
+  @Test
+  public void T_float_lowCardinality() throws IOException{
+    assertTrue( selectFloat( createFloatColumn( Pattern.LOW_CARDINALITY ) ) instanceof UnsafeOptimizeFloatColumnBinaryMaker );
+  }
+
+  @Test
+  public void T_double_sampleOfLargeColumn() throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.DOUBLE , "column" );
+    Random rnd = new Random( 7 );
+    double[] walk = new double[]{ 50.0d };
+    for ( int i = 0 ; i < DoubleColumnAnalizer.SAMPLE_SIZE * 4 ; i++ ) {
+      column.add( ColumnType.DOUBLE , new DoubleObj( createValue( Pattern.GAUGE , i , rnd , walk ) ) , i );
+    }
+    DoubleColumnAnalizeResult result = (DoubleColumnAnalizeResult)new DoubleColumnAnalizer( column ).analize();
+    assertEquals( DoubleColumnAnalizer.SAMPLE_SIZE , result.getSampleArray().length );
+    assertEquals( ( (PrimitiveObject)column.get( 0 ).getRow() ).getDouble() , result.getSampleArray()[0] );
+    assertTrue( selectDouble( column ) instanceof UnsafeRangeDumpDoubleColumnBinaryMaker );
+  }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.optimizer;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.compressor.DefaultCompressor;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.compressor.ZstdCompressor;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.parser.json.JacksonMessageReader;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.analyzer.Analyzer;
+
+public class TestZstdDictionaryOptimizer{
+
+  private Spread createSpread( final int index ) throws IOException{
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    Spread spread = new Spread();
+    for( int i = 0 ; i < 20 ; i++ ){
+      String json = String.format(
+          "{\"log\":\"level=INFO host=web%02d status=%d\",\"nest\":{\"path\":\"/api/v1/items/%d\"}}" ,
+          i % 7 , i % 3 == 0 ? 404 : 200 , index * 20 + i );
+      spread.addParserRow( messageReader.create( json ) );
+    }
+    return spread;
+  }
+
+  private Configuration createConfig(){
+    Configuration config = new Configuration();
+    config.set( ZstdDictionaryOptimizer.TRAINING_SPREADS_KEY , "16" );
+    config.set( ZstdDictionaryOptimizer.DICTIONARY_SIZE_KEY , "4096" );
+    return config;
+  }
+
+  private ColumnBinaryMakerCustomConfigNode createConfigNode(
+      final Configuration config , final ICompressor compressor ) throws IOException{
+    IOptimizerFactory factory = new DefaultOptimizerFactory();
+    factory.setup( config );
+    ColumnBinaryMakerConfig commonConfig = new ColumnBinaryMakerConfig();
+    commonConfig.compressorClass = compressor;
+    return new BinaryMakerOptimizer(
+        Analyzer.analize( createSpread( 0 ) ) ).createConfigNode( commonConfig , factory );
+  }
+
+  private ZstdCompressor getCompressor(
+      final ColumnBinaryMakerCustomConfigNode node ){
+    return (ZstdCompressor)node.getCurrentConfig().compressorClass;
+  }
+
+  @Test
+  public void T_optimize_trainAfterSpreads() throws IOException{
+    Configuration config = createConfig();
+    ColumnBinaryMakerCustomConfigNode rootNode = createConfigNode( config , new ZstdCompressor() );
+    ColumnBinaryMakerCustomConfigNode logNode = rootNode.getChildConfigNode( "log" );
+    ColumnBinaryMakerCustomConfigNode pathNode =
+        rootNode.getChildConfigNode( "nest" ).getChildConfigNode( "path" );
+    ZstdDictionaryOptimizer optimizer = new ZstdDictionaryOptimizer( config );
+    for( int i = 0 ; i < 15 ; i++ ){
+      optimizer.optimize( rootNode , createSpread( i ) );
+      assertNull( getCompressor( logNode ).getCompressDictionary() );
+      assertNull( optimizer.getDecompressor() );
+    }
+    optimizer.optimize( rootNode , createSpread( 15 ) );
+    assertNotNull( getCompressor( logNode ).getCompressDictionary() );
+    assertNotNull( getCompressor( pathNode ).getCompressDictionary() );
+    assertEquals( 2 , optimizer.getDictionaryList().size() );
+    assertEquals( 2 , optimizer.getDecompressor().getDictionaryList().size() );
+    assertNull( getCompressor( rootNode ).getCompressDictionary() );
+  }
+
+  @Test
+  public void T_optimize_keepDictionaryAfterConfigIsReplaced() throws IOException{
+    Configuration config = createConfig();
+    ColumnBinaryMakerCustomConfigNode rootNode = createConfigNode( config , new ZstdCompressor() );
+    ColumnBinaryMakerCustomConfigNode logNode = rootNode.getChildConfigNode( "log" );
+    ZstdDictionaryOptimizer optimizer = new ZstdDictionaryOptimizer( config );
+    for( int i = 0 ; i < 16 ; i++ ){
+      optimizer.optimize( rootNode , createSpread( i ) );
+    }
+    ZstdCompressor trainedCompressor = getCompressor( logNode );
+    logNode.getCurrentConfig().compressorClass = new ZstdCompressor();
+    optimizer.optimize( rootNode , createSpread( 16 ) );
+    assertSame( trainedCompressor , getCompressor( logNode ) );
+    assertEquals( 2 , optimizer.getDictionaryList().size() );
+  }
+
+  @Test
+  public void T_optimize_skipNotZstdColumn() throws IOException{
+    Configuration config = createConfig();
+    ColumnBinaryMakerCustomConfigNode rootNode =
+        createConfigNode( config , new DefaultCompressor() );
+    ZstdDictionaryOptimizer optimizer = new ZstdDictionaryOptimizer( config );
+    for( int i = 0 ; i < 16 ; i++ ){
+      optimizer.optimize( rootNode , createSpread( i ) );
+    }
+    assertTrue( optimizer.getDictionaryList().isEmpty() );
+    assertNull( optimizer.getDecompressor() );
+    assertTrue( rootNode.getChildConfigNode( "log" ).getCurrentConfig().compressorClass
+        instanceof DefaultCompressor );
+  }
+
+}
@@ -47,7 +47,8 @@ public class TestBooleanPrimitiveColumn {
 
   public static Stream<Arguments> data1() throws IOException{
     return Stream.of(
-      arguments( "jp.co.yahoo.yosegi.binary.maker.DumpBooleanColumnBinaryMaker" )
+      arguments( "jp.co.yahoo.yosegi.binary.maker.DumpBooleanColumnBinaryMaker" ) ,
+      arguments( "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" )
     );
   }
 
@@ -43,6 +43,8 @@ public class TestDoublePrimitiveColumn {
   public static Stream<Arguments> data1() throws IOException{
     return Stream.of(
       arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeRangeDumpDoubleColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.XorDoubleColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.ByteStreamSplitDoubleColumnBinaryMaker" ),
       arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDoubleColumnBinaryMaker" )
     );
   }
@@ -44,6 +44,8 @@ public class TestFloatPrimitiveColumn {
   public static Stream<Arguments> data1() throws IOException{
     return Stream.of(
       arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeRangeDumpFloatColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.XorDoubleColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.ByteStreamSplitDoubleColumnBinaryMaker" ),
       arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeFloatColumnBinaryMaker" )
     );
   }
@@ -44,7 +44,9 @@ public class TestLongPrimitiveColumn {
   public static Stream<Arguments> data1() throws IOException{
     return Stream.of(
       arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ),
-      arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" )
+      arguments( "jp.co.yahoo.yosegi.binary.maker.DeltaBitPackLongColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ) ,
+      arguments( "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" )
     );
   }
 
@@ -46,24 +46,37 @@ public class TestNullCellIndex{
   public static Stream<Arguments> data1() throws IOException{
     return Stream.of(
       arguments( createByteTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ) ),
+      arguments( createByteTestData( "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" ) ),
       arguments( createByteTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ) ),
+      arguments( createByteTestData( "jp.co.yahoo.yosegi.binary.maker.DeltaBitPackLongColumnBinaryMaker" ) ),
 
       arguments( createShortTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ) ),
+      arguments( createShortTestData( "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" ) ),
       arguments( createShortTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ) ),
+      arguments( createShortTestData( "jp.co.yahoo.yosegi.binary.maker.DeltaBitPackLongColumnBinaryMaker" ) ),
 
       arguments( createIntTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ) ),
+      arguments( createIntTestData( "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" ) ),
       arguments( createIntTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ) ),
+      arguments( createIntTestData( "jp.co.yahoo.yosegi.binary.maker.DeltaBitPackLongColumnBinaryMaker" ) ),
 
       arguments( createLongTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ) ),
+      arguments( createLongTestData( "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" ) ),
       arguments( createLongTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ) ),
+      arguments( createLongTestData( "jp.co.yahoo.yosegi.binary.maker.DeltaBitPackLongColumnBinaryMaker" ) ),
 
       arguments( createFloatTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeRangeDumpFloatColumnBinaryMaker" ) ),
+      arguments( createFloatTestData( "jp.co.yahoo.yosegi.binary.maker.XorDoubleColumnBinaryMaker" ) ),
+      arguments( createFloatTestData( "jp.co.yahoo.yosegi.binary.maker.ByteStreamSplitDoubleColumnBinaryMaker" ) ),
       arguments( createFloatTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeFloatColumnBinaryMaker" ) ),
 
       arguments( createDoubleTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeRangeDumpDoubleColumnBinaryMaker" ) ),
+      arguments( createDoubleTestData( "jp.co.yahoo.yosegi.binary.maker.XorDoubleColumnBinaryMaker" ) ),
+      arguments( createDoubleTestData( "jp.co.yahoo.yosegi.binary.maker.ByteStreamSplitDoubleColumnBinaryMaker" ) ),
       arguments( createDoubleTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDoubleColumnBinaryMaker" ) ),
 
       arguments( createStringTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeStringColumnBinaryMaker" ) ),
+      arguments( createStringTestData( "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" ) ),
 
       arguments( createBytesTestData( "jp.co.yahoo.yosegi.binary.maker.DumpBytesColumnBinaryMaker" ) ),
 
@@ -47,21 +47,33 @@ public class TestNumberBlockIndex{
   public static IBlockIndex[] createBlockIndex() throws IOException{
     return  new IBlockIndex[] {
       createByteTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ) ,
+      createByteTestData( "jp.co.yahoo.yosegi.binary.maker.DeltaBitPackLongColumnBinaryMaker" ) ,
       createByteTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ) ,
+      createByteTestData( "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" ) ,
 
       createShortTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ) ,
+      createShortTestData( "jp.co.yahoo.yosegi.binary.maker.DeltaBitPackLongColumnBinaryMaker" ) ,
       createShortTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ) ,
+      createShortTestData( "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" ) ,
 
       createIntegerTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ) ,
+      createIntegerTestData( "jp.co.yahoo.yosegi.binary.maker.DeltaBitPackLongColumnBinaryMaker" ) ,
       createIntegerTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ) ,
+      createIntegerTestData( "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" ) ,
 
       createLongTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ) ,
+      createLongTestData( "jp.co.yahoo.yosegi.binary.maker.DeltaBitPackLongColumnBinaryMaker" ) ,
       createLongTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ) ,
+      createLongTestData( "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" ) ,
 
       createFloatTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeRangeDumpFloatColumnBinaryMaker" ) ,
+      createFloatTestData( "jp.co.yahoo.yosegi.binary.maker.XorDoubleColumnBinaryMaker" ) ,
+      createFloatTestData( "jp.co.yahoo.yosegi.binary.maker.ByteStreamSplitDoubleColumnBinaryMaker" ) ,
       createFloatTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeFloatColumnBinaryMaker" ) ,
 
       createDoubleTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeRangeDumpDoubleColumnBinaryMaker" ) ,
+      createDoubleTestData( "jp.co.yahoo.yosegi.binary.maker.XorDoubleColumnBinaryMaker" ) ,
+      createDoubleTestData( "jp.co.yahoo.yosegi.binary.maker.ByteStreamSplitDoubleColumnBinaryMaker" ) ,
       createDoubleTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDoubleColumnBinaryMaker" ) ,
     };
   }
@@ -46,7 +46,8 @@ public class TestStringBlockIndex{
 
   public static Stream<Arguments> data1() throws IOException{
     return Stream.of(
-      arguments( createStringTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeStringColumnBinaryMaker" ) )
+      arguments( createStringTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeStringColumnBinaryMaker" ) ) ,
+      arguments( createStringTestData( "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" ) )
     );
   }
 
@@ -42,7 +42,8 @@ public class TestStringPrimitiveColumn {
 
   public static Stream<Arguments> data1() throws IOException{
     return Stream.of(
-      arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeStringColumnBinaryMaker" )
+      arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeStringColumnBinaryMaker" ) ,
+      arguments( "jp.co.yahoo.yosegi.binary.maker.RunLengthEncodingColumnBinaryMaker" )
     );
   }
 
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.block;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBlockReadPlanner{
+
+  private List<BlockReadOffset> createReadOffsetList( final int[][] ranges ){
+    List<BlockReadOffset> result = new ArrayList<BlockReadOffset>();
+    for( int[] range : ranges ){
+      result.add( new BlockReadOffset( range[0] , 0 , range[1] , new byte[range[1]] ) );
+    }
+    return result;
+  }
+
+  private class CountingInputStream extends ByteArrayInputStream{
+    public int readCount;
+
+    public CountingInputStream( final byte[] buffer ){
+      super( buffer );
+    }
+
+    @Override
+    public synchronized int read( final byte[] buffer , final int start , final int length ){
+      readCount++;
+      return super.read( buffer , start , length );
+    }
+  }
+
+  @Test
+  public void T_createReadRangeList_1(){
+    BlockReadPlanner planner = new BlockReadPlanner( 10 );
+    List<BlockReadPlanner.ReadRange> rangeList = planner.createReadRangeList(
+        createReadOffsetList( new int[][]{ { 0 , 10 } , { 15 , 5 } , { 30 , 10 } , { 100 , 1 } } ) );
+    assertEquals( 2 , rangeList.size() );
+    assertEquals( 0 , rangeList.get( 0 ).streamStart );
+    assertEquals( 40 , rangeList.get( 0 ).getStreamEnd() );
+    assertEquals( 3 , rangeList.get( 0 ).readOffsetList.size() );
+    assertEquals( 100 , rangeList.get( 1 ).streamStart );
+    assertEquals( 1 , rangeList.get( 1 ).getLength() );
+  }
+
+  @Test
+  public void T_createReadRangeList_noMerge(){
+    BlockReadPlanner planner = new BlockReadPlanner( -1 );
+    List<BlockReadPlanner.ReadRange> rangeList = planner.createReadRangeList(
+        createReadOffsetList( new int[][]{ { 0 , 10 } , { 10 , 5 } , { 30 , 10 } } ) );
+    assertEquals( 3 , rangeList.size() );
+  }
+
+  @Test
+  public void T_read_1() throws IOException{
+    byte[] data = new byte[200];
+    for( int i = 0 ; i < data.length ; i++ ){
+      data[i] = (byte)i;
+    }
+    List<BlockReadOffset> readOffsetList =
+        createReadOffsetList( new int[][]{ { 5 , 10 } , { 20 , 5 } , { 40 , 10 } , { 150 , 20 } } );
+    CountingInputStream in = new CountingInputStream( data );
+    int inOffset = new BlockReadPlanner( 16 ).read( in , readOffsetList );
+    assertEquals( 170 , inOffset );
+    assertEquals( 2 , in.readCount );
+    for( BlockReadOffset readOffset : readOffsetList ){
+      for( int i = 0 ; i < readOffset.length ; i++ ){
+        assertEquals( (byte)( readOffset.streamStart + i ) , readOffset.buffer[i] );
+      }
+    }
+  }
+
+}
@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.block;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.util.io.ByteBufferRangeSource;
+import jp.co.yahoo.yosegi.util.io.IRangeSource;
+
+public class TestFileFooter{
+
+  private byte[] createFile( final byte[] data , final FileFooter footer ){
+    byte[] footerBinary = footer.toBinary();
+    byte[] result = new byte[ data.length + footerBinary.length ];
+    System.arraycopy( data , 0 , result , 0 , data.length );
+    System.arraycopy( footerBinary , 0 , result , data.length , footerBinary.length );
+    return result;
+  }
+
+  @Test
+  public void T_read_1() throws IOException{
+    FileFooter footer = new FileFooter();
+    footer.add( new FileFooter.BlockEntry( 0 , 100 , 2 , 30 , new byte[]{ 1 , 2 , 3 } ) );
+    footer.add( new FileFooter.BlockEntry( 100 , 50 , 1 , 10 , new byte[0] ) );
+    byte[] file = createFile( new byte[150] , footer );
+    assertEquals( footer.getBinarySize() , file.length - 150 );
+
+    FileFooter result = FileFooter.read( new ByteBufferRangeSource( ByteBuffer.wrap( file ) ) );
+    List<FileFooter.BlockEntry> entryList = result.getBlockEntryList();
+    assertEquals( 2 , entryList.size() );
+    assertEquals( 0 , entryList.get( 0 ).offset );
+    assertEquals( 100 , entryList.get( 0 ).length );
+    assertEquals( 2 , entryList.get( 0 ).spreadCount );
+    assertEquals( 30 , entryList.get( 0 ).rowCount );
+    assertArrayEquals( new byte[]{ 1 , 2 , 3 } , entryList.get( 0 ).blockIndexBinary );
+    assertEquals( 100 , entryList.get( 1 ).offset );
+    assertFalse( entryList.get( 1 ).hasBlockIndex() );
+    assertNull( entryList.get( 1 ).getBlockIndexNode() );
+  }
+
+  @Test
+  public void T_read_largeBlockIndex() throws IOException{
+    FileFooter footer = new FileFooter();
+    byte[] blockIndexBinary = new byte[ 1024 * 1024 ];
+    for( int i = 0 ; i < blockIndexBinary.length ; i++ ){
+      blockIndexBinary[i] = (byte)i;
+    }
+    footer.add( new FileFooter.BlockEntry( 0 , 10 , 1 , 1 , blockIndexBinary ) );
+    byte[] file = createFile( new byte[10] , footer );
+
+    FileFooter result = FileFooter.read( new ByteBufferRangeSource( ByteBuffer.wrap( file ) ) );
+    assertArrayEquals( blockIndexBinary , result.getBlockEntryList().get( 0 ).blockIndexBinary );
+  }
+
+  @Test
+  public void T_read_noFooter() throws IOException{
+    assertNull( FileFooter.read( new ByteBufferRangeSource( ByteBuffer.wrap( new byte[100] ) ) ) );
+    assertNull( FileFooter.read( new ByteBufferRangeSource( ByteBuffer.wrap( new byte[3] ) ) ) );
+  }
+
+  @Test
+  public void T_read_noFooter_trailerOnly() throws IOException{
+    IRangeSource source = new ByteBufferRangeSource( ByteBuffer.wrap( new byte[1024 * 1024] ) );
+    List<Integer> readLengthList = new ArrayList<Integer>();
+    IRangeSource countingSource = new IRangeSource(){
+      @Override
+      public long size() throws IOException{
+        return source.size();
+      }
+
+      @Override
+      public int read( final long position , final byte[] buffer , final int start , final int length ) throws IOException{
+        readLengthList.add( length );
+        return source.read( position , buffer , start , length );
+      }
+
+      @Override
+      public void close() throws IOException{
+        source.close();
+      }
+    };
+    assertNull( FileFooter.read( countingSource ) );
+    assertEquals( 1 , readLengthList.size() );
+    assertEquals( FileFooter.TRAILER_SIZE , readLengthList.get( 0 ).intValue() );
+  }
+
+}
@@ -0,0 +1,210 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.block;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
+import jp.co.yahoo.yosegi.compressor.ZstdCompressor;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.parser.json.JacksonMessageReader;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+
+public class TestPushdownSupportedBlockWriter{
+
+  private Spread createSpread() throws IOException{
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    Spread spread = new Spread();
+    for( int i = 0 ; i < 1000 ; i++ ){
+      String json = String.format(
+          "{\"id\":%d,\"name\":\"name_%d\",\"score\":%f,\"flag\":%b,\"nest\":{\"a\":%d}}" ,
+          i , i % 17 , i * 0.5d , i % 2 == 0 , i % 3 );
+      spread.addParserRow( messageReader.create( json ) );
+    }
+    return spread;
+  }
+
+  private List<ColumnBinary> convertRow( final int parallelism ) throws IOException{
+    Configuration config = new Configuration();
+    config.set( "block.maker.parallelism" , Integer.toString( parallelism ) );
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 16 , config );
+    try{
+      return writer.convertRow( createSpread() );
+    }finally{
+      writer.close();
+    }
+  }
+
+  @Test
+  public void T_convertRow_parallel_1() throws IOException{
+    List<ColumnBinary> sequential = convertRow( 1 );
+    List<ColumnBinary> parallel = convertRow( 4 );
+    assertEquals( sequential.size() , parallel.size() );
+    for( int i = 0 ; i < sequential.size() ; i++ ){
+      ColumnBinary expected = sequential.get( i );
+      ColumnBinary actual = parallel.get( i );
+      assertEquals( expected.columnName , actual.columnName );
+      assertEquals( expected.makerClassName , actual.makerClassName );
+      assertEquals( expected.binaryLength , actual.binaryLength );
+      assertEquals( expected.rowCount , actual.rowCount );
+    }
+  }
+
+  @Test
+  public void T_convertRow_compressorOptimizer() throws IOException{
+    Configuration config = new Configuration();
+    config.set( "spread.column.maker.use.compressor.optimizer" , "true" );
+    config.set( "spread.column.maker.compressor.optimizer.candidates" , "default,gzip" );
+    config.set( "spread.column.maker.compressor.optimizer.objective" , "size" );
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 16 , config );
+    List<ColumnBinary> binaryList;
+    try{
+      binaryList = writer.convertRow( createSpread() );
+    }finally{
+      writer.close();
+    }
+    for( ColumnBinary binary : binaryList ){
+      if( "name".equals( binary.columnName ) ){
+        assertEquals( "jp.co.yahoo.yosegi.compressor.GzipCompressor" , binary.compressorClassName );
+      }
+      assertEquals( 1000 ,
+          FindColumnBinaryMaker.get( binary.makerClassName ).toColumn( binary ).size() );
+    }
+  }
+
+  @Test
+  public void T_convertRow_reoptimize() throws IOException{
+    Configuration config = new Configuration();
+    config.set( "spread.column.maker.auto.optimizer.reoptimize" , "true" );
+    config.set( "spread.column.maker.auto.optimizer.reoptimize.interval" , "1" );
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 16 , config );
+    try{
+      for( int i = 0 ; i < 3 ; i++ ){
+        for( ColumnBinary binary : writer.convertRow( createSpread() ) ){
+          assertEquals( 1000 ,
+              FindColumnBinaryMaker.get( binary.makerClassName ).toColumn( binary ).size() );
+        }
+      }
+    }finally{
+      writer.close();
+    }
+  }
+
+  private Spread createLogSpread( final int index ) throws IOException{
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    Spread spread = new Spread();
+    for( int i = 0 ; i < 20 ; i++ ){
+      String json = String.format(
+          "{\"log\":\"level=INFO host=web%02d path=/api/v1/items/%d status=%d\"}" ,
+          i % 7 , index * 20 + i , i % 3 == 0 ? 404 : 200 );
+      spread.addParserRow( messageReader.create( json ) );
+    }
+    return spread;
+  }
+
+  private boolean hasDictionary( final ColumnBinary binary ) throws IOException{
+    return binary.getCompressor() instanceof ZstdCompressor
+        && ! ( (ZstdCompressor)binary.getCompressor() ).getDictionaryList().isEmpty();
+  }
+
+  private void assertLogBlock( final byte[] block , final int spreadCount ) throws IOException{
+    PushdownSupportedBlockReader reader = new PushdownSupportedBlockReader();
+    reader.setup( new Configuration() );
+    reader.setStream( new ByteArrayInputStream( block ) , block.length );
+    for( int i = 0 ; i < spreadCount ; i++ ){
+      assertTrue( reader.hasNext() );
+      Spread spread = reader.next();
+      IColumn column = spread.getColumn( "log" );
+      for( int j = 0 ; j < 20 ; j++ ){
+        String expected = String.format(
+            "level=INFO host=web%02d path=/api/v1/items/%d status=%d" ,
+            j % 7 , i * 20 + j , j % 3 == 0 ? 404 : 200 );
+        assertEquals( expected , ( (PrimitiveCell)column.get( j ) ).getRow().getString() );
+      }
+    }
+    assertFalse( reader.hasNext() );
+  }
+
+  private Configuration createDictionaryConfig(){
+    Configuration config = new Configuration();
+    config.set( "spread.column.maker.default.compress.class" , ZstdCompressor.class.getName() );
+    config.set( "spread.column.maker.use.zstd.dictionary" , "true" );
+    config.set( "spread.column.maker.zstd.dictionary.training.spreads" , "16" );
+    config.set( "spread.column.maker.zstd.dictionary.size" , "4096" );
+    return config;
+  }
+
+  @Test
+  public void T_create_zstdDictionary() throws IOException{
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 16 , createDictionaryConfig() );
+    int dictionarySpreadCount = 0;
+    for( int i = 0 ; i < 32 ; i++ ){
+      List<ColumnBinary> binaryList = writer.convertRow( createLogSpread( i ) );
+      assertTrue( writer.canAppend( binaryList ) );
+      if( hasDictionary( binaryList.get( 0 ) ) ){
+        dictionarySpreadCount++;
+      }
+      writer.append( 20 , binaryList );
+    }
+    // The spread that completes the training is compressed with the dictionary.
+    assertEquals( 17 , dictionarySpreadCount );
+    byte[] block = writer.createVariableBlock();
+    writer.close();
+    assertLogBlock( block , 32 );
+  }
+
+  @Test
+  public void T_create_zstdDictionary_appendRaw() throws IOException{
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 16 , createDictionaryConfig() );
+    for( int i = 0 ; i < 32 ; i++ ){
+      writer.append( 20 , writer.convertRow( createLogSpread( i ) ) );
+    }
+    byte[] block = writer.createVariableBlock();
+    writer.close();
+
+    PushdownSupportedBlockReader reader = new PushdownSupportedBlockReader();
+    reader.setup( new Configuration() );
+    reader.setStream( new ByteArrayInputStream( block ) , block.length );
+    PushdownSupportedBlockWriter rawWriter = new PushdownSupportedBlockWriter();
+    rawWriter.setup( 1024 * 1024 * 16 , new Configuration() );
+    for( int i = 0 ; i < 32 ; i++ ){
+      List<ColumnBinary> binaryList = reader.nextRaw();
+      assertTrue( hasDictionary( binaryList.get( 0 ) ) );
+      rawWriter.append( 20 , binaryList );
+    }
+    byte[] rawBlock = rawWriter.createVariableBlock();
+    rawWriter.close();
+    assertLogBlock( rawBlock , 32 );
+  }
+
+}
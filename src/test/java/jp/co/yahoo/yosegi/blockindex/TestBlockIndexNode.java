@@ -73,6 +73,26 @@ public class TestBlockIndexNode{
     assertTrue( bIndex instanceof UnsupportedBlockIndex );
   }
 
+  @Test
+  public void T_setBlockIndex_withSpreadIndex_1(){
+    BlockIndexNode b = new BlockIndexNode();
+    b.setBlockIndex( new LongRangeBlockIndex( 0L , 10L ) , 0 );
+    b.setBlockIndex( new LongRangeBlockIndex( 20L , 30L ) , 1 );
+    assertTrue( b.getBlockIndex() instanceof LongRangeBlockIndex );
+  }
+
+  @Test
+  public void T_setBlockIndex_withSpreadIndex_2(){
+    BlockIndexNode b = new BlockIndexNode();
+    b.setSpreadRangeIndex( true );
+    BlockIndexNode child = b.getChildNode( "hoge" );
+    assertTrue( child.isSpreadRangeIndex() );
+    child.setBlockIndex( new LongRangeBlockIndex( 0L , 10L ) , 0 );
+    child.setBlockIndex( new LongRangeBlockIndex( 20L , 30L ) , 1 );
+    child.setBlockIndex( new DummyBlockIndex( true ) , 2 );
+    assertTrue( child.getBlockIndex() instanceof UnsupportedBlockIndex );
+  }
+
   @Test
   public void T_getChildNode_1(){
     BlockIndexNode b = new BlockIndexNode();
@@ -0,0 +1,220 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.blockindex;
+
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpStringColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeStringColumnBinaryMaker;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.spread.column.filter.*;
+
+public class TestBloomFilterBlockIndex{
+
+  private BloomFilter createStringFilter( final String... values ){
+    BloomFilter bloomFilter = new BloomFilter( values.length , 0.01 );
+    for( String value : values ){
+      byte[] b = value.getBytes();
+      bloomFilter.addBytes( b , 0 , b.length );
+    }
+    return bloomFilter;
+  }
+
+  private BloomFilter createLongFilter( final long... values ){
+    BloomFilter bloomFilter = new BloomFilter( values.length , 0.01 );
+    for( long value : values ){
+      bloomFilter.addLong( value );
+    }
+    return bloomFilter;
+  }
+
+  @Test
+  public void T_bloomFilter_noFalseNegative(){
+    BloomFilter bloomFilter = new BloomFilter( 1000 , 0.01 );
+    for( long i = 0 ; i < 1000 ; i++ ){
+      bloomFilter.addLong( i * 7 );
+    }
+    int falsePositive = 0;
+    for( long i = 0 ; i < 7000 ; i++ ){
+      boolean result = bloomFilter.mightContainLong( i );
+      if( i % 7 == 0 ){
+        assertTrue( result );
+      }
+      else if( result ){
+        falsePositive++;
+      }
+    }
+    assertTrue( falsePositive < 6000 * 0.03 );
+  }
+
+  @Test
+  public void T_getBlockIndexType_1(){
+    BloomFilterBlockIndex bIndex = new BloomFilterBlockIndex( new StringRangeBlockIndex( "a" , "z" ) , 0 , createStringFilter( "a" ) );
+    assertEquals( BlockIndexType.BLOOM_FILTER , bIndex.getBlockIndexType() );
+  }
+
+  @Test
+  public void T_newInstance_withUnsupportedRange(){
+    assertThrows( UnsupportedOperationException.class ,
+      () -> {
+        new BloomFilterBlockIndex( new DoubleRangeBlockIndex( 0d , 1d ) , 0 , createLongFilter( 0 ) );
+      }
+    );
+  }
+
+  @Test
+  public void T_getBlockSpreadIndex_perfectMatch(){
+    BloomFilterBlockIndex bIndex = new BloomFilterBlockIndex( new StringRangeBlockIndex( "a" , "z" ) , 0 , createStringFilter( "a" , "c" , "z" ) );
+    bIndex.merge( new BloomFilterBlockIndex( new StringRangeBlockIndex( "b" , "y" ) , 1 , createStringFilter( "b" , "y" ) ) );
+    assertEquals( 2 , bIndex.getBloomFilterCount() );
+
+    assertNull( bIndex.getBlockSpreadIndex( new PartialMatchStringFilter( "a" ) ) );
+    assertEquals( Arrays.asList( 0 ) , bIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "c" ) ) );
+    assertEquals( Arrays.asList( 1 ) , bIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "y" ) ) );
+    assertTrue( bIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "zz" ) ).isEmpty() );
+    assertTrue( bIndex.getBlockSpreadIndex( new GtStringCompareFilter( "z" ) ).isEmpty() );
+  }
+
+  @Test
+  public void T_getBlockSpreadIndex_dictionary(){
+    BloomFilterBlockIndex bIndex = new BloomFilterBlockIndex( new StringRangeBlockIndex( "a" , "z" ) , 0 , createStringFilter( "a" , "z" ) );
+    bIndex.merge( new BloomFilterBlockIndex( new StringRangeBlockIndex( "b" , "y" ) , 1 , createStringFilter( "b" , "y" ) ) );
+
+    assertEquals( Arrays.asList( 1 ) , bIndex.getBlockSpreadIndex( new StringDictionaryFilter( new HashSet<String>( Arrays.asList( "b" , "m" ) ) ) ) );
+    assertNull( bIndex.getBlockSpreadIndex( new StringDictionaryFilter( new HashSet<String>( Arrays.asList( "a" , "b" ) ) ) ) );
+  }
+
+  @Test
+  public void T_getBlockSpreadIndex_number(){
+    BloomFilterBlockIndex bIndex = new BloomFilterBlockIndex( new LongRangeBlockIndex( 0L , 100L ) , 0 , createLongFilter( 0 , 100 ) );
+    bIndex.merge( new BloomFilterBlockIndex( new LongRangeBlockIndex( 10L , 90L ) , 2 , createLongFilter( 10 , 50 , 90 ) ) );
+
+    assertEquals( Arrays.asList( 2 ) , bIndex.getBlockSpreadIndex( new NumberFilter( NumberFilterType.EQUAL , new LongObj( 50 ) ) ) );
+    assertTrue( bIndex.getBlockSpreadIndex( new NumberFilter( NumberFilterType.EQUAL , new LongObj( 200 ) ) ).isEmpty() );
+    assertNull( bIndex.getBlockSpreadIndex( new NumberFilter( NumberFilterType.GT , new LongObj( 50 ) ) ) );
+    assertNull( bIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "50" ) ) );
+  }
+
+  @Test
+  public void T_merge_withRangeIndex(){
+    BloomFilterBlockIndex bIndex = new BloomFilterBlockIndex( new StringRangeBlockIndex( "a" , "c" ) , 0 , createStringFilter( "a" , "c" ) );
+    assertTrue( bIndex.merge( new StringRangeBlockIndex( "b" , "d" ) ) );
+    assertEquals( 0 , bIndex.getBloomFilterCount() );
+    assertTrue( bIndex.merge( new BloomFilterBlockIndex( new StringRangeBlockIndex( "e" , "f" ) , 2 , createStringFilter( "e" , "f" ) ) ) );
+    assertEquals( 0 , bIndex.getBloomFilterCount() );
+    assertNull( bIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "b" ) ) );
+    assertTrue( bIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "g" ) ).isEmpty() );
+    assertFalse( bIndex.merge( new LongRangeBlockIndex( 0L , 1L ) ) );
+  }
+
+  @Test
+  public void T_blockIndexNode_mergeAfterRangeIndex(){
+    BlockIndexNode node = new BlockIndexNode();
+    node.setBlockIndex( new StringRangeBlockIndex( "a" , "c" ) );
+    node.setBlockIndex( new BloomFilterBlockIndex( new StringRangeBlockIndex( "b" , "d" ) , 1 , createStringFilter( "b" , "d" ) ) );
+    assertEquals( BlockIndexType.BLOOM_FILTER , node.getBlockIndex().getBlockIndexType() );
+    assertNull( node.getBlockIndex().getBlockSpreadIndex( new PerfectMatchStringFilter( "a" ) ) );
+    assertTrue( node.getBlockIndex().getBlockSpreadIndex( new PerfectMatchStringFilter( "e" ) ).isEmpty() );
+  }
+
+  @Test
+  public void T_binary_1() throws IOException{
+    BloomFilterBlockIndex bIndex = new BloomFilterBlockIndex( new StringRangeBlockIndex( "a" , "z" ) , 0 , createStringFilter( "a" , "c" , "z" ) );
+    bIndex.merge( new BloomFilterBlockIndex( new StringRangeBlockIndex( "b" , "y" ) , 1 , createStringFilter( "b" , "y" ) ) );
+    byte[] binary = bIndex.toBinary();
+    assertEquals( binary.length , bIndex.getBinarySize() );
+
+    IBlockIndex bIndex2 = FindBlockIndex.get( RangeBlockIndexNameShortCut.getClassName( "BF0" ) );
+    bIndex2.setFromBinary( binary , 0 , binary.length );
+    assertEquals( Arrays.asList( 0 ) , bIndex2.getBlockSpreadIndex( new PerfectMatchStringFilter( "c" ) ) );
+    assertEquals( Arrays.asList( 1 ) , bIndex2.getBlockSpreadIndex( new PerfectMatchStringFilter( "y" ) ) );
+    assertTrue( bIndex2.getBlockSpreadIndex( new GtStringCompareFilter( "z" ) ).isEmpty() );
+  }
+
+  @Test
+  public void T_setBlockIndexNode_stringMaker() throws IOException{
+    PrimitiveColumn column = new PrimitiveColumn( ColumnType.STRING , "c" );
+    for( int i = 0 ; i < 100 ; i++ ){
+      column.add( ColumnType.STRING , new StringObj( "v" + ( i * 2 ) ) , i );
+    }
+    BlockIndexNode node = new BlockIndexNode();
+    node.setBloomFilterFpp( 0.01 );
+    new UnsafeOptimizeStringColumnBinaryMaker().setBlockIndexNode( node , new UnsafeOptimizeStringColumnBinaryMaker().toBinary( new ColumnBinaryMakerConfig() , null , column ) , 0 );
+    new UnsafeOptimizeDumpStringColumnBinaryMaker().setBlockIndexNode( node , new UnsafeOptimizeDumpStringColumnBinaryMaker().toBinary( new ColumnBinaryMakerConfig() , null , column ) , 1 );
+
+    IBlockIndex blockIndex = node.getChildNode( "c" ).getBlockIndex();
+    assertEquals( BlockIndexType.BLOOM_FILTER , blockIndex.getBlockIndexType() );
+    for( int i = 0 ; i < 100 ; i++ ){
+      assertNull( blockIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "v" + ( i * 2 ) ) ) );
+    }
+    int skipCount = 0;
+    for( int i = 0 ; i < 100 ; i++ ){
+      List<Integer> result = blockIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "v" + ( i * 2 + 1 ) ) );
+      if( result != null && result.isEmpty() ){
+        skipCount++;
+      }
+    }
+    assertTrue( 90 < skipCount );
+  }
+
+  @Test
+  public void T_setBlockIndexNode_longMaker() throws IOException{
+    PrimitiveColumn column = new PrimitiveColumn( ColumnType.LONG , "c" );
+    for( int i = 0 ; i < 100 ; i++ ){
+      column.add( ColumnType.LONG , new LongObj( i * 2 ) , i );
+    }
+    BlockIndexNode node = new BlockIndexNode();
+    node.setBloomFilterFpp( 0.01 );
+    UnsafeOptimizeLongColumnBinaryMaker maker = new UnsafeOptimizeLongColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( new ColumnBinaryMakerConfig() , null , column );
+    maker.setBlockIndexNode( node , columnBinary , 0 );
+
+    IBlockIndex blockIndex = node.getChildNode( "c" ).getBlockIndex();
+    assertEquals( BlockIndexType.BLOOM_FILTER , blockIndex.getBlockIndexType() );
+    for( int i = 0 ; i < 100 ; i++ ){
+      assertNull( blockIndex.getBlockSpreadIndex( new NumberFilter( NumberFilterType.EQUAL , new LongObj( i * 2 ) ) ) );
+    }
+    assertTrue( blockIndex.getBlockSpreadIndex( new NumberFilter( NumberFilterType.EQUAL , new LongObj( 300 ) ) ).isEmpty() );
+  }
+
+  @Test
+  public void T_setBlockIndexNode_disabled() throws IOException{
+    PrimitiveColumn column = new PrimitiveColumn( ColumnType.LONG , "c" );
+    column.add( ColumnType.LONG , new LongObj( 1 ) , 0 );
+    column.add( ColumnType.LONG , new LongObj( 2 ) , 1 );
+    BlockIndexNode node = new BlockIndexNode();
+    UnsafeOptimizeLongColumnBinaryMaker maker = new UnsafeOptimizeLongColumnBinaryMaker();
+    maker.setBlockIndexNode( node , maker.toBinary( new ColumnBinaryMakerConfig() , null , column ) , 0 );
+    assertEquals( BlockIndexType.RANGE_LONG , node.getChildNode( "c" ).getBlockIndex().getBlockIndexType() );
+  }
+
+}
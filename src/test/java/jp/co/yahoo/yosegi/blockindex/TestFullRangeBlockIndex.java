@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.blockindex;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.spread.column.filter.*;
+
+public class TestFullRangeBlockIndex{
+
+  private FullRangeBlockIndex createIndex(){
+    BlockIndexNode node = new BlockIndexNode();
+    node.setSpreadRangeIndex( true );
+    node.setBlockIndex( new LongRangeBlockIndex( 0L , 10L ) , 0 );
+    node.setBlockIndex( new LongRangeBlockIndex( 20L , 30L ) , 1 );
+    node.setBlockIndex( new LongRangeBlockIndex( 5L , 25L ) , 3 );
+    return (FullRangeBlockIndex)node.getBlockIndex();
+  }
+
+  @Test
+  public void T_newInstance_withUnsupportedIndex(){
+    assertThrows( UnsupportedOperationException.class ,
+      () -> {
+        new FullRangeBlockIndex( 0 , new DummyBlockIndex() );
+      }
+    );
+  }
+
+  @Test
+  public void T_getBlockSpreadIndex_1(){
+    FullRangeBlockIndex bIndex = createIndex();
+    assertEquals( BlockIndexType.FULL_RANGE , bIndex.getBlockIndexType() );
+    assertEquals( Arrays.asList( 0 , 3 ) , bIndex.getBlockSpreadIndex( new NumberFilter( NumberFilterType.EQUAL , new LongObj( 7 ) ) ) );
+    assertEquals( Arrays.asList( 1 , 3 ) , bIndex.getBlockSpreadIndex( new NumberFilter( NumberFilterType.GE , new LongObj( 20 ) ) ) );
+    assertEquals( Arrays.asList( 0 , 1 , 3 ) , bIndex.getBlockSpreadIndex( new NumberFilter( NumberFilterType.LE , new LongObj( 20 ) ) ) );
+    assertEquals( new ArrayList<Integer>() , bIndex.getBlockSpreadIndex( new NumberFilter( NumberFilterType.GT , new LongObj( 30 ) ) ) );
+  }
+
+  @Test
+  public void T_binary_1() throws IOException{
+    FullRangeBlockIndex bIndex = createIndex();
+    byte[] binary = bIndex.toBinary();
+    assertEquals( binary.length , bIndex.getBinarySize() );
+    IBlockIndex bIndex2 = FindBlockIndex.get( RangeBlockIndexNameShortCut.getClassName( "FR0" ) );
+    bIndex2.setFromBinary( binary , 0 , binary.length );
+    assertEquals( Arrays.asList( 0 , 3 ) , bIndex2.getBlockSpreadIndex( new NumberFilter( NumberFilterType.EQUAL , new LongObj( 7 ) ) ) );
+    assertEquals( Arrays.asList( 1 , 3 ) , bIndex2.getBlockSpreadIndex( new NumberFilter( NumberFilterType.GE , new LongObj( 20 ) ) ) );
+  }
+
+  @Test
+  public void T_bloomFilterChild_1() throws IOException{
+    BlockIndexNode node = new BlockIndexNode();
+    node.setSpreadRangeIndex( true );
+    for( int i = 0 ; i < 3 ; i++ ){
+      BloomFilter bloomFilter = new BloomFilter( 2 , 0.01 );
+      bloomFilter.addLong( i );
+      bloomFilter.addLong( i + 10 );
+      node.setBlockIndex( new BloomFilterBlockIndex( new LongRangeBlockIndex( (long)i , (long)( i + 10 ) ) , i , bloomFilter ) , i );
+    }
+    IBlockIndex bIndex = node.getBlockIndex();
+    assertEquals( BlockIndexType.FULL_RANGE , bIndex.getBlockIndexType() );
+    assertEquals( Arrays.asList( 1 ) , bIndex.getBlockSpreadIndex( new NumberFilter( NumberFilterType.EQUAL , new LongObj( 11 ) ) ) );
+    assertEquals( Arrays.asList( 1 , 2 ) , bIndex.getBlockSpreadIndex( new NumberFilter( NumberFilterType.GE , new LongObj( 11 ) ) ) );
+
+    byte[] binary = bIndex.toBinary();
+    IBlockIndex bIndex2 = new FullRangeBlockIndex();
+    bIndex2.setFromBinary( binary , 0 , binary.length );
+    assertEquals( Arrays.asList( 1 ) , bIndex2.getBlockSpreadIndex( new NumberFilter( NumberFilterType.EQUAL , new LongObj( 11 ) ) ) );
+  }
+
+}
@@ -17,9 +17,16 @@
  */
 package jp.co.yahoo.yosegi.compressor;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -30,6 +37,8 @@ import org.junit.jupiter.params.provider.Arguments;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
 public class TestCompressor {
 
   private static String[] getCompressorClass(){
@@ -43,6 +52,7 @@ public class TestCompressor {
       FramedSnappyCommonsCompressor.class.getName(),
       FramedLZ4CommonsCompressor.class.getName(),
       ZstdCommonsCompressor.class.getName(),
+      ZstdCompressor.class.getName(),
     };
   }
 
@@ -80,4 +90,212 @@ public class TestCompressor {
     }
   }
 
+  @ParameterizedTest
+  @MethodSource( "data1" )
+  public void T_compressAndAppend_1( final String[] classNames , final byte[] compressTarget , final int start , final int length , final byte[] success ) throws IOException{
+    for( int i = 0 ; i < classNames.length ; i++ ){
+      ICompressor compressor = FindCompressor.get( classNames[i] );
+      ByteArrayData buffer = new ByteArrayData( 4 );
+      buffer.append( "xyz".getBytes() );
+      int compressLength = compressor.compressAndAppend( compressTarget , start , length , DataType.TEXT , buffer );
+      assertEquals( 3 + compressLength , buffer.getLength() );
+      assertTrue( Arrays.equals( Arrays.copyOf( buffer.getBytes() , 3 ) , "xyz".getBytes() ) );
+      byte[] compressData = Arrays.copyOfRange( buffer.getBytes() , 3 , 3 + compressLength );
+      assertTrue( Arrays.equals( compressor.decompress( compressData , 0 , compressData.length ) , success ) );
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource( "data1" )
+  public void T_compressWithHeader_1( final String[] classNames , final byte[] compressTarget , final int start , final int length , final byte[] success ) throws IOException{
+    for( int i = 0 ; i < classNames.length ; i++ ){
+      ICompressor compressor = FindCompressor.get( classNames[i] );
+      byte[] header = "xyz".getBytes();
+      byte[] binary = compressor.compressWithHeader( header , compressTarget , start , length , DataType.TEXT , CompressionPolicy.DEFAULT );
+      assertTrue( Arrays.equals( Arrays.copyOf( binary , 3 ) , header ) );
+      assertEquals( compressor.getDecompressSize( binary , 3 , binary.length - 3 ) , success.length );
+      assertTrue( Arrays.equals( compressor.decompress( binary , 3 , binary.length - 3 ) , success ) );
+    }
+  }
+
+  @Test
+  public void T_compress_largeData() throws IOException{
+    byte[] data = new byte[ 1024 * 1024 * 3 ];
+    for( int i = 0 ; i < data.length ; i++ ){
+      data[i] = (byte)( ( i * 31 ) % 7 + ( i >> 12 ) );
+    }
+    for( String className : getCompressorClass() ){
+      ICompressor compressor = FindCompressor.get( className );
+      for( int i = 0 ; i < 2 ; i++ ){
+        byte[] compressData = compressor.compress( data , 0 , data.length );
+        assertTrue( Arrays.equals( compressor.decompress( compressData , 0 , compressData.length ) , data ) , className );
+      }
+    }
+  }
+
+  @Test
+  public void T_gzip_readGzipOutputStream() throws IOException{
+    byte[] data = "abcdeabcdeabcde".getBytes();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    GZIPOutputStream gzipOut = new GZIPOutputStream( out );
+    gzipOut.write( data );
+    gzipOut.close();
+    byte[] gzipData = out.toByteArray();
+    byte[] compressData = ByteBuffer.allocate( 4 + gzipData.length ).putInt( data.length ).put( gzipData ).array();
+
+    ICompressor compressor = new GzipCompressor();
+    assertTrue( Arrays.equals( compressor.decompress( compressData , 0 , compressData.length ) , data ) );
+    assertTrue( Arrays.equals( compressor.compress( data , 0 , data.length ) , compressData ) );
+  }
+
+  @Test
+  public void T_gzip_readHeaderWithOptionalField() throws IOException{
+    byte[] data = "abcdeabcdeabcde".getBytes();
+    ICompressor compressor = new GzipCompressor();
+    byte[] compressData = compressor.compress( data , 0 , data.length );
+
+    byte[] fileName = "a.txt".getBytes();
+    ByteBuffer withName = ByteBuffer.allocate( compressData.length + fileName.length + 1 );
+    withName.put( compressData , 0 , 4 + 10 );
+    withName.put( 4 + 3 , (byte)0x08 );
+    withName.put( fileName );
+    withName.put( (byte)0 );
+    withName.put( compressData , 4 + 10 , compressData.length - 4 - 10 );
+    byte[] withNameData = withName.array();
+    assertTrue( Arrays.equals( compressor.decompress( withNameData , 0 , withNameData.length ) , data ) );
+  }
+
+  @Test
+  public void T_gzip_readByGzipInputStream() throws IOException{
+    byte[] data = "abcdeabcdeabcde".getBytes();
+    byte[] compressData = new GzipCompressor().compress( data , 0 , data.length );
+    GZIPInputStream in = new GZIPInputStream( new ByteArrayInputStream( compressData , 4 , compressData.length - 4 ) );
+    byte[] result = new byte[ data.length ];
+    assertEquals( data.length , in.read( result ) );
+    assertEquals( -1 , in.read() );
+    assertTrue( Arrays.equals( result , data ) );
+  }
+
+  @Test
+  public void T_gzip_corruptTrailer() throws IOException{
+    byte[] data = "abcdeabcdeabcde".getBytes();
+    ICompressor compressor = new GzipCompressor();
+    byte[] compressData = compressor.compress( data , 0 , data.length );
+    compressData[ compressData.length - 5 ]++;
+    assertThrows( IOException.class , () -> compressor.decompress( compressData , 0 , compressData.length ) );
+  }
+
+  @Test
+  public void T_zstd_compressionPolicy() throws IOException{
+    byte[] data = new byte[ 1024 * 256 ];
+    for( int i = 0 ; i < data.length ; i++ ){
+      data[i] = (byte)( ( i % 251 ) ^ ( i >> 10 ) );
+    }
+    ICompressor compressor = new ZstdCompressor();
+    for( CompressionPolicy policy : CompressionPolicy.values() ){
+      byte[] compressData = compressor.compress( data , 0 , data.length , DataType.NUMBER , policy );
+      assertTrue( Arrays.equals( compressor.decompress( compressData , 0 , compressData.length ) , data ) );
+    }
+    byte[] fast = compressor.compress( data , 0 , data.length , DataType.NUMBER , CompressionPolicy.BEST_SPEED );
+    byte[] best = compressor.compress( data , 0 , data.length , DataType.NUMBER , CompressionPolicy.BEST_COMPRESSION );
+    assertTrue( best.length <= fast.length );
+  }
+
+  @Test
+  public void T_zstd_readByCommonsCompressor() throws IOException{
+    byte[] data = "abcdeabcdeabcde".getBytes();
+    byte[] compressData = new ZstdCompressor().compress( data , 0 , data.length );
+    ICompressor commons = new ZstdCommonsCompressor();
+    assertTrue( Arrays.equals( commons.decompress( compressData , 0 , compressData.length ) , data ) );
+  }
+
+  @Test
+  public void T_zstd_getCompressionLevel() throws IOException{
+    assertEquals( 3 , ZstdCompressor.getCompressionLevel( null ) );
+    assertEquals( 3 , ZstdCompressor.getCompressionLevel( CompressionPolicy.DEFAULT ) );
+    assertTrue( ZstdCompressor.getCompressionLevel( CompressionPolicy.BEST_SPEED ) < ZstdCompressor.getCompressionLevel( CompressionPolicy.SPEED ) );
+    assertTrue( ZstdCompressor.getCompressionLevel( CompressionPolicy.DEFAULT ) < ZstdCompressor.getCompressionLevel( CompressionPolicy.BEST_COMPRESSION ) );
+  }
+
+  private List<byte[]> createLogSamples( final int count ){
+    List<byte[]> result = new ArrayList<byte[]>();
+    for( int i = 0 ; i < count ; i++ ){
+      String log = String.format(
+          "level=INFO host=web%02d path=/api/v1/items/%d status=%d user_agent=Mozilla/5.0" ,
+          i % 7 , i , i % 3 == 0 ? 404 : 200 );
+      result.add( log.getBytes() );
+    }
+    return result;
+  }
+
+  @Test
+  public void T_zstd_dictionary_compressAndDecompress() throws IOException{
+    ZstdDictionary dictionary = ZstdDictionary.train( createLogSamples( 1000 ) , 4096 );
+    assertNotNull( dictionary );
+    assertTrue( dictionary.getId() != 0 );
+    ZstdCompressor dictionaryCompressor = new ZstdCompressor( dictionary );
+    assertSame( dictionary , dictionaryCompressor.getCompressDictionary() );
+    ZstdCompressor compressor = new ZstdCompressor();
+    long size = 0;
+    long dictionarySize = 0;
+    for( byte[] data : createLogSamples( 100 ) ){
+      byte[] compressData = dictionaryCompressor.compress( data , 0 , data.length );
+      size += compressor.compress( data , 0 , data.length ).length;
+      dictionarySize += compressData.length;
+      assertTrue( Arrays.equals( dictionaryCompressor.decompress( compressData , 0 , compressData.length ) , data ) );
+      ZstdCompressor blockCompressor = new ZstdCompressor( Arrays.asList( dictionary ) );
+      assertNull( blockCompressor.getCompressDictionary() );
+      assertTrue( Arrays.equals( blockCompressor.decompress( compressData , 0 , compressData.length ) , data ) );
+      assertThrows( IOException.class , () -> compressor.decompress( compressData , 0 , compressData.length ) );
+    }
+    assertTrue( dictionarySize < size );
+  }
+
+  @Test
+  public void T_zstd_dictionary_compressionPolicy() throws IOException{
+    ZstdDictionary dictionary = ZstdDictionary.train( createLogSamples( 1000 ) , 4096 );
+    ZstdCompressor compressor = new ZstdCompressor( dictionary );
+    byte[] data = createLogSamples( 1 ).get( 0 );
+    for( CompressionPolicy policy : CompressionPolicy.values() ){
+      byte[] compressData = compressor.compress( data , 0 , data.length , DataType.TEXT , policy );
+      assertTrue( Arrays.equals( compressor.decompress( compressData , 0 , compressData.length ) , data ) );
+    }
+  }
+
+  @Test
+  public void T_zstd_dictionary_withoutDictionaryFrame() throws IOException{
+    ZstdDictionary dictionary = ZstdDictionary.train( createLogSamples( 1000 ) , 4096 );
+    byte[] data = createLogSamples( 1 ).get( 0 );
+    byte[] compressData = new ZstdCompressor().compress( data , 0 , data.length );
+    ZstdCompressor compressor = new ZstdCompressor( Arrays.asList( dictionary ) );
+    assertTrue( Arrays.equals( compressor.decompress( compressData , 0 , compressData.length ) , data ) );
+  }
+
+  @Test
+  public void T_zstd_dictionary_train_empty() throws IOException{
+    assertNull( ZstdDictionary.train( new ArrayList<byte[]>() , 4096 ) );
+  }
+
+  @Test
+  public void T_zstd_dictionary_invalidBinary() throws IOException{
+    assertThrows( IOException.class , () -> new ZstdDictionary( "abc".getBytes() ) );
+  }
+
+  @Test
+  public void T_zstd_dictionary_binary() throws IOException{
+    List<byte[]> samples = createLogSamples( 1000 );
+    ZstdDictionary dictionary1 = ZstdDictionary.train( samples , 4096 );
+    ZstdDictionary dictionary2 = ZstdDictionary.train( samples.subList( 0 , 500 ) , 2048 );
+    List<ZstdDictionary> dictionaryList = Arrays.asList( dictionary1 , dictionary2 );
+    ByteArrayData buffer = new ByteArrayData();
+    buffer.append( new byte[]{ 1 , 2 , 3 } );
+    ZstdDictionary.appendBinary( dictionaryList , buffer );
+    assertEquals( 3 + ZstdDictionary.getBinarySize( dictionaryList ) , buffer.getLength() );
+    List<ZstdDictionary> result = ZstdDictionary.createFromBinary( buffer.getBytes() , 3 , buffer.getLength() - 3 );
+    assertEquals( 2 , result.size() );
+    assertTrue( dictionary1.isSame( result.get( 0 ) ) );
+    assertTrue( dictionary2.isSame( result.get( 1 ) ) );
+    assertFalse( dictionary1.isSame( dictionary2 ) );
+  }
+
 }
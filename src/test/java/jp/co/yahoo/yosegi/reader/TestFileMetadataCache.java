@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.reader;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.block.FileFooter;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+
+public class TestFileMetadataCache{
+
+  private FileMetadataCache.FileMetadata createMetadata(){
+    return new FileMetadataCache.FileMetadata( 1024 , "dummy" , 16 );
+  }
+
+  @Test
+  public void T_get_1(){
+    FileMetadataCache cache = new FileMetadataCache( 2 );
+    FileMetadataCache.FileMetadata metadata = createMetadata();
+    assertNull( cache.get( "a" ) );
+    cache.put( "a" , metadata );
+    assertSame( metadata , cache.get( "a" ) );
+    assertEquals( 1 , cache.getHitCount() );
+    assertEquals( 1 , cache.getMissCount() );
+  }
+
+  @Test
+  public void T_evict_1(){
+    FileMetadataCache cache = new FileMetadataCache( 2 );
+    cache.put( "a" , createMetadata() );
+    cache.put( "b" , createMetadata() );
+    cache.get( "a" );
+    cache.put( "c" , createMetadata() );
+    assertEquals( 2 , cache.getEntryCount() );
+    assertEquals( 1 , cache.getEvictionCount() );
+    assertNotNull( cache.get( "a" ) );
+    assertNull( cache.get( "b" ) );
+
+    cache.setMaxEntryCount( 1 );
+    assertEquals( 1 , cache.getEntryCount() );
+    cache.clear();
+    assertEquals( 0 , cache.getEntryCount() );
+  }
+
+  @Test
+  public void T_fileFooter_1(){
+    FileMetadataCache.FileMetadata metadata = createMetadata();
+    assertFalse( metadata.isFooterRead() );
+    metadata.setFileFooter( null );
+    assertTrue( metadata.isFooterRead() );
+    assertNull( metadata.getFileFooter() );
+
+    FileFooter footer = new FileFooter();
+    metadata.setFileFooter( footer );
+    assertSame( footer , metadata.getFileFooter() );
+  }
+
+  @Test
+  public void T_blockIndexNode_1(){
+    FileMetadataCache.FileMetadata metadata = createMetadata();
+    assertNull( metadata.getBlockIndexNode( "key" , 3 ) );
+    BlockIndexNode node = new BlockIndexNode();
+    assertSame( node , metadata.putBlockIndexNodeIfAbsent( "key" , 3 , node ) );
+    assertSame( node , metadata.putBlockIndexNodeIfAbsent( "key" , 3 , new BlockIndexNode() ) );
+    assertSame( node , metadata.getBlockIndexNode( "key" , 3 ) );
+    assertNull( metadata.getBlockIndexNode( "other" , 3 ) );
+    assertNull( metadata.getBlockIndexNode( "key" , 2 ) );
+  }
+
+  @Test
+  public void T_blockIndexNode_rewriteKeyLimit(){
+    FileMetadataCache.FileMetadata metadata = createMetadata();
+    for( int i = 0 ; i <= FileMetadataCache.MAX_REWRITE_KEY_COUNT ; i++ ){
+      metadata.putBlockIndexNodeIfAbsent( "key" + i , 0 , new BlockIndexNode() );
+    }
+    assertNull( metadata.getBlockIndexNode( "key0" , 0 ) );
+    assertNotNull( metadata.getBlockIndexNode(
+        "key" + FileMetadataCache.MAX_REWRITE_KEY_COUNT , 0 ) );
+  }
+
+}
@@ -0,0 +1,182 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.reader;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.message.parser.json.JacksonMessageReader;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.writer.YosegiWriter;
+
+public class TestYosegiParallelReader{
+
+  private File createFile() throws IOException{
+    File file = File.createTempFile( "TestYosegiParallelReader" , ".yosegi" );
+    file.deleteOnExit();
+    Configuration config = new Configuration();
+    config.set( "block.size" , Integer.toString( 1024 * 1024 * 2 ) );
+    config.set( "spread.column.maker.use.auto.optimizer" , "false" );
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    Random rnd = new Random( 1 );
+    try( YosegiWriter writer = new YosegiWriter( new FileOutputStream( file ) , config ) ){
+      for( int i = 0 ; i < 20 ; i++ ){
+        Spread spread = new Spread();
+        for( int n = 0 ; n < 5000 ; n++ ){
+          String json = String.format(
+              "{\"id\":%d,\"name\":\"%016x%016x\"}" , i * 5000 + n , rnd.nextLong() , rnd.nextLong() );
+          spread.addParserRow( messageReader.create( json ) );
+        }
+        writer.append( spread );
+      }
+    }
+    return file;
+  }
+
+  private FileChannel open( final File file ) throws IOException{
+    return FileChannel.open( file.toPath() , StandardOpenOption.READ );
+  }
+
+  @Test
+  public void T_ordered_1() throws IOException{
+    File file = createFile();
+    int blockCount = 0;
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setNewStream( open( file ) , new Configuration() );
+      blockCount = (int)Math.ceil( (double)file.length() / reader.getBlockSize() );
+    }
+    assertTrue( 1 < blockCount );
+
+    long id = 0;
+    try( FileChannel channel = open( file ) ; YosegiParallelReader reader = new YosegiParallelReader( 3 , true ) ){
+      reader.setNewStream( channel , new Configuration() );
+      while( reader.hasNext() ){
+        Spread spread = reader.next();
+        IColumn column = spread.getColumn( "id" );
+        for( int i = 0 ; i < spread.size() ; i++ ){
+          assertEquals( id , ( (PrimitiveObject)column.get( i ).getRow() ).getLong() );
+          id++;
+        }
+      }
+    }
+    assertEquals( 100000 , id );
+  }
+
+  @Test
+  public void T_unordered_1() throws IOException{
+    File file = createFile();
+    long count = 0;
+    long sum = 0;
+    try( FileChannel channel = open( file ) ; YosegiParallelReader reader = new YosegiParallelReader( 4 , false ) ){
+      reader.setNewStream( channel , new Configuration() );
+      while( reader.hasNext() ){
+        Spread spread = reader.next();
+        IColumn column = spread.getColumn( "id" );
+        for( int i = 0 ; i < spread.size() ; i++ ){
+          sum += ( (PrimitiveObject)column.get( i ).getRow() ).getLong();
+          count++;
+        }
+      }
+    }
+    assertEquals( 100000 , count );
+    assertEquals( 99999L * 100000L / 2L , sum );
+  }
+
+  @Test
+  public void T_close_1() throws IOException{
+    File file = createFile();
+    try( FileChannel channel = open( file ) ){
+      YosegiParallelReader reader = new YosegiParallelReader( 2 , true );
+      reader.setNewStream( channel , new Configuration() );
+      assertTrue( reader.hasNext() );
+      reader.next();
+      reader.close();
+    }
+  }
+
+  @Test
+  public void T_close_notCloseChannel() throws IOException{
+    File file = createFile();
+    try( FileChannel channel = open( file ) ){
+      YosegiParallelReader reader = new YosegiParallelReader( 2 , true );
+      reader.setNewStream( channel , new Configuration() );
+      while( reader.hasNext() ){
+        reader.next();
+      }
+      reader.close();
+      assertTrue( channel.isOpen() );
+    }
+  }
+
+  @Test
+  public void T_fileMetadataCache_readHeaderOnce() throws IOException{
+    File file = createFile();
+    FileMetadataCache cache = new FileMetadataCache( 1 );
+    long rowCount = 0;
+    try( FileChannel channel = open( file ) ; YosegiParallelReader reader = new YosegiParallelReader( 3 , true ) ){
+      reader.setFileMetadataCache( cache );
+      reader.setNewStream( channel , new Configuration() );
+      while( reader.hasNext() ){
+        rowCount += reader.next().size();
+      }
+    }
+    assertEquals( 100000 , rowCount );
+    assertEquals( 1 , cache.getMissCount() );
+    assertTrue( 1 < cache.getHitCount() );
+  }
+
+  @Test
+  public void T_ordered_nestedColumn() throws IOException{
+    File file = File.createTempFile( "TestYosegiParallelReader" , ".yosegi" );
+    file.deleteOnExit();
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    try( YosegiWriter writer = new YosegiWriter( new FileOutputStream( file ) , new Configuration() ) ){
+      Spread spread = new Spread();
+      for( int n = 0 ; n < 1000 ; n++ ){
+        spread.addParserRow( messageReader.create( String.format( "{\"obj\":{\"id\":%d}}" , n ) ) );
+      }
+      writer.append( spread );
+    }
+
+    long id = 0;
+    try( FileChannel channel = open( file ) ; YosegiParallelReader reader = new YosegiParallelReader( 2 , true ) ){
+      reader.setNewStream( channel , new Configuration() );
+      while( reader.hasNext() ){
+        Spread spread = reader.next();
+        IColumn column = spread.getColumn( "obj" ).getColumn( "id" );
+        for( int i = 0 ; i < spread.size() ; i++ ){
+          assertEquals( id , ( (PrimitiveObject)column.get( i ).getRow() ).getLong() );
+          id++;
+        }
+      }
+    }
+    assertEquals( 1000 , id );
+  }
+
+}
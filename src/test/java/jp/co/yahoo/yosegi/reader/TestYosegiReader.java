@@ -0,0 +1,438 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.reader;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinaryCache;
+import jp.co.yahoo.yosegi.block.FileFooter;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.message.parser.json.JacksonMessageReader;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.yosegi.spread.expression.ExecuterNode;
+import jp.co.yahoo.yosegi.spread.expression.StringExtractNode;
+import jp.co.yahoo.yosegi.util.io.FileChannelRangeSource;
+import jp.co.yahoo.yosegi.util.io.IRangeSource;
+import jp.co.yahoo.yosegi.writer.YosegiWriter;
+
+public class TestYosegiReader{
+
+  private File createFile() throws IOException{
+    File file = File.createTempFile( "TestYosegiReader" , ".yosegi" );
+    file.deleteOnExit();
+    Configuration config = new Configuration();
+    config.set( "block.size" , Integer.toString( 1024 * 1024 * 2 ) );
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    try( YosegiWriter writer = new YosegiWriter( new FileOutputStream( file ) , config ) ){
+      for( int i = 0 ; i < 10 ; i++ ){
+        Spread spread = new Spread();
+        for( int n = 0 ; n < 1000 ; n++ ){
+          String json = String.format(
+              "{\"id\":%d,\"name\":\"name_%d\"}" , i * 1000 + n , n % 17 );
+          spread.addParserRow( messageReader.create( json ) );
+        }
+        writer.append( spread );
+      }
+    }
+    return file;
+  }
+
+  @Test
+  public void T_setNewStream_fileChannel_1() throws IOException{
+    File file = createFile();
+    Configuration config = new Configuration();
+    config.set( "spread.reader.read.column.names" , "[ [\"id\"] ]" );
+    long id = 0;
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setNewStream( FileChannel.open( file.toPath() , StandardOpenOption.READ ) , config );
+      while( reader.hasNext() ){
+        Spread spread = reader.next();
+        assertEquals( ColumnType.NULL , spread.getColumn( "name" ).getColumnType() );
+        IColumn column = spread.getColumn( "id" );
+        for( int i = 0 ; i < spread.size() ; i++ ){
+          assertEquals( id , ( (PrimitiveObject)column.get( i ).getRow() ).getLong() );
+          id++;
+        }
+      }
+    }
+    assertEquals( 10000 , id );
+  }
+
+  private File createMultiBlockFile() throws IOException{
+    return createMultiBlockFile( false );
+  }
+
+  private File createMultiBlockFile( final boolean footer ) throws IOException{
+    File file = File.createTempFile( "TestYosegiReader" , ".yosegi" );
+    file.deleteOnExit();
+    Configuration config = new Configuration();
+    config.set( "writer.footer.enable" , Boolean.toString( footer ) );
+    config.set( "block.size" , Integer.toString( 1024 * 1024 * 2 ) );
+    config.set( "spread.column.maker.use.auto.optimizer" , "false" );
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    Random rnd = new Random( 1 );
+    try( YosegiWriter writer = new YosegiWriter( new FileOutputStream( file ) , config ) ){
+      for( int i = 0 ; i < 20 ; i++ ){
+        Spread spread = new Spread();
+        for( int n = 0 ; n < 5000 ; n++ ){
+          String json = String.format(
+              "{\"id\":%d,\"name\":\"%016x%016x\"}" , i * 5000 + n , rnd.nextLong() , rnd.nextLong() );
+          spread.addParserRow( messageReader.create( json ) );
+        }
+        writer.append( spread );
+      }
+    }
+    return file;
+  }
+
+  private long readAllId( final YosegiReader reader ) throws IOException{
+    long id = 0;
+    while( reader.hasNext() ){
+      Spread spread = reader.next();
+      IColumn column = spread.getColumn( "id" );
+      for( int i = 0 ; i < spread.size() ; i++ ){
+        assertEquals( id , ( (PrimitiveObject)column.get( i ).getRow() ).getLong() );
+        id++;
+      }
+    }
+    return id;
+  }
+
+  @Test
+  public void T_prefetch_fileChannel_1() throws IOException{
+    File file = createMultiBlockFile();
+    assertTrue( 2 * 1024 * 1024 < file.length() );
+    Configuration config = new Configuration();
+    config.set( "spread.reader.prefetch.depth" , "2" );
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setNewStream( FileChannel.open( file.toPath() , StandardOpenOption.READ ) , config );
+      assertEquals( 100000 , readAllId( reader ) );
+      long blockCount = (long)Math.ceil( (double)file.length() / reader.getBlockSize() );
+      assertEquals( blockCount * reader.getBlockSize() , reader.getReadPos() );
+    }
+  }
+
+  @Test
+  public void T_prefetch_inputStream_1() throws IOException{
+    File file = createMultiBlockFile();
+    Configuration config = new Configuration();
+    config.set( "spread.reader.prefetch.depth" , "3" );
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setNewStream( new FileInputStream( file ) , file.length() , config );
+      assertEquals( 100000 , readAllId( reader ) );
+    }
+  }
+
+  @Test
+  public void T_prefetch_readStats_1() throws IOException{
+    File file = createMultiBlockFile();
+    Configuration config = new Configuration();
+    long rowCount;
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setNewStream( FileChannel.open( file.toPath() , StandardOpenOption.READ ) , config );
+      readAllId( reader );
+      rowCount = reader.getReadStats().getRowCount();
+    }
+    config.set( "spread.reader.prefetch.depth" , "2" );
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setNewStream( FileChannel.open( file.toPath() , StandardOpenOption.READ ) , config );
+      readAllId( reader );
+      assertEquals( rowCount , reader.getReadStats().getRowCount() );
+    }
+  }
+
+  private long readTwoFiles( final File file1 , final File file2 , final Configuration config ) throws IOException{
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setNewStream( FileChannel.open( file1.toPath() , StandardOpenOption.READ ) , config );
+      assertEquals( 100000 , readAllId( reader ) );
+      long rowCount = reader.getReadStats().getRowCount();
+      reader.setNewStream( FileChannel.open( file2.toPath() , StandardOpenOption.READ ) , config );
+      assertEquals( rowCount , reader.getReadStats().getRowCount() );
+      assertEquals( 100000 , readAllId( reader ) );
+      assertEquals( rowCount * 2 , reader.getReadStats().getRowCount() );
+      return reader.getReadStats().getRowCount();
+    }
+  }
+
+  @Test
+  public void T_prefetch_readStats_reuseReader() throws IOException{
+    File file1 = createMultiBlockFile();
+    File file2 = createMultiBlockFile();
+    Configuration config = new Configuration();
+    long rowCount = readTwoFiles( file1 , file2 , config );
+    config.set( "spread.reader.prefetch.depth" , "2" );
+    assertEquals( rowCount , readTwoFiles( file1 , file2 , config ) );
+  }
+
+  private class CountingRangeSource implements IRangeSource{
+    private final IRangeSource source;
+    public final AtomicInteger readCount = new AtomicInteger();
+    public final AtomicLong readBytes = new AtomicLong();
+
+    public CountingRangeSource( final IRangeSource source ){
+      this.source = source;
+    }
+
+    @Override
+    public long size() throws IOException{
+      return source.size();
+    }
+
+    @Override
+    public int read( final long position , final byte[] buffer , final int start , final int length ) throws IOException{
+      readCount.incrementAndGet();
+      int readLength = source.read( position , buffer , start , length );
+      readBytes.addAndGet( readLength );
+      return readLength;
+    }
+
+    @Override
+    public String getIdentity(){
+      return source.getIdentity();
+    }
+
+    @Override
+    public void close() throws IOException{
+      source.close();
+    }
+  }
+
+  private CountingRangeSource openCountingRangeSource( final File file ) throws IOException{
+    return new CountingRangeSource(
+        new FileChannelRangeSource( FileChannel.open( file.toPath() , StandardOpenOption.READ ) ) );
+  }
+
+  private int readWithRangeSource( final File file , final int mergeGapSize ) throws IOException{
+    Configuration config = new Configuration();
+    config.set( "spread.reader.read.merge.gap.size" , Integer.toString( mergeGapSize ) );
+    CountingRangeSource source = openCountingRangeSource( file );
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setNewStream( source , config );
+      assertEquals( 100000 , readAllId( reader ) );
+    }
+    return source.readCount.get();
+  }
+
+  @Test
+  public void T_rangeSource_mergeRead_1() throws IOException{
+    File file = createMultiBlockFile();
+    int noMergeReadCount = readWithRangeSource( file , -1 );
+    int mergeReadCount = readWithRangeSource( file , 1024 * 1024 );
+    assertTrue( mergeReadCount < noMergeReadCount );
+  }
+
+  @Test
+  public void T_footer_read_1() throws IOException{
+    File file = createMultiBlockFile( true );
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setNewStream( FileChannel.open( file.toPath() , StandardOpenOption.READ ) , new Configuration() );
+      FileFooter footer = reader.getFileFooter();
+      assertNotNull( footer );
+      assertTrue( 1 < footer.getBlockEntryList().size() );
+      long rowCount = 0;
+      for( FileFooter.BlockEntry blockEntry : footer.getBlockEntryList() ){
+        assertTrue( blockEntry.hasBlockIndex() );
+        rowCount += blockEntry.rowCount;
+      }
+      assertEquals( 100000 , rowCount );
+      assertEquals( 100000 , readAllId( reader ) );
+    }
+  }
+
+  @Test
+  public void T_footer_readWithoutFooterSupport_1() throws IOException{
+    File file = createMultiBlockFile( true );
+    Configuration config = new Configuration();
+    config.set( "spread.reader.use.footer" , "false" );
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setNewStream( FileChannel.open( file.toPath() , StandardOpenOption.READ ) , config );
+      assertNull( reader.getFileFooter() );
+      assertEquals( 100000 , readAllId( reader ) );
+    }
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setNewStream( new FileInputStream( file ) , file.length() , new Configuration() );
+      assertEquals( 100000 , readAllId( reader ) );
+    }
+  }
+
+  private int readFirstIdWithSkipIndex( final File file , final long id ) throws IOException{
+    CountingRangeSource source = openCountingRangeSource( file );
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setBlockSkipIndex( new ExecuterNode(
+          new StringExtractNode( "id" ) ,
+          new NumberFilter( NumberFilterType.EQUAL , new LongObj( id ) ) ) );
+      reader.setNewStream( source , new Configuration() );
+      boolean found = false;
+      while( reader.hasNext() ){
+        Spread spread = reader.next();
+        IColumn column = spread.getColumn( "id" );
+        for( int i = 0 ; i < spread.size() ; i++ ){
+          PrimitiveObject row = (PrimitiveObject)column.get( i ).getRow();
+          if( row != null && row.getLong() == id ){
+            found = true;
+          }
+        }
+      }
+      assertTrue( found );
+    }
+    return source.readCount.get();
+  }
+
+  @Test
+  public void T_footer_blockSkip_1() throws IOException{
+    int footerReadCount = readFirstIdWithSkipIndex( createMultiBlockFile( true ) , 5 );
+    int readCount = readFirstIdWithSkipIndex( createMultiBlockFile( false ) , 5 );
+    assertTrue( footerReadCount < readCount );
+  }
+
+  @Test
+  public void T_columnBinaryCache_1() throws IOException{
+    File file = createMultiBlockFile();
+    ColumnBinaryCache cache = new ColumnBinaryCache( 64L * 1024 * 1024 );
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setColumnBinaryCache( cache );
+      reader.setNewStream( FileChannelRangeSource.open( file.toPath() ) , new Configuration() );
+      assertEquals( 100000 , readAllId( reader ) );
+    }
+    long missCount = cache.getMissCount();
+    assertTrue( 0 < missCount );
+    assertEquals( 0 , cache.getHitCount() );
+    assertTrue( 0 < cache.getEntryCount() );
+
+    Configuration config = new Configuration();
+    config.set( "spread.reader.prefetch.depth" , "2" );
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setColumnBinaryCache( cache );
+      reader.setNewStream( FileChannelRangeSource.open( file.toPath() ) , config );
+      assertEquals( 100000 , readAllId( reader ) );
+    }
+    assertEquals( missCount , cache.getMissCount() );
+    assertTrue( 0 < cache.getHitCount() );
+  }
+
+  private long readAllIdWithCache( final File file , final ColumnBinaryCache cache ) throws IOException{
+    CountingRangeSource source = new CountingRangeSource( FileChannelRangeSource.open( file.toPath() ) );
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setColumnBinaryCache( cache );
+      reader.setNewStream( source , new Configuration() );
+      assertEquals( 100000 , readAllId( reader ) );
+    }
+    return source.readBytes.get();
+  }
+
+  @Test
+  public void T_columnBinaryCache_skipRead() throws IOException{
+    File file = createMultiBlockFile();
+    ColumnBinaryCache cache = new ColumnBinaryCache( 64L * 1024 * 1024 );
+    long missReadBytes = readAllIdWithCache( file , cache );
+    long hitReadBytes = readAllIdWithCache( file , cache );
+    assertTrue( 1024 * 1024 < missReadBytes );
+    assertTrue( hitReadBytes * 10 < missReadBytes );
+
+    cache.clear();
+    assertEquals( missReadBytes , readAllIdWithCache( file , cache ) );
+  }
+
+  @Test
+  public void T_columnBinaryCache_withoutIdentity() throws IOException{
+    File file = createMultiBlockFile();
+    ColumnBinaryCache cache = new ColumnBinaryCache( 64L * 1024 * 1024 );
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setColumnBinaryCache( cache );
+      reader.setNewStream( FileChannel.open( file.toPath() , StandardOpenOption.READ ) , new Configuration() );
+      assertEquals( 100000 , readAllId( reader ) );
+    }
+    assertEquals( 0 , cache.getEntryCount() );
+    assertEquals( 0 , cache.getMissCount() );
+  }
+
+  private int openWithMetadataCache(
+      final File file , final FileMetadataCache cache , final long id ) throws IOException{
+    CountingRangeSource source = new CountingRangeSource( FileChannelRangeSource.open( file.toPath() ) );
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setFileMetadataCache( cache );
+      reader.setBlockSkipIndex( new ExecuterNode(
+          new StringExtractNode( "id" ) ,
+          new NumberFilter( NumberFilterType.EQUAL , new LongObj( id ) ) ) );
+      reader.setNewStream( source , new Configuration() );
+      assertFalse( reader.hasNext() );
+    }
+    return source.readCount.get();
+  }
+
+  @Test
+  public void T_metadataCache_1() throws IOException{
+    File file = createMultiBlockFile( true );
+    FileMetadataCache cache = new FileMetadataCache( 16 );
+    assertTrue( 0 < openWithMetadataCache( file , cache , 1000000 ) );
+    assertEquals( 1 , cache.getMissCount() );
+    assertEquals( 0 , openWithMetadataCache( file , cache , 1000000 ) );
+    assertEquals( 0 , openWithMetadataCache( file , cache , -1 ) );
+    assertEquals( 2 , cache.getHitCount() );
+    assertEquals( 1 , cache.getEntryCount() );
+
+    assertTrue( file.setLastModified( file.lastModified() - 60000 ) );
+    assertTrue( 0 < openWithMetadataCache( file , cache , 1000000 ) );
+    assertEquals( 2 , cache.getMissCount() );
+  }
+
+  @Test
+  public void T_metadataCache_read_1() throws IOException{
+    File file = createMultiBlockFile( true );
+    FileMetadataCache cache = new FileMetadataCache( 16 );
+    for( int i = 0 ; i < 2 ; i++ ){
+      try( YosegiReader reader = new YosegiReader() ){
+        reader.setFileMetadataCache( cache );
+        reader.setNewStream( FileChannelRangeSource.open( file.toPath() ) , new Configuration() );
+        assertNotNull( reader.getFileFooter() );
+        assertEquals( 100000 , readAllId( reader ) );
+      }
+    }
+    assertEquals( 1 , cache.getHitCount() );
+
+    File noFooterFile = createMultiBlockFile( false );
+    for( int i = 0 ; i < 2 ; i++ ){
+      try( YosegiReader reader = new YosegiReader() ){
+        reader.setFileMetadataCache( cache );
+        reader.setNewStream( FileChannelRangeSource.open( noFooterFile.toPath() ) , new Configuration() );
+        assertNull( reader.getFileFooter() );
+        assertEquals( 100000 , readAllId( reader ) );
+      }
+    }
+    assertEquals( 2 , cache.getHitCount() );
+  }
+
+}
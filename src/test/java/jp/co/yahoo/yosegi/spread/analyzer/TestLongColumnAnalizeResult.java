@@ -37,6 +37,9 @@ import jp.co.yahoo.yosegi.message.objects.*;
 import jp.co.yahoo.yosegi.spread.Spread;
 import jp.co.yahoo.yosegi.spread.column.NullColumn;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.NullCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
 
 public class TestLongColumnAnalizeResult {
 
@@ -55,4 +58,29 @@ public class TestLongColumnAnalizeResult {
     assertEquals( (long)50 , result.getMax() );
   }
 
+  @Test
+  public void T_getRunCount_1() throws IOException{
+    LongColumnAnalizeResult result = new LongColumnAnalizeResult( "name" , 100 , true , 10 , 90 , 2 , (long)40 , (long)50 );
+    assertEquals( 100 , result.getRunCount() );
+    result = new LongColumnAnalizeResult( "name" , 100 , true , 10 , 90 , 2 , (long)40 , (long)50 , 4 , 7 );
+    assertEquals( 7 , result.getRunCount() );
+  }
+
+  @Test
+  public void T_analize_runCount() throws IOException{
+    Long[] values = new Long[]{ 1L , 1L , null , null , 2L , 2L , 2L , 1L , null };
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "name" );
+    for( int i = 0 ; i < values.length ; i++ ){
+      if( values[i] == null ){
+        column.addCell( ColumnType.NULL , NullCell.getInstance() , i );
+      }
+      else{
+        column.add( ColumnType.LONG , new LongObj( values[i] ) , i );
+      }
+    }
+    IColumnAnalizeResult result = new LongColumnAnalizer( column ).analize();
+    assertEquals( 9 , result.getColumnSize() );
+    assertEquals( 5 , result.getRunCount() );
+  }
+
 }
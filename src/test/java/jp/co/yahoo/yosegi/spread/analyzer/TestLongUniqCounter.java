@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.spread.analyzer;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLongUniqCounter {
+
+  @Test
+  public void T_add_exact() throws IOException{
+    LongUniqCounter counter = new LongUniqCounter();
+    for( int i = 0 ; i < 10000 ; i++ ){
+      counter.add( i % 1000 - 500 );
+    }
+    assertTrue( counter.isExact() );
+    assertEquals( 1000 , counter.getUniqCount() );
+  }
+
+  @Test
+  public void T_add_zeroAndMinValue() throws IOException{
+    LongUniqCounter counter = new LongUniqCounter();
+    counter.add( 0 );
+    counter.add( 0 );
+    counter.add( Long.MIN_VALUE );
+    counter.add( Long.MAX_VALUE );
+    assertEquals( 3 , counter.getUniqCount() );
+  }
+
+  @Test
+  public void T_add_sketch() throws IOException{
+    LongUniqCounter counter = new LongUniqCounter( 1000 );
+    for( int i = 0 ; i < 100000 ; i++ ){
+      counter.add( i );
+    }
+    assertFalse( counter.isExact() );
+    assertEquals( 100000 , counter.getUniqCount() , 100000 * 0.05 );
+  }
+
+  @Test
+  public void T_add_sketchNeverBelowExactCount() throws IOException{
+    LongUniqCounter counter = new LongUniqCounter( 10 );
+    for( int i = 0 ; i < 11 ; i++ ){
+      counter.add( i );
+    }
+    assertFalse( counter.isExact() );
+    assertTrue( 11 <= counter.getUniqCount() );
+  }
+
+}
@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.spread.analyzer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.message.objects.Utf8BytesLinkObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.NullCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+
+public class TestStringColumnAnalizer {
+
+  private static final String[] VALUES = new String[]{
+    "b" , "a" , "あい" , "b" , "𠮷" , "" , "abc" };
+
+  private StringColumnAnalizeResult analize( final boolean bytesLink ) throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "s" );
+    for( int i = 0 ; i < VALUES.length ; i++ ){
+      if( bytesLink ){
+        byte[] value = ( "__" + VALUES[i] ).getBytes( StandardCharsets.UTF_8 );
+        column.add( ColumnType.STRING , new Utf8BytesLinkObj( value , 2 , value.length - 2 ) , i );
+      }
+      else{
+        column.add( ColumnType.STRING , new StringObj( VALUES[i] ) , i );
+      }
+    }
+    return (StringColumnAnalizeResult)new StringColumnAnalizer( column ).analize();
+  }
+
+  private void assertResult( final StringColumnAnalizeResult result ) throws IOException{
+    int totalUtf8 = 0;
+    int totalChar = 0;
+    for( String value : VALUES ){
+      totalUtf8 += value.getBytes( StandardCharsets.UTF_8 ).length;
+      totalChar += value.length() * Character.BYTES;
+    }
+    assertEquals( 7 , result.getRowCount() );
+    assertEquals( 6 , result.getUniqCount() );
+    assertFalse( result.maybeSorted() );
+    assertEquals( totalUtf8 , result.getTotalUtf8ByteSize() );
+    assertEquals( totalChar , result.getLogicalDataSize() );
+    assertEquals( totalUtf8 - 1 , result.getUniqUtf8ByteSize() );
+    assertEquals( 0 , result.getMinUtf8Bytes() );
+    assertEquals( 6 , result.getMaxUtf8Bytes() );
+    assertEquals( 0 , result.getMinCharLength() );
+    assertEquals( 6 , result.getMaxCharLength() );
+    assertEquals( "" , result.getMin() );
+    assertEquals( "𠮷" , result.getMax() );
+    assertEquals( 7 , result.getRunCount() );
+  }
+
+  @Test
+  public void T_analize_string() throws IOException{
+    assertResult( analize( false ) );
+  }
+
+  @Test
+  public void T_analize_bytesLink() throws IOException{
+    assertResult( analize( true ) );
+  }
+
+  @Test
+  public void T_analize_runCount() throws IOException{
+    String[] values = new String[]{ null , "a" , "a" , null , null , "b" , "a" , "a" };
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "s" );
+    for( int i = 0 ; i < values.length ; i++ ){
+      if( values[i] == null ){
+        column.addCell( ColumnType.NULL , NullCell.getInstance() , i );
+      }
+      else{
+        byte[] value = values[i].getBytes( StandardCharsets.UTF_8 );
+        column.add( ColumnType.STRING , new Utf8BytesLinkObj( value , 0 , value.length ) , i );
+      }
+    }
+    StringColumnAnalizeResult result =
+        (StringColumnAnalizeResult)new StringColumnAnalizer( column ).analize();
+    assertEquals( 8 , result.getColumnSize() );
+    assertEquals( 5 , result.getRunCount() );
+  }
+
+}
@@ -0,0 +1,63 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.spread.analyzer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestUtf8UniqCounter {
+
+  @Test
+  public void T_add_exact() throws IOException{
+    Utf8UniqCounter counter = new Utf8UniqCounter();
+    for( int i = 0 ; i < 10000 ; i++ ){
+      byte[] value = ( "value_" + ( i % 1000 ) ).getBytes( StandardCharsets.UTF_8 );
+      assertEquals( i < 1000 , counter.add( value , 0 , value.length ) );
+    }
+    assertTrue( counter.isExact() );
+    assertEquals( 1000 , counter.getUniqCount() );
+  }
+
+  @Test
+  public void T_add_offset() throws IOException{
+    Utf8UniqCounter counter = new Utf8UniqCounter();
+    byte[] value = "abcabc".getBytes( StandardCharsets.UTF_8 );
+    assertTrue( counter.add( value , 0 , 3 ) );
+    assertFalse( counter.add( value , 3 , 3 ) );
+    assertTrue( counter.add( value , 1 , 3 ) );
+    assertTrue( counter.add( value , 0 , 0 ) );
+    assertFalse( counter.add( new byte[0] , 0 , 0 ) );
+    assertEquals( 3 , counter.getUniqCount() );
+  }
+
+  @Test
+  public void T_add_sketch() throws IOException{
+    Utf8UniqCounter counter = new Utf8UniqCounter( 1000 );
+    for( int i = 0 ; i < 100000 ; i++ ){
+      byte[] value = ( "value_" + i ).getBytes( StandardCharsets.UTF_8 );
+      counter.add( value , 0 , value.length );
+    }
+    assertFalse( counter.isExact() );
+    assertEquals( 100000 , counter.getUniqCount() , 100000 * 0.05 );
+  }
+
+}
@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.spread.column.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFilterBitSet{
+
+  private FilterBitSet create( final int size , final int... indexes ){
+    FilterBitSet bitSet = new FilterBitSet( size );
+    for( int index : indexes ){
+      bitSet.set( index );
+    }
+    return bitSet;
+  }
+
+  @Test
+  public void T_set_1(){
+    FilterBitSet bitSet = create( 130 , 0 , 63 , 64 , 129 );
+    assertEquals( 130 , bitSet.size() );
+    assertTrue( bitSet.get( 0 ) );
+    assertTrue( bitSet.get( 63 ) );
+    assertTrue( bitSet.get( 64 ) );
+    assertTrue( bitSet.get( 129 ) );
+    assertFalse( bitSet.get( 1 ) );
+    assertEquals( 4 , bitSet.cardinality() );
+    bitSet.clear( 63 );
+    assertFalse( bitSet.get( 63 ) );
+    assertEquals( 3 , bitSet.cardinality() );
+  }
+
+  @Test
+  public void T_setRange_1(){
+    FilterBitSet bitSet = new FilterBitSet( 200 );
+    bitSet.set( 3 , 10 );
+    bitSet.set( 60 , 140 );
+    bitSet.set( 150 , 150 );
+    bitSet.set( 192 , 200 );
+    assertEquals( 7 + 80 + 8 , bitSet.cardinality() );
+    assertFalse( bitSet.get( 2 ) );
+    assertTrue( bitSet.get( 3 ) );
+    assertTrue( bitSet.get( 9 ) );
+    assertFalse( bitSet.get( 10 ) );
+    assertFalse( bitSet.get( 59 ) );
+    assertTrue( bitSet.get( 60 ) );
+    assertTrue( bitSet.get( 128 ) );
+    assertTrue( bitSet.get( 139 ) );
+    assertFalse( bitSet.get( 140 ) );
+    assertFalse( bitSet.get( 150 ) );
+    assertTrue( bitSet.get( 199 ) );
+  }
+
+  @Test
+  public void T_and_1(){
+    FilterBitSet bitSet = create( 100 , 1 , 2 , 70 , 99 );
+    bitSet.and( create( 100 , 2 , 70 , 80 ) );
+    assertArrayEquals( create( 100 , 2 , 70 ).toBooleanArray() , bitSet.toBooleanArray() );
+    bitSet.and( create( 100 , 3 ) );
+    assertTrue( bitSet.isEmpty() );
+  }
+
+  @Test
+  public void T_or_1(){
+    FilterBitSet bitSet = create( 100 , 1 , 70 );
+    bitSet.or( create( 100 , 2 , 70 , 99 ) );
+    assertEquals( 4 , bitSet.cardinality() );
+    assertTrue( bitSet.get( 99 ) );
+  }
+
+  @Test
+  public void T_not_1(){
+    FilterBitSet bitSet = create( 70 , 0 , 69 );
+    bitSet.not();
+    assertEquals( 68 , bitSet.cardinality() );
+    assertFalse( bitSet.get( 0 ) );
+    assertFalse( bitSet.get( 69 ) );
+    assertEquals( 1 , bitSet.nextSetBit( 0 ) );
+    bitSet.or( create( 70 , 0 , 69 ) );
+    assertTrue( bitSet.isFull() );
+  }
+
+  @Test
+  public void T_nextSetBit_1(){
+    FilterBitSet bitSet = create( 200 , 5 , 64 , 199 );
+    assertEquals( 5 , bitSet.nextSetBit( 0 ) );
+    assertEquals( 64 , bitSet.nextSetBit( 6 ) );
+    assertEquals( 199 , bitSet.nextSetBit( 65 ) );
+    assertEquals( -1 , bitSet.nextSetBit( 200 ) );
+    assertEquals( -1 , new FilterBitSet( 0 ).nextSetBit( 0 ) );
+  }
+
+  @Test
+  public void T_valueOf_1(){
+    boolean[] filterArray = new boolean[]{ true , false , false , true };
+    FilterBitSet bitSet = FilterBitSet.valueOf( filterArray );
+    assertEquals( 2 , bitSet.cardinality() );
+    assertArrayEquals( filterArray , bitSet.toBooleanArray() );
+  }
+
+  @Test
+  public void T_and_sizeNotMatch(){
+    assertThrows( IllegalArgumentException.class ,
+      () -> {
+        create( 10 ).and( create( 11 ) );
+      }
+    );
+  }
+
+  @Test
+  public void T_orBitmap_1(){
+    byte[] bitmap = new byte[]{ (byte)0x05 , 0 , 0 , 0 , 0 , 0 , 0 , 0 , (byte)0x03 };
+    FilterBitSet bitSet = new FilterBitSet( 100 ).or( bitmap , 0 , 66 );
+    assertEquals( 4 , bitSet.cardinality() );
+    assertTrue( bitSet.get( 0 ) );
+    assertTrue( bitSet.get( 2 ) );
+    assertTrue( bitSet.get( 64 ) );
+    assertTrue( bitSet.get( 65 ) );
+  }
+
+  @Test
+  public void T_andNotBitmap_1(){
+    byte[] bitmap = new byte[]{ (byte)0x05 , 0 , 0 , 0 , 0 , 0 , 0 , 0 , (byte)0xFF };
+    FilterBitSet bitSet = create( 70 , 0 , 1 , 64 , 69 ).andNot( bitmap , 0 , 66 );
+    assertEquals( 2 , bitSet.cardinality() );
+    assertTrue( bitSet.get( 1 ) );
+    assertTrue( bitSet.get( 69 ) );
+  }
+
+}
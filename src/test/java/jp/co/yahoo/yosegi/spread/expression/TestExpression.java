@@ -150,4 +150,25 @@ public class TestExpression {
     assertEquals( ( (PrimitiveObject)( spread.getColumn("col1").get( result.get(3) ).getRow() ) ).getString() , "e" );
   }
 
+  @Test
+  public void T_execBitSet_1() throws IOException{
+    Spread spread = getTestSpread();
+
+    StringExtractNode col1Node = new StringExtractNode( "col1" );
+    IExpressionNode orNode = new OrExpressionNode();
+    orNode.addChildNode( new ExecuterNode( col1Node , new PerfectMatchStringFilter( "a" ) ) );
+    orNode.addChildNode( new ExecuterNode( col1Node , new PerfectMatchStringFilter( "c" ) ) );
+    orNode.addChildNode( new ExecuterNode( col1Node , new PerfectMatchStringFilter( "d" ) ) );
+    IExpressionNode andNode = new AndExpressionNode();
+    andNode.addChildNode( orNode );
+    andNode.addChildNode( new NotExpressionNode( new ExecuterNode( col1Node , new PerfectMatchStringFilter( "c" ) ) ) );
+
+    IExpressionIndex result = IndexFactory.toExpressionIndex( spread , andNode.execBitSet( spread ) );
+    assertEquals( ( result instanceof FilterdExpressionIndex ) , true );
+    assertEquals( result.size() , 2 );
+    assertEquals( result.get(0) , 0 );
+    assertEquals( result.get(1) , 3 );
+    assertArrayEquals( andNode.exec( spread ) , new boolean[]{ true , false , false , true , false } );
+  }
+
 }
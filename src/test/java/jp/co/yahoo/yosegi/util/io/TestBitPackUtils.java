@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.util.io;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestBitPackUtils{
+
+  @Test
+  public void T_getBitWidth_1() throws IOException{
+    assertEquals( 0 , BitPackUtils.getBitWidth( 0L ) );
+    assertEquals( 1 , BitPackUtils.getBitWidth( 1L ) );
+    assertEquals( 8 , BitPackUtils.getBitWidth( 255L ) );
+    assertEquals( 9 , BitPackUtils.getBitWidth( 256L ) );
+    assertEquals( 64 , BitPackUtils.getBitWidth( -1L ) );
+  }
+
+  @Test
+  public void T_getPackedLength_1() throws IOException{
+    assertEquals( 0 , BitPackUtils.getPackedLength( 128 , 0 ) );
+    assertEquals( 16 , BitPackUtils.getPackedLength( 128 , 1 ) );
+    assertEquals( 2 , BitPackUtils.getPackedLength( 3 , 5 ) );
+    assertEquals( 1024 , BitPackUtils.getPackedLength( 128 , 64 ) );
+  }
+
+  @Test
+  public void T_packAndUnpack_allBitWidth() throws IOException{
+    for ( int bitWidth = 0 ; bitWidth <= 64 ; bitWidth++ ) {
+      long mask = bitWidth == 64 ? -1L : ( 1L << bitWidth ) - 1L;
+      long base = -1000L;
+      long[] values = new long[131];
+      for ( int i = 0 ; i < values.length ; i++ ) {
+        values[i] = base + ( ( i * 0x9E3779B97F4A7C15L ) & mask );
+      }
+      byte[] buffer = new byte[ 3 + BitPackUtils.getPackedLength( values.length , bitWidth ) ];
+      int writeLength = BitPackUtils.pack( values , 0 , values.length , base , bitWidth , buffer , 3 );
+      assertEquals( BitPackUtils.getPackedLength( values.length , bitWidth ) , writeLength );
+
+      long[] result = new long[ values.length + 2 ];
+      int readLength = BitPackUtils.unpack( buffer , 3 , values.length , base , bitWidth , result , 2 );
+      assertEquals( writeLength , readLength );
+      for ( int i = 0 ; i < values.length ; i++ ) {
+        assertEquals( values[i] , result[ i + 2 ] );
+      }
+    }
+  }
+
+  @Test
+  public void T_packIntAndUnpackInt_allBitWidth() throws IOException{
+    for ( int bitWidth = 0 ; bitWidth <= 32 ; bitWidth++ ) {
+      long mask = ( 1L << bitWidth ) - 1L;
+      int[] values = new int[1001];
+      for ( int i = 0 ; i < values.length ; i++ ) {
+        values[i] = (int)( ( i * 0x9E3779B97F4A7C15L ) & mask );
+      }
+      byte[] buffer = new byte[ 1 + BitPackUtils.getPackedLength( values.length , bitWidth ) ];
+      int writeLength = BitPackUtils.packInt( values , 0 , values.length , bitWidth , buffer , 1 );
+      assertEquals( BitPackUtils.getPackedLength( values.length , bitWidth ) , writeLength );
+
+      int[] result = new int[ values.length ];
+      int readLength = BitPackUtils.unpackInt( buffer , 1 , values.length , bitWidth , result , 0 );
+      assertEquals( writeLength , readLength );
+      for ( int i = 0 ; i < values.length ; i++ ) {
+        assertEquals( values[i] , result[i] );
+      }
+    }
+  }
+
+  @Test
+  public void T_packBitmapAndUnpackBitmap_1() throws IOException{
+    byte[] flags = new byte[200];
+    for ( int i = 0 ; i < flags.length ; i += 3 ) {
+      flags[i] = 1;
+    }
+    flags[199] = 1;
+    byte[] buffer = new byte[ 2 + BitPackUtils.getBitmapLength( flags.length ) ];
+    int writeLength = BitPackUtils.packBitmap( flags , 0 , flags.length , buffer , 2 );
+    assertEquals( 25 , writeLength );
+    for ( int i = 0 ; i < flags.length ; i++ ) {
+      assertEquals( flags[i] != 0 , BitPackUtils.getBit( buffer , 2 , i ) );
+    }
+
+    byte[] result = new byte[ flags.length ];
+    BitPackUtils.unpackBitmap( buffer , 2 , flags.length , result , 0 );
+    assertArrayEquals( flags , result );
+  }
+
+  @Test
+  public void T_getBitmapWord_1() throws IOException{
+    byte[] buffer = new byte[]{ (byte)0x01 , 0 , 0 , 0 , 0 , 0 , 0 , (byte)0x80 , (byte)0xFF , (byte)0xFF };
+    assertEquals( 0x8000000000000001L , BitPackUtils.getBitmapWord( buffer , 0 , 70 , 0 ) );
+    assertEquals( 0x3FL , BitPackUtils.getBitmapWord( buffer , 0 , 70 , 1 ) );
+    assertEquals( 0x1L , BitPackUtils.getBitmapWord( buffer , 0 , 3 , 0 ) );
+  }
+
+}
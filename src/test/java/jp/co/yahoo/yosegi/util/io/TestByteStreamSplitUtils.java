@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.util.io;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestByteStreamSplitUtils{
+
+  @Test
+  public void T_splitAndMerge_1() throws IOException{
+    long[] values = new long[]{ 0x0102030405060708L , -1L , 0L , Long.MIN_VALUE };
+    byte[] buffer = new byte[ 1 + values.length * Long.BYTES ];
+    ByteStreamSplitUtils.split( values , 0 , values.length , Long.BYTES , buffer , 1 );
+    assertEquals( (byte)0x08 , buffer[1] );
+    assertEquals( (byte)0x07 , buffer[ 1 + values.length ] );
+    assertEquals( (byte)0x80 , buffer[ 1 + values.length * 8 - 1 ] );
+
+    long[] result = new long[ values.length + 1 ];
+    result[1] = 99L;
+    ByteStreamSplitUtils.merge( buffer , 1 , values.length , Long.BYTES , result , 1 );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      assertEquals( values[i] , result[ i + 1 ] );
+    }
+  }
+
+}
@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.util.io;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFileChannelInputStream{
+
+  private FileChannel createChannel( final int size ) throws IOException{
+    File file = File.createTempFile( "TestFileChannelInputStream" , ".bin" );
+    file.deleteOnExit();
+    try( FileOutputStream out = new FileOutputStream( file ) ){
+      for( int i = 0 ; i < size ; i++ ){
+        out.write( i % 128 );
+      }
+    }
+    return FileChannel.open( file.toPath() , StandardOpenOption.READ );
+  }
+
+  @Test
+  public void T_read_1() throws IOException{
+    try( FileChannelInputStream in = new FileChannelInputStream( createChannel( 1000 ) ) ){
+      assertEquals( 0 , in.read() );
+      assertEquals( 1 , in.read() );
+      byte[] buffer = new byte[10];
+      assertEquals( 10 , InputStreamUtils.read( in , buffer , 0 , 10 ) );
+      for( int i = 0 ; i < 10 ; i++ ){
+        assertEquals( i + 2 , buffer[i] );
+      }
+      assertEquals( 12 , in.getPosition() );
+      assertEquals( 988 , in.available() );
+    }
+  }
+
+  @Test
+  public void T_skip_1() throws IOException{
+    try( FileChannelInputStream in = new FileChannelInputStream( createChannel( 1000 ) ) ){
+      assertEquals( 500 , in.skip( 500 ) );
+      assertEquals( 500 % 128 , in.read() );
+      assertEquals( 499 , in.skip( 10000 ) );
+      assertEquals( -1 , in.read() );
+      assertEquals( 0 , in.skip( 1 ) );
+    }
+  }
+
+  @Test
+  public void T_shareChannel_1() throws IOException{
+    FileChannel channel = createChannel( 1000 );
+    FileChannelInputStream in1 = new FileChannelInputStream( channel , 100 , false );
+    FileChannelInputStream in2 = new FileChannelInputStream( channel , 200 , false );
+    assertEquals( 100 , in1.read() );
+    assertEquals( 200 % 128 , in2.read() );
+    in1.close();
+    in2.close();
+    assertTrue( channel.isOpen() );
+    assertEquals( 0 , channel.position() );
+    channel.close();
+  }
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.util.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestRangeSourceInputStream{
+
+  private IRangeSource createSource( final int size ){
+    byte[] data = new byte[size];
+    for( int i = 0 ; i < size ; i++ ){
+      data[i] = (byte)( i % 128 );
+    }
+    return new ByteBufferRangeSource( ByteBuffer.wrap( data ) );
+  }
+
+  @Test
+  public void T_read_1() throws IOException{
+    try( RangeSourceInputStream in = new RangeSourceInputStream( createSource( 1000 ) , 10 ) ){
+      assertEquals( 10 , in.read() );
+      byte[] buffer = new byte[10];
+      assertEquals( 10 , InputStreamUtils.read( in , buffer , 0 , 10 ) );
+      for( int i = 0 ; i < 10 ; i++ ){
+        assertEquals( i + 11 , buffer[i] );
+      }
+      assertEquals( 21 , in.getPosition() );
+      assertEquals( 979 , in.available() );
+    }
+  }
+
+  @Test
+  public void T_read_end() throws IOException{
+    try( RangeSourceInputStream in = new RangeSourceInputStream( createSource( 100 ) , 0 ) ){
+      assertEquals( 95 , in.skip( 95 ) );
+      byte[] buffer = new byte[10];
+      assertEquals( 5 , in.read( buffer , 0 , 10 ) );
+      assertEquals( -1 , in.read() );
+    }
+  }
+
+  @Test
+  public void T_shareSource_1() throws IOException{
+    IRangeSource source = createSource( 1000 );
+    RangeSourceInputStream in1 = new RangeSourceInputStream( source , 100 );
+    RangeSourceInputStream in2 = new RangeSourceInputStream( source , 200 );
+    assertEquals( 100 , in1.read() );
+    assertEquals( 200 % 128 , in2.read() );
+    assertEquals( 101 , in1.read() );
+  }
+
+}
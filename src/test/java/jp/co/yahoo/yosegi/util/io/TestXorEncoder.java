@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.util.io;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestXorEncoder{
+
+  private void assertRoundTrip( final long[] values , final int width ){
+    byte[] buffer = new byte[ XorEncoder.getMaxLength( values.length , width ) ];
+    XorEncoder encoder = new XorEncoder( width , buffer , 0 );
+    XorEncoder counter = new XorEncoder( width );
+    for ( long value : values ) {
+      encoder.add( value );
+      counter.add( value );
+    }
+    int length = encoder.finish();
+    assertEquals( counter.getLength() , length );
+    assertEquals( encoder.getBitLength() , counter.getBitLength() );
+
+    XorDecoder decoder = new XorDecoder( width , buffer , 0 );
+    for ( long value : values ) {
+      assertEquals( value , decoder.next() );
+    }
+  }
+
+  @Test
+  public void T_encode_double() throws IOException{
+    long[] values = new long[1000];
+    long seed = 12345L;
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      seed = seed * 6364136223846793005L + 1442695040888963407L;
+      double value = i % 3 == 0 ? Double.longBitsToDouble( seed ) : 20.0d + ( i / 10 ) * 0.25d;
+      values[i] = Double.doubleToRawLongBits( value );
+    }
+    values[1] = Double.doubleToRawLongBits( -0.0d );
+    values[2] = 0x7FF8000000000001L;
+    values[3] = Double.doubleToRawLongBits( Double.NEGATIVE_INFINITY );
+    values[4] = -1L;
+    assertRoundTrip( values , Long.SIZE );
+  }
+
+  @Test
+  public void T_encode_float() throws IOException{
+    long[] values = new long[1000];
+    long seed = 12345L;
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      seed = seed * 6364136223846793005L + 1442695040888963407L;
+      float value = i % 3 == 0 ? Float.intBitsToFloat( (int)seed ) : 20.0f + ( i / 10 ) * 0.25f;
+      values[i] = Float.floatToRawIntBits( value ) & 0xFFFFFFFFL;
+    }
+    values[4] = 0xFFFFFFFFL;
+    assertRoundTrip( values , Integer.SIZE );
+  }
+
+  @Test
+  public void T_encode_slowlyChanging() throws IOException{
+    XorEncoder counter = new XorEncoder( Long.SIZE );
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      counter.add( Double.doubleToRawLongBits( 20.0d + ( i / 10 ) * 0.25d ) );
+    }
+    assertTrue( counter.getLength() < 1000 );
+  }
+
+  @Test
+  public void T_create_invalidWidth(){
+    assertThrows( IllegalArgumentException.class ,
+      () -> {
+        new XorEncoder( 16 );
+      }
+    );
+  }
+
+}
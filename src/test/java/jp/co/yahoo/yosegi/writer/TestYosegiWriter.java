@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.writer;
+
+import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.block.FileFooter;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.parser.json.JacksonMessageReader;
+import jp.co.yahoo.yosegi.reader.YosegiReader;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.util.io.ByteBufferRangeSource;
+
+public class TestYosegiWriter{
+
+  private Spread createSpread( final int base ) throws IOException{
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    Spread spread = new Spread();
+    for( int i = 0 ; i < 1000 ; i++ ){
+      String json = String.format( "{\"id\":%d,\"name\":\"name_%d\"}" , base + i , i % 17 );
+      spread.addParserRow( messageReader.create( json ) );
+    }
+    return spread;
+  }
+
+  private byte[] write( final Configuration config ) throws IOException{
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try( YosegiWriter writer = new YosegiWriter( out , config ) ){
+      for( int i = 0 ; i < 20 ; i++ ){
+        writer.append( createSpread( i * 1000 ) );
+      }
+    }
+    return out.toByteArray();
+  }
+
+  @Test
+  public void T_append_async_1() throws IOException{
+    Configuration config = new Configuration();
+    config.set( "block.size" , Integer.toString( 1024 * 1024 * 2 ) );
+    byte[] expected = write( config );
+    config.set( "writer.async.queue.size" , "2" );
+    byte[] actual = write( config );
+    assertArrayEquals( expected , actual );
+
+    int rowCount = 0;
+    try( YosegiReader reader = new YosegiReader() ){
+      reader.setNewStream( new ByteArrayInputStream( actual ) , actual.length , new Configuration() );
+      while( reader.hasNext() ){
+        rowCount += reader.next().size();
+      }
+    }
+    assertEquals( 20000 , rowCount );
+  }
+
+  @Test
+  public void T_append_async_2() throws IOException{
+    Configuration config = new Configuration();
+    config.set( "writer.async.queue.size" , "1" );
+    OutputStream out = new OutputStream(){
+      @Override
+      public void write( final int b ) throws IOException{
+        throw new IOException( "write error" );
+      }
+    };
+    YosegiWriter writer = new YosegiWriter( out , config );
+    writer.append( createSpread( 0 ) );
+    assertThrows( IOException.class , () -> { writer.close(); } );
+  }
+
+  @Test
+  public void T_append_async_closeAfterError() throws IOException{
+    Configuration config = new Configuration();
+    config.set( "writer.async.queue.size" , "1" );
+    final boolean[] isClosed = new boolean[1];
+    OutputStream out = new OutputStream(){
+      @Override
+      public void write( final int b ) throws IOException{
+        throw new IOException( "write error" );
+      }
+      @Override
+      public void close() throws IOException{
+        isClosed[0] = true;
+        throw new IOException( "close error" );
+      }
+    };
+    YosegiWriter writer = new YosegiWriter( out , config );
+    writer.append( createSpread( 0 ) );
+    IOException ex = assertThrows( IOException.class , () -> { writer.close(); } );
+    assertEquals( "write error" , ex.getMessage() );
+    assertEquals( 1 , ex.getSuppressed().length );
+    assertEquals( "close error" , ex.getSuppressed()[0].getMessage() );
+    assertTrue( isClosed[0] );
+  }
+
+  @Test
+  public void T_close_footer_1() throws IOException{
+    Configuration config = new Configuration();
+    config.set( "block.size" , Integer.toString( 1024 * 1024 * 2 ) );
+    config.set( "writer.footer.enable" , "true" );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    YosegiWriter writer = new YosegiWriter( out , config );
+    writer.append( createSpread( 0 ) );
+    writer.close();
+    assertTrue( writer.isFooterWritten() );
+    byte[] file = out.toByteArray();
+    FileFooter footer = FileFooter.read( new ByteBufferRangeSource( ByteBuffer.wrap( file ) ) );
+    assertEquals( 1000 , footer.getBlockEntryList().get( 0 ).rowCount );
+  }
+
+  @Test
+  public void T_close_footer_disabled() throws IOException{
+    YosegiWriter writer = new YosegiWriter( new ByteArrayOutputStream() , new Configuration() );
+    writer.append( createSpread( 0 ) );
+    writer.close();
+    assertFalse( writer.isFooterWritten() );
+  }
+
+}